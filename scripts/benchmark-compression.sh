@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Benchmark the CPU cost of response compression under load.
+#
+# Starts the packaged application twice: first compressing every response on the fly
+# (precompressed static files and cached compressed JSON switched off), then as configured.
+# Each run sends REQUESTS gzip-accepting requests to the portfolio JSON, the page JSON, the
+# static page and the script bundle with hey, and reports the server's CPU time per 1000
+# requests (from /proc), throughput, and bytes sent.
+#
+# Usage:   scripts/benchmark-compression.sh [portfolio id]
+# Example: REQUESTS=50000 CONCURRENCY=64 scripts/benchmark-compression.sh 42
+# Needs a packaged jar (mvn package), java, hey and curl on PATH, and Linux /proc. The database
+# comes from the usual settings, e.g. SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME.
+# Environment: REQUESTS per URL (20000), CONCURRENCY (32), PORT (8081), JAVA_OPTS.
+set -euo pipefail
+
+PORTFOLIO=${1:-1}
+REQUESTS=${REQUESTS:-20000}
+CONCURRENCY=${CONCURRENCY:-32}
+PORT=${PORT:-8081}
+BASE=http://localhost:$PORT
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -1)
+REPORT=target/compression-benchmark.txt
+WORK=$(mktemp -d)
+TICKS=$(getconf CLK_TCK)
+APP=
+trap 'rm -rf "$WORK"; [ -n "$APP" ] && kill "$APP" 2> /dev/null || true' EXIT
+
+log() {
+    echo "$*" | tee -a "$REPORT"
+}
+
+# User plus system CPU seconds of a process
+cpu_seconds() {
+    awk -v ticks="$TICKS" '{ printf "%.2f", ($14 + $15) / ticks }' "/proc/$1/stat"
+}
+
+start() {
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" "$@" > "$WORK/app.log" 2>&1 &
+    APP=$!
+    until curl -sf "$BASE/actuator/health" > /dev/null; do
+        kill -0 "$APP" 2> /dev/null || { cat "$WORK/app.log"; exit 1; }
+        sleep 1
+    done
+}
+
+stop() {
+    kill "$APP"
+    wait "$APP" 2> /dev/null || true
+    APP=
+}
+
+run() {
+    local label=$1
+    shift
+    start "$@"
+    local bundle
+    bundle=$(curl -sf "$BASE/" | grep -o 'assets/app\.[0-9a-f]*\.js' | head -1 || true)
+    local urls=("/api/portfolios/$PORTFOLIO" "/api/portfolios/$PORTFOLIO/page" "/" "/${bundle:-js/main.js}")
+
+    log ""
+    log "== $label"
+    for url in "${urls[@]}"; do
+        # Warm up the JIT and the caches before measuring
+        hey -n 2000 -c "$CONCURRENCY" -H "Accept-Encoding: gzip, br" "$BASE$url" > /dev/null
+        local before after
+        before=$(cpu_seconds "$APP")
+        hey -n "$REQUESTS" -c "$CONCURRENCY" -H "Accept-Encoding: gzip, br" "$BASE$url" > "$WORK/hey.out"
+        after=$(cpu_seconds "$APP")
+        log "$url: cpu $(echo "($after - $before) * 1000 / $REQUESTS" | bc -l | xargs printf '%.3f')s per 1000 requests," \
+            "$(grep -E 'Requests/sec' "$WORK/hey.out" | xargs)," \
+            "$(curl -s -o /dev/null -w '%{size_download}' -H 'Accept-Encoding: gzip, br' "$BASE$url") bytes"
+    done
+    stop
+}
+
+: > "$REPORT"
+log "jar=$JAR portfolio=$PORTFOLIO requests=$REQUESTS concurrency=$CONCURRENCY"
+run "compressed on the fly" --portfolio.cache.compress-responses=false --portfolio.assets.precompressed=false
+run "precompressed"
+echo "Report written to $REPORT"
@@ -0,0 +1,97 @@
+#!/usr/bin/env bash
+# Benchmark media downloads: Spring's resource handling against zero-copy serving.
+#
+# Uploads IMAGE as the portfolio's profile image, then starts the packaged application twice:
+# first with portfolio.media.zero-copy=false (files read through the heap by Spring's resource
+# handling), then as configured (sendfile for files of at least sendfile-min-size, resource
+# handling for smaller ones). Run it without TLS, which disables sendfile. Each run sends
+# REQUESTS requests for the original and for its smallest variant with hey, and reports the
+# server's CPU time per 1000 requests (from /proc), throughput, and transfer rate.
+#
+# Usage:   scripts/benchmark-media.sh <image> [portfolio id]
+# Example: REQUESTS=50000 CONCURRENCY=64 scripts/benchmark-media.sh ~/photo.jpg 42
+# Needs a packaged jar (mvn package), java, hey, curl and jq on PATH, and Linux /proc. The
+# database comes from the usual settings, e.g. SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME.
+# Environment: REQUESTS per URL (20000), CONCURRENCY (32), PORT (8081), JAVA_OPTS.
+set -euo pipefail
+
+IMAGE=$(realpath "$1")
+PORTFOLIO=${2:-1}
+REQUESTS=${REQUESTS:-20000}
+CONCURRENCY=${CONCURRENCY:-32}
+PORT=${PORT:-8081}
+BASE=http://localhost:$PORT
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -1)
+REPORT=target/media-benchmark.txt
+WORK=$(mktemp -d)
+TICKS=$(getconf CLK_TCK)
+APP=
+trap 'rm -rf "$WORK"; [ -n "$APP" ] && kill "$APP" 2> /dev/null || true' EXIT
+
+log() {
+    echo "$*" | tee -a "$REPORT"
+}
+
+# User plus system CPU seconds of a process
+cpu_seconds() {
+    awk -v ticks="$TICKS" '{ printf "%.2f", ($14 + $15) / ticks }' "/proc/$1/stat"
+}
+
+start() {
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" "$@" > "$WORK/app.log" 2>&1 &
+    APP=$!
+    until curl -sf "$BASE/actuator/health" > /dev/null; do
+        kill -0 "$APP" 2> /dev/null || { cat "$WORK/app.log"; exit 1; }
+        sleep 1
+    done
+}
+
+stop() {
+    kill "$APP"
+    wait "$APP" 2> /dev/null || true
+    APP=
+}
+
+# Upload the image (the same content always gets the same URLs) and wait for its variants
+upload() {
+    local url hash
+    url=$(curl -sf -F "file=@$IMAGE" "$BASE/api/portfolios/$PORTFOLIO/profile-image" | jq -r .url)
+    hash=$(echo "$url" | cut -d/ -f4)
+    until curl -sf "$BASE/api/media/images/$hash" | jq -e .srcset > /dev/null; do
+        sleep 1
+    done
+    ORIGINAL=$url
+    VARIANT=$(curl -sf "$BASE/api/media/images/$hash" | jq -r '.srcset | split(", ")[0] | split(" ")[0]')
+}
+
+run() {
+    local label=$1
+    shift
+    start "$@"
+    upload
+
+    log ""
+    log "== $label"
+    for url in "$ORIGINAL" "$VARIANT"; do
+        # Warm up the JIT and the file handles before measuring
+        hey -n 2000 -c "$CONCURRENCY" "$BASE$url" > /dev/null
+        local before after
+        before=$(cpu_seconds "$APP")
+        hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE$url" > "$WORK/hey.out"
+        after=$(cpu_seconds "$APP")
+        log "$url ($(curl -s -o /dev/null -w '%{size_download}' "$BASE$url") bytes):" \
+            "cpu $(echo "($after - $before) * 1000 / $REQUESTS" | bc -l | xargs printf '%.3f')s per 1000 requests," \
+            "$(grep -E 'Requests/sec' "$WORK/hey.out" | xargs)," \
+            "$(grep -E 'Total data' "$WORK/hey.out" | xargs)"
+    done
+    stop
+}
+
+: > "$REPORT"
+log "jar=$JAR image=$IMAGE portfolio=$PORTFOLIO requests=$REQUESTS concurrency=$CONCURRENCY"
+run "resource handling" --portfolio.media.zero-copy=false
+run "zero-copy"
+echo "Report written to $REPORT"
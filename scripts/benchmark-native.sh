@@ -0,0 +1,91 @@
+#!/usr/bin/env bash
+# Compare startup time and memory of the native executable with the JVM build.
+#
+# Starts the executable jar and the native executable RUNS times each and measures, from
+# launch, how long it takes until GET /api/portfolios/<id> first succeeds, and the resident
+# set size (VmRSS, from /proc) right then. After the last start of each it sends REQUESTS
+# requests with hey and reports throughput and the resident set size under load. Results go to
+# target/native-benchmark.txt.
+#
+# Usage:   scripts/benchmark-native.sh [portfolio id]
+# Example: RUNS=10 REQUESTS=50000 scripts/benchmark-native.sh 42
+# Needs mvn -Pnative package (GraalVM), java, hey, curl and Linux /proc. The database comes
+# from the usual settings, e.g. SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME.
+# Environment: RUNS per build (5), REQUESTS (20000), CONCURRENCY (32), PORT (8081), JAVA_OPTS.
+set -euo pipefail
+
+PORTFOLIO=${1:-1}
+RUNS=${RUNS:-5}
+REQUESTS=${REQUESTS:-20000}
+CONCURRENCY=${CONCURRENCY:-32}
+PORT=${PORT:-8081}
+URL=http://localhost:$PORT/api/portfolios/$PORTFOLIO
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -1)
+NATIVE=target/portfolio
+REPORT=target/native-benchmark.txt
+WORK=$(mktemp -d)
+APP=
+trap 'rm -rf "$WORK"; [ -n "$APP" ] && kill "$APP" 2> /dev/null || true' EXIT
+
+log() {
+    echo "$*" | tee -a "$REPORT"
+}
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+# Resident set size of a process in MB
+rss_mb() {
+    awk '/^VmRSS:/ { printf "%.0f", $2 / 1024 }' "/proc/$1/status"
+}
+
+median() {
+    sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }'
+}
+
+# Start the application and print "<ms to first success> <RSS MB>"; leaves it running
+start() {
+    local launched
+    launched=$(now_ms)
+    "$@" --server.port="$PORT" --spring.profiles.active=prod > "$WORK/app.log" 2>&1 &
+    APP=$!
+    until curl -sf -o /dev/null "$URL"; do
+        kill -0 "$APP" 2> /dev/null || { cat "$WORK/app.log"; exit 1; }
+        sleep 0.01
+    done
+    echo "$(($(now_ms) - launched)) $(rss_mb "$APP")"
+}
+
+stop() {
+    kill "$APP"
+    wait "$APP" 2> /dev/null || true
+    APP=
+}
+
+run() {
+    local label=$1
+    shift
+    : > "$WORK/runs"
+    for run in $(seq "$RUNS"); do
+        start "$@" >> "$WORK/runs"
+        if [ "$run" -lt "$RUNS" ]; then
+            stop
+        fi
+    done
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$URL" > "$WORK/hey.out"
+    log "$label: first request after $(cut -d' ' -f1 "$WORK/runs" | median) ms median," \
+        "$(cut -d' ' -f1 "$WORK/runs" | sort -n | head -1) ms best;" \
+        "RSS $(cut -d' ' -f2 "$WORK/runs" | median) MB at first request," \
+        "$(rss_mb "$APP") MB after $REQUESTS requests; $(grep -E 'Requests/sec' "$WORK/hey.out" | xargs)"
+    stop
+}
+
+: > "$REPORT"
+log "jar=$JAR native=$NATIVE portfolio=$PORTFOLIO runs=$RUNS requests=$REQUESTS concurrency=$CONCURRENCY"
+# shellcheck disable=SC2086
+run "jvm" java ${JAVA_OPTS:-} -jar "$JAR"
+run "native" "$NATIVE"
+echo "Report written to $REPORT"
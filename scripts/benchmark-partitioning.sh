@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# Benchmark hash partitioning of projects and skills on a local PostgreSQL.
+#
+# Builds a scratch schema from the real migrations, loads ROWS projects and ROWS skills,
+# runs the per-portfolio and statistics queries with pgbench, applies the partitioning
+# migrations (db/partitioning, timed), and runs the same queries again.
+#
+# Usage:   scripts/benchmark-partitioning.sh [rows] [partitions]
+# Example: scripts/benchmark-partitioning.sh 10000000 16
+#          scripts/benchmark-partitioning.sh 100000000 64
+# Needs psql and pgbench on PATH; connection from PGHOST, PGPORT, PGUSER, PGPASSWORD, PGDATABASE.
+# Environment: CLIENTS (8), DURATION seconds per run (60), SCHEMA (partition_bench), KEEP=1 keeps the schema.
+set -euo pipefail
+
+ROWS=${1:-10000000}
+PARTITIONS=${2:-16}
+CLIENTS=${CLIENTS:-8}
+DURATION=${DURATION:-60}
+SCHEMA=${SCHEMA:-partition_bench}
+PORTFOLIOS=$((ROWS / 50))
+export PGDATABASE=${PGDATABASE:-mapping}
+
+cd "$(dirname "$0")/.."
+MIGRATIONS=src/main/resources/db/migration
+PARTITIONING=src/main/resources/db/partitioning
+WORK=$(mktemp -d)
+REPORT=target/partition-benchmark-${ROWS}.txt
+mkdir -p target
+trap 'rm -rf "$WORK"' EXIT
+
+sql() {
+    PGOPTIONS="-c search_path=$SCHEMA" psql -X -q -v ON_ERROR_STOP=1 "$@"
+}
+
+log() {
+    echo "$*" | tee -a "$REPORT"
+}
+
+elapsed() {
+    local start=$SECONDS
+    "$@" > /dev/null
+    echo $((SECONDS - start))
+}
+
+: > "$REPORT"
+log "rows=$ROWS partitions=$PARTITIONS portfolios=$PORTFOLIOS clients=$CLIENTS duration=${DURATION}s"
+log "server: $(psql -X -At -c 'show server_version')"
+
+# Schema from the real migrations
+psql -X -q -c "drop schema if exists $SCHEMA cascade" -c "create schema $SCHEMA"
+for migration in $(ls "$MIGRATIONS"/V*.sql | sort -V); do
+    sql -f "$migration"
+done
+
+# 50 projects and 50 skills per portfolio; 10% of portfolios and of their entries are soft-deleted
+cat > "$WORK/load.sql" <<SQL
+insert into portfolios (full_name, title, email, is_active, created_at, updated_at)
+select 'Person ' || i, 'Engineer', 'person' || i || '@example.com', i % 10 <> 0, now(), now()
+from generate_series(1, $PORTFOLIOS) i;
+
+insert into projects (portfolio_id, name, is_featured, is_active, display_order, status, category, technologies, created_at)
+select i % $PORTFOLIOS + 1, 'Project ' || i, i % 7 = 0, i % 10 <> 0, i / $PORTFOLIOS, 'COMPLETED',
+       (array['WEB_APPLICATION','API','LIBRARY','DEVOPS'])[i % 4 + 1], 'Java, Spring Boot, PostgreSQL', now()
+from generate_series(1, $ROWS) i;
+
+insert into skills (portfolio_id, name, name_key, proficiency_level, category, skill_type, is_featured, is_active,
+                    display_order, years_of_experience, created_at)
+select i % $PORTFOLIOS + 1, 'Skill ' || i, 'skill ' || (i % 500), i % 10 + 1,
+       (array['TECHNICAL','TOOL','FRAMEWORK','LANGUAGE'])[i % 4 + 1], 'PROGRAMMING_LANGUAGE', false, i % 10 <> 0,
+       i / $PORTFOLIOS, i % 15, now()
+from generate_series(1, $ROWS) i;
+
+vacuum analyze portfolios;
+vacuum analyze projects;
+vacuum analyze skills;
+SQL
+log "load: $(elapsed sql -f "$WORK/load.sql")s"
+
+# Per-portfolio lookups as issued by the repositories, and per-portfolio statistics
+cat > "$WORK/lookup.sql" <<SQL
+\set pid random(1, $PORTFOLIOS)
+select * from projects where portfolio_id = :pid and is_active = true order by display_order;
+select * from skills where portfolio_id = :pid and is_active = true order by display_order;
+SQL
+cat > "$WORK/statistics.sql" <<SQL
+\set pid random(1, $PORTFOLIOS)
+select category, count(*), avg(proficiency_level) from skills where portfolio_id = :pid and is_active = true group by category;
+select count(*) from projects where portfolio_id = :pid and is_active = true and is_featured = true;
+SQL
+
+run() {
+    local label=$1
+    log ""
+    log "== $label"
+    log "size: projects $(sql -At -c "select pg_size_pretty(pg_total_relation_size('projects'))"), skills $(sql -At -c "select pg_size_pretty(pg_total_relation_size('skills'))")"
+    for script in lookup statistics; do
+        PGOPTIONS="-c search_path=$SCHEMA" pgbench -n -M prepared -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" \
+            -f "$WORK/$script.sql" > "$WORK/$script.out" 2>&1
+        log "$script: $(grep -E '^tps' "$WORK/$script.out" | head -1), $(grep -E 'latency average' "$WORK/$script.out")"
+    done
+    log "org-wide skill statistics: $(elapsed sql -c "select category, count(*), avg(proficiency_level) from skills where is_active = true group by category")s"
+    sql -c "explain (analyze, buffers, costs off) select * from skills where portfolio_id = 42 and is_active = true order by display_order" \
+        >> "$REPORT"
+}
+
+run "single tables"
+
+for migration in $(ls "$PARTITIONING"/V*.sql | sort -V); do
+    sed "s/\${partitions}/$PARTITIONS/g" "$migration" > "$WORK/$(basename "$migration")"
+    log "migrate $(basename "$migration"): $(elapsed sql -1 -f "$WORK/$(basename "$migration")")s"
+done
+
+run "hash partitioned ($PARTITIONS partitions)"
+
+if [ "${KEEP:-0}" != "1" ]; then
+    psql -X -q -c "drop schema $SCHEMA cascade"
+fi
+echo "Report written to $REPORT"
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Benchmark time to first request for the ways the application can be started.
+#
+# Starts the application RUNS times in each mode and measures, from launching java, how long
+# it takes until GET /api/portfolios/<id> first succeeds, and how long that first request took.
+# Modes:
+#   default       the executable jar with the prod profile
+#   fast-startup  the executable jar with the prod and fast-startup profiles
+#   aot-cds       the thin jar from target/cds with AOT code and the class data sharing archive
+# Reports the median and best of each, with Spring's own "Started ... in" time, to
+# target/startup-benchmark.txt.
+#
+# Usage:   scripts/benchmark-startup.sh [portfolio id]
+# Example: RUNS=10 scripts/benchmark-startup.sh 42
+# Needs mvn -Pfast-startup package, java, curl and Linux. The database comes from the usual
+# settings, e.g. SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME.
+# Environment: RUNS per mode (5), PORT (8081), JAVA_OPTS.
+set -euo pipefail
+
+PORTFOLIO=${1:-1}
+RUNS=${RUNS:-5}
+PORT=${PORT:-8081}
+URL=http://localhost:$PORT/api/portfolios/$PORTFOLIO
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -1)
+CDS_JAR=$(ls target/cds/*-cds.jar | head -1)
+REPORT=target/startup-benchmark.txt
+WORK=$(mktemp -d)
+APP=
+trap 'rm -rf "$WORK"; [ -n "$APP" ] && kill "$APP" 2> /dev/null || true' EXIT
+
+log() {
+    echo "$*" | tee -a "$REPORT"
+}
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+# Print "<ms to first success> <first request ms> <Spring's started-in seconds>" for one start
+measure() {
+    local launched status
+    launched=$(now_ms)
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS:-} "$@" --server.port="$PORT" > "$WORK/app.log" 2>&1 &
+    APP=$!
+    while :; do
+        status=$(curl -s -o /dev/null -w '%{http_code} %{time_total}' "$URL" || true)
+        if [ "${status%% *}" = 200 ]; then
+            break
+        fi
+        kill -0 "$APP" 2> /dev/null || { cat "$WORK/app.log"; exit 1; }
+        sleep 0.02
+    done
+    local ready
+    ready=$(($(now_ms) - launched))
+    kill "$APP"
+    wait "$APP" 2> /dev/null || true
+    APP=
+    echo "$ready $(echo "${status#* } * 1000" | bc -l | xargs printf '%.0f')" \
+        "$(grep -o 'Started PortfolioApplication in [0-9.]*' "$WORK/app.log" | awk '{ print $4 }')"
+}
+
+run() {
+    local label=$1
+    shift
+    : > "$WORK/runs"
+    for _ in $(seq "$RUNS"); do
+        measure "$@" >> "$WORK/runs"
+    done
+    log "$label: first request after $(sort -n -k1 "$WORK/runs" | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }') ms median," \
+        "$(sort -n -k1 "$WORK/runs" | head -1 | awk '{ print $1 }') ms best;" \
+        "first request took $(sort -n -k2 "$WORK/runs" | awk '{ a[NR] = $2 } END { print a[int((NR + 1) / 2)] }') ms median;" \
+        "Spring started in $(sort -n -k3 "$WORK/runs" | awk '{ a[NR] = $3 } END { print a[int((NR + 1) / 2)] }') s median"
+}
+
+: > "$REPORT"
+log "jar=$JAR cds=$CDS_JAR portfolio=$PORTFOLIO runs=$RUNS"
+run "default" -jar "$JAR" --spring.profiles.active=prod
+run "fast-startup" -jar "$JAR" --spring.profiles.active=prod,fast-startup
+run "aot-cds" -XX:SharedArchiveFile="$(dirname "$CDS_JAR")/portfolio.jsa" -Dspring.aot.enabled=true \
+    -jar "$CDS_JAR" --spring.profiles.active=prod,fast-startup
+echo "Report written to $REPORT"
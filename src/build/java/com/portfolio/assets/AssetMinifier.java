@@ -0,0 +1,214 @@
+package com.portfolio.assets;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Conservative CSS and JavaScript minification for the asset pipeline. Comments and
+ * indentation are dropped, strings, template literals and regular expressions are copied
+ * as they are, and line breaks are kept in scripts so automatic semicolon insertion still
+ * sees them. No renaming, no rewriting of code.
+ */
+final class AssetMinifier {
+
+    private static final String CSS_TIGHT = "{};,>";
+    private static final String REGEX_AFTER = "(,=:[!&|?{};+-*%<>~^";
+    private static final Set<String> REGEX_AFTER_KEYWORDS =
+            Set.of("return", "typeof", "case", "do", "else", "in", "of", "new", "delete", "void", "throw");
+
+    private AssetMinifier() {
+    }
+
+    static String minifyCss(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        int i = 0;
+        int n = source.length();
+        while (i < n) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = copyString(source, i, out);
+            } else if (c == '/' && i + 1 < n && source.charAt(i + 1) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(source.charAt(i))) {
+                    i++;
+                }
+                char previous = out.isEmpty() ? '{' : out.charAt(out.length() - 1);
+                char next = i < n ? source.charAt(i) : '}';
+                if (CSS_TIGHT.indexOf(previous) < 0 && CSS_TIGHT.indexOf(next) < 0
+                        && previous != ':' && previous != '(' && next != ')') {
+                    out.append(' ');
+                }
+            } else if (c == '}' && !out.isEmpty() && out.charAt(out.length() - 1) == ';') {
+                out.setCharAt(out.length() - 1, '}');
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    static String minifyJs(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        // Brace depth at which each open ${ of a template literal closes again
+        Deque<Integer> substitutions = new ArrayDeque<>();
+        boolean inTemplate = false;
+        int braces = 0;
+        int i = 0;
+        int n = source.length();
+        while (i < n) {
+            char c = source.charAt(i);
+            if (inTemplate) {
+                if (c == '\\' && i + 1 < n) {
+                    out.append(c).append(source.charAt(i + 1));
+                    i += 2;
+                } else if (c == '`') {
+                    out.append(c);
+                    inTemplate = false;
+                    i++;
+                } else if (c == '$' && i + 1 < n && source.charAt(i + 1) == '{') {
+                    out.append("${");
+                    substitutions.push(++braces);
+                    inTemplate = false;
+                    i += 2;
+                } else {
+                    out.append(c);
+                    i++;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"', '\'' -> i = copyString(source, i, out);
+                case '`' -> {
+                    out.append(c);
+                    inTemplate = true;
+                    i++;
+                }
+                case '{' -> {
+                    braces++;
+                    out.append(c);
+                    i++;
+                }
+                case '}' -> {
+                    out.append(c);
+                    if (!substitutions.isEmpty() && substitutions.peek() == braces) {
+                        substitutions.pop();
+                        inTemplate = true;
+                    }
+                    braces--;
+                    i++;
+                }
+                case '/' -> {
+                    char next = i + 1 < n ? source.charAt(i + 1) : 0;
+                    if (next == '/') {
+                        while (i < n && source.charAt(i) != '\n') {
+                            i++;
+                        }
+                    } else if (next == '*') {
+                        int end = source.indexOf("*/", i + 2);
+                        end = end < 0 ? n : end + 2;
+                        out.append(source.substring(i, end).indexOf('\n') >= 0 ? '\n' : ' ');
+                        i = end;
+                    } else if (regexAllowed(out)) {
+                        i = copyRegex(source, i, out);
+                    } else {
+                        out.append(c);
+                        i++;
+                    }
+                }
+                default -> {
+                    if (!Character.isWhitespace(c)) {
+                        out.append(c);
+                        i++;
+                        continue;
+                    }
+                    boolean newline = false;
+                    while (i < n && Character.isWhitespace(source.charAt(i))) {
+                        newline |= source.charAt(i) == '\n';
+                        i++;
+                    }
+                    trimTrailingSpace(out);
+                    if (out.isEmpty() || i >= n || out.charAt(out.length() - 1) == '\n') {
+                        continue;
+                    }
+                    char previous = out.charAt(out.length() - 1);
+                    char following = source.charAt(i);
+                    if (newline) {
+                        out.append('\n');
+                    } else if ((isIdentifierPart(previous) && isIdentifierPart(following))
+                            || (previous == following && (previous == '+' || previous == '-'))) {
+                        out.append(' ');
+                    }
+                }
+            }
+        }
+        return out.toString().strip();
+    }
+
+    private static int copyString(String source, int start, StringBuilder out) {
+        char quote = source.charAt(start);
+        int i = start + 1;
+        while (i < source.length() && source.charAt(i) != quote) {
+            i += source.charAt(i) == '\\' ? 2 : 1;
+        }
+        int end = Math.min(i + 1, source.length());
+        out.append(source, start, end);
+        return end;
+    }
+
+    private static int copyRegex(String source, int start, StringBuilder out) {
+        boolean inClass = false;
+        int i = start + 1;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                inClass = true;
+            } else if (c == ']') {
+                inClass = false;
+            } else if ((c == '/' && !inClass) || c == '\n') {
+                break;
+            }
+            i++;
+        }
+        int end = Math.min(i + 1, source.length());
+        out.append(source, start, end);
+        return end;
+    }
+
+    private static boolean regexAllowed(StringBuilder out) {
+        int end = out.length();
+        while (end > 0 && Character.isWhitespace(out.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            return true;
+        }
+        char previous = out.charAt(end - 1);
+        if (!isIdentifierPart(previous)) {
+            return REGEX_AFTER.indexOf(previous) >= 0;
+        }
+        int start = end;
+        while (start > 0 && isIdentifierPart(out.charAt(start - 1))) {
+            start--;
+        }
+        return REGEX_AFTER_KEYWORDS.contains(out.substring(start, end));
+    }
+
+    private static void trimTrailingSpace(StringBuilder out) {
+        while (!out.isEmpty() && out.charAt(out.length() - 1) == ' ') {
+            out.setLength(out.length() - 1);
+        }
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c > 127;
+    }
+}
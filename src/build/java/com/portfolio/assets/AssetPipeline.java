@@ -0,0 +1,214 @@
+package com.portfolio.assets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step for the static front end, run by Maven before packaging. It lives in the build-only
+ * source set {@code src/build/java}, so it is not part of the application jar. It bundles the local
+ * stylesheets and scripts {@code index.html} references, in page order, minifies each bundle,
+ * names it after its content hash ({@code assets/app.<hash>.css}) and rewrites the page to load
+ * the bundles instead. Every bundle, and every other text file in the output, gets {@code .gz}
+ * and, when the {@code brotli} tool is installed, {@code .br} variants for the server to send
+ * as they are. {@code assets/manifest.properties} maps each source file to its bundle, so
+ * server-rendered pages link the same files.
+ *
+ * Usage: {@code AssetPipeline <source static dir> <output static dir>}
+ */
+public final class AssetPipeline {
+
+    static final String PAGE = "index.html";
+
+    private static final Logger log = LoggerFactory.getLogger(AssetPipeline.class);
+
+    private static final Pattern STYLESHEET = Pattern.compile("<link rel=\"stylesheet\" href=\"([^\"]+)\">");
+    private static final Pattern SCRIPT = Pattern.compile("<script src=\"([^\"]+)\"></script>");
+    private static final Pattern EXTERNAL = Pattern.compile("^(https?:)?//.*");
+    private static final Pattern COMPRESSIBLE = Pattern.compile(".*\\.(html|css|js|json|svg|txt|xml)$");
+
+    private final Path source;
+    private final Path output;
+
+    public AssetPipeline(Path source, Path output) {
+        this.source = source;
+        this.output = output;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: AssetPipeline <source static dir> <output static dir>");
+        }
+        Map<String, String> manifest = new AssetPipeline(Path.of(args[0]), Path.of(args[1])).build();
+        manifest.forEach((file, bundle) -> log.info("{} -> {}", file, bundle));
+    }
+
+    /**
+     * Build the bundles and the rewritten page. Returns the manifest: source file to bundle path.
+     */
+    public Map<String, String> build() throws IOException {
+        String page = Files.readString(source.resolve(PAGE));
+        Path assets = output.resolve(AssetManifest.ASSETS_DIR);
+        deleteRecursively(assets);
+        Files.createDirectories(assets);
+
+        Map<String, String> manifest = new TreeMap<>();
+        page = bundle(page, STYLESHEET, "css", manifest,
+                path -> "<link rel=\"stylesheet\" href=\"" + path + "\">");
+        page = bundle(page, SCRIPT, "js", manifest,
+                path -> "<script src=\"" + path + "\"></script>");
+        Files.writeString(output.resolve(PAGE), page);
+        precompressStaticFiles(assets);
+
+        StringBuilder properties = new StringBuilder("# Generated by AssetPipeline: source file = bundle\n");
+        manifest.forEach((file, bundle) -> properties.append(file).append('=').append(bundle).append('\n'));
+        Files.writeString(assets.resolve(AssetManifest.MANIFEST), properties);
+        return manifest;
+    }
+
+    private String bundle(String page, Pattern reference, String type, Map<String, String> manifest,
+                          Function<String, String> tag) throws IOException {
+        List<String> files = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (Matcher matcher = reference.matcher(page); matcher.find(); ) {
+            String file = matcher.group(1);
+            if (EXTERNAL.matcher(file).matches()) {
+                continue;
+            }
+            file = file.startsWith("/") ? file.substring(1) : file;
+            Path path = source.resolve(file);
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalStateException(PAGE + " references " + file + ", which does not exist in " + source);
+            }
+            String text = Files.readString(path);
+            content.append(type.equals("css") ? AssetMinifier.minifyCss(text) : AssetMinifier.minifyJs(text))
+                    .append(type.equals("css") ? "\n" : ";\n");
+            files.add(file);
+        }
+        if (files.isEmpty()) {
+            return page;
+        }
+
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        String bundle = AssetManifest.ASSETS_DIR + "/app." + fingerprint(bytes) + "." + type;
+        Path target = output.resolve(bundle);
+        Files.write(target, bytes);
+        precompress(target);
+        files.forEach(file -> manifest.put(file, bundle));
+
+        // The first reference becomes the bundle, the others go
+        StringBuilder rewritten = new StringBuilder();
+        boolean first = true;
+        Matcher matcher = reference.matcher(page);
+        while (matcher.find()) {
+            if (EXTERNAL.matcher(matcher.group(1)).matches()) {
+                continue;
+            }
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(first ? tag.apply(bundle) : ""));
+            first = false;
+        }
+        matcher.appendTail(rewritten);
+        return rewritten.toString().replaceAll("(?m)^[ \\t]+\\R", "");
+    }
+
+    /**
+     * Precompress the text files outside the bundle directory, which holds precompressed bundles
+     */
+    private void precompressStaticFiles(Path assets) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(output)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.startsWith(assets))
+                    .filter(path -> COMPRESSIBLE.matcher(path.getFileName().toString()).matches())
+                    .toList();
+        }
+        for (Path file : files) {
+            precompress(file);
+        }
+    }
+
+    static String fingerprint(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content), 0, 5);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Write {@code file.gz} at the highest compression level and, if the brotli tool is on the
+     * PATH, {@code file.br}. A variant that is not smaller than the file is not kept.
+     */
+    static void precompress(Path file) throws IOException {
+        Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+        keepIfSmaller(file, gzip);
+
+        Path brotli = file.resolveSibling(file.getFileName() + ".br");
+        try {
+            Process process = new ProcessBuilder("brotli", "--best", "--force", "--output=" + brotli, file.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                keepIfSmaller(file, brotli);
+            } else {
+                process.destroyForcibly();
+                Files.deleteIfExists(brotli);
+            }
+        } catch (IOException e) {
+            // brotli is not installed; the .gz variant is served instead
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Files.deleteIfExists(brotli);
+        }
+    }
+
+    private static void keepIfSmaller(Path file, Path variant) throws IOException {
+        if (Files.size(variant) >= Files.size(file)) {
+            Files.delete(variant);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
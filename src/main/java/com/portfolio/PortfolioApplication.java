@@ -1,8 +1,10 @@
 package com.portfolio;
 
+import com.portfolio.config.PortfolioRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -19,8 +21,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * @version 1.0.0
  */
 @SpringBootApplication
-@EnableJpaRepositories(basePackages = "com.portfolio.repository")
 @EnableTransactionManagement
+@EnableScheduling
+@ImportRuntimeHints(PortfolioRuntimeHints.class)
 public class PortfolioApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,136 @@
+package com.portfolio.analytics;
+
+import com.portfolio.entity.AnalyticsAggregate;
+import com.portfolio.entity.AnalyticsAggregate.Dimension;
+import com.portfolio.entity.Project;
+import com.portfolio.entity.Skill;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds per-portfolio analytics contributions from projection rows and folds them into
+ * organisation-wide totals. Contributions are only recorded for portfolios added through
+ * {@link #addPortfolio}; skills and projects of other portfolios are ignored.
+ */
+public final class AggregateContributions {
+
+    public static final String ALL = "ALL";
+    private static final int MAX_BUCKET_LENGTH = 100;
+
+    private final Map<AnalyticsAggregate.Key, AnalyticsAggregate> rows = new LinkedHashMap<>();
+    private final Set<Long> portfolioIds = new HashSet<>();
+
+    public void addPortfolio(long portfolioId, Integer yearsOfExperience) {
+        portfolioIds.add(portfolioId);
+        AnalyticsAggregate row = row(portfolioId, Dimension.PORTFOLIO, ALL, null);
+        row.setPortfolioCount(1);
+        row.setItemCount(1);
+        if (yearsOfExperience != null) {
+            row.setValueSum(yearsOfExperience);
+            row.setValueCount(1);
+        }
+    }
+
+    /**
+     * Add one (portfolio, category) group of active skills
+     */
+    public void addSkills(long portfolioId, Skill.SkillCategory category, long count,
+                          long proficiencySum, long yearsSum, long yearsCount) {
+        if (!portfolioIds.contains(portfolioId)) {
+            return;
+        }
+        AnalyticsAggregate row = row(portfolioId, Dimension.SKILL_CATEGORY, category.name(), null);
+        row.setPortfolioCount(1);
+        row.setItemCount(row.getItemCount() + count);
+        row.setScoreSum(row.getScoreSum() + proficiencySum);
+        row.setValueSum(row.getValueSum() + yearsSum);
+        row.setValueCount(row.getValueCount() + yearsCount);
+    }
+
+    /**
+     * Add one active project with its comma-separated technologies
+     */
+    public void addProject(long portfolioId, Project.ProjectCategory category, String technologies,
+                           boolean featured) {
+        if (!portfolioIds.contains(portfolioId)) {
+            return;
+        }
+        int featuredCount = featured ? 1 : 0;
+        AnalyticsAggregate projects = row(portfolioId, Dimension.PROJECT_CATEGORY, category.name(), null);
+        projects.setPortfolioCount(1);
+        projects.setItemCount(projects.getItemCount() + 1);
+        projects.setFeaturedCount(projects.getFeaturedCount() + featuredCount);
+
+        if (featured) {
+            rows.get(new AnalyticsAggregate.Key(portfolioId, Dimension.PORTFOLIO, ALL)).setFeaturedCount(1);
+        }
+
+        if (technologies == null) {
+            return;
+        }
+        Set<String> seen = new HashSet<>();
+        for (String technology : technologies.split(",")) {
+            String label = truncate(technology.trim());
+            String key = truncate(Skill.normalizeName(label));
+            if (key.isEmpty() || !seen.add(key)) {
+                continue;
+            }
+            AnalyticsAggregate row = row(portfolioId, Dimension.TECHNOLOGY, key, label);
+            row.setPortfolioCount(1);
+            row.setItemCount(row.getItemCount() + 1);
+            row.setFeaturedCount(row.getFeaturedCount() + featuredCount);
+        }
+    }
+
+    public Collection<AnalyticsAggregate> rows() {
+        return rows.values();
+    }
+
+    /**
+     * Add the difference between new and old contributions to the organisation-wide totals,
+     * creating total rows as needed. Returns the totals that changed.
+     */
+    public static List<AnalyticsAggregate> applyDelta(Map<AnalyticsAggregate.Key, AnalyticsAggregate> totals,
+                                                      Collection<AnalyticsAggregate> oldRows,
+                                                      Collection<AnalyticsAggregate> newRows) {
+        Map<AnalyticsAggregate.Key, AnalyticsAggregate> changed = new HashMap<>();
+        for (AnalyticsAggregate row : oldRows) {
+            total(totals, changed, row).add(row, -1);
+        }
+        for (AnalyticsAggregate row : newRows) {
+            AnalyticsAggregate total = total(totals, changed, row);
+            total.add(row, 1);
+            if (row.getLabel() != null) {
+                total.setLabel(row.getLabel());
+            }
+        }
+        return new ArrayList<>(changed.values());
+    }
+
+    private static AnalyticsAggregate total(Map<AnalyticsAggregate.Key, AnalyticsAggregate> totals,
+                                            Map<AnalyticsAggregate.Key, AnalyticsAggregate> changed,
+                                            AnalyticsAggregate row) {
+        AnalyticsAggregate.Key key = new AnalyticsAggregate.Key(
+                AnalyticsAggregate.ORGANISATION, row.getDimension(), row.getBucket());
+        AnalyticsAggregate total = totals.computeIfAbsent(key, k -> new AnalyticsAggregate(
+                AnalyticsAggregate.ORGANISATION, row.getDimension(), row.getBucket(), row.getLabel()));
+        changed.put(key, total);
+        return total;
+    }
+
+    private AnalyticsAggregate row(long portfolioId, Dimension dimension, String bucket, String label) {
+        return rows.computeIfAbsent(new AnalyticsAggregate.Key(portfolioId, dimension, bucket),
+                key -> new AnalyticsAggregate(portfolioId, dimension, bucket, label));
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_BUCKET_LENGTH ? value.substring(0, MAX_BUCKET_LENGTH) : value;
+    }
+}
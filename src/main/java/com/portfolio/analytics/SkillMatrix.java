@@ -0,0 +1,295 @@
+package com.portfolio.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of every skill row: one primitive array per column
+ * (portfolio id, category ordinal, skill type ordinal, proficiency, years of experience)
+ * plus a 0/1 {@code live} column.
+ *
+ * Rows are updated in place by skill id, so the matrix can be refreshed incrementally.
+ * Removed rows are zeroed in the {@code live} column and their slots reused, which keeps the
+ * aggregate loops branch-free: every loop runs over plain arrays and multiplies by
+ * {@code live} instead of testing it. The histogram update is a scatter into the counts by
+ * group and level, so the loop is not vectorized; what it saves is the per-row branch and
+ * object access.
+ * Single-portfolio aggregates visit only that portfolio's rows, found through a row list
+ * per portfolio. Readers share a read lock; refreshes take the write lock only while
+ * applying changes.
+ */
+public final class SkillMatrix {
+
+    /** Proficiency levels run from 1 to 10; index 0 is unused */
+    public static final int LEVELS = 11;
+
+    public enum GroupBy {
+        CATEGORY, SKILL_TYPE
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int categoryCount;
+    private final int typeCount;
+    private final Map<Long, Integer> rowBySkillId = new HashMap<>();
+    private final Map<Long, RowList> rowsByPortfolio = new HashMap<>();
+
+    private long[] skillIds = new long[1024];
+    private long[] portfolioIds = new long[1024];
+    private byte[] categories = new byte[1024];
+    private byte[] types = new byte[1024];
+    private byte[] proficiencies = new byte[1024];
+    private short[] years = new short[1024];
+    private byte[] live = new byte[1024];
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int rowCount;
+
+    public SkillMatrix(int categoryCount, int typeCount) {
+        this.categoryCount = categoryCount;
+        this.typeCount = typeCount;
+    }
+
+    /**
+     * Insert, update or (when {@code active} is false) remove the row for a skill
+     */
+    public void upsert(long skillId, long portfolioId, int category, int type,
+                       int proficiency, Integer yearsOfExperience, boolean active) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowBySkillId.get(skillId);
+            if (!active) {
+                if (row != null) {
+                    remove(skillId, row);
+                }
+                return;
+            }
+            int slot = row != null ? row : allocate(skillId);
+            if (row == null || portfolioIds[slot] != portfolioId) {
+                if (row != null) {
+                    detach(portfolioIds[slot], slot);
+                }
+                rowsByPortfolio.computeIfAbsent(portfolioId, id -> new RowList()).add(slot);
+            }
+            skillIds[slot] = skillId;
+            portfolioIds[slot] = portfolioId;
+            categories[slot] = (byte) category;
+            types[slot] = (byte) type;
+            proficiencies[slot] = (byte) Math.max(0, Math.min(proficiency, LEVELS - 1));
+            years[slot] = (short) (yearsOfExperience != null ? Math.max(0, yearsOfExperience) : -1);
+            live[slot] = 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rowBySkillId.clear();
+            rowsByPortfolio.clear();
+            Arrays.fill(live, (byte) 0);
+            freeCount = 0;
+            rowCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Proficiency histogram and years of experience per group across all live rows
+     */
+    public Aggregate aggregate(GroupBy groupBy) {
+        return aggregate(groupBy, -1);
+    }
+
+    /**
+     * Proficiency histogram and years of experience per group for one portfolio's rows,
+     * or for all rows when {@code portfolioId} is negative
+     */
+    public Aggregate aggregate(GroupBy groupBy, long portfolioId) {
+        int groups = groupBy == GroupBy.CATEGORY ? categoryCount : typeCount;
+        long[] counts = new long[groups * LEVELS];
+        long[] yearsSum = new long[groups];
+        long[] yearsCount = new long[groups];
+
+        lock.readLock().lock();
+        try {
+            byte[] group = groupBy == GroupBy.CATEGORY ? categories : types;
+            int rows = rowCount;
+            if (portfolioId < 0) {
+                for (int i = 0; i < rows; i++) {
+                    int weight = live[i];
+                    int g = group[i];
+                    int y = years[i];
+                    counts[g * LEVELS + proficiencies[i]] += weight;
+                    yearsSum[g] += (long) Math.max(y, 0) * weight;
+                    yearsCount[g] += (y >>> 31 ^ 1) * weight;
+                }
+            } else {
+                RowList portfolioRows = rowsByPortfolio.get(portfolioId);
+                int size = portfolioRows != null ? portfolioRows.size : 0;
+                for (int r = 0; r < size; r++) {
+                    int i = portfolioRows.rows[r];
+                    int g = group[i];
+                    int y = years[i];
+                    counts[g * LEVELS + proficiencies[i]]++;
+                    yearsSum[g] += Math.max(y, 0);
+                    yearsCount[g] += y >>> 31 ^ 1;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[][] histograms = new long[groups][];
+        for (int g = 0; g < groups; g++) {
+            histograms[g] = Arrays.copyOfRange(counts, g * LEVELS, (g + 1) * LEVELS);
+        }
+        return new Aggregate(histograms, yearsSum, yearsCount);
+    }
+
+    public int liveRowCount() {
+        lock.readLock().lock();
+        try {
+            return rowBySkillId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(long skillId) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeRows[--freeCount];
+        } else {
+            if (rowCount == skillIds.length) {
+                grow(rowCount * 2);
+            }
+            slot = rowCount++;
+        }
+        rowBySkillId.put(skillId, slot);
+        return slot;
+    }
+
+    private void remove(long skillId, int row) {
+        rowBySkillId.remove(skillId);
+        detach(portfolioIds[row], row);
+        live[row] = 0;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    private void detach(long portfolioId, int row) {
+        RowList portfolioRows = rowsByPortfolio.get(portfolioId);
+        if (portfolioRows != null && portfolioRows.remove(row) && portfolioRows.size == 0) {
+            rowsByPortfolio.remove(portfolioId);
+        }
+    }
+
+    private void grow(int capacity) {
+        skillIds = Arrays.copyOf(skillIds, capacity);
+        portfolioIds = Arrays.copyOf(portfolioIds, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        types = Arrays.copyOf(types, capacity);
+        proficiencies = Arrays.copyOf(proficiencies, capacity);
+        years = Arrays.copyOf(years, capacity);
+        live = Arrays.copyOf(live, capacity);
+    }
+
+    /**
+     * Unordered list of the rows belonging to one portfolio
+     */
+    private static final class RowList {
+
+        private int[] rows = new int[8];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        boolean remove(int row) {
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == row) {
+                    rows[i] = rows[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Per-group proficiency histograms ({@code histograms[group][level]}) and years of
+     * experience totals, over rows that have years recorded
+     */
+    public record Aggregate(long[][] histograms, long[] yearsSum, long[] yearsCount) {
+
+        public long count(int group) {
+            long total = 0;
+            for (long count : histograms[group]) {
+                total += count;
+            }
+            return total;
+        }
+
+        public double averageProficiency(int group) {
+            long total = 0;
+            long weighted = 0;
+            long[] histogram = histograms[group];
+            for (int level = 1; level < LEVELS; level++) {
+                total += histogram[level];
+                weighted += histogram[level] * level;
+            }
+            return total == 0 ? 0.0 : (double) weighted / total;
+        }
+
+        public double averageYears(int group) {
+            return yearsCount[group] == 0 ? 0.0 : (double) yearsSum[group] / yearsCount[group];
+        }
+
+        /**
+         * The lowest level at or below which the given fraction of the group's skills fall
+         */
+        public int quantile(int group, double fraction) {
+            long total = count(group);
+            if (total == 0) {
+                return 0;
+            }
+            long cumulative = 0;
+            long[] histogram = histograms[group];
+            for (int level = 1; level < LEVELS; level++) {
+                cumulative += histogram[level];
+                if (cumulative >= Math.ceil(fraction * total)) {
+                    return level;
+                }
+            }
+            return LEVELS - 1;
+        }
+
+        /**
+         * Mid-rank percentile of a proficiency level within a group: the share of skills
+         * below it plus half of those at it, from 0 to 100
+         */
+        public double percentileRank(int group, int level) {
+            long total = count(group);
+            if (total == 0) {
+                return 0.0;
+            }
+            long below = 0;
+            long[] histogram = histograms[group];
+            int clamped = Math.max(0, Math.min(level, LEVELS - 1));
+            for (int l = 1; l < clamped; l++) {
+                below += histogram[l];
+            }
+            return 100.0 * (below + histogram[clamped] / 2.0) / total;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.portfolio.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts views per portfolio in memory until they are drained. Each portfolio has its own
+ * {@link LongAdder}, so concurrent views of the same hot portfolio update separate cells instead
+ * of contending on one counter, and {@link #record} takes no lock once the portfolio's adder
+ * exists. Counts are approximate: a view recorded while {@link #drain} removes an idle adder can
+ * be lost.
+ */
+public final class ViewCounter {
+
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void record(long portfolioId) {
+        LongAdder adder = counts.get(portfolioId);
+        if (adder == null) {
+            adder = counts.computeIfAbsent(portfolioId, id -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * Add counts back, e.g. after they could not be written
+     */
+    public void add(Map<Long, Long> views) {
+        views.forEach((id, count) -> counts.computeIfAbsent(id, key -> new LongAdder()).add(count));
+    }
+
+    /**
+     * Take the views counted since the last drain. Portfolios not viewed since then are
+     * forgotten, so the map only holds recently viewed portfolios.
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> views = new HashMap<>();
+        counts.forEach((id, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                views.put(id, count);
+            } else {
+                counts.remove(id, adder);
+            }
+        });
+        return views;
+    }
+
+    /**
+     * Views counted since the last drain
+     */
+    public long pending() {
+        long pending = 0;
+        for (LongAdder adder : counts.values()) {
+            pending += adder.sum();
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,54 @@
+package com.portfolio.assets;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * The bundles written by the build-time {@code AssetPipeline} ({@code src/build/java}), by
+ * source file. Empty when the pipeline has not run, as in development, where the source files
+ * are served as they are.
+ */
+public class AssetManifest {
+
+    /** Directory of the bundles and the manifest, under the static resource location */
+    public static final String ASSETS_DIR = "assets";
+    public static final String MANIFEST = "manifest.properties";
+
+    private final Map<String, String> bundles;
+
+    public AssetManifest(Map<String, String> bundles) {
+        this.bundles = Map.copyOf(bundles);
+    }
+
+    public static AssetManifest load(Resource resource) {
+        if (!resource.exists()) {
+            return new AssetManifest(Map.of());
+        }
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read asset manifest " + resource, e);
+        }
+        return new AssetManifest(properties.stringPropertyNames().stream()
+                .collect(Collectors.toMap(name -> name, properties::getProperty)));
+    }
+
+    /**
+     * The bundle containing a source file, e.g. {@code css/main.css -> assets/app.3f9a1c02de.css}
+     */
+    public Optional<String> bundleFor(String path) {
+        return Optional.ofNullable(bundles.get(path.startsWith("/") ? path.substring(1) : path));
+    }
+
+    public boolean isEmpty() {
+        return bundles.isEmpty();
+    }
+}
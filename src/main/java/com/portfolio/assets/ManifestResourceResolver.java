@@ -0,0 +1,38 @@
+package com.portfolio.assets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * Links source files to their fingerprinted bundle, so {@code @{/css/main.css}} in a template
+ * renders as {@code /assets/app.<hash>.css} once the asset pipeline has run. Requests are
+ * resolved by the rest of the chain unchanged.
+ */
+public class ManifestResourceResolver implements ResourceResolver {
+
+    private final AssetManifest manifest;
+
+    public ManifestResourceResolver(AssetManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    @Override
+    @Nullable
+    public Resource resolveResource(@Nullable HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveResource(request, requestPath, locations);
+    }
+
+    @Override
+    @Nullable
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations,
+                                 ResourceResolverChain chain) {
+        return manifest.bundleFor(resourcePath)
+                .orElseGet(() -> chain.resolveUrlPath(resourcePath, locations));
+    }
+}
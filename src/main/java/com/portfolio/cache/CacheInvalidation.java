@@ -0,0 +1,38 @@
+package com.portfolio.cache;
+
+/**
+ * Eviction of one key (or, with a null key, every key) of a named cache, as broadcast between
+ * nodes. {@code origin} identifies the sending node and {@code sentAtMillis} is its wall clock
+ * when the change was made, used to measure invalidation lag.
+ *
+ * Encoded as {@code cache:key:origin:sentAtMillis}, with {@code *} for all keys, to fit a
+ * Postgres NOTIFY payload.
+ */
+public record CacheInvalidation(String cacheName, Long key, String origin, long sentAtMillis) {
+
+    private static final String ALL_KEYS = "*";
+
+    public boolean isAllKeys() {
+        return key == null;
+    }
+
+    public String encode() {
+        return cacheName + ":" + (key != null ? key : ALL_KEYS) + ":" + origin + ":" + sentAtMillis;
+    }
+
+    /**
+     * Parse an encoded invalidation; throws {@link IllegalArgumentException} for malformed payloads
+     */
+    public static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + payload);
+        }
+        try {
+            Long key = ALL_KEYS.equals(parts[1]) ? null : Long.valueOf(parts[1]);
+            return new CacheInvalidation(parts[0], key, parts[2], Long.parseLong(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.portfolio.cache;
+
+/**
+ * Transport that delivers cache invalidations to every node, including the sender.
+ * Invalidations broadcast inside a transaction are delivered only once it commits, and
+ * dropped if it rolls back.
+ */
+public interface CacheInvalidationBroadcaster {
+
+    void broadcast(CacheInvalidation invalidation);
+
+    void addListener(CacheInvalidationListener listener);
+
+    /** Identifies this node in {@link CacheInvalidation#origin()} */
+    String getNodeId();
+}
@@ -0,0 +1,15 @@
+package com.portfolio.cache;
+
+/**
+ * Receives invalidations from a {@link CacheInvalidationBroadcaster}.
+ */
+public interface CacheInvalidationListener {
+
+    void onInvalidation(CacheInvalidation invalidation);
+
+    /**
+     * Called when invalidations may have been missed (e.g. the transport reconnected);
+     * the listener should drop everything it has cached
+     */
+    void onReset();
+}
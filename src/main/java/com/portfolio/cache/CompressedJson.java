@@ -0,0 +1,105 @@
+package com.portfolio.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A serialized JSON response kept with its gzip encoding and a strong ETag, so a cached
+ * response is compressed once rather than on every request.
+ */
+public final class CompressedJson {
+
+    private final byte[] identity;
+    private final byte[] gzip;
+    private final String etag;
+
+    private CompressedJson(byte[] identity, byte[] gzip, String etag) {
+        this.identity = identity;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    /**
+     * Wrap serialized JSON, compressing it if {@code compress} is set and it gets smaller
+     */
+    public static CompressedJson of(byte[] json, boolean compress) {
+        byte[] gzip = compress ? gzip(json) : null;
+        return new CompressedJson(json, gzip != null && gzip.length < json.length ? gzip : null, etag(json));
+    }
+
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    /**
+     * The gzip encoding, or null if the response is served uncompressed
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * The ETag of the gzip encoding, which is a different representation of the same JSON
+     */
+    public String getGzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed, or covered by "*", without q=0
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                accepted &= !parts[i].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcaster for a single JVM: delivers to local listeners right after the surrounding
+ * transaction commits, or immediately when there is none. Used for single-node deployments
+ * and tests; several caches registered with one instance behave like several nodes.
+ */
+public class InJvmInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        afterCommit(() -> listeners.forEach(listener -> listener.onInvalidation(invalidation)));
+    }
+
+    @Override
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
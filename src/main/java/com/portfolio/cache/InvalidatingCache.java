@@ -0,0 +1,196 @@
+package com.portfolio.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-limited local cache kept coherent across nodes through a
+ * {@link CacheInvalidationBroadcaster}.
+ *
+ * Every invalidation received bumps a sequence and leaves a tombstone for its key. A load
+ * records the sequence before reading, and its result is only stored if no tombstone for
+ * that key (or reset of the whole cache) is newer, so a read that raced a committed change
+ * on another node cannot put the old value back after the eviction. Tombstones are kept for
+ * {@code tombstoneTtl}; loads that take longer than that are never stored.
+ */
+public class InvalidatingCache<V> implements CacheInvalidationListener {
+
+    private final String name;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final long ttlNanos;
+    private final long tombstoneTtlNanos;
+    private final int maxSize;
+    private final Set<String> sources = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, Entry<V>> entries;
+    private final LinkedHashMap<Long, Tombstone> tombstones = new LinkedHashMap<>();
+    private long sequence;
+    private long resetSequence;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter rejectedPuts;
+    private final Timer invalidationLag;
+
+    public InvalidatingCache(String name, CacheInvalidationBroadcaster broadcaster, Duration ttl,
+                             int maxSize, Duration tombstoneTtl, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.broadcaster = broadcaster;
+        this.ttlNanos = ttl.toNanos();
+        this.tombstoneTtlNanos = tombstoneTtl.toNanos();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<V>> eldest) {
+                if (size() > InvalidatingCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit")
+                .description("Cache lookups that returned a cached value").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss")
+                .description("Cache lookups that had to load the value").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name)
+                .description("Entries evicted because the cache was full").register(meterRegistry);
+        this.rejectedPuts = Counter.builder("portfolio.cache.rejected.puts").tag("cache", name)
+                .description("Loaded values discarded because the key was invalidated during the load")
+                .register(meterRegistry);
+        this.invalidationLag = Timer.builder("portfolio.cache.invalidation.lag").tag("cache", name)
+                .description("Time from a change being made on any node to its eviction on this node")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, InvalidatingCache::size).tag("cache", name)
+                .description("Entries in the cache").register(meterRegistry);
+
+        broadcaster.addListener(this);
+    }
+
+    /**
+     * Get the cached value for a key, loading and caching it on a miss.
+     * The loader runs without holding the cache lock; null results are not cached.
+     */
+    public V get(Long key, Function<Long, V> loader) {
+        long stamp;
+        long startedAt = System.nanoTime();
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && startedAt - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            stamp = sequence;
+        }
+        misses.increment();
+
+        V value = loader.apply(key);
+        if (value != null) {
+            putIfNotInvalidated(key, value, stamp, startedAt);
+        }
+        return value;
+    }
+
+    /**
+     * Also evict on invalidations of another cache, for values built from that cache's values.
+     * Returns this cache.
+     */
+    public InvalidatingCache<V> derivedFrom(String sourceCacheName) {
+        sources.add(sourceCacheName);
+        return this;
+    }
+
+    /**
+     * Evict a key on every node once the surrounding transaction commits
+     */
+    public void invalidate(Long key) {
+        broadcaster.broadcast(new CacheInvalidation(name, key, broadcaster.getNodeId(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Evict every key on every node once the surrounding transaction commits
+     */
+    public void invalidateAll() {
+        invalidate(null);
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (!name.equals(invalidation.cacheName()) && !sources.contains(invalidation.cacheName())) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            sequence++;
+            if (invalidation.isAllKeys()) {
+                entries.clear();
+                tombstones.clear();
+                resetSequence = sequence;
+            } else {
+                entries.remove(invalidation.key());
+                tombstones.remove(invalidation.key());
+                tombstones.put(invalidation.key(), new Tombstone(sequence, now));
+            }
+            purgeTombstones(now);
+        }
+        invalidationLag.record(Math.max(0, System.currentTimeMillis() - invalidation.sentAtMillis()),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void onReset() {
+        sequence++;
+        resetSequence = sequence;
+        entries.clear();
+        tombstones.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private synchronized void putIfNotInvalidated(Long key, V value, long stamp, long startedAt) {
+        long now = System.nanoTime();
+        Tombstone tombstone = tombstones.get(key);
+        if (now - startedAt >= tombstoneTtlNanos || resetSequence > stamp
+                || (tombstone != null && tombstone.sequence() > stamp)) {
+            rejectedPuts.increment();
+            return;
+        }
+        entries.put(key, new Entry<>(value, now));
+    }
+
+    private void purgeTombstones(long now) {
+        Iterator<Tombstone> iterator = tombstones.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().createdAt() >= tombstoneTtlNanos) {
+            iterator.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    private record Tombstone(long sequence, long createdAt) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.portfolio.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Broadcaster over Postgres {@code LISTEN/NOTIFY}.
+ *
+ * Invalidations are sent with {@code pg_notify} on the writer's own connection, so Postgres
+ * delivers them to the other nodes only when the change commits (and never on rollback);
+ * the sending node evicts locally after commit. Each node listens on a dedicated connection
+ * outside the pool, polled by a daemon thread. After that connection is lost, notifications
+ * may have been missed, so listeners are reset once it is re-established.
+ */
+public class PostgresInvalidationBroadcaster implements CacheInvalidationBroadcaster, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationBroadcaster.class);
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresInvalidationBroadcaster(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                           String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+    }
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        String payload = invalidation.encode();
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            return statement.execute();
+        });
+        InJvmInvalidationBroadcaster.afterCommit(() -> deliver(invalidation));
+    }
+
+    @Override
+    public void addListener(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(POLL_TIMEOUT_MS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long backoffMs = 500;
+        boolean missedNotifications = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (missedNotifications) {
+                    log.info("Cache invalidation listener reconnected; clearing local caches");
+                    listeners.forEach(CacheInvalidationListener::onReset);
+                    missedNotifications = false;
+                }
+                backoffMs = 500;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                missedNotifications = true;
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}",
+                        backoffMs, e.toString());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            CacheInvalidation invalidation = CacheInvalidation.decode(payload);
+            if (!nodeId.equals(invalidation.origin())) {
+                deliver(invalidation);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.onInvalidation(invalidation));
+    }
+}
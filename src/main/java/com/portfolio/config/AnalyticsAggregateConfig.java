@@ -0,0 +1,12 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Analytics aggregates configured under {@code portfolio.analytics.aggregates.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(AnalyticsAggregateProperties.class)
+public class AnalyticsAggregateConfig {
+}
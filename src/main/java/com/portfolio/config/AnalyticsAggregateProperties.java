@@ -0,0 +1,27 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Analytics aggregate settings bound from {@code portfolio.analytics.aggregates.*}.
+ * The intervals and the startup delay are read directly by the {@code @Scheduled} annotations;
+ * the rebuild interval also decides when the aggregates count as stale at startup.
+ */
+@ConfigurationProperties(prefix = "portfolio.analytics.aggregates")
+public class AnalyticsAggregateProperties {
+
+    private Duration applyInterval = Duration.ofSeconds(2);
+    private Duration rebuildInterval = Duration.ofHours(24);
+    private Duration startupDelay = Duration.ofSeconds(30);
+
+    public Duration getApplyInterval() { return applyInterval; }
+    public void setApplyInterval(Duration applyInterval) { this.applyInterval = applyInterval; }
+
+    public Duration getRebuildInterval() { return rebuildInterval; }
+    public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+
+    public Duration getStartupDelay() { return startupDelay; }
+    public void setStartupDelay(Duration startupDelay) { this.startupDelay = startupDelay; }
+}
@@ -0,0 +1,12 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Archival of soft-deleted portfolios configured under {@code portfolio.archive.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+}
@@ -0,0 +1,42 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archival settings bound from {@code portfolio.archive.*}.
+ * The cron expression is read directly by the archiver's {@code @Scheduled} annotation.
+ */
+@ConfigurationProperties(prefix = "portfolio.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+    private String cron = "0 30 3 * * *";
+    private Duration inactiveFor = Duration.ofDays(90);
+    private int batchSize = 100;
+    private Duration batchPause = Duration.ofMillis(500);
+    private int maxBatchesPerRun = 100;
+    private Duration lockTimeout = Duration.ofSeconds(2);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+
+    public Duration getInactiveFor() { return inactiveFor; }
+    public void setInactiveFor(Duration inactiveFor) { this.inactiveFor = inactiveFor; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getBatchPause() { return batchPause; }
+    public void setBatchPause(Duration batchPause) { this.batchPause = batchPause; }
+
+    public int getMaxBatchesPerRun() { return maxBatchesPerRun; }
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) { this.maxBatchesPerRun = maxBatchesPerRun; }
+
+    public Duration getLockTimeout() { return lockTimeout; }
+    public void setLockTimeout(Duration lockTimeout) { this.lockTimeout = lockTimeout; }
+}
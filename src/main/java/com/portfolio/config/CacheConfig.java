@@ -0,0 +1,69 @@
+package com.portfolio.config;
+
+import com.portfolio.cache.CacheInvalidationBroadcaster;
+import com.portfolio.cache.CompressedJson;
+import com.portfolio.cache.InJvmInvalidationBroadcaster;
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.cache.PostgresInvalidationBroadcaster;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.view.RenderedPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Local read caches kept coherent across nodes by the invalidation transport selected with
+ * {@code portfolio.cache.invalidation.transport}.
+ */
+@Configuration
+@EnableConfigurationProperties(PortfolioCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationBroadcaster cacheInvalidationBroadcaster(PortfolioCacheProperties properties,
+                                                                     ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                                                     ObjectProvider<DataSourceProperties> dataSourceProperties) {
+        PortfolioCacheProperties.Invalidation invalidation = properties.getInvalidation();
+        return switch (invalidation.getTransport()) {
+            case IN_JVM -> new InJvmInvalidationBroadcaster();
+            case POSTGRES -> new PostgresInvalidationBroadcaster(jdbcTemplate.getObject(),
+                    dataSourceProperties.getObject(), invalidation.getChannel());
+        };
+    }
+
+    @Bean
+    public InvalidatingCache<PortfolioDTO> portfolioCache(CacheInvalidationBroadcaster broadcaster,
+                                                          PortfolioCacheProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        return new InvalidatingCache<>("portfolios", broadcaster, properties.getTtl(),
+                properties.getMaxSize(), properties.getTombstoneTtl(), meterRegistry);
+    }
+
+    /**
+     * Rendered page sections per portfolio, evicted whenever the portfolio is
+     */
+    @Bean
+    public InvalidatingCache<RenderedPage> portfolioPageCache(CacheInvalidationBroadcaster broadcaster,
+                                                              PortfolioCacheProperties properties,
+                                                              MeterRegistry meterRegistry) {
+        return new InvalidatingCache<RenderedPage>("portfolio-pages", broadcaster, properties.getTtl(),
+                properties.getMaxSize(), properties.getTombstoneTtl(), meterRegistry)
+                .derivedFrom("portfolios");
+    }
+
+    /**
+     * Serialized and compressed portfolio JSON per portfolio, evicted whenever the portfolio is
+     */
+    @Bean
+    public InvalidatingCache<CompressedJson> portfolioResponseCache(CacheInvalidationBroadcaster broadcaster,
+                                                                    PortfolioCacheProperties properties,
+                                                                    MeterRegistry meterRegistry) {
+        return new InvalidatingCache<CompressedJson>("portfolio-responses", broadcaster, properties.getTtl(),
+                properties.getMaxSize(), properties.getTombstoneTtl(), meterRegistry)
+                .derivedFrom("portfolios");
+    }
+}
@@ -0,0 +1,111 @@
+package com.portfolio.config;
+
+import com.portfolio.datasource.ClusterLock;
+import com.portfolio.datasource.PoolAutosizer;
+import com.portfolio.datasource.PoolSizingPolicy;
+import com.portfolio.datasource.Workload;
+import com.portfolio.datasource.WorkloadAspect;
+import com.portfolio.datasource.WorkloadPool;
+import com.portfolio.datasource.WorkloadPools;
+import com.portfolio.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Spring Boot's single connection pool with one Hikari pool per {@link Workload},
+ * configured under {@code portfolio.datasource.*}, behind the one application DataSource.
+ * Read-only transactions, writes and background jobs each wait only for their own pool,
+ * so a bulk job cannot take the connections page views need.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolsProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * Settings shared by all pools; sizes and connection timeouts are set per pool
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariConfig sharedPoolSettings() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public WorkloadPools workloadPools(DataSourceProperties dataSourceProperties,
+                                       HikariConfig sharedPoolSettings,
+                                       DataSourcePoolsProperties properties,
+                                       MeterRegistry meterRegistry) {
+        List<WorkloadPool> pools = new ArrayList<>();
+        int total = 0;
+        for (Workload workload : Workload.values()) {
+            DataSourcePoolsProperties.Pool settings = properties.getPool(workload);
+            HikariConfig config = new HikariConfig();
+            sharedPoolSettings.copyStateTo(config);
+            config.setPoolName(workload.getPoolName());
+            config.setJdbcUrl(dataSourceProperties.determineUrl());
+            config.setUsername(dataSourceProperties.determineUsername());
+            config.setPassword(dataSourceProperties.determinePassword());
+            config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            config.setMinimumIdle(settings.getMinimumIdle());
+            config.setMaximumPoolSize(settings.getMaximumPoolSize());
+            config.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            config.setMetricRegistry(meterRegistry);
+            // Started by the first checkout, like Spring Boot's own pool
+            HikariDataSource dataSource = new HikariDataSource();
+            config.copyStateTo(dataSource);
+            pools.add(new WorkloadPool(workload, dataSource,
+                    settings.getMinSize(), settings.getMaxSize(), meterRegistry));
+            total += settings.getMaximumPoolSize();
+        }
+        if (total > properties.getMaxTotalConnections()) {
+            throw new IllegalArgumentException("Pool sizes add up to " + total
+                    + " connections, more than max-total-connections " + properties.getMaxTotalConnections());
+        }
+        return new WorkloadPools(pools);
+    }
+
+    /**
+     * The lazy proxy takes the pooled connection at the first statement, once the transaction's
+     * read-only flag (and so the workload) is known
+     */
+    @Bean
+    public DataSource dataSource(WorkloadPools workloadPools) {
+        return new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(workloadPools));
+    }
+
+    /**
+     * Keeps jobs that write shared state, such as the analytics rebuild, to one node at a time
+     */
+    @Bean
+    public ClusterLock clusterLock(DataSourceProperties dataSourceProperties) {
+        return new ClusterLock(dataSourceProperties);
+    }
+
+    @Bean
+    public WorkloadAspect workloadAspect() {
+        return new WorkloadAspect();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "portfolio.datasource.autosize", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PoolAutosizer poolAutosizer(WorkloadPools workloadPools, DataSourcePoolsProperties properties) {
+        DataSourcePoolsProperties.Autosize autosize = properties.getAutosize();
+        PoolSizingPolicy policy = new PoolSizingPolicy(
+                autosize.getTargetWait().toMillis(),
+                autosize.getDbLatencyThreshold().toMillis(),
+                properties.getMaxTotalConnections());
+        return new PoolAutosizer(workloadPools, policy);
+    }
+}
@@ -0,0 +1,98 @@
+package com.portfolio.config;
+
+import com.portfolio.datasource.Workload;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings bound from {@code portfolio.datasource.*}: one pool per workload
+ * (interactive reads, writes, background jobs) and the autosizer that moves each pool's
+ * maximum size between its min-size and max-size. Settings not listed here (idle timeout,
+ * max lifetime, ...) come from {@code spring.datasource.hikari.*} and apply to all pools.
+ */
+@ConfigurationProperties(prefix = "portfolio.datasource")
+public class DataSourcePoolsProperties {
+
+    private int maxTotalConnections = 30;
+    private Pool read = new Pool(4, 10, 4, 20, Duration.ofSeconds(2));
+    private Pool write = new Pool(2, 6, 2, 10, Duration.ofSeconds(5));
+    private Pool background = new Pool(0, 2, 1, 4, Duration.ofSeconds(30));
+    private Autosize autosize = new Autosize();
+
+    public Pool getPool(Workload workload) {
+        return switch (workload) {
+            case READ -> read;
+            case WRITE -> write;
+            case BACKGROUND -> background;
+        };
+    }
+
+    public int getMaxTotalConnections() { return maxTotalConnections; }
+    public void setMaxTotalConnections(int maxTotalConnections) { this.maxTotalConnections = maxTotalConnections; }
+
+    public Pool getRead() { return read; }
+    public void setRead(Pool read) { this.read = read; }
+
+    public Pool getWrite() { return write; }
+    public void setWrite(Pool write) { this.write = write; }
+
+    public Pool getBackground() { return background; }
+    public void setBackground(Pool background) { this.background = background; }
+
+    public Autosize getAutosize() { return autosize; }
+    public void setAutosize(Autosize autosize) { this.autosize = autosize; }
+
+    public static class Pool {
+        private int minimumIdle;
+        private int maximumPoolSize;
+        private int minSize;
+        private int maxSize;
+        private Duration connectionTimeout;
+
+        public Pool() {
+        }
+
+        Pool(int minimumIdle, int maximumPoolSize, int minSize, int maxSize, Duration connectionTimeout) {
+            this.minimumIdle = minimumIdle;
+            this.maximumPoolSize = maximumPoolSize;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public int getMinimumIdle() { return minimumIdle; }
+        public void setMinimumIdle(int minimumIdle) { this.minimumIdle = minimumIdle; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+        public int getMinSize() { return minSize; }
+        public void setMinSize(int minSize) { this.minSize = minSize; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public Duration getConnectionTimeout() { return connectionTimeout; }
+        public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+    }
+
+    public static class Autosize {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofSeconds(10);
+        private Duration targetWait = Duration.ofMillis(10);
+        private Duration dbLatencyThreshold = Duration.ofMillis(100);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public Duration getInterval() { return interval; }
+        public void setInterval(Duration interval) { this.interval = interval; }
+
+        public Duration getTargetWait() { return targetWait; }
+        public void setTargetWait(Duration targetWait) { this.targetWait = targetWait; }
+
+        public Duration getDbLatencyThreshold() { return dbLatencyThreshold; }
+        public void setDbLatencyThreshold(Duration dbLatencyThreshold) { this.dbLatencyThreshold = dbLatencyThreshold; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.config;
+
+import com.portfolio.deadline.DeadlineFilter;
+import com.portfolio.deadline.DeadlineQueryListener;
+import com.portfolio.deadline.DeadlineTaskDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request deadlines configured under {@code portfolio.deadline.*}. The task decorator is
+ * picked up by Spring Boot's auto-configured task executor.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(prefix = "portfolio.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        DeadlineFilter filter = new DeadlineFilter(
+                meterRegistry,
+                properties.getHeader(),
+                properties.getDefaultTimeout(),
+                properties.getMaxTimeout(),
+                properties.getEndpoints());
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    public DeadlineQueryListener deadlineQueryListener() {
+        return new DeadlineQueryListener();
+    }
+
+    @Bean
+    public DeadlineTaskDecorator deadlineTaskDecorator() {
+        return new DeadlineTaskDecorator();
+    }
+}
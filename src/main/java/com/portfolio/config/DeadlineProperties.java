@@ -0,0 +1,36 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request deadline settings bound from {@code portfolio.deadline.*}.
+ * Endpoint timeouts are keyed by Ant-style path pattern, e.g. {@code "[/api/portfolios/search]"};
+ * the first matching pattern wins.
+ */
+@ConfigurationProperties(prefix = "portfolio.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+    private String header = "X-Request-Timeout";
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    private Duration maxTimeout = Duration.ofSeconds(30);
+    private final Map<String, Duration> endpoints = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getHeader() { return header; }
+    public void setHeader(String header) { this.header = header; }
+
+    public Duration getDefaultTimeout() { return defaultTimeout; }
+    public void setDefaultTimeout(Duration defaultTimeout) { this.defaultTimeout = defaultTimeout; }
+
+    public Duration getMaxTimeout() { return maxTimeout; }
+    public void setMaxTimeout(Duration maxTimeout) { this.maxTimeout = maxTimeout; }
+
+    public Map<String, Duration> getEndpoints() { return endpoints; }
+}
@@ -0,0 +1,78 @@
+package com.portfolio.config;
+
+import com.portfolio.monitoring.InstrumentedDataSource;
+import com.portfolio.monitoring.QueryExecutionListener;
+import com.portfolio.monitoring.SlowQueryLogger;
+import com.portfolio.monitoring.SqlBudgetAspect;
+import com.portfolio.monitoring.SqlBudgetFilter;
+import com.portfolio.monitoring.SqlBudgetTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in an {@link InstrumentedDataSource} and registers
+ * the statement listeners configured under {@code portfolio.jdbc.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(JdbcMonitoringProperties.class)
+public class JdbcMonitoringConfig {
+
+    /**
+     * Static so the post-processor is registered before the DataSource is created
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentationPostProcessor(
+            ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, listeners);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "portfolio.jdbc.slow-query", name = "enabled", havingValue = "true")
+    public SlowQueryLogger slowQueryLogger(JdbcMonitoringProperties properties) {
+        JdbcMonitoringProperties.SlowQuery slowQuery = properties.getSlowQuery();
+        return new SlowQueryLogger(
+                slowQuery.getThresholdMs(),
+                slowQuery.getSampleRate(),
+                slowQuery.isLogParameters(),
+                slowQuery.getMaxParameterLength());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "portfolio.jdbc.budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SqlBudgetTracker sqlBudgetTracker(JdbcMonitoringProperties properties, MeterRegistry meterRegistry) {
+        JdbcMonitoringProperties.Budget budget = properties.getBudget();
+        return new SqlBudgetTracker(meterRegistry, budget, budget.getOverrides(), budget.isFailOnExceed());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "portfolio.jdbc.budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SqlBudgetAspect sqlBudgetAspect(SqlBudgetTracker tracker) {
+        return new SqlBudgetAspect(tracker);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "portfolio.jdbc.budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlBudgetTracker tracker) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(new SqlBudgetFilter(tracker));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
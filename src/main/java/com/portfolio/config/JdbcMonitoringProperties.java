@@ -0,0 +1,72 @@
+package com.portfolio.config;
+
+import com.portfolio.monitoring.SqlBudget;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC monitoring settings bound from {@code portfolio.jdbc.*}.
+ */
+@ConfigurationProperties(prefix = "portfolio.jdbc")
+public class JdbcMonitoringProperties {
+
+    private final SlowQuery slowQuery = new SlowQuery();
+    private final Budget budget = new Budget();
+
+    public SlowQuery getSlowQuery() {
+        return slowQuery;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Slow query logging ({@code portfolio.jdbc.slow-query.*})
+     */
+    public static class SlowQuery {
+
+        private boolean enabled = false;
+        private long thresholdMs = 500;
+        private double sampleRate = 1.0;
+        private boolean logParameters = true;
+        private int maxParameterLength = 100;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public long getThresholdMs() { return thresholdMs; }
+        public void setThresholdMs(long thresholdMs) { this.thresholdMs = thresholdMs; }
+
+        public double getSampleRate() { return sampleRate; }
+        public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+
+        public boolean isLogParameters() { return logParameters; }
+        public void setLogParameters(boolean logParameters) { this.logParameters = logParameters; }
+
+        public int getMaxParameterLength() { return maxParameterLength; }
+        public void setMaxParameterLength(int maxParameterLength) { this.maxParameterLength = maxParameterLength; }
+    }
+
+    /**
+     * Per-request and per-service-method SQL budgets ({@code portfolio.jdbc.budget.*}).
+     * Overrides are keyed by scope name, e.g. {@code "[GET /api/portfolios/{id}]"} or
+     * {@code PortfolioService.getAllPortfolios}.
+     */
+    public static class Budget extends SqlBudget {
+
+        private boolean enabled = true;
+        private boolean failOnExceed = false;
+        private final Map<String, SqlBudget> overrides = new LinkedHashMap<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public boolean isFailOnExceed() { return failOnExceed; }
+        public void setFailOnExceed(boolean failOnExceed) { this.failOnExceed = failOnExceed; }
+
+        public Map<String, SqlBudget> getOverrides() { return overrides; }
+    }
+}
@@ -0,0 +1,45 @@
+package com.portfolio.config;
+
+import com.portfolio.media.FileHandleCache;
+import com.portfolio.media.InMemoryMediaStorage;
+import com.portfolio.media.LocalMediaStorage;
+import com.portfolio.media.MediaFileSender;
+import com.portfolio.media.MediaStorage;
+import com.portfolio.media.ResponsiveImages;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uploaded images and their responsive variants, configured under {@code portfolio.media.*}
+ * and {@code portfolio.upload.*}.
+ */
+@Configuration
+@EnableConfigurationProperties({MediaProperties.class, UploadProperties.class})
+public class MediaConfig {
+
+    @Bean
+    public MediaStorage mediaStorage(MediaProperties properties) {
+        return switch (properties.getStorage()) {
+            case LOCAL -> new LocalMediaStorage(properties.getDirectory());
+            case MEMORY -> new InMemoryMediaStorage();
+        };
+    }
+
+    @Bean
+    public ResponsiveImages responsiveImages(MediaStorage mediaStorage) {
+        return new ResponsiveImages(mediaStorage);
+    }
+
+    @Bean
+    public FileHandleCache mediaFileHandles(MediaProperties properties, MeterRegistry meterRegistry) {
+        return new FileHandleCache(properties.getOpenFiles(), meterRegistry);
+    }
+
+    @Bean
+    public MediaFileSender mediaFileSender(FileHandleCache mediaFileHandles, MediaProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new MediaFileSender(mediaFileHandles, properties.getSendfileMinSize().toBytes(), meterRegistry);
+    }
+}
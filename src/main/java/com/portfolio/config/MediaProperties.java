@@ -0,0 +1,74 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Uploaded media settings bound from {@code portfolio.media.*}. Originals and their variants
+ * are kept in {@code directory} or, with {@code storage: memory}, in an in-memory stand-in for
+ * an object store. Each image gets a variant per width below its own, resized by {@code workers}
+ * threads with at most {@code queue-capacity} images waiting; uploads beyond that are turned
+ * away with 503. Images larger than {@code max-pixels} are refused before they are decoded.
+ * With {@code zero-copy}, files on local disk of at least {@code sendfile-min-size} are sent
+ * with Tomcat's sendfile where the connector supports it, and up to {@code open-files} of them
+ * are kept open; other files go through Spring's resource handling.
+ */
+@ConfigurationProperties(prefix = "portfolio.media")
+public class MediaProperties {
+
+    private Storage storage = Storage.LOCAL;
+    private Path directory = Path.of("media");
+    private List<Integer> widths = List.of(320, 640, 960, 1280);
+    private float quality = 0.8f;
+    private int workers = 2;
+    private int queueCapacity = 32;
+    private long maxPixels = 40_000_000;
+    private Duration maxAge = Duration.ofDays(365);
+    private boolean zeroCopy = true;
+    private int openFiles = 256;
+    private DataSize sendfileMinSize = DataSize.ofKilobytes(48);
+
+    public Storage getStorage() { return storage; }
+    public void setStorage(Storage storage) { this.storage = storage; }
+
+    public Path getDirectory() { return directory; }
+    public void setDirectory(Path directory) { this.directory = directory; }
+
+    public List<Integer> getWidths() { return widths; }
+    public void setWidths(List<Integer> widths) { this.widths = widths; }
+
+    public float getQuality() { return quality; }
+    public void setQuality(float quality) { this.quality = quality; }
+
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public long getMaxPixels() { return maxPixels; }
+    public void setMaxPixels(long maxPixels) { this.maxPixels = maxPixels; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public boolean isZeroCopy() { return zeroCopy; }
+    public void setZeroCopy(boolean zeroCopy) { this.zeroCopy = zeroCopy; }
+
+    public int getOpenFiles() { return openFiles; }
+    public void setOpenFiles(int openFiles) { this.openFiles = openFiles; }
+
+    public DataSize getSendfileMinSize() { return sendfileMinSize; }
+    public void setSendfileMinSize(DataSize sendfileMinSize) { this.sendfileMinSize = sendfileMinSize; }
+
+    public enum Storage {
+        /** Files under {@code directory} */
+        LOCAL,
+        /** In memory, lost on restart (tests, demos) */
+        MEMORY
+    }
+}
@@ -0,0 +1,23 @@
+package com.portfolio.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics. HTTP route histograms, Hikari pool gauges and cache statistics are
+ * bound by Spring Boot; this adds timers for methods and classes annotated with {@code @Timed}.
+ * Everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times {@code @Timed} beans, tagging each sample with {@code class} and {@code method}
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Change-event outbox settings bound from {@code portfolio.outbox.*}.
+ * The poll interval is read directly by the dispatcher's {@code @Scheduled} annotation.
+ */
+@ConfigurationProperties(prefix = "portfolio.outbox")
+public class OutboxProperties {
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 100;
+    private int maxAttempts = 10;
+    private Duration retention = Duration.ofDays(7);
+
+    public Duration getPollInterval() { return pollInterval; }
+    public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+}
@@ -0,0 +1,56 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Portfolio cache settings bound from {@code portfolio.cache.*}.
+ * Plain numbers for {@code ttl} are seconds. With {@code compress-responses}, cached JSON
+ * responses keep their gzip encoding instead of being compressed again for every request.
+ */
+@ConfigurationProperties(prefix = "portfolio.cache")
+public class PortfolioCacheProperties {
+
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration ttl = Duration.ofHours(1);
+    private int maxSize = 10_000;
+    private Duration tombstoneTtl = Duration.ofSeconds(60);
+    private boolean compressResponses = true;
+    private final Invalidation invalidation = new Invalidation();
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+    public Duration getTombstoneTtl() { return tombstoneTtl; }
+    public void setTombstoneTtl(Duration tombstoneTtl) { this.tombstoneTtl = tombstoneTtl; }
+
+    public boolean isCompressResponses() { return compressResponses; }
+    public void setCompressResponses(boolean compressResponses) { this.compressResponses = compressResponses; }
+
+    public Invalidation getInvalidation() { return invalidation; }
+
+    public enum Transport {
+        /** Deliver within this JVM only (single node, tests) */
+        IN_JVM,
+        /** Deliver to every node through Postgres LISTEN/NOTIFY */
+        POSTGRES
+    }
+
+    public static class Invalidation {
+
+        private Transport transport = Transport.IN_JVM;
+        private String channel = "portfolio_cache";
+
+        public Transport getTransport() { return transport; }
+        public void setTransport(Transport transport) { this.transport = transport; }
+
+        public String getChannel() { return channel; }
+        public void setChannel(String channel) { this.channel = channel; }
+    }
+}
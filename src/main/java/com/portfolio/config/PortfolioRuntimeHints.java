@@ -0,0 +1,91 @@
+package com.portfolio.config;
+
+import com.portfolio.assets.AssetManifest;
+import com.portfolio.exception.GlobalExceptionHandler;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * What a native image of the application needs beyond the hints Spring's AOT processing
+ * derives from bean definitions. Runs at build time: the packages are scanned then, and the
+ * image only keeps the resulting hints.
+ * <ul>
+ *   <li>JPA entities: fields, constructors and methods for Hibernate, plus Jackson binding</li>
+ *   <li>DTOs, change events and {@link GlobalExceptionHandler.ErrorResponse}: Jackson binding,
+ *       including the records and nested types written through an {@code ObjectMapper}</li>
+ *   <li>Repositories: public methods and the JDK proxy Spring Data creates for each</li>
+ *   <li>JDBC interfaces the SQL monitoring wraps in JDK proxies</li>
+ *   <li>The asset manifest read at startup</li>
+ * </ul>
+ */
+public class PortfolioRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String ENTITY_PACKAGE = "com.portfolio.entity";
+    static final List<String> BINDING_PACKAGES = List.of("com.portfolio.dto", "com.portfolio.event");
+    static final String REPOSITORY_PACKAGE = "com.portfolio.repository";
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : scan(ENTITY_PACKAGE, classLoader, false)) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            bindings.registerReflectionHints(hints.reflection(), entity);
+        }
+        for (String bindingPackage : BINDING_PACKAGES) {
+            bindings.registerReflectionHints(hints.reflection(),
+                    scan(bindingPackage, classLoader, false).toArray(Class<?>[]::new));
+        }
+        bindings.registerReflectionHints(hints.reflection(), GlobalExceptionHandler.ErrorResponse.class);
+
+        for (Class<?> type : scan(REPOSITORY_PACKAGE, classLoader, true)) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+            if (type.isInterface() && Repository.class.isAssignableFrom(type)) {
+                hints.proxies().registerJdkProxy(
+                        AopProxyUtils.completeJdkProxyInterfaces(type, Repository.class, TransactionalProxy.class));
+            }
+        }
+
+        for (Class<?> jdbcType : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(jdbcType);
+        }
+
+        hints.resources().registerPattern("static/" + AssetManifest.ASSETS_DIR + "/" + AssetManifest.MANIFEST);
+    }
+
+    /**
+     * Every class in the package, including nested classes and records; interfaces only when
+     * asked for
+     */
+    private static List<Class<?>> scan(String basePackage, ClassLoader classLoader, boolean withInterfaces) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return withInterfaces || !beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((reader, readerFactory) -> true);
+        return scanner.findCandidateComponents(basePackage).stream()
+                .<Class<?>>map(candidate -> ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader))
+                .toList();
+    }
+}
@@ -0,0 +1,25 @@
+package com.portfolio.config;
+
+import com.portfolio.cache.CacheInvalidationBroadcaster;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans created with the context even when {@code spring.main.lazy-initialization} is on, as
+ * in the {@code fast-startup} profile. Everything else waits for its first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Migrations run before the first request is served. The invalidation broadcaster is a
+     * lifecycle bean declared by its interface, so a lazy one would never be started and the
+     * node would miss evictions from the others.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> "flywayInitializer".equals(beanName)
+                || (beanType != null && CacheInvalidationBroadcaster.class.isAssignableFrom(beanType));
+    }
+}
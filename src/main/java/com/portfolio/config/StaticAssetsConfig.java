@@ -0,0 +1,57 @@
+package com.portfolio.config;
+
+import com.portfolio.assets.AssetManifest;
+import com.portfolio.assets.ManifestResourceResolver;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+/**
+ * Static resources, configured under {@code portfolio.assets.*} in place of Spring Boot's default
+ * mappings. Fingerprinted bundles under {@code /assets/} are immutable; other files are
+ * revalidated, and links to source files that went into a bundle are rewritten to the bundle.
+ * Both are served from the asset pipeline's {@code .br} and {@code .gz} files when the client
+ * accepts them, so they are not compressed again on every request.
+ */
+@Configuration
+@EnableConfigurationProperties(StaticAssetsProperties.class)
+public class StaticAssetsConfig implements WebMvcConfigurer {
+
+    private final StaticAssetsProperties properties;
+    private final AssetManifest manifest;
+
+    public StaticAssetsConfig(StaticAssetsProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.manifest = AssetManifest.load(resourceLoader.getResource(
+                properties.getLocation() + AssetManifest.ASSETS_DIR + "/" + AssetManifest.MANIFEST));
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        ResourceChainRegistration bundles = registry.addResourceHandler("/" + AssetManifest.ASSETS_DIR + "/**")
+                .addResourceLocations(properties.getLocation() + AssetManifest.ASSETS_DIR + "/")
+                .setCacheControl(CacheControl.maxAge(properties.getBundleMaxAge()).cachePublic().immutable())
+                .resourceChain(true);
+        ResourceChainRegistration files = registry.addResourceHandler("/**")
+                .addResourceLocations(properties.getLocation())
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new ManifestResourceResolver(manifest));
+        if (properties.isPrecompressed()) {
+            bundles.addResolver(new EncodedResourceResolver());
+            files.addResolver(new EncodedResourceResolver());
+        }
+    }
+
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
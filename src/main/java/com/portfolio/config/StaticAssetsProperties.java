@@ -0,0 +1,28 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Static asset settings bound from {@code portfolio.assets.*}. Bundles are named after their
+ * content, so they can be cached for {@code bundle-max-age} without revalidation; everything
+ * else is revalidated on every use. With {@code precompressed}, the asset pipeline's {@code .br}
+ * and {@code .gz} files are served to clients that accept them.
+ */
+@ConfigurationProperties(prefix = "portfolio.assets")
+public class StaticAssetsProperties {
+
+    private String location = "classpath:/static/";
+    private Duration bundleMaxAge = Duration.ofDays(365);
+    private boolean precompressed = true;
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Duration getBundleMaxAge() { return bundleMaxAge; }
+    public void setBundleMaxAge(Duration bundleMaxAge) { this.bundleMaxAge = bundleMaxAge; }
+
+    public boolean isPrecompressed() { return precompressed; }
+    public void setPrecompressed(boolean precompressed) { this.precompressed = precompressed; }
+}
@@ -0,0 +1,23 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Upload limits bound from {@code portfolio.upload.*}. Image uploads accept the allowed
+ * extensions that are also image formats.
+ */
+@ConfigurationProperties(prefix = "portfolio.upload")
+public class UploadProperties {
+
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
+    private List<String> allowedExtensions = List.of("jpg", "jpeg", "png");
+
+    public DataSize getMaxFileSize() { return maxFileSize; }
+    public void setMaxFileSize(DataSize maxFileSize) { this.maxFileSize = maxFileSize; }
+
+    public List<String> getAllowedExtensions() { return allowedExtensions; }
+    public void setAllowedExtensions(List<String> allowedExtensions) { this.allowedExtensions = allowedExtensions; }
+}
@@ -0,0 +1,12 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Portfolio view counting configured under {@code portfolio.views.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(ViewCountProperties.class)
+public class ViewCountConfig {
+}
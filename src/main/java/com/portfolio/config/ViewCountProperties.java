@@ -0,0 +1,37 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Portfolio view counting settings bound from {@code portfolio.views.*}. Views are counted in
+ * memory and added to {@code portfolio_views} every {@code flush-interval}; the flush interval
+ * is read directly by the flush's {@code @Scheduled} annotation. A portfolio's trending score
+ * halves every {@code half-life} without views, and only portfolios viewed within
+ * {@code trending-window} can trend.
+ */
+@ConfigurationProperties(prefix = "portfolio.views")
+public class ViewCountProperties {
+
+    private boolean enabled = true;
+    private Duration flushInterval = Duration.ofSeconds(10);
+    private Duration halfLife = Duration.ofHours(6);
+    private int trendingSize = 50;
+    private Duration trendingWindow = Duration.ofDays(2);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public Duration getHalfLife() { return halfLife; }
+    public void setHalfLife(Duration halfLife) { this.halfLife = halfLife; }
+
+    public int getTrendingSize() { return trendingSize; }
+    public void setTrendingSize(int trendingSize) { this.trendingSize = trendingSize; }
+
+    public Duration getTrendingWindow() { return trendingWindow; }
+    public void setTrendingWindow(Duration trendingWindow) { this.trendingWindow = trendingWindow; }
+}
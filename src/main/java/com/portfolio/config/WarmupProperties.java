@@ -0,0 +1,50 @@
+package com.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Startup warm-up settings bound from {@code portfolio.warmup.*}. Before the node reports
+ * ready, {@code rounds} rounds of GET requests go to its own HTTP port from {@code concurrency}
+ * threads: each of {@code paths}, and each of {@code portfolio-paths} for {@code portfolios}
+ * portfolios ({@code {id}} is replaced), the trending ones first, then the most recently
+ * updated. The node reports ready after {@code timeout} even when the warm-up has not finished.
+ */
+@ConfigurationProperties(prefix = "portfolio.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+    private int portfolios = 20;
+    private int rounds = 20;
+    private int concurrency = 4;
+    private List<String> paths = List.of("/api/portfolios", "/api/portfolios/featured-projects", "/");
+    private List<String> portfolioPaths = List.of("/api/portfolios/{id}", "/api/portfolios/{id}/page", "/portfolios/{id}");
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    private Duration timeout = Duration.ofMinutes(2);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getPortfolios() { return portfolios; }
+    public void setPortfolios(int portfolios) { this.portfolios = portfolios; }
+
+    public int getRounds() { return rounds; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+
+    public List<String> getPortfolioPaths() { return portfolioPaths; }
+    public void setPortfolioPaths(List<String> portfolioPaths) { this.portfolioPaths = portfolioPaths; }
+
+    public Duration getRequestTimeout() { return requestTimeout; }
+    public void setRequestTimeout(Duration requestTimeout) { this.requestTimeout = requestTimeout; }
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+}
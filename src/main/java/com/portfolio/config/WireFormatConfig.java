@@ -0,0 +1,103 @@
+package com.portfolio.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.temporal.Temporal;
+
+/**
+ * Compact binary wire formats for service-to-service consumers of the REST API.
+ *
+ * Clients opt in through content negotiation: {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile} (and the same values as {@code Content-Type}
+ * for request bodies). Browsers and anything sending {@code Accept: *}{@code /*} keep
+ * getting JSON, because Spring Boot orders these converters after the JSON one.
+ *
+ * Both formats encode the existing DTOs as self-describing maps keyed by property name,
+ * so they follow the same schema-evolution rules as the JSON API:
+ * <ul>
+ *   <li>New fields must be optional; readers ignore properties they do not know.</li>
+ *   <li>Never rename a field, reuse a removed field name, or change a field's type.</li>
+ *   <li>Fields are retired by no longer writing them ({@code NON_NULL} omits them).</li>
+ *   <li>Enums travel by constant name; unknown constants are read as {@code null}.</li>
+ *   <li>Dates and times are written as numeric arrays instead of the
+ *       {@code @JsonFormat} pattern strings used for JSON.</li>
+ * </ul>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
+    /**
+     * CBOR converter (application/cbor), replacing Spring's default CBOR converter
+     * so the binary mapper shares the application's Jackson settings.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder, new CBORFactory()));
+    }
+
+    /**
+     * Smile converter (application/x-jackson-smile) with shared string values enabled,
+     * which pays off for the owner names repeated in every nested DTO.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder, smileFactory));
+    }
+
+    /**
+     * Build an ObjectMapper for a binary format from the Spring Boot configured builder.
+     */
+    static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder
+                .factory(factory)
+                .annotationIntrospector(new BinaryDateFormatIntrospector())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL)
+                .featuresToDisable(SerializationFeature.INDENT_OUTPUT,
+                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    /**
+     * Ignores {@code @JsonFormat} patterns on java.time properties so dates are written
+     * as numeric arrays rather than formatted strings. Other formats are left untouched.
+     */
+    private static class BinaryDateFormatIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public JsonFormat.Value findFormat(Annotated annotated) {
+            JsonFormat.Value format = super.findFormat(annotated);
+            if (format != null && format.hasPattern() && Temporal.class.isAssignableFrom(propertyType(annotated))) {
+                return JsonFormat.Value.empty();
+            }
+            return format;
+        }
+
+        private Class<?> propertyType(Annotated annotated) {
+            if (annotated instanceof AnnotatedMethod method && method.getParameterCount() == 1) {
+                return method.getRawParameterType(0);
+            }
+            return annotated.getRawType();
+        }
+    }
+}
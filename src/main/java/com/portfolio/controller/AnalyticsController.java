@@ -0,0 +1,95 @@
+package com.portfolio.controller;
+
+import com.portfolio.dto.AnalyticsBucketDTO;
+import com.portfolio.dto.AnalyticsOverviewDTO;
+import com.portfolio.service.AnalyticsAggregateService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for organisation-wide dashboard analytics, served from materialized aggregates.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Validated
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AnalyticsController {
+
+    private final AnalyticsAggregateService analyticsAggregateService;
+    private final TaskScheduler taskScheduler;
+
+    @Autowired
+    public AnalyticsController(AnalyticsAggregateService analyticsAggregateService, TaskScheduler taskScheduler) {
+        this.analyticsAggregateService = analyticsAggregateService;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Get portfolio, project and skill totals with the most common technologies
+     * GET /api/analytics/overview
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<AnalyticsOverviewDTO> getOverview() {
+        return ResponseEntity.ok(analyticsAggregateService.getOverview());
+    }
+
+    /**
+     * Get the most common technologies across active projects
+     * GET /api/analytics/technologies?limit={limit}
+     */
+    @GetMapping("/technologies")
+    public ResponseEntity<List<AnalyticsBucketDTO>> getTopTechnologies(
+            @RequestParam(value = "limit", defaultValue = "20")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 200, message = "Limit must not exceed 200") Integer limit) {
+        return ResponseEntity.ok(analyticsAggregateService.getTopTechnologies(limit));
+    }
+
+    /**
+     * Get the skill category distribution
+     * GET /api/analytics/skill-categories
+     */
+    @GetMapping("/skill-categories")
+    public ResponseEntity<List<AnalyticsBucketDTO>> getSkillCategories() {
+        return ResponseEntity.ok(analyticsAggregateService.getSkillCategories());
+    }
+
+    /**
+     * Get project counts and featured-project ratios per project category
+     * GET /api/analytics/project-categories
+     */
+    @GetMapping("/project-categories")
+    public ResponseEntity<List<AnalyticsBucketDTO>> getProjectCategories() {
+        return ResponseEntity.ok(analyticsAggregateService.getProjectCategories());
+    }
+
+    /**
+     * Get the freshness of the aggregates
+     * GET /api/analytics/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(analyticsAggregateService.getStatus());
+    }
+
+    /**
+     * Start a full rebuild of the aggregates in the background; it outlives the request deadline
+     * POST /api/analytics/rebuild
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        if (!analyticsAggregateService.isRebuilding()) {
+            taskScheduler.schedule(analyticsAggregateService::rebuildAggregates, Instant.now());
+        }
+        return ResponseEntity.accepted().body(analyticsAggregateService.getStatus());
+    }
+}
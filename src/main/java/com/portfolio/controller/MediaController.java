@@ -0,0 +1,116 @@
+package com.portfolio.controller;
+
+import com.portfolio.config.MediaProperties;
+import com.portfolio.dto.ImageDTO;
+import com.portfolio.media.MediaFileSender;
+import com.portfolio.service.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Image uploads and the uploaded images themselves. Image files are named after their
+ * content, so they are served with long-lived immutable caching; range requests are answered
+ * with the requested parts. Larger files on local disk are sent with Tomcat's sendfile, without
+ * copying them through the heap, where the connector supports it ({@code portfolio.media.zero-copy}).
+ */
+@RestController
+@Validated
+public class MediaController {
+
+    private final MediaService mediaService;
+    private final MediaProperties mediaProperties;
+    private final MediaFileSender fileSender;
+
+    @Autowired
+    public MediaController(MediaService mediaService, MediaProperties mediaProperties, MediaFileSender fileSender) {
+        this.mediaService = mediaService;
+        this.mediaProperties = mediaProperties;
+        this.fileSender = fileSender;
+    }
+
+    /**
+     * Upload a portfolio's profile image
+     * POST /api/portfolios/{id}/profile-image (multipart, part "file")
+     */
+    @PostMapping(value = "/api/portfolios/{id}/profile-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageDTO> uploadProfileImage(@PathVariable @Min(1) Long id,
+                                                       @RequestParam("file") MultipartFile file) {
+        return created(mediaService.uploadProfileImage(id, file));
+    }
+
+    /**
+     * Upload a project's image
+     * POST /api/portfolios/{id}/projects/{projectId}/image (multipart, part "file")
+     */
+    @PostMapping(value = "/api/portfolios/{id}/projects/{projectId}/image",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageDTO> uploadProjectImage(@PathVariable @Min(1) Long id,
+                                                       @PathVariable @Min(1) Long projectId,
+                                                       @RequestParam("file") MultipartFile file) {
+        return created(mediaService.uploadProjectImage(id, projectId, file));
+    }
+
+    /**
+     * An uploaded image's size and srcset, which appears once its variants are ready
+     * GET /api/media/images/{hash}
+     */
+    @GetMapping("/api/media/images/{hash}")
+    public ResponseEntity<ImageDTO> getImage(@PathVariable String hash) {
+        return mediaService.getImage(hash)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * An uploaded image or one of its variants
+     * GET /media/images/{hash}/{file}
+     */
+    @GetMapping("/media/images/{hash}/{file}")
+    public ResponseEntity<Resource> getImageFile(@PathVariable String hash, @PathVariable String file,
+                                                 HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CacheControl cacheControl = CacheControl.maxAge(mediaProperties.getMaxAge()).cachePublic().immutable();
+        String etag = "\"" + hash + "-" + file + "\"";
+        MediaType contentType = MediaTypeFactory.getMediaType(file).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (mediaProperties.isZeroCopy()) {
+            Optional<Path> path = mediaService.imageFile(hash, file);
+            if (path.isPresent() && fileSender.send(path.get(), contentType, cacheControl, etag, request, response)) {
+                // The response is written
+                return null;
+            }
+        }
+        return mediaService.openImage(hash, file)
+                .map(resource -> ResponseEntity.ok()
+                        .cacheControl(cacheControl)
+                        .eTag(etag)
+                        .contentType(contentType)
+                        .body(resource))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<ImageDTO> created(Optional<ImageDTO> image) {
+        return image
+                .map(uploaded -> ResponseEntity.created(URI.create(uploaded.getUrl())).body(uploaded))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
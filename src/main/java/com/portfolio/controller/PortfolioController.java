@@ -1,16 +1,34 @@
 package com.portfolio.controller;
 
+import com.portfolio.cache.CompressedJson;
+import com.portfolio.config.WireFormatConfig;
 import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.SkillMatchRequestDTO;
+import com.portfolio.dto.SkillMatchResultDTO;
+import com.portfolio.dto.TalentMatchRequestDTO;
+import com.portfolio.dto.TrendingPortfolioDTO;
+import com.portfolio.service.PortfolioArchiveService;
+import com.portfolio.service.PortfolioPageService;
+import com.portfolio.service.PortfolioResponseService;
 import com.portfolio.service.PortfolioService;
+import com.portfolio.service.PortfolioViewService;
+import com.portfolio.service.TalentMatchService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,10 +43,24 @@ import java.util.Optional;
 public class PortfolioController {
 
     private final PortfolioService portfolioService;
+    private final TalentMatchService talentMatchService;
+    private final PortfolioArchiveService portfolioArchiveService;
+    private final PortfolioPageService portfolioPageService;
+    private final PortfolioResponseService portfolioResponseService;
+    private final PortfolioViewService portfolioViewService;
 
     @Autowired
-    public PortfolioController(PortfolioService portfolioService) {
+    public PortfolioController(PortfolioService portfolioService, TalentMatchService talentMatchService,
+                               PortfolioArchiveService portfolioArchiveService,
+                               PortfolioPageService portfolioPageService,
+                               PortfolioResponseService portfolioResponseService,
+                               PortfolioViewService portfolioViewService) {
         this.portfolioService = portfolioService;
+        this.talentMatchService = talentMatchService;
+        this.portfolioArchiveService = portfolioArchiveService;
+        this.portfolioPageService = portfolioPageService;
+        this.portfolioResponseService = portfolioResponseService;
+        this.portfolioViewService = portfolioViewService;
     }
 
     /**
@@ -42,14 +74,63 @@ public class PortfolioController {
     }
 
     /**
-     * Get portfolio by ID
+     * Get the most viewed portfolios, by view score decayed over time. Served from memory and
+     * refreshed every portfolio.views.flush-interval.
+     * GET /api/portfolios/trending?limit={limit}
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPortfolioDTO>> getTrendingPortfolios(
+            @RequestParam(value = "limit", defaultValue = "10")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 50, message = "Limit must be at most 50") Integer limit) {
+        return ResponseEntity.ok(portfolioViewService.getTrending(limit));
+    }
+
+    /**
+     * Get portfolio by ID. JSON is serialized and compressed once until the portfolio changes;
+     * binary formats are written per request. Counts a view of the portfolio.
      * GET /api/portfolios/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PortfolioDTO> getPortfolioById(@PathVariable @Min(1) Long id) {
-        Optional<PortfolioDTO> portfolio = portfolioService.getPortfolioById(id);
-        return portfolio
-                .map(p -> ResponseEntity.ok(p))
+    public ResponseEntity<?> getPortfolioById(@PathVariable @Min(1) Long id,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                              String acceptEncoding,
+                                              @RequestHeader(value = HttpHeaders.USER_AGENT, required = false)
+                                              String userAgent) {
+        ResponseEntity<?> response;
+        if (prefersJson(accept)) {
+            response = portfolioResponseService.getPortfolioJson(id)
+                    .map(json -> jsonResponse(json, acceptEncoding))
+                    .orElse(ResponseEntity.notFound().build());
+        } else {
+            Optional<PortfolioDTO> portfolio = portfolioService.getPortfolioById(id);
+            response = portfolio
+                    .map(p -> ResponseEntity.ok(p))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        if (!response.getStatusCode().isError()) {
+            portfolioViewService.recordView(id, userAgent);
+        }
+        return response;
+    }
+
+    /**
+     * Get everything the portfolio page shows in one response. Revalidated with If-None-Match,
+     * answered with 304 while the portfolio is unchanged. Counts a view of the portfolio.
+     * GET /api/portfolios/{id}/page
+     */
+    @GetMapping(value = "/{id}/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getPortfolioPage(@PathVariable @Min(1) Long id,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                   String acceptEncoding,
+                                                   @RequestHeader(value = HttpHeaders.USER_AGENT, required = false)
+                                                   String userAgent) {
+        return portfolioPageService.getBootstrap(id)
+                .map(page -> {
+                    portfolioViewService.recordView(id, userAgent);
+                    return jsonResponse(page.response(), acceptEncoding);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -99,6 +180,28 @@ public class PortfolioController {
         return ResponseEntity.ok(portfolios);
     }
 
+    /**
+     * Match portfolios against several skills, e.g. Java 7+ AND PostgreSQL 5+
+     * POST /api/portfolios/skill-match
+     */
+    @PostMapping("/skill-match")
+    public ResponseEntity<List<SkillMatchResultDTO>> matchPortfoliosBySkills(
+            @Valid @RequestBody SkillMatchRequestDTO request) {
+        List<SkillMatchResultDTO> matches = portfolioService.matchPortfoliosBySkills(request);
+        return ResponseEntity.ok(matches);
+    }
+
+    /**
+     * Rank all active portfolios against a weighted skill, technology and experience profile
+     * POST /api/portfolios/match
+     */
+    @PostMapping("/match")
+    public ResponseEntity<List<SkillMatchResultDTO>> matchPortfolios(
+            @Valid @RequestBody TalentMatchRequestDTO request) {
+        List<SkillMatchResultDTO> matches = talentMatchService.matchPortfolios(request);
+        return ResponseEntity.ok(matches);
+    }
+
     /**
      * Get complete profiles
      * GET /api/portfolios/complete
@@ -177,6 +280,24 @@ public class PortfolioController {
                 ResponseEntity.notFound().build();
     }
 
+    /**
+     * Restore an archived portfolio with its projects, skills, experiences and educations
+     * POST /api/portfolios/{id}/restore
+     */
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<PortfolioDTO> restorePortfolio(@PathVariable @Min(1) Long id) {
+        try {
+            if (!portfolioArchiveService.restorePortfolio(id)) {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return portfolioService.getPortfolioById(id)
+                .map(p -> ResponseEntity.ok(p))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Health check endpoint
      * GET /api/portfolios/health
@@ -185,5 +306,46 @@ public class PortfolioController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Portfolio service is running");
     }
-}
 
+    /**
+     * Whether JSON is the client's first choice among the formats the API writes
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null) {
+            return true;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() > 0 && mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)
+                    || mediaType.isCompatibleWith(MediaType.valueOf(WireFormatConfig.SMILE_MEDIA_TYPE))) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cached JSON response, gzip-encoded if the client accepts it, revalidated by ETag
+     */
+    private static ResponseEntity<byte[]> jsonResponse(CompressedJson json, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (json.getGzip() != null && CompressedJson.acceptsGzip(acceptEncoding)) {
+            return response.eTag(json.getGzipEtag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(json.getGzip());
+        }
+        return response.eTag(json.getEtag()).contentType(MediaType.APPLICATION_JSON).body(json.getIdentity());
+    }
+}
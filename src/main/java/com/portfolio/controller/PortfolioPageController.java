@@ -0,0 +1,46 @@
+package com.portfolio.controller;
+
+import com.portfolio.service.PortfolioViewService;
+import com.portfolio.view.PortfolioPageRenderer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+
+/**
+ * Server-rendered portfolio pages.
+ */
+@Controller
+@RequestMapping("/portfolios")
+public class PortfolioPageController {
+
+    private final PortfolioPageRenderer pageRenderer;
+    private final PortfolioViewService viewService;
+
+    @Autowired
+    public PortfolioPageController(PortfolioPageRenderer pageRenderer, PortfolioViewService viewService) {
+        this.pageRenderer = pageRenderer;
+        this.viewService = viewService;
+    }
+
+    /**
+     * Portfolio page, streamed section by section
+     * GET /portfolios/{id}
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.TEXT_HTML_VALUE)
+    public void getPortfolioPage(@PathVariable Long id,
+                                 @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) String userAgent,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (pageRenderer.render(id, request, response)) {
+            viewService.recordView(id, userAgent);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.portfolio.controller;
+
+import com.portfolio.analytics.SkillMatrix.GroupBy;
+import com.portfolio.dto.SkillDistributionDTO;
+import com.portfolio.dto.SkillPercentileDTO;
+import com.portfolio.entity.Skill;
+import com.portfolio.service.SkillAnalyticsService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for organisation-wide skill analytics, served from the in-memory skill matrix.
+ */
+@RestController
+@RequestMapping("/api/analytics/skills")
+@Validated
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SkillAnalyticsController {
+
+    private final SkillAnalyticsService skillAnalyticsService;
+
+    @Autowired
+    public SkillAnalyticsController(SkillAnalyticsService skillAnalyticsService) {
+        this.skillAnalyticsService = skillAnalyticsService;
+    }
+
+    /**
+     * Get proficiency distributions per category or skill type
+     * GET /api/analytics/skills/distribution?groupBy={CATEGORY|SKILL_TYPE}
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<List<SkillDistributionDTO>> getDistribution(
+            @RequestParam(value = "groupBy", defaultValue = "CATEGORY") GroupBy groupBy) {
+        return ResponseEntity.ok(skillAnalyticsService.getDistribution(groupBy));
+    }
+
+    /**
+     * Get the percentile rank of a proficiency level within a category
+     * GET /api/analytics/skills/percentile-rank?category={category}&proficiency={level}
+     */
+    @GetMapping("/percentile-rank")
+    public ResponseEntity<SkillPercentileDTO> getPercentileRank(
+            @RequestParam("category") Skill.SkillCategory category,
+            @RequestParam("proficiency")
+            @Min(value = 1, message = "Proficiency must be at least 1")
+            @Max(value = 10, message = "Proficiency must not exceed 10") Integer proficiency) {
+        return ResponseEntity.ok(skillAnalyticsService.getPercentileRank(category, proficiency));
+    }
+
+    /**
+     * Get the proficiency distribution per category for one portfolio
+     * GET /api/analytics/skills/portfolios/{id}/distribution
+     */
+    @GetMapping("/portfolios/{id}/distribution")
+    public ResponseEntity<List<SkillDistributionDTO>> getPortfolioDistribution(
+            @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
+        return ResponseEntity.ok(skillAnalyticsService.getPortfolioDistribution(id));
+    }
+
+    /**
+     * Get how a portfolio's skills rank against the organisation
+     * GET /api/analytics/skills/portfolios/{id}/percentile-rank
+     */
+    @GetMapping("/portfolios/{id}/percentile-rank")
+    public ResponseEntity<SkillPercentileDTO> getPortfolioPercentileRank(
+            @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
+        return ResponseEntity.ok(skillAnalyticsService.getPortfolioPercentileRank(id));
+    }
+
+    /**
+     * Get the size and freshness of the skill matrix
+     * GET /api/analytics/skills/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(skillAnalyticsService.getMatrixStatus());
+    }
+}
@@ -0,0 +1,17 @@
+package com.portfolio.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method whose database work runs on the {@link Workload#BACKGROUND} pool.
+ * {@code @Scheduled} methods are treated as background work without it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BackgroundWork {
+}
@@ -0,0 +1,61 @@
+package com.portfolio.datasource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Runs a job on at most one node at a time. On PostgreSQL the job holds a session-level
+ * advisory lock, taken with {@code pg_try_advisory_lock} on a connection of its own outside
+ * the pools (so the job's own statements never wait for it) and released when the job ends
+ * or the connection drops; a node that finds the lock taken skips the job. Other databases
+ * (H2 in tests and local runs) serve a single node, so the job just runs.
+ */
+public class ClusterLock {
+
+    private final DataSourceProperties dataSourceProperties;
+
+    public ClusterLock(DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * Run {@code job} unless another node holds the lock {@code name}. Returns whether it ran.
+     */
+    public boolean runExclusively(String name, Runnable job) {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            job.run();
+            return true;
+        }
+        long key = name.hashCode();
+        try (Connection connection = DriverManager.getConnection(url,
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            if (!call(connection, "SELECT pg_try_advisory_lock(?)", key)) {
+                return false;
+            }
+            try {
+                job.run();
+                return true;
+            } finally {
+                call(connection, "SELECT pg_advisory_unlock(?)", key);
+            }
+        } catch (SQLException e) {
+            throw new SQLErrorCodeSQLExceptionTranslator().translate("cluster lock " + name, null, e);
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.portfolio.datasource;
+
+import com.portfolio.monitoring.QueryExecution;
+import com.portfolio.monitoring.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Periodically resizes the workload pools with a {@link PoolSizingPolicy}. Connection wait
+ * times come from the pools; statement latency is observed as a {@link QueryExecutionListener}.
+ */
+public class PoolAutosizer implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolAutosizer.class);
+
+    private final WorkloadPools pools;
+    private final PoolSizingPolicy policy;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+
+    public PoolAutosizer(WorkloadPools pools, PoolSizingPolicy policy) {
+        this.pools = pools;
+        this.policy = policy;
+    }
+
+    @Override
+    public void afterExecution(QueryExecution execution) {
+        statements.increment();
+        statementNanos.add(execution.getElapsedNanos());
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.datasource.autosize.interval:PT10S}")
+    public void resizePools() {
+        long count = statements.sumThenReset();
+        long nanos = statementNanos.sumThenReset();
+        double dbLatencyMillis = count == 0 ? 0 : nanos / 1_000_000.0 / count;
+
+        List<PoolSnapshot> snapshots = pools.all().stream().map(WorkloadPool::snapshot).toList();
+        Map<Workload, Integer> sizes = policy.resize(snapshots, dbLatencyMillis);
+        for (PoolSnapshot snapshot : snapshots) {
+            int size = sizes.get(snapshot.workload());
+            if (size != snapshot.maximumPoolSize()) {
+                log.info("Resizing pool {} from {} to {} connections (active {}, waiting {}, average wait {} ms, "
+                                + "average statement {} ms)", snapshot.workload().getPoolName(),
+                        snapshot.maximumPoolSize(), size, snapshot.active(), snapshot.pending(),
+                        Math.round(snapshot.averageWaitMillis()), Math.round(dbLatencyMillis));
+                pools.get(snapshot.workload()).resize(size);
+            }
+        }
+    }
+}
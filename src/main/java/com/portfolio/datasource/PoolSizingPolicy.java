@@ -0,0 +1,96 @@
+package com.portfolio.datasource;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides new maximum sizes for the workload pools from one autosizer tick.
+ * <ul>
+ *   <li>A pool whose callers waited longer than the target on average, or are waiting right
+ *       now, grows by a quarter (at least one) up to its max-size.</li>
+ *   <li>The pools together stay within max-total-connections. Interactive pools that need
+ *       room take it from the background pool, down to its min-size; the background pool
+ *       does not grow while an interactive pool is short of connections.</li>
+ *   <li>When statements take longer than the DB latency threshold the database, not the pool,
+ *       is the bottleneck: nothing grows and the background pool shrinks.</li>
+ *   <li>A pool with nobody waiting and less than half its connections in use shrinks by one,
+ *       down to its min-size.</li>
+ * </ul>
+ */
+public class PoolSizingPolicy {
+
+    private final double targetWaitMillis;
+    private final double dbLatencyThresholdMillis;
+    private final int maxTotalConnections;
+
+    public PoolSizingPolicy(double targetWaitMillis, double dbLatencyThresholdMillis, int maxTotalConnections) {
+        this.targetWaitMillis = targetWaitMillis;
+        this.dbLatencyThresholdMillis = dbLatencyThresholdMillis;
+        this.maxTotalConnections = maxTotalConnections;
+    }
+
+    /**
+     * New maximum size per workload, given the pool snapshots and the average statement
+     * latency since the previous tick
+     */
+    public Map<Workload, Integer> resize(List<PoolSnapshot> pools, double dbLatencyMillis) {
+        Map<Workload, PoolSnapshot> snapshots = new EnumMap<>(Workload.class);
+        Map<Workload, Integer> sizes = new EnumMap<>(Workload.class);
+        for (PoolSnapshot pool : pools) {
+            snapshots.put(pool.workload(), pool);
+            sizes.put(pool.workload(), pool.maximumPoolSize());
+        }
+        boolean databaseSaturated = dbLatencyMillis > dbLatencyThresholdMillis;
+        boolean interactiveStarved = pools.stream()
+                .anyMatch(pool -> pool.workload() != Workload.BACKGROUND && isStarved(pool));
+
+        // EnumMap iterates in Workload order, so reads claim connections before writes
+        for (PoolSnapshot pool : snapshots.values()) {
+            Workload workload = pool.workload();
+            int size = sizes.get(workload);
+            boolean background = workload == Workload.BACKGROUND;
+            boolean starved = isStarved(pool);
+            if (starved && !databaseSaturated && !(background && interactiveStarved)) {
+                int wanted = Math.min(pool.maxSize(), size + step(size)) - size;
+                int headroom = maxTotalConnections - total(sizes);
+                if (wanted > headroom && !background) {
+                    headroom += reclaimFromBackground(snapshots, sizes, wanted - headroom);
+                }
+                sizes.put(workload, size + Math.max(0, Math.min(wanted, headroom)));
+            } else if (databaseSaturated && background) {
+                sizes.put(workload, Math.max(pool.minSize(), size - step(size)));
+            } else if (!starved && pool.active() < size / 2.0) {
+                sizes.put(workload, Math.max(pool.minSize(), size - 1));
+            }
+        }
+        return sizes;
+    }
+
+    private boolean isStarved(PoolSnapshot pool) {
+        return pool.pending() > 0 || pool.averageWaitMillis() > targetWaitMillis;
+    }
+
+    private int reclaimFromBackground(Map<Workload, PoolSnapshot> snapshots, Map<Workload, Integer> sizes,
+                                      int needed) {
+        PoolSnapshot background = snapshots.get(Workload.BACKGROUND);
+        if (background == null) {
+            return 0;
+        }
+        int size = sizes.get(Workload.BACKGROUND);
+        int reclaimed = Math.min(needed, size - background.minSize());
+        if (reclaimed <= 0) {
+            return 0;
+        }
+        sizes.put(Workload.BACKGROUND, size - reclaimed);
+        return reclaimed;
+    }
+
+    private static int step(int size) {
+        return Math.max(1, size / 4);
+    }
+
+    private static int total(Map<Workload, Integer> sizes) {
+        return sizes.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
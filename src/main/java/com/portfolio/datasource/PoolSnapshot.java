@@ -0,0 +1,15 @@
+package com.portfolio.datasource;
+
+/**
+ * State of one workload pool at an autosizer tick. {@code waits} and
+ * {@code averageWaitMillis} cover the connection checkouts since the previous tick.
+ */
+public record PoolSnapshot(Workload workload,
+                           int maximumPoolSize,
+                           int minSize,
+                           int maxSize,
+                           int active,
+                           int pending,
+                           long waits,
+                           double averageWaitMillis) {
+}
@@ -0,0 +1,30 @@
+package com.portfolio.datasource;
+
+/**
+ * The kinds of database work that get their own connection pool, so one kind cannot
+ * exhaust the connections another depends on.
+ */
+public enum Workload {
+
+    /**
+     * Read-only transactions, i.e. page views and API reads
+     */
+    READ,
+
+    /**
+     * Interactive writes and any other work not marked otherwise
+     */
+    WRITE,
+
+    /**
+     * Scheduled jobs, rebuilds, backfills and exports
+     */
+    BACKGROUND;
+
+    /**
+     * Hikari pool name, also the {@code pool} tag of the {@code hikaricp.*} metrics
+     */
+    public String getPoolName() {
+        return "portfolio-" + name().toLowerCase();
+    }
+}
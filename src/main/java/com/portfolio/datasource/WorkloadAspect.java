@@ -0,0 +1,27 @@
+package com.portfolio.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Binds {@link Workload#BACKGROUND} around scheduled jobs and {@link BackgroundWork} methods.
+ * Ordered ahead of the transaction advisor, although connections are only taken when the
+ * first statement runs anyway.
+ */
+@Aspect
+@Order(-1)
+public class WorkloadAspect {
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)"
+            + " || @annotation(com.portfolio.datasource.BackgroundWork)")
+    public Object runAsBackground(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload previous = WorkloadContext.attach(Workload.BACKGROUND);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.portfolio.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decides which pool serves a connection request on the current thread. Work explicitly
+ * bound to a workload (see {@link WorkloadAspect}) uses that workload; otherwise read-only
+ * transactions go to {@link Workload#READ} and everything else to {@link Workload#WRITE}.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * The workload the next connection on this thread is taken for
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        if (workload != null) {
+            return workload;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Workload.READ : Workload.WRITE;
+    }
+
+    /**
+     * Bind a workload to the current thread and return the one it replaces, for {@link #restore}
+     */
+    public static Workload attach(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.portfolio.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Hikari pool serving one {@link Workload}, with the bounds the autosizer may move its
+ * maximum size between and the connection wait times observed since the last snapshot.
+ * Hikari publishes its own {@code hikaricp.connections.*} metrics tagged with the pool name;
+ * this adds {@code portfolio.datasource.pool.saturation}, the share of the current limit
+ * that is in use or waited for (above 1 means callers are queueing).
+ */
+public class WorkloadPool {
+
+    private final Workload workload;
+    private final HikariDataSource dataSource;
+    private final int minSize;
+    private final int maxSize;
+    private final int minimumIdle;
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final Counter grown;
+    private final Counter shrunk;
+
+    public WorkloadPool(Workload workload, HikariDataSource dataSource, int minSize, int maxSize,
+                        MeterRegistry meterRegistry) {
+        int size = dataSource.getMaximumPoolSize();
+        if (minSize < 1 || size < minSize || maxSize < size) {
+            throw new IllegalArgumentException("Invalid sizes for " + workload.getPoolName() + ": min-size "
+                    + minSize + ", maximum-pool-size " + size + ", max-size " + maxSize);
+        }
+        this.workload = workload;
+        this.dataSource = dataSource;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.minimumIdle = dataSource.getMinimumIdle();
+        Gauge.builder("portfolio.datasource.pool.saturation", this, WorkloadPool::saturation)
+                .description("Connections in use or waited for, relative to the pool's current maximum size")
+                .tag("pool", workload.getPoolName())
+                .register(meterRegistry);
+        this.grown = resizes(meterRegistry, "grow");
+        this.shrunk = resizes(meterRegistry, "shrink");
+    }
+
+    private Counter resizes(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("portfolio.datasource.pool.resizes")
+                .description("Maximum pool size changes made by the autosizer")
+                .tag("pool", workload.getPoolName())
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check out a connection, recording how long the caller waited for it (including failed waits)
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return dataSource.getConnection();
+        } finally {
+            waits.increment();
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Current pool state plus the waits recorded since the previous snapshot, which are reset
+     */
+    public PoolSnapshot snapshot() {
+        long count = waits.sumThenReset();
+        long nanos = waitNanos.sumThenReset();
+        double averageWaitMillis = count == 0 ? 0 : nanos / 1_000_000.0 / count;
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new PoolSnapshot(workload, getMaximumPoolSize(), minSize, maxSize,
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                count, averageWaitMillis);
+    }
+
+    /**
+     * Change the maximum pool size. When shrinking below the connections currently open, the
+     * pool retires its idle connections now and busy ones when they are returned.
+     */
+    public void resize(int maximumPoolSize) {
+        int current = getMaximumPoolSize();
+        if (maximumPoolSize == current) {
+            return;
+        }
+        dataSource.getHikariConfigMXBean().setMinimumIdle(Math.min(minimumIdle, maximumPoolSize));
+        dataSource.getHikariConfigMXBean().setMaximumPoolSize(maximumPoolSize);
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (maximumPoolSize < current && pool != null && pool.getTotalConnections() > maximumPoolSize) {
+            pool.softEvictConnections();
+        }
+        (maximumPoolSize > current ? grown : shrunk).increment();
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getMaximumPoolSize() {
+        return dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+    }
+
+    private double saturation() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (pool.getActiveConnections() + pool.getThreadsAwaitingConnection()) / (double) getMaximumPoolSize();
+    }
+}
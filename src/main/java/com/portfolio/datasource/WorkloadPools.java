@@ -0,0 +1,41 @@
+package com.portfolio.datasource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The connection pools, one per {@link Workload}. Closed with the application context.
+ */
+public class WorkloadPools implements AutoCloseable {
+
+    private final Map<Workload, WorkloadPool> pools = new EnumMap<>(Workload.class);
+
+    public WorkloadPools(Collection<WorkloadPool> pools) {
+        for (WorkloadPool pool : pools) {
+            this.pools.put(pool.getWorkload(), pool);
+        }
+        for (Workload workload : Workload.values()) {
+            if (!this.pools.containsKey(workload)) {
+                throw new IllegalArgumentException("No pool configured for workload " + workload);
+            }
+        }
+    }
+
+    public WorkloadPool get(Workload workload) {
+        return pools.get(workload);
+    }
+
+    /**
+     * All pools in {@link Workload} order
+     */
+    public Collection<WorkloadPool> all() {
+        return Collections.unmodifiableCollection(pools.values());
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(pool -> pool.getDataSource().close());
+    }
+}
@@ -0,0 +1,31 @@
+package com.portfolio.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from the pool of the {@link WorkloadContext#current() current workload}.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before the transaction is marked read-only,
+ * and the proxy defers the checkout to the first statement, when the workload is known.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource {
+
+    private final WorkloadPools pools;
+
+    public WorkloadRoutingDataSource(WorkloadPools pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pools.get(WorkloadContext.current()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pools.get(WorkloadContext.current()).getDataSource().getConnection(username, password);
+    }
+}
@@ -0,0 +1,90 @@
+package com.portfolio.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Binds a {@link RequestDeadline} to every request. The timeout comes from the request
+ * header (e.g. {@code X-Request-Timeout: 2s} or {@code 1500}, in milliseconds), capped at
+ * the configured maximum, or else from the first matching per-endpoint setting, or else
+ * from the default. Requests that fail because of their deadline are counted in
+ * {@code portfolio.request.deadline.exceeded}.
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final MeterRegistry meterRegistry;
+    private final String headerName;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Map<String, Duration> endpointTimeouts;
+
+    public DeadlineFilter(MeterRegistry meterRegistry, String headerName, Duration defaultTimeout,
+                          Duration maxTimeout, Map<String, Duration> endpointTimeouts) {
+        this.meterRegistry = meterRegistry;
+        this.headerName = headerName;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        this.endpointTimeouts = endpointTimeouts;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Duration timeout = resolveTimeout(request);
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline deadline = RequestDeadline.after(timeout);
+        RequestDeadline previous = RequestDeadline.attach(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.restore(previous);
+            if (deadline.getExceededStage() != null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Counter.builder("portfolio.request.deadline.exceeded")
+                        .description("Requests that failed because their deadline passed")
+                        .tags("uri", pattern != null ? pattern.toString() : "UNMAPPED",
+                                "stage", deadline.getExceededStage())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+
+    Duration resolveTimeout(HttpServletRequest request) {
+        String header = request.getHeader(headerName);
+        if (header != null && !header.isBlank()) {
+            try {
+                Duration requested = DurationStyle.detectAndParse(header.trim(), ChronoUnit.MILLIS);
+                return maxTimeout != null && requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+            } catch (IllegalArgumentException e) {
+                // Fall back to the configured timeout for unparseable values
+            }
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Duration> entry : endpointTimeouts.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return defaultTimeout;
+    }
+}
@@ -0,0 +1,48 @@
+package com.portfolio.deadline;
+
+import com.portfolio.monitoring.QueryExecution;
+import com.portfolio.monitoring.QueryExecutionListener;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applies the current request deadline to JDBC work. Connection checkouts and statements
+ * fail fast once the deadline has passed, and every statement gets a query timeout no
+ * longer than the time the request has left, so the database cancels a runaway scan
+ * instead of letting it hold a pooled connection.
+ */
+public class DeadlineQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeGetConnection() {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.check("connection");
+        }
+    }
+
+    @Override
+    public void beforeExecution(Statement statement, String sql) throws SQLException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        deadline.check("query");
+
+        // JDBC timeouts have one-second granularity; round up so a short deadline is not zero (no timeout)
+        int remainingSeconds = (int) Math.max(1, (deadline.remainingMillis() + 999) / 1000);
+        int currentTimeout = statement.getQueryTimeout();
+        if (currentTimeout == 0 || remainingSeconds < currentTimeout) {
+            statement.setQueryTimeout(remainingSeconds);
+        }
+    }
+
+    @Override
+    public void afterExecution(QueryExecution execution) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (!execution.isSuccess() && deadline != null && deadline.isExpired()) {
+            deadline.markExceeded("query");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.portfolio.deadline;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's request deadline into tasks run on an executor, so
+ * async fan-out is bounded by the same deadline as the request that started it.
+ */
+public class DeadlineTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestDeadline previous = RequestDeadline.attach(deadline);
+            try {
+                runnable.run();
+            } finally {
+                RequestDeadline.restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.portfolio.deadline;
+
+import com.portfolio.exception.GlobalExceptionHandler.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * The point in time by which the current request must complete. The deadline is bound to
+ * the request thread by {@link DeadlineFilter} and carried into worker threads by
+ * {@link DeadlineTaskDecorator}, so everything done on behalf of a request shares one budget.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final long deadlineNanos;
+    private volatile String exceededStage;
+
+    private RequestDeadline(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Create a deadline the given timeout from now
+     */
+    public static RequestDeadline after(Duration timeout) {
+        return new RequestDeadline(timeout);
+    }
+
+    /**
+     * The deadline bound to the current thread, or null when there is none
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind a deadline to the current thread and return the one it replaces, for {@link #restore}
+     */
+    public static RequestDeadline attach(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    public static void restore(RequestDeadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, remainingNanos() / 1_000_000);
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Fail fast with a {@link DeadlineExceededException} if the deadline has passed
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            markExceeded(stage);
+            throw new DeadlineExceededException(
+                    "Request deadline of " + timeout.toMillis() + " ms exceeded before " + stage);
+        }
+    }
+
+    /**
+     * Record where the deadline was found to be exceeded; the first stage wins
+     */
+    public void markExceeded(String stage) {
+        if (exceededStage == null) {
+            exceededStage = stage;
+        }
+    }
+
+    /**
+     * Where the deadline was exceeded, or null if nothing failed because of it
+     */
+    public String getExceededStage() {
+        return exceededStage;
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Organisation-wide counters for one technology, skill category or project category.
+ * Fields that do not apply to the bucket's dimension are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsBucketDTO {
+
+    private String name;
+    private Long portfolioCount;
+    private Long count;
+    private Double share;
+    private Long featuredCount;
+    private Double featuredRatio;
+    private Double averageProficiency;
+    private Double averageYearsOfExperience;
+
+    // Constructors
+    public AnalyticsBucketDTO() {}
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getPortfolioCount() {
+        return portfolioCount;
+    }
+
+    public void setPortfolioCount(Long portfolioCount) {
+        this.portfolioCount = portfolioCount;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getShare() {
+        return share;
+    }
+
+    public void setShare(Double share) {
+        this.share = share;
+    }
+
+    public Long getFeaturedCount() {
+        return featuredCount;
+    }
+
+    public void setFeaturedCount(Long featuredCount) {
+        this.featuredCount = featuredCount;
+    }
+
+    public Double getFeaturedRatio() {
+        return featuredRatio;
+    }
+
+    public void setFeaturedRatio(Double featuredRatio) {
+        this.featuredRatio = featuredRatio;
+    }
+
+    public Double getAverageProficiency() {
+        return averageProficiency;
+    }
+
+    public void setAverageProficiency(Double averageProficiency) {
+        this.averageProficiency = averageProficiency;
+    }
+
+    public Double getAverageYearsOfExperience() {
+        return averageYearsOfExperience;
+    }
+
+    public void setAverageYearsOfExperience(Double averageYearsOfExperience) {
+        this.averageYearsOfExperience = averageYearsOfExperience;
+    }
+}
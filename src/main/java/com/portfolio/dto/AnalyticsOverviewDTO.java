@@ -0,0 +1,128 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Organisation-wide dashboard figures read from the materialized analytics aggregates.
+ * {@code asOf} is when the aggregates were last written and {@code stalenessSeconds} how long
+ * the oldest change not yet applied to them has been waiting.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsOverviewDTO {
+
+    private Long totalPortfolios;
+    private Double averageYearsOfExperience;
+    private Long portfoliosWithFeaturedProjects;
+    private Long totalProjects;
+    private Long featuredProjects;
+    private Double featuredProjectRatio;
+    private Long totalSkills;
+    private List<AnalyticsBucketDTO> topTechnologies;
+    private List<AnalyticsBucketDTO> skillCategories;
+    private List<AnalyticsBucketDTO> projectCategories;
+    private LocalDateTime asOf;
+    private Long stalenessSeconds;
+
+    // Constructors
+    public AnalyticsOverviewDTO() {}
+
+    // Getters and Setters
+    public Long getTotalPortfolios() {
+        return totalPortfolios;
+    }
+
+    public void setTotalPortfolios(Long totalPortfolios) {
+        this.totalPortfolios = totalPortfolios;
+    }
+
+    public Double getAverageYearsOfExperience() {
+        return averageYearsOfExperience;
+    }
+
+    public void setAverageYearsOfExperience(Double averageYearsOfExperience) {
+        this.averageYearsOfExperience = averageYearsOfExperience;
+    }
+
+    public Long getPortfoliosWithFeaturedProjects() {
+        return portfoliosWithFeaturedProjects;
+    }
+
+    public void setPortfoliosWithFeaturedProjects(Long portfoliosWithFeaturedProjects) {
+        this.portfoliosWithFeaturedProjects = portfoliosWithFeaturedProjects;
+    }
+
+    public Long getTotalProjects() {
+        return totalProjects;
+    }
+
+    public void setTotalProjects(Long totalProjects) {
+        this.totalProjects = totalProjects;
+    }
+
+    public Long getFeaturedProjects() {
+        return featuredProjects;
+    }
+
+    public void setFeaturedProjects(Long featuredProjects) {
+        this.featuredProjects = featuredProjects;
+    }
+
+    public Double getFeaturedProjectRatio() {
+        return featuredProjectRatio;
+    }
+
+    public void setFeaturedProjectRatio(Double featuredProjectRatio) {
+        this.featuredProjectRatio = featuredProjectRatio;
+    }
+
+    public Long getTotalSkills() {
+        return totalSkills;
+    }
+
+    public void setTotalSkills(Long totalSkills) {
+        this.totalSkills = totalSkills;
+    }
+
+    public List<AnalyticsBucketDTO> getTopTechnologies() {
+        return topTechnologies;
+    }
+
+    public void setTopTechnologies(List<AnalyticsBucketDTO> topTechnologies) {
+        this.topTechnologies = topTechnologies;
+    }
+
+    public List<AnalyticsBucketDTO> getSkillCategories() {
+        return skillCategories;
+    }
+
+    public void setSkillCategories(List<AnalyticsBucketDTO> skillCategories) {
+        this.skillCategories = skillCategories;
+    }
+
+    public List<AnalyticsBucketDTO> getProjectCategories() {
+        return projectCategories;
+    }
+
+    public void setProjectCategories(List<AnalyticsBucketDTO> projectCategories) {
+        this.projectCategories = projectCategories;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+
+    public Long getStalenessSeconds() {
+        return stalenessSeconds;
+    }
+
+    public void setStalenessSeconds(Long stalenessSeconds) {
+        this.stalenessSeconds = stalenessSeconds;
+    }
+}
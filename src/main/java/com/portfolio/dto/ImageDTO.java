@@ -0,0 +1,59 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * An uploaded image: the URL of the original, its size, and the {@code srcset} of its
+ * responsive variants, which is omitted until they have been generated.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageDTO {
+
+    private String url;
+    private Integer width;
+    private Integer height;
+    private String srcset;
+
+    // Constructors
+    public ImageDTO() {}
+
+    public ImageDTO(String url, Integer width, Integer height, String srcset) {
+        this.url = url;
+        this.width = width;
+        this.height = height;
+        this.srcset = srcset;
+    }
+
+    // Getters and Setters
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public String getSrcset() {
+        return srcset;
+    }
+
+    public void setSrcset(String srcset) {
+        this.srcset = srcset;
+    }
+}
@@ -38,6 +38,7 @@ public class PortfolioDTO {
     private String githubUrl;
     private String websiteUrl;
     private String profileImageUrl;
+    private String profileImageSrcset;
     private Integer yearsOfExperience;
     private Boolean isActive;
 
@@ -158,6 +159,14 @@ public class PortfolioDTO {
         this.profileImageUrl = profileImageUrl;
     }
 
+    public String getProfileImageSrcset() {
+        return profileImageSrcset;
+    }
+
+    public void setProfileImageSrcset(String profileImageSrcset) {
+        this.profileImageSrcset = profileImageSrcset;
+    }
+
     public Integer getYearsOfExperience() {
         return yearsOfExperience;
     }
@@ -0,0 +1,203 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Everything the portfolio page shows, and nothing else: the bootstrap payload of
+ * {@code GET /api/portfolios/{id}/page} and of the JSON embedded in the server-rendered page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PortfolioPageDTO {
+
+    private Long id;
+    private String fullName;
+    private String title;
+    private String summary;
+    private String email;
+    private String phone;
+    private String location;
+    private String githubUrl;
+    private String linkedinUrl;
+    private String websiteUrl;
+    private String profileImageUrl;
+    private String profileImageSrcset;
+    private Integer yearsOfExperience;
+    private Long totalProjects;
+    private Long totalSkills;
+    private List<Project> projects;
+    private List<Skill> skills;
+    private List<Experience> experiences;
+    private List<Education> educations;
+
+    public record Project(Long id, String name, String description, List<String> technologies,
+                          String githubUrl, String demoUrl, String imageUrl, String imageSrcset) {
+    }
+
+    public record Skill(String name, String category, Integer proficiencyLevel) {
+    }
+
+    public record Experience(String jobTitle, String companyName, String location, String dateRange,
+                             String description) {
+    }
+
+    public record Education(String degree, String institution, String dateRange) {
+    }
+
+    // Constructors
+    public PortfolioPageDTO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getGithubUrl() {
+        return githubUrl;
+    }
+
+    public void setGithubUrl(String githubUrl) {
+        this.githubUrl = githubUrl;
+    }
+
+    public String getLinkedinUrl() {
+        return linkedinUrl;
+    }
+
+    public void setLinkedinUrl(String linkedinUrl) {
+        this.linkedinUrl = linkedinUrl;
+    }
+
+    public String getWebsiteUrl() {
+        return websiteUrl;
+    }
+
+    public void setWebsiteUrl(String websiteUrl) {
+        this.websiteUrl = websiteUrl;
+    }
+
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+
+    public void setProfileImageUrl(String profileImageUrl) {
+        this.profileImageUrl = profileImageUrl;
+    }
+
+    public String getProfileImageSrcset() {
+        return profileImageSrcset;
+    }
+
+    public void setProfileImageSrcset(String profileImageSrcset) {
+        this.profileImageSrcset = profileImageSrcset;
+    }
+
+    public Integer getYearsOfExperience() {
+        return yearsOfExperience;
+    }
+
+    public void setYearsOfExperience(Integer yearsOfExperience) {
+        this.yearsOfExperience = yearsOfExperience;
+    }
+
+    public Long getTotalProjects() {
+        return totalProjects;
+    }
+
+    public void setTotalProjects(Long totalProjects) {
+        this.totalProjects = totalProjects;
+    }
+
+    public Long getTotalSkills() {
+        return totalSkills;
+    }
+
+    public void setTotalSkills(Long totalSkills) {
+        this.totalSkills = totalSkills;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<Project> projects) {
+        this.projects = projects;
+    }
+
+    public List<Skill> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<Skill> skills) {
+        this.skills = skills;
+    }
+
+    public List<Experience> getExperiences() {
+        return experiences;
+    }
+
+    public void setExperiences(List<Experience> experiences) {
+        this.experiences = experiences;
+    }
+
+    public List<Education> getEducations() {
+        return educations;
+    }
+
+    public void setEducations(List<Education> educations) {
+        this.educations = educations;
+    }
+}
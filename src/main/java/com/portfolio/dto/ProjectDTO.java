@@ -30,6 +30,7 @@ public class ProjectDTO {
     private String githubUrl;
     private String demoUrl;
     private String imageUrl;
+    private String imageSrcset;
 
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate startDate;
@@ -150,6 +151,14 @@ public class ProjectDTO {
         this.imageUrl = imageUrl;
     }
 
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
+
     public LocalDate getStartDate() {
         return startDate;
     }
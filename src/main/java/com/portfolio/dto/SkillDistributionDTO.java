@@ -0,0 +1,79 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Proficiency distribution of the skills in one category or skill type.
+ * {@code histogram[level - 1]} is the number of skills at proficiency {@code level} (1-10).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SkillDistributionDTO {
+
+    private String group;
+    private Long count;
+    private Double averageProficiency;
+    private Integer medianProficiency;
+    private Integer p90Proficiency;
+    private Double averageYearsOfExperience;
+    private long[] histogram;
+
+    // Constructors
+    public SkillDistributionDTO() {}
+
+    // Getters and Setters
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getAverageProficiency() {
+        return averageProficiency;
+    }
+
+    public void setAverageProficiency(Double averageProficiency) {
+        this.averageProficiency = averageProficiency;
+    }
+
+    public Integer getMedianProficiency() {
+        return medianProficiency;
+    }
+
+    public void setMedianProficiency(Integer medianProficiency) {
+        this.medianProficiency = medianProficiency;
+    }
+
+    public Integer getP90Proficiency() {
+        return p90Proficiency;
+    }
+
+    public void setP90Proficiency(Integer p90Proficiency) {
+        this.p90Proficiency = p90Proficiency;
+    }
+
+    public Double getAverageYearsOfExperience() {
+        return averageYearsOfExperience;
+    }
+
+    public void setAverageYearsOfExperience(Double averageYearsOfExperience) {
+        this.averageYearsOfExperience = averageYearsOfExperience;
+    }
+
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(long[] histogram) {
+        this.histogram = histogram;
+    }
+}
@@ -0,0 +1,100 @@
+package com.portfolio.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-skill match query, e.g. "Java 7+ AND PostgreSQL 5+".
+ */
+public class SkillMatchRequestDTO {
+
+    public enum MatchOperator {
+        AND, OR
+    }
+
+    @NotEmpty(message = "At least one skill is required")
+    @Size(max = 10, message = "At most 10 skills can be matched at once")
+    @Valid
+    private List<SkillCriterion> skills = new ArrayList<>();
+
+    private MatchOperator operator = MatchOperator.AND;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 200, message = "Limit must not exceed 200")
+    private Integer limit = 50;
+
+    // Constructors
+    public SkillMatchRequestDTO() {}
+
+    public SkillMatchRequestDTO(List<SkillCriterion> skills, MatchOperator operator, Integer limit) {
+        this.skills = skills;
+        this.operator = operator;
+        this.limit = limit;
+    }
+
+    // Getters and Setters
+    public List<SkillCriterion> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<SkillCriterion> skills) {
+        this.skills = skills;
+    }
+
+    public MatchOperator getOperator() {
+        return operator;
+    }
+
+    public void setOperator(MatchOperator operator) {
+        this.operator = operator;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * One skill requirement. Names match case-insensitively, either exactly or, with
+     * {@code prefix}, as a name prefix ("java" matches "Java" and "JavaScript").
+     */
+    public static class SkillCriterion {
+
+        @NotBlank(message = "Skill name is required")
+        @Size(max = 100, message = "Skill name must not exceed 100 characters")
+        private String name;
+
+        @Min(value = 1, message = "Minimum proficiency must be at least 1")
+        @Max(value = 10, message = "Minimum proficiency must not exceed 10")
+        private Integer minProficiency = 1;
+
+        private Boolean prefix = false;
+
+        public SkillCriterion() {}
+
+        public SkillCriterion(String name, Integer minProficiency, Boolean prefix) {
+            this.name = name;
+            this.minProficiency = minProficiency;
+            this.prefix = prefix;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Integer getMinProficiency() { return minProficiency; }
+        public void setMinProficiency(Integer minProficiency) { this.minProficiency = minProficiency; }
+
+        public Boolean getPrefix() { return prefix; }
+        public void setPrefix(Boolean prefix) { this.prefix = prefix; }
+    }
+}
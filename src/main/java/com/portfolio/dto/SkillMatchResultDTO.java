@@ -0,0 +1,63 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * A portfolio matched by a {@link SkillMatchRequestDTO}, with its match score.
+ * The score is the sum of the best matching proficiency per requested skill divided by
+ * the maximum possible (10 per skill), so 1.0 means expert level in every requested skill.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SkillMatchResultDTO {
+
+    private PortfolioDTO portfolio;
+    private Double score;
+    private Integer matchedSkills;
+    private Map<String, Integer> proficiencies;
+
+    // Constructors
+    public SkillMatchResultDTO() {}
+
+    public SkillMatchResultDTO(PortfolioDTO portfolio, Double score, Integer matchedSkills,
+                               Map<String, Integer> proficiencies) {
+        this.portfolio = portfolio;
+        this.score = score;
+        this.matchedSkills = matchedSkills;
+        this.proficiencies = proficiencies;
+    }
+
+    // Getters and Setters
+    public PortfolioDTO getPortfolio() {
+        return portfolio;
+    }
+
+    public void setPortfolio(PortfolioDTO portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Integer getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(Integer matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public Map<String, Integer> getProficiencies() {
+        return proficiencies;
+    }
+
+    public void setProficiencies(Map<String, Integer> proficiencies) {
+        this.proficiencies = proficiencies;
+    }
+}
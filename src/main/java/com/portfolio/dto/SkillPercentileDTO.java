@@ -0,0 +1,63 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Where a proficiency level, or a portfolio's skills, rank against every active skill
+ * in the organisation. Percentile ranks run from 0 to 100.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SkillPercentileDTO {
+
+    private Long portfolioId;
+    private String category;
+    private Integer proficiency;
+    private Double percentileRank;
+    private Map<String, Double> percentileRankByCategory;
+
+    // Constructors
+    public SkillPercentileDTO() {}
+
+    // Getters and Setters
+    public Long getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(Long portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Integer getProficiency() {
+        return proficiency;
+    }
+
+    public void setProficiency(Integer proficiency) {
+        this.proficiency = proficiency;
+    }
+
+    public Double getPercentileRank() {
+        return percentileRank;
+    }
+
+    public void setPercentileRank(Double percentileRank) {
+        this.percentileRank = percentileRank;
+    }
+
+    public Map<String, Double> getPercentileRankByCategory() {
+        return percentileRankByCategory;
+    }
+
+    public void setPercentileRankByCategory(Map<String, Double> percentileRankByCategory) {
+        this.percentileRankByCategory = percentileRankByCategory;
+    }
+}
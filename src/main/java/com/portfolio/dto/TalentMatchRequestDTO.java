@@ -0,0 +1,160 @@
+package com.portfolio.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weighted requirements profile for talent matching, e.g.
+ * "Java 7+ AND PostgreSQL 5+ AND 3+ years experience, Docker a plus".
+ */
+public class TalentMatchRequestDTO {
+
+    @Size(max = 20, message = "At most 20 skills can be matched at once")
+    @Valid
+    private List<WeightedSkill> skills = new ArrayList<>();
+
+    @Size(max = 20, message = "At most 20 technologies can be matched at once")
+    @Valid
+    private List<WeightedTechnology> technologies = new ArrayList<>();
+
+    @Min(value = 0, message = "Minimum years of experience cannot be negative")
+    private Integer minYearsExperience;
+
+    @DecimalMin(value = "0.0", message = "Experience weight cannot be negative")
+    private Double experienceWeight = 1.0;
+
+    private Boolean experienceRequired = true;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 200, message = "Limit must not exceed 200")
+    private Integer limit = 20;
+
+    // Constructors
+    public TalentMatchRequestDTO() {}
+
+    // Getters and Setters
+    public List<WeightedSkill> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<WeightedSkill> skills) {
+        this.skills = skills;
+    }
+
+    public List<WeightedTechnology> getTechnologies() {
+        return technologies;
+    }
+
+    public void setTechnologies(List<WeightedTechnology> technologies) {
+        this.technologies = technologies;
+    }
+
+    public Integer getMinYearsExperience() {
+        return minYearsExperience;
+    }
+
+    public void setMinYearsExperience(Integer minYearsExperience) {
+        this.minYearsExperience = minYearsExperience;
+    }
+
+    public Double getExperienceWeight() {
+        return experienceWeight;
+    }
+
+    public void setExperienceWeight(Double experienceWeight) {
+        this.experienceWeight = experienceWeight;
+    }
+
+    public Boolean getExperienceRequired() {
+        return experienceRequired;
+    }
+
+    public void setExperienceRequired(Boolean experienceRequired) {
+        this.experienceRequired = experienceRequired;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * A skill requirement. Required skills filter, optional ones only add to the score.
+     */
+    public static class WeightedSkill {
+
+        @NotBlank(message = "Skill name is required")
+        private String name;
+
+        @Min(value = 1, message = "Minimum proficiency must be at least 1")
+        @Max(value = 10, message = "Minimum proficiency must not exceed 10")
+        private Integer minProficiency = 1;
+
+        @DecimalMin(value = "0.0", message = "Weight cannot be negative")
+        private Double weight = 1.0;
+
+        private Boolean required = true;
+
+        public WeightedSkill() {}
+
+        public WeightedSkill(String name, Integer minProficiency, Double weight, Boolean required) {
+            this.name = name;
+            this.minProficiency = minProficiency;
+            this.weight = weight;
+            this.required = required;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Integer getMinProficiency() { return minProficiency; }
+        public void setMinProficiency(Integer minProficiency) { this.minProficiency = minProficiency; }
+
+        public Double getWeight() { return weight; }
+        public void setWeight(Double weight) { this.weight = weight; }
+
+        public Boolean getRequired() { return required; }
+        public void setRequired(Boolean required) { this.required = required; }
+    }
+
+    /**
+     * A technology used in at least one of the portfolio's projects
+     */
+    public static class WeightedTechnology {
+
+        @NotBlank(message = "Technology name is required")
+        private String name;
+
+        @DecimalMin(value = "0.0", message = "Weight cannot be negative")
+        private Double weight = 1.0;
+
+        private Boolean required = false;
+
+        public WeightedTechnology() {}
+
+        public WeightedTechnology(String name, Double weight, Boolean required) {
+            this.name = name;
+            this.weight = weight;
+            this.required = required;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public Double getWeight() { return weight; }
+        public void setWeight(Double weight) { this.weight = weight; }
+
+        public Boolean getRequired() { return required; }
+        public void setRequired(Boolean required) { this.required = required; }
+    }
+}
@@ -0,0 +1,79 @@
+package com.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A portfolio on the trending list: its total views and its decayed view score, which halves
+ * every {@code portfolio.views.half-life} without views.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrendingPortfolioDTO {
+
+    private Long portfolioId;
+    private String fullName;
+    private String title;
+    private String profileImageUrl;
+    private String profileImageSrcset;
+    private Long views;
+    private Double score;
+
+    // Constructors
+    public TrendingPortfolioDTO() {}
+
+    // Getters and Setters
+    public Long getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(Long portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+
+    public void setProfileImageUrl(String profileImageUrl) {
+        this.profileImageUrl = profileImageUrl;
+    }
+
+    public String getProfileImageSrcset() {
+        return profileImageSrcset;
+    }
+
+    public void setProfileImageSrcset(String profileImageSrcset) {
+        this.profileImageSrcset = profileImageSrcset;
+    }
+
+    public Long getViews() {
+        return views;
+    }
+
+    public void setViews(Long views) {
+        this.views = views;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,291 @@
+package com.portfolio.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Materialized analytics counters for one bucket of one dimension
+ * (a technology, a skill category, a project category or all portfolios).
+ *
+ * Rows with a positive {@code portfolioId} hold that portfolio's contribution; rows with
+ * {@link #ORGANISATION} hold the organisation-wide totals, which are the sum of all
+ * contributions. Keeping the contributions lets a change to one portfolio be applied as
+ * a delta (new contribution minus old) instead of recomputing the totals.
+ */
+@Entity
+@Table(name = "analytics_aggregates")
+@IdClass(AnalyticsAggregate.Key.class)
+public class AnalyticsAggregate {
+
+    /** Portfolio id of the organisation-wide total rows */
+    public static final long ORGANISATION = 0L;
+
+    @Id
+    @Column(name = "portfolio_id", nullable = false)
+    private Long portfolioId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 30)
+    private Dimension dimension;
+
+    @Id
+    @Column(name = "bucket", nullable = false, length = 100)
+    private String bucket;
+
+    @Column(name = "label", length = 100)
+    private String label;
+
+    @Column(name = "portfolio_count", nullable = false)
+    private long portfolioCount;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "featured_count", nullable = false)
+    private long featuredCount;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @Column(name = "value_sum", nullable = false)
+    private long valueSum;
+
+    @Column(name = "value_count", nullable = false)
+    private long valueCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * What the counters of each dimension mean:
+     * TECHNOLOGY counts projects using it (featuredCount: featured ones);
+     * SKILL_CATEGORY counts skills (scoreSum: proficiency, value: years of experience);
+     * PROJECT_CATEGORY counts projects (featuredCount: featured ones);
+     * PORTFOLIO counts portfolios (featuredCount: with a featured project, value: years of experience).
+     */
+    public enum Dimension {
+        TECHNOLOGY, SKILL_CATEGORY, PROJECT_CATEGORY, PORTFOLIO
+    }
+
+    // Constructors
+    public AnalyticsAggregate() {}
+
+    public AnalyticsAggregate(Long portfolioId, Dimension dimension, String bucket, String label) {
+        this.portfolioId = portfolioId;
+        this.dimension = dimension;
+        this.bucket = bucket;
+        this.label = label;
+    }
+
+    // JPA Lifecycle callbacks
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Business methods
+    public Key getKey() {
+        return new Key(portfolioId, dimension, bucket);
+    }
+
+    /**
+     * Add (sign 1) or subtract (sign -1) another row's counters
+     */
+    public void add(AnalyticsAggregate other, int sign) {
+        this.portfolioCount += sign * other.portfolioCount;
+        this.itemCount += sign * other.itemCount;
+        this.featuredCount += sign * other.featuredCount;
+        this.scoreSum += sign * other.scoreSum;
+        this.valueSum += sign * other.valueSum;
+        this.valueCount += sign * other.valueCount;
+    }
+
+    public void setCounts(AnalyticsAggregate other) {
+        this.label = other.label;
+        this.portfolioCount = other.portfolioCount;
+        this.itemCount = other.itemCount;
+        this.featuredCount = other.featuredCount;
+        this.scoreSum = other.scoreSum;
+        this.valueSum = other.valueSum;
+        this.valueCount = other.valueCount;
+    }
+
+    public boolean hasSameCounts(AnalyticsAggregate other) {
+        return portfolioCount == other.portfolioCount && itemCount == other.itemCount
+                && featuredCount == other.featuredCount && scoreSum == other.scoreSum
+                && valueSum == other.valueSum && valueCount == other.valueCount
+                && Objects.equals(label, other.label);
+    }
+
+    public boolean isEmpty() {
+        return portfolioCount == 0 && itemCount == 0;
+    }
+
+    // Getters and Setters
+    public Long getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(Long portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(Dimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getPortfolioCount() {
+        return portfolioCount;
+    }
+
+    public void setPortfolioCount(long portfolioCount) {
+        this.portfolioCount = portfolioCount;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public long getFeaturedCount() {
+        return featuredCount;
+    }
+
+    public void setFeaturedCount(long featuredCount) {
+        this.featuredCount = featuredCount;
+    }
+
+    public long getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(long scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public long getValueSum() {
+        return valueSum;
+    }
+
+    public void setValueSum(long valueSum) {
+        this.valueSum = valueSum;
+    }
+
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    public void setValueCount(long valueCount) {
+        this.valueCount = valueCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // equals and hashCode
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnalyticsAggregate that = (AnalyticsAggregate) o;
+        return Objects.equals(getKey(), that.getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(portfolioId, dimension, bucket);
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsAggregate{" +
+                "portfolioId=" + portfolioId +
+                ", dimension=" + dimension +
+                ", bucket='" + bucket + '\'' +
+                ", portfolioCount=" + portfolioCount +
+                ", itemCount=" + itemCount +
+                '}';
+    }
+
+    /**
+     * Composite primary key: portfolio, dimension and bucket
+     */
+    public static class Key implements Serializable {
+
+        private Long portfolioId;
+        private Dimension dimension;
+        private String bucket;
+
+        public Key() {}
+
+        public Key(Long portfolioId, Dimension dimension, String bucket) {
+            this.portfolioId = portfolioId;
+            this.dimension = dimension;
+            this.bucket = bucket;
+        }
+
+        public Long getPortfolioId() { return portfolioId; }
+        public Dimension getDimension() { return dimension; }
+        public String getBucket() { return bucket; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(portfolioId, key.portfolioId)
+                    && dimension == key.dimension
+                    && Objects.equals(bucket, key.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(portfolioId, dimension, bucket);
+        }
+    }
+}
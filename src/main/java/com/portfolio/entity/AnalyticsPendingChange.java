@@ -0,0 +1,47 @@
+package com.portfolio.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A portfolio whose analytics aggregates are out of date, written by
+ * {@code AnalyticsAggregateService} in the outbox dispatcher's transaction, so the change
+ * survives a restart once its event counts as dispatched. {@code changeCount} grows with every
+ * further change; a recomputation deletes the row only if it still holds the count it read.
+ */
+@Entity
+@Table(name = "analytics_pending_changes", indexes = {
+    @Index(name = "idx_analytics_pending_first_changed", columnList = "first_changed_at")
+})
+public class AnalyticsPendingChange {
+
+    @Id
+    @Column(name = "portfolio_id", nullable = false)
+    private Long portfolioId;
+
+    @Column(name = "first_changed_at", nullable = false)
+    private LocalDateTime firstChangedAt;
+
+    @Column(name = "change_count", nullable = false)
+    private long changeCount;
+
+    // Constructors
+    public AnalyticsPendingChange() {}
+
+    public AnalyticsPendingChange(Long portfolioId, LocalDateTime firstChangedAt) {
+        this.portfolioId = portfolioId;
+        this.firstChangedAt = firstChangedAt;
+        this.changeCount = 1;
+    }
+
+    // Getters and Setters
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public LocalDateTime getFirstChangedAt() { return firstChangedAt; }
+    public void setFirstChangedAt(LocalDateTime firstChangedAt) { this.firstChangedAt = firstChangedAt; }
+
+    public long getChangeCount() { return changeCount; }
+    public void setChangeCount(long changeCount) { this.changeCount = changeCount; }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * Education entity representing educational background in the portfolio.
@@ -17,6 +18,9 @@ import java.util.Objects;
 @Table(name = "educations")
 public class Education {
 
+    // First letter of each word, for the display names of enum constants
+    private static final Pattern WORD_START = Pattern.compile("\\b\\w");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -155,13 +159,13 @@ public class Education {
     }
 
     public String getDegreeTypeDisplayName() {
-        return degreeType.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(degreeType.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     public String getStatusDisplayName() {
-        return status.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(status.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     public String getFullDegreeTitle() {
@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * Experience entity representing work experience in the portfolio.
@@ -18,6 +19,9 @@ import java.util.Objects;
 @Table(name = "experiences")
 public class Experience {
 
+    // First letter of each word, for the display names of enum constants
+    private static final Pattern WORD_START = Pattern.compile("\\b\\w");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -157,8 +161,8 @@ public class Experience {
     }
 
     public String getEmploymentTypeDisplayName() {
-        return employmentType.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(employmentType.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     public boolean isLongTerm() {
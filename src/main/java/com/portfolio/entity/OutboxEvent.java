@@ -0,0 +1,168 @@
+package com.portfolio.entity;
+
+import com.portfolio.event.PortfolioChangedEvent;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Change event written to the outbox table in the same transaction as the change itself,
+ * and delivered to subscribers by the outbox dispatcher once committed.
+ * {@code dispatchedAt} stays null until every subscriber has accepted the event.
+ */
+@Entity
+@Table(name = "portfolio_outbox", indexes = {
+    @Index(name = "idx_outbox_undispatched", columnList = "dispatched_at, id")
+})
+public class OutboxEvent {
+
+    public static final String PORTFOLIO = "Portfolio";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private PortfolioChangedEvent.ChangeType eventType;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Constructors
+    public OutboxEvent() {}
+
+    public OutboxEvent(String aggregateType, Long aggregateId, PortfolioChangedEvent.ChangeType eventType) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+    }
+
+    // JPA Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Business methods
+    public PortfolioChangedEvent toChangedEvent() {
+        return new PortfolioChangedEvent(id, aggregateId, eventType,
+                createdAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Record a failed delivery, keeping the start of the error message
+     */
+    public void recordFailure(Exception error) {
+        this.attempts++;
+        String message = error.toString();
+        this.lastError = message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(Long aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public PortfolioChangedEvent.ChangeType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(PortfolioChangedEvent.ChangeType eventType) {
+        this.eventType = eventType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public void setDispatchedAt(LocalDateTime dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    // equals and hashCode
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent that = (OutboxEvent) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id=" + id +
+                ", aggregateType='" + aggregateType + '\'' +
+                ", aggregateId=" + aggregateId +
+                ", eventType=" + eventType +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
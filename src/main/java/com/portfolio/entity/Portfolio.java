@@ -135,7 +135,7 @@ public class Portfolio {
 
     public List<Skill> getSkillsByCategory(String category) {
         return skills.stream()
-                .filter(skill -> skill.getCategory().equalsIgnoreCase(category))
+                .filter(skill -> skill.getCategory().name().equalsIgnoreCase(category))
                 .sorted((s1, s2) -> s2.getProficiencyLevel().compareTo(s1.getProficiencyLevel()))
                 .toList();
     }
@@ -0,0 +1,44 @@
+package com.portfolio.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Views of one portfolio, written behind by {@code PortfolioViewService}: the total count,
+ * and a score that halves every {@code portfolio.views.half-life}, as of {@code lastViewedAt}.
+ * Rows are only written through the batched upsert in {@code PortfolioViewUpserts}.
+ */
+@Entity
+@Table(name = "portfolio_views")
+public class PortfolioView {
+
+    @Id
+    @Column(name = "portfolio_id", nullable = false)
+    private Long portfolioId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    @Column(name = "last_viewed_at", nullable = false)
+    private LocalDateTime lastViewedAt;
+
+    // Constructors
+    public PortfolioView() {}
+
+    // Getters and Setters
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public long getViewCount() { return viewCount; }
+    public void setViewCount(long viewCount) { this.viewCount = viewCount; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public LocalDateTime getLastViewedAt() { return lastViewedAt; }
+    public void setLastViewedAt(LocalDateTime lastViewedAt) { this.lastViewedAt = lastViewedAt; }
+}
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +22,9 @@ import java.util.stream.Collectors;
 @Table(name = "projects")
 public class Project {
 
+    // First letter of each word, for the display names of enum constants
+    private static final Pattern WORD_START = Pattern.compile("\\b\\w");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -157,13 +161,13 @@ public class Project {
     }
 
     public String getStatusDisplayName() {
-        return status.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(status.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     public String getCategoryDisplayName() {
-        return category.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(category.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     // Getters and Setters
@@ -8,7 +8,9 @@ import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * Skill entity representing technical and soft skills in the portfolio.
@@ -17,9 +19,14 @@ import java.util.Objects;
 @Entity
 @Table(name = "skills", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"portfolio_id", "name"})
+}, indexes = {
+    @Index(name = "idx_skills_match", columnList = "name_key, proficiency_level, portfolio_id")
 })
 public class Skill {
 
+    // First letter of each word, for the display names of enum constants
+    private static final Pattern WORD_START = Pattern.compile("\\b\\w");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,6 +36,10 @@ public class Skill {
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
+    // Lower-cased, trimmed name used for indexed skill matching
+    @Column(name = "name_key", length = 100)
+    private String nameKey;
+
     @Column(name = "description", length = 500)
     private String description;
 
@@ -94,7 +105,7 @@ public class Skill {
 
     public Skill(String name, Integer proficiencyLevel, SkillCategory category, Portfolio portfolio) {
         this();
-        this.name = name;
+        setName(name);
         this.proficiencyLevel = proficiencyLevel;
         this.category = category;
         this.portfolio = portfolio;
@@ -105,11 +116,20 @@ public class Skill {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.nameKey = normalizeName(name);
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.nameKey = normalizeName(name);
+    }
+
+    /**
+     * Normalize a skill name to the form stored in {@code name_key}
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
     }
 
     // Business methods using Java 8 features
@@ -133,21 +153,19 @@ public class Skill {
     }
 
     public String getCategoryDisplayName() {
-        return category.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(category.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     public String getSkillTypeDisplayName() {
-        return skillType.name().replace("_", " ").toLowerCase()
-            .replaceAll("\\b\\w", m -> m.group().toUpperCase());
+        return WORD_START.matcher(skillType.name().replace("_", " ").toLowerCase())
+            .replaceAll(m -> m.group().toUpperCase());
     }
 
     public String getDefaultColorCode() {
         return switch (category) {
             case TECHNICAL -> "#007bff";
             case FRAMEWORK -> "#28a745";
-            case DATABASE -> "#ffc107";
-            case CLOUD_PLATFORM -> "#17a2b8";
             case SOFT_SKILL -> "#6f42c1";
             case CERTIFICATION -> "#fd7e14";
             default -> "#6c757d";
@@ -169,6 +187,11 @@ public class Skill {
 
     public void setName(String name) {
         this.name = name;
+        this.nameKey = normalizeName(name);
+    }
+
+    public String getNameKey() {
+        return nameKey;
     }
 
     public String getDescription() {
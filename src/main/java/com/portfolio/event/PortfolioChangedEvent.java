@@ -0,0 +1,15 @@
+package com.portfolio.event;
+
+import java.time.Instant;
+
+/**
+ * A committed change to a portfolio or one of its child records, read from the outbox.
+ * Delivered to every {@link com.portfolio.outbox.OutboxSubscriber} at least once, in outbox order
+ * per portfolio; {@code eventId} is the outbox row id and can be used to skip duplicates.
+ */
+public record PortfolioChangedEvent(Long eventId, Long portfolioId, ChangeType changeType, Instant occurredAt) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -1,5 +1,7 @@
 package com.portfolio.exception;
 
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -7,6 +9,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -132,12 +135,80 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Handle general runtime exceptions
+     * Handle requests that ran past their deadline, or whose query was cancelled by the
+     * statement timeout derived from it
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(
+            RuntimeException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Deadline exceeded",
+                "The request could not be completed within its deadline",
+                request.getDescription(false),
+                LocalDateTime.now(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle uploads turned away because the background queue they need is full
+     */
+    @ExceptionHandler(MediaBusyException.class)
+    public ResponseEntity<ErrorResponse> handleMediaBusyException(
+            MediaBusyException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Busy",
+                "Too many uploads are being processed, try again shortly",
+                request.getDescription(false),
+                LocalDateTime.now(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle uploads over the multipart size limits
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(
+            MaxUploadSizeExceededException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                "Upload too large",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
+    /**
+     * Handle general runtime exceptions. A deadline that passed while a transaction was being
+     * opened arrives wrapped (e.g. in CannotCreateTransactionException) and is still a 503.
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(
             RuntimeException ex, WebRequest request) {
-        
+        for (Throwable cause = ex.getCause(); cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException deadlineExceeded) {
+                return handleDeadlineExceededException(deadlineExceeded, request);
+            }
+        }
+
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Internal server error",
@@ -229,5 +300,22 @@ public class GlobalExceptionHandler {
             super(message);
         }
     }
-}
 
+    /**
+     * Custom exception for requests past their deadline
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Custom exception for uploads turned away because the image variant pool is full
+     */
+    public static class MediaBusyException extends RuntimeException {
+        public MediaBusyException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.portfolio.matching;
+
+import com.portfolio.dto.TalentMatchRequestDTO;
+import com.portfolio.dto.TalentMatchRequestDTO.WeightedSkill;
+import com.portfolio.dto.TalentMatchRequestDTO.WeightedTechnology;
+import com.portfolio.entity.Skill;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable in-memory index of every active portfolio's skill vector, used for talent matching.
+ *
+ * Portfolios are numbered densely (their "doc" number) and each skill or technology name maps
+ * to a posting list of the docs that have it, sorted by doc, with the proficiency level stored
+ * alongside as a byte. A query walks only the posting lists it names, accumulating weighted
+ * scores into a float array indexed by doc, then makes one pass over that array keeping the
+ * best K in a bounded min-heap. Cost is proportional to the matching postings plus one linear
+ * scan, independent of how many skills each portfolio has overall.
+ */
+public final class SkillVectorIndex {
+
+    private static final int NO_EXPERIENCE = 0;
+
+    private final long[] portfolioIds;
+    private final int[] yearsOfExperience;
+    private final Map<String, Postings> skills;
+    private final Map<String, Postings> technologies;
+    private final Instant builtAt;
+
+    private SkillVectorIndex(long[] portfolioIds, int[] yearsOfExperience,
+                             Map<String, Postings> skills, Map<String, Postings> technologies) {
+        this.portfolioIds = portfolioIds;
+        this.yearsOfExperience = yearsOfExperience;
+        this.skills = skills;
+        this.technologies = technologies;
+        this.builtAt = Instant.now();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SkillVectorIndex empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Score every portfolio against the profile and return the best {@code limit}, highest first
+     */
+    public List<Match> topK(TalentMatchRequestDTO request) {
+        List<WeightedSkill> skillCriteria = request.getSkills() != null ? request.getSkills() : List.of();
+        List<WeightedTechnology> technologyCriteria =
+                request.getTechnologies() != null ? request.getTechnologies() : List.of();
+        Integer minYears = request.getMinYearsExperience();
+        if (skillCriteria.isEmpty() && technologyCriteria.isEmpty() && minYears == null) {
+            throw new IllegalArgumentException("A match profile needs at least one skill, technology or experience requirement");
+        }
+
+        int docCount = portfolioIds.length;
+        float[] scores = new float[docCount];
+        long[] matched = new long[docCount];
+        long requiredMask = 0;
+        int requiredBit = 0;
+        double maxScore = 0;
+
+        for (WeightedSkill criterion : skillCriteria) {
+            double weight = criterion.getWeight() != null ? criterion.getWeight() : 1.0;
+            int minLevel = criterion.getMinProficiency() != null ? criterion.getMinProficiency() : 1;
+            long flag = Boolean.FALSE.equals(criterion.getRequired()) ? 0 : 1L << requiredBit++;
+            requiredMask |= flag;
+            maxScore += weight;
+
+            Postings postings = skills.get(Skill.normalizeName(criterion.getName()));
+            if (postings == null) {
+                if (flag != 0) {
+                    return List.of();
+                }
+                continue;
+            }
+            float scale = (float) (weight / 10.0);
+            int[] docs = postings.docs;
+            byte[] levels = postings.levels;
+            for (int i = 0; i < docs.length; i++) {
+                if (levels[i] >= minLevel) {
+                    scores[docs[i]] += levels[i] * scale;
+                    matched[docs[i]] |= flag;
+                }
+            }
+        }
+
+        for (WeightedTechnology criterion : technologyCriteria) {
+            double weight = criterion.getWeight() != null ? criterion.getWeight() : 1.0;
+            long flag = Boolean.TRUE.equals(criterion.getRequired()) ? 1L << requiredBit++ : 0;
+            requiredMask |= flag;
+            maxScore += weight;
+
+            Postings postings = technologies.get(Skill.normalizeName(criterion.getName()));
+            if (postings == null) {
+                if (flag != 0) {
+                    return List.of();
+                }
+                continue;
+            }
+            float value = (float) weight;
+            for (int doc : postings.docs) {
+                scores[doc] += value;
+                matched[doc] |= flag;
+            }
+        }
+
+        double experienceWeight = 0;
+        boolean experienceRequired = false;
+        if (minYears != null) {
+            experienceWeight = request.getExperienceWeight() != null ? request.getExperienceWeight() : 1.0;
+            experienceRequired = !Boolean.FALSE.equals(request.getExperienceRequired());
+            maxScore += experienceWeight;
+        }
+
+        int limit = request.getLimit() != null ? request.getLimit() : 20;
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, Candidate.WORST_FIRST);
+        for (int doc = 0; doc < docCount; doc++) {
+            if ((matched[doc] & requiredMask) != requiredMask) {
+                continue;
+            }
+            float score = scores[doc];
+            if (minYears != null) {
+                int years = yearsOfExperience[doc];
+                if (experienceRequired && years < minYears) {
+                    continue;
+                }
+                score += (float) (experienceWeight * (minYears == 0 ? 1.0 : Math.min(1.0, (double) years / minYears)));
+            }
+            if (score <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new Candidate(doc, score));
+            } else if (score > heap.peek().score()) {
+                // Docs are visited in ascending order, so an equal score never displaces an earlier doc
+                heap.poll();
+                heap.add(new Candidate(doc, score));
+            }
+        }
+
+        List<Candidate> best = new ArrayList<>(heap);
+        best.sort(Candidate.WORST_FIRST.reversed());
+
+        List<Match> matches = new ArrayList<>(best.size());
+        for (Candidate candidate : best) {
+            int[] levels = new int[skillCriteria.size()];
+            for (int i = 0; i < levels.length; i++) {
+                Postings postings = skills.get(Skill.normalizeName(skillCriteria.get(i).getName()));
+                levels[i] = postings != null ? postings.levelOf(candidate.doc) : 0;
+            }
+            matches.add(new Match(portfolioIds[candidate.doc],
+                    maxScore > 0 ? candidate.score / maxScore : 0, levels));
+        }
+        return matches;
+    }
+
+    public int size() {
+        return portfolioIds.length;
+    }
+
+    public long postingCount() {
+        long count = 0;
+        for (Postings postings : skills.values()) {
+            count += postings.docs.length;
+        }
+        for (Postings postings : technologies.values()) {
+            count += postings.docs.length;
+        }
+        return count;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * A matched portfolio with its normalized score (0..1) and its proficiency in each
+     * requested skill, in request order (0 when it does not have the skill)
+     */
+    public record Match(long portfolioId, double score, int[] skillLevels) {}
+
+    private record Candidate(int doc, float score) {
+        // Lowest score first; on ties the later doc is worse, keeping results stable
+        static final Comparator<Candidate> WORST_FIRST = Comparator
+                .comparingDouble(Candidate::score)
+                .thenComparing(Comparator.comparingInt(Candidate::doc).reversed());
+    }
+
+    /**
+     * Docs having one skill or technology, ascending, with their proficiency level
+     */
+    private static final class Postings {
+
+        private final int[] docs;
+        private final byte[] levels;
+
+        private Postings(int[] docs, byte[] levels) {
+            this.docs = docs;
+            this.levels = levels;
+        }
+
+        int levelOf(int doc) {
+            int position = Arrays.binarySearch(docs, doc);
+            return position >= 0 ? levels[position] : 0;
+        }
+    }
+
+    /**
+     * Collects portfolios, skills and technologies, typically streamed from projection queries.
+     * Portfolios must be added before their skills and technologies; rows for unknown
+     * portfolios are ignored.
+     */
+    public static final class Builder {
+
+        private final Map<Long, Integer> docsByPortfolioId = new HashMap<>();
+        private long[] portfolioIds = new long[1024];
+        private int[] yearsOfExperience = new int[1024];
+        private int docCount;
+        private final Map<String, PostingBuffer> skills = new HashMap<>();
+        private final Map<String, PostingBuffer> technologies = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addPortfolio(long portfolioId, Integer years) {
+            if (docsByPortfolioId.putIfAbsent(portfolioId, docCount) != null) {
+                return this;
+            }
+            if (docCount == portfolioIds.length) {
+                portfolioIds = Arrays.copyOf(portfolioIds, docCount * 2);
+                yearsOfExperience = Arrays.copyOf(yearsOfExperience, docCount * 2);
+            }
+            portfolioIds[docCount] = portfolioId;
+            yearsOfExperience[docCount] = years != null ? years : NO_EXPERIENCE;
+            docCount++;
+            return this;
+        }
+
+        public Builder addSkill(long portfolioId, String name, int proficiencyLevel) {
+            Integer doc = docsByPortfolioId.get(portfolioId);
+            String key = Skill.normalizeName(name);
+            if (doc != null && key != null && !key.isEmpty()) {
+                int level = Math.max(0, Math.min(proficiencyLevel, Byte.MAX_VALUE));
+                skills.computeIfAbsent(key, k -> new PostingBuffer()).add(doc, level);
+            }
+            return this;
+        }
+
+        /**
+         * Add the technologies of one project, as stored in {@code projects.technologies}
+         */
+        public Builder addTechnologies(long portfolioId, String commaSeparated) {
+            Integer doc = docsByPortfolioId.get(portfolioId);
+            if (doc == null || commaSeparated == null) {
+                return this;
+            }
+            for (String technology : commaSeparated.split(",")) {
+                String key = Skill.normalizeName(technology);
+                if (!key.isEmpty()) {
+                    technologies.computeIfAbsent(key, k -> new PostingBuffer()).add(doc, 1);
+                }
+            }
+            return this;
+        }
+
+        public SkillVectorIndex build() {
+            return new SkillVectorIndex(
+                    Arrays.copyOf(portfolioIds, docCount),
+                    Arrays.copyOf(yearsOfExperience, docCount),
+                    freeze(skills),
+                    freeze(technologies));
+        }
+
+        private static Map<String, Postings> freeze(Map<String, PostingBuffer> buffers) {
+            Map<String, Postings> postings = new HashMap<>(buffers.size() * 2);
+            buffers.forEach((key, buffer) -> postings.put(key, buffer.toPostings()));
+            return Collections.unmodifiableMap(postings);
+        }
+    }
+
+    /**
+     * Growable list of (doc, level) pairs packed into longs so they sort by doc, then level
+     */
+    private static final class PostingBuffer {
+
+        private long[] entries = new long[8];
+        private int size;
+
+        void add(int doc, int level) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = ((long) doc << 8) | level;
+        }
+
+        /**
+         * Sort by doc and keep the highest level when a portfolio lists a name twice
+         */
+        Postings toPostings() {
+            long[] sorted = Arrays.copyOf(entries, size);
+            Arrays.sort(sorted);
+            int[] docs = new int[size];
+            byte[] levels = new byte[size];
+            int count = 0;
+            for (long entry : sorted) {
+                int doc = (int) (entry >>> 8);
+                byte level = (byte) (entry & 0xFF);
+                if (count > 0 && docs[count - 1] == doc) {
+                    levels[count - 1] = level;
+                } else {
+                    docs[count] = doc;
+                    levels[count] = level;
+                    count++;
+                }
+            }
+            return new Postings(Arrays.copyOf(docs, count), Arrays.copyOf(levels, count));
+        }
+    }
+}
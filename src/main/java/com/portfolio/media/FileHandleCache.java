@@ -0,0 +1,154 @@
+package com.portfolio.media;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used set of open media files, so hot files are not opened and stat'ed for
+ * every request. A handle pushed
+ * out while a response is still reading it is closed when that response releases it.
+ * Stored media is written under new names rather than changed in place, so open handles do
+ * not go stale.
+ */
+public class FileHandleCache implements AutoCloseable {
+
+    private final int maxOpen;
+    private final LinkedHashMap<Path, Handle> handles = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+
+    public FileHandleCache(int maxOpen, MeterRegistry meterRegistry) {
+        this.maxOpen = maxOpen;
+        this.hits = handleRequests(meterRegistry, "hit");
+        this.misses = handleRequests(meterRegistry, "miss");
+        Gauge.builder("portfolio.media.file.handles", this, FileHandleCache::size)
+                .description("Media files held open for serving")
+                .register(meterRegistry);
+    }
+
+    private static Counter handleRequests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("portfolio.media.file.handle.requests")
+                .description("Media file handle lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * An open handle on the file, to be closed by the caller when the response is written
+     */
+    public Handle acquire(Path path) throws IOException {
+        synchronized (this) {
+            Handle handle = handles.get(path);
+            if (handle != null) {
+                hits.increment();
+                handle.references++;
+                return handle;
+            }
+        }
+        misses.increment();
+        Handle opened = open(path);
+        List<Handle> evicted = new ArrayList<>();
+        Handle handle;
+        synchronized (this) {
+            handle = handles.putIfAbsent(path, opened);
+            if (handle == null) {
+                handle = opened;
+                for (Iterator<Handle> eldest = handles.values().iterator(); handles.size() > maxOpen; ) {
+                    Handle candidate = eldest.next();
+                    eldest.remove();
+                    candidate.evicted = true;
+                    if (candidate.references == 0) {
+                        evicted.add(candidate);
+                    }
+                }
+            } else {
+                evicted.add(opened);
+            }
+            handle.references++;
+        }
+        for (Handle stale : evicted) {
+            stale.channel.close();
+        }
+        return handle;
+    }
+
+    public synchronized int size() {
+        return handles.size();
+    }
+
+    private Handle open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new Handle(path, channel, channel.size(), Files.getLastModifiedTime(path).toMillis());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void release(Handle handle) throws IOException {
+        boolean close;
+        synchronized (this) {
+            close = --handle.references == 0 && handle.evicted;
+        }
+        if (close) {
+            handle.channel.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<Handle> open;
+        synchronized (this) {
+            open = new ArrayList<>(handles.values());
+            handles.clear();
+            open.forEach(handle -> handle.evicted = true);
+            open.removeIf(handle -> handle.references > 0);
+        }
+        for (Handle handle : open) {
+            handle.channel.close();
+        }
+    }
+
+    /**
+     * An open file with the size and modification time it had when opened
+     */
+    public final class Handle implements AutoCloseable {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final long size;
+        private final long lastModified;
+        private int references;
+        private boolean evicted;
+
+        private Handle(Path path, FileChannel channel, long size, long lastModified) {
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public Path path() { return path; }
+        public FileChannel channel() { return channel; }
+        public long size() { return size; }
+        public long lastModified() { return lastModified; }
+
+        @Override
+        public void close() throws IOException {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.portfolio.media;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for an object store: whole objects put and fetched by key, held in memory.
+ * For tests and single-node demos; everything is lost on restart.
+ */
+public class InMemoryMediaStorage implements MediaStorage {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String key, byte[] content) {
+        objects.put(key, content.clone());
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        return Optional.ofNullable(objects.get(key)).map(ByteArrayResource::new);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+}
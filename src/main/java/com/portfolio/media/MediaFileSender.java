@@ -0,0 +1,132 @@
+package com.portfolio.media;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Hands media files to Tomcat's sendfile, so their bytes go from the page cache to the socket
+ * without passing through the heap. Only files of at least {@code sendfileMinSize} are sent this
+ * way, and only when the connector supports sendfile (not over TLS, for one); otherwise nothing is
+ * written and the caller serves the file through Spring's resource handling. Writing the file to
+ * the servlet output stream here would copy it through a heap buffer just the same. Handles come
+ * from a {@link FileHandleCache}. Conditional requests are answered with 304, and a single byte
+ * range with 206; several ranges get the whole file.
+ */
+public class MediaFileSender {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileHandleCache handles;
+    private final long sendfileMinSize;
+    private final Counter sendfile;
+    private final Counter resource;
+
+    public MediaFileSender(FileHandleCache handles, long sendfileMinSize, MeterRegistry meterRegistry) {
+        this.handles = handles;
+        this.sendfileMinSize = sendfileMinSize;
+        this.sendfile = transfers(meterRegistry, "sendfile");
+        this.resource = transfers(meterRegistry, "resource");
+    }
+
+    private static Counter transfers(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("portfolio.media.transfers")
+                .description("Media file responses sent with sendfile or left to resource handling")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answer the request with the file, whose content {@code etag} (a strong ETag) identifies.
+     * False, with nothing written, if the file does not exist or is not to be sent with sendfile.
+     */
+    public boolean send(Path file, MediaType contentType, CacheControl cacheControl, String etag,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            resource.increment();
+            return false;
+        }
+        String quotedEtag = etag.startsWith("\"") ? etag : "\"" + etag + "\"";
+        FileHandleCache.Handle handle;
+        try {
+            handle = handles.acquire(file);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        try (handle) {
+            long size = handle.size();
+            if (size < sendfileMinSize) {
+                // Setting up sendfile costs more than copying a small file
+                resource.increment();
+                return false;
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (new ServletWebRequest(request, response).checkNotModified(quotedEtag, handle.lastModified())) {
+                return true;
+            }
+
+            long start = 0;
+            long end = size - 1;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (range != null && HttpMethod.GET.matches(request.getMethod()) && rangeApplies(request, quotedEtag)) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(range);
+                } catch (IllegalArgumentException e) {
+                    ranges = List.of();
+                }
+                if (ranges.size() == 1) {
+                    try {
+                        start = ranges.get(0).getRangeStart(size);
+                        end = ranges.get(0).getRangeEnd(size);
+                    } catch (IllegalArgumentException e) {
+                        start = size;
+                    }
+                    if (start >= size || start > end) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return true;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            }
+
+            long length = end - start + 1;
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+                return true;
+            }
+            request.setAttribute(SENDFILE_FILENAME, handle.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfile.increment();
+            return true;
+        }
+    }
+
+    /**
+     * A range applies unless If-Range names a different version of the file
+     */
+    private static boolean rangeApplies(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+}
@@ -0,0 +1,28 @@
+package com.portfolio.media;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where uploaded media and its generated variants live, addressed by slash-separated keys such
+ * as {@code images/<hash>/640w.jpg}. Keys are written whole or not at all, so a reader never
+ * sees half a file.
+ */
+public interface MediaStorage {
+
+    void put(String key, byte[] content) throws IOException;
+
+    Optional<Resource> get(String key);
+
+    boolean exists(String key);
+
+    /**
+     * Where the file for a key is, or would be, for stores that keep files on local disk
+     */
+    default Optional<Path> file(String key) {
+        return Optional.empty();
+    }
+}
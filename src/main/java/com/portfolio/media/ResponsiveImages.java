@@ -0,0 +1,132 @@
+package com.portfolio.media;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Storage layout and {@code srcset} lookups for uploaded images. An image lives under
+ * {@code images/<hash>/}, named after a hash of its content: the original as uploaded, its
+ * variants as {@code <width>w.<format>}, and {@code image.properties} describing them. Since
+ * the names change with the content, every file can be cached for good. Finished images are
+ * remembered, so page rendering does not read storage for them again.
+ */
+public class ResponsiveImages {
+
+    public static final String URL_PREFIX = "/media/";
+    static final String INFO = "image.properties";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{16}");
+    private static final Pattern FILE = Pattern.compile("(original|[1-9][0-9]*w)\\.[a-z]{3,4}");
+    private static final Pattern ORIGINAL_URL = Pattern.compile(
+            Pattern.quote(URL_PREFIX) + "images/([0-9a-f]{16})/original\\.[a-z]{3,4}");
+
+    private final MediaStorage storage;
+    private final Map<String, StoredImage> ready = new ConcurrentHashMap<>();
+
+    public ResponsiveImages(MediaStorage storage) {
+        this.storage = storage;
+    }
+
+    public static String key(String hash, String file) {
+        return "images/" + hash + "/" + file;
+    }
+
+    public static String url(String hash, String file) {
+        return URL_PREFIX + key(hash, file);
+    }
+
+    public static String originalFile(StoredImage image) {
+        return "original." + image.extension();
+    }
+
+    public static String variantFile(int width, String format) {
+        return width + "w." + format;
+    }
+
+    /**
+     * A stored image file, if the hash and file name are well-formed and it exists
+     */
+    public Optional<Resource> open(String hash, String file) {
+        if (!HASH.matcher(hash).matches() || !FILE.matcher(file).matches()) {
+            return Optional.empty();
+        }
+        return storage.get(key(hash, file));
+    }
+
+    /**
+     * Where a stored image file is on local disk, when storage keeps files there; the file
+     * itself may not exist
+     */
+    public Optional<Path> file(String hash, String file) {
+        if (!HASH.matcher(hash).matches() || !FILE.matcher(file).matches()) {
+            return Optional.empty();
+        }
+        return storage.file(key(hash, file));
+    }
+
+    public Optional<StoredImage> find(String hash) {
+        StoredImage image = ready.get(hash);
+        if (image != null) {
+            return Optional.of(image);
+        }
+        if (!HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        return storage.get(key(hash, INFO)).map(resource -> {
+            try (InputStream in = resource.getInputStream()) {
+                StoredImage stored = StoredImage.parse(hash, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                if (stored.isReady()) {
+                    ready.put(hash, stored);
+                }
+                return stored;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void save(StoredImage image) throws IOException {
+        storage.put(key(image.hash(), INFO), image.toProperties().getBytes(StandardCharsets.UTF_8));
+        if (image.isReady()) {
+            ready.put(image.hash(), image);
+        }
+    }
+
+    /**
+     * The {@code srcset} for an image URL: its variants and the original, each with its width.
+     * Null for URLs that are not uploaded images, and for images without variants (yet).
+     */
+    public String srcset(String url) {
+        Matcher matcher = url == null ? null : ORIGINAL_URL.matcher(url);
+        if (matcher == null || !matcher.matches()) {
+            return null;
+        }
+        return find(matcher.group(1)).map(ResponsiveImages::srcset).orElse(null);
+    }
+
+    /**
+     * The {@code srcset} of a stored image, or null while it has no variants
+     */
+    public static String srcset(StoredImage image) {
+        if (!image.isReady() || image.widths().isEmpty()) {
+            return null;
+        }
+        return Stream.concat(
+                        image.widths().stream().map(width ->
+                                url(image.hash(), variantFile(width, image.variantFormat())) + " " + width + "w"),
+                        Stream.of(url(image.hash(), originalFile(image)) + " " + image.width() + "w"))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,54 @@
+package com.portfolio.media;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * An uploaded image as recorded next to it in storage ({@code images/<hash>/image.properties}):
+ * the original's extension and size, and once the variants are written, their format and widths.
+ * Until then {@code variantFormat} is null and the original is the only file.
+ */
+public record StoredImage(String hash, String extension, int width, int height,
+                         String variantFormat, List<Integer> widths) {
+
+    public boolean isReady() {
+        return variantFormat != null;
+    }
+
+    public StoredImage withVariants(String format, List<Integer> variantWidths) {
+        return new StoredImage(hash, extension, width, height, format, List.copyOf(variantWidths));
+    }
+
+    String toProperties() {
+        StringBuilder properties = new StringBuilder()
+                .append("extension=").append(extension).append('\n')
+                .append("width=").append(width).append('\n')
+                .append("height=").append(height).append('\n');
+        if (isReady()) {
+            properties.append("variant-format=").append(variantFormat).append('\n')
+                    .append("widths=").append(widths.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                    .append('\n');
+        }
+        return properties.toString();
+    }
+
+    static StoredImage parse(String hash, String text) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String widths = properties.getProperty("widths", "");
+        return new StoredImage(hash, properties.getProperty("extension"),
+                Integer.parseInt(properties.getProperty("width")),
+                Integer.parseInt(properties.getProperty("height")),
+                properties.getProperty("variant-format"),
+                widths.isEmpty() ? List.of() : Arrays.stream(widths.split(",")).map(Integer::valueOf).toList());
+    }
+}
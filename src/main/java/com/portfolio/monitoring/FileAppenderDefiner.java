@@ -0,0 +1,36 @@
+package com.portfolio.monitoring;
+
+import ch.qos.logback.core.PropertyDefinerBase;
+
+/**
+ * Names the appender that file logging goes to in {@code logback-spring.xml}: {@code fileAppender}
+ * when {@code logging.file.name} or {@code logging.file.path} is set, which Spring Boot passes
+ * to Logback as {@code LOG_FILE} and {@code LOG_PATH}, and {@value #NO_FILE} otherwise, as
+ * Spring Boot's own default configuration does. Logback's {@code <if>} would do the same but
+ * needs Janino on the classpath. Appenders nothing refers to are never started, so no log
+ * file is created.
+ */
+public class FileAppenderDefiner extends PropertyDefinerBase {
+
+    /** Name of the no-op appender referenced when no log file is configured */
+    public static final String NO_FILE = "NO_FILE";
+
+    private String fileAppender = "FILE";
+
+    public void setFileAppender(String fileAppender) {
+        this.fileAppender = fileAppender;
+    }
+
+    @Override
+    public String getPropertyValue() {
+        return isSet("LOG_FILE") || isSet("LOG_PATH") ? fileAppender : NO_FILE;
+    }
+
+    private boolean isSet(String name) {
+        String value = getContext().getProperty(name);
+        if (value == null) {
+            value = System.getProperty(name);
+        }
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,278 @@
+package com.portfolio.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DataSource wrapper that times every JDBC statement and reports it, together with its
+ * bind values, to the registered {@link QueryExecutionListener}s. Result sets are also
+ * wrapped, to count fetched rows, when a listener asks for row counts. Listeners may also
+ * veto connection checkouts and adjust statements (e.g. their query timeout) before they run.
+ *
+ * Connections are only proxied when at least one listener exists, so an application
+ * without listeners pays nothing beyond one extra method call per connection checkout.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<QueryExecutionListener> listenerProvider;
+    private volatile List<QueryExecutionListener> listeners;
+    private volatile boolean countRows;
+
+    public InstrumentedDataSource(DataSource targetDataSource,
+                                  ObjectProvider<QueryExecutionListener> listenerProvider) {
+        super(targetDataSource);
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        beforeGetConnection();
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        beforeGetConnection();
+        return instrument(super.getConnection(username, password));
+    }
+
+    private void beforeGetConnection() throws SQLException {
+        for (QueryExecutionListener listener : getListeners()) {
+            listener.beforeGetConnection();
+        }
+    }
+
+    private Connection instrument(Connection connection) {
+        if (getListeners().isEmpty()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    /**
+     * Listeners are resolved on first use so that they may depend on beans that
+     * themselves need the DataSource.
+     */
+    private List<QueryExecutionListener> getListeners() {
+        List<QueryExecutionListener> resolved = listeners;
+        if (resolved == null) {
+            resolved = listenerProvider.orderedStream().toList();
+            countRows = resolved.stream().anyMatch(QueryExecutionListener::countsRows);
+            listeners = resolved;
+        }
+        return resolved;
+    }
+
+    private void beforeExecution(Statement statement, String sql) throws SQLException {
+        for (QueryExecutionListener listener : getListeners()) {
+            listener.beforeExecution(statement, sql);
+        }
+    }
+
+    private void notifyListeners(QueryExecution execution) {
+        for (QueryExecutionListener listener : getListeners()) {
+            listener.afterExecution(execution);
+        }
+    }
+
+    private void notifyRowsFetched(String sql, long rowCount) {
+        for (QueryExecutionListener listener : getListeners()) {
+            listener.afterRowsFetched(sql, rowCount);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Wraps every statement created by the connection
+     */
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Records bind values and times the execute* methods of a statement
+     */
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final List<Object> parameters = new ArrayList<>();
+        private String lastSql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    parameters.clear();
+                    break;
+                default:
+                    break;
+            }
+
+            if (isParameterSetter(name, args)) {
+                recordParameter((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                return invokeTarget(target, method, args);
+            }
+
+            if (!name.startsWith("execute")) {
+                Object result = invokeTarget(target, method, args);
+                if (countRows && name.equals("getResultSet") && result instanceof ResultSet resultSet) {
+                    return countingResultSet(resultSet, lastSql);
+                }
+                return result;
+            }
+
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            beforeExecution(target, executedSql);
+            boolean success = false;
+            long start = System.nanoTime();
+            try {
+                Object result = invokeTarget(target, method, args);
+                success = true;
+                lastSql = executedSql;
+                if (countRows && result instanceof ResultSet resultSet) {
+                    return countingResultSet(resultSet, executedSql);
+                }
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                notifyListeners(new QueryExecution(executedSql,
+                        Collections.unmodifiableList(new ArrayList<>(parameters)), elapsed, success));
+            }
+        }
+
+        /**
+         * PreparedStatement setters take (int parameterIndex, value, ...); plain Statement
+         * setters such as setFetchSize take a single argument.
+         */
+        private boolean isParameterSetter(String name, Object[] args) {
+            return target instanceof PreparedStatement
+                    && name.startsWith("set")
+                    && args != null && args.length >= 2
+                    && args[0] instanceof Integer;
+        }
+
+        private void recordParameter(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+
+    private ResultSet countingResultSet(ResultSet resultSet, String sql) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                new ResultSetHandler(resultSet, sql));
+    }
+
+    /**
+     * Counts rows returned by next() and reports the total once, when the result set
+     * is exhausted or closed, whichever happens first
+     */
+    private class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String sql;
+        private long rowCount;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "next": {
+                    boolean hasRow = (Boolean) invokeTarget(target, method, args);
+                    if (hasRow) {
+                        rowCount++;
+                    } else {
+                        report();
+                    }
+                    return hasRow;
+                }
+                case "close":
+                    report();
+                    return invokeTarget(target, method, args);
+                default:
+                    return invokeTarget(target, method, args);
+            }
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                notifyRowsFetched(sql, rowCount);
+            }
+        }
+    }
+}
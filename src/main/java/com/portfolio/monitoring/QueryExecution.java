@@ -0,0 +1,54 @@
+package com.portfolio.monitoring;
+
+import java.util.List;
+
+/**
+ * A single JDBC statement execution as observed by {@link InstrumentedDataSource}.
+ */
+public class QueryExecution {
+
+    private final String sql;
+    private final List<Object> parameters;
+    private final long elapsedNanos;
+    private final boolean success;
+
+    public QueryExecution(String sql, List<Object> parameters, long elapsedNanos, boolean success) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.elapsedNanos = elapsedNanos;
+        this.success = success;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Bind values in parameter index order (index 0 holds parameter 1)
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryExecution{" +
+                "sql='" + sql + '\'' +
+                ", parameters=" + parameters +
+                ", elapsedMillis=" + getElapsedMillis() +
+                ", success=" + success +
+                '}';
+    }
+}
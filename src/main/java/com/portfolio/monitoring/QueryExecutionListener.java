@@ -0,0 +1,41 @@
+package com.portfolio.monitoring;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Callback notified after every JDBC statement executed through {@link InstrumentedDataSource}.
+ * Implementations run on the request thread and must stay cheap.
+ */
+public interface QueryExecutionListener {
+
+    void afterExecution(QueryExecution execution);
+
+    /**
+     * Called before a connection is checked out of the pool. Throwing aborts the checkout.
+     */
+    default void beforeGetConnection() throws SQLException {
+    }
+
+    /**
+     * Called immediately before a statement executes, e.g. to adjust its query timeout.
+     * Throwing aborts the execution.
+     */
+    default void beforeExecution(Statement statement, String sql) throws SQLException {
+    }
+
+    /**
+     * Called once per result set, when it is exhausted or closed, with the number of rows read.
+     * Only invoked if {@link #countsRows()} returns true for at least one listener.
+     */
+    default void afterRowsFetched(String sql, long rowCount) {
+    }
+
+    /**
+     * Whether this listener needs row counts. Counting rows requires proxying every
+     * result set, so it is only done when some listener asks for it.
+     */
+    default boolean countsRows() {
+        return false;
+    }
+}
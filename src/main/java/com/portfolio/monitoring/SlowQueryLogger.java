@@ -0,0 +1,64 @@
+package com.portfolio.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements slower than a threshold, including their bind values.
+ * Replaces blanket SQL/bind logging: fast statements cost one comparison, and only a
+ * configurable sample of slow statements is written so a slow database cannot flood the log.
+ */
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean logParameters;
+    private final int maxParameterLength;
+
+    public SlowQueryLogger(long thresholdMillis, double sampleRate, boolean logParameters, int maxParameterLength) {
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+        this.sampleRate = sampleRate;
+        this.logParameters = logParameters;
+        this.maxParameterLength = maxParameterLength;
+    }
+
+    @Override
+    public void afterExecution(QueryExecution execution) {
+        if (execution.getElapsedNanos() < thresholdNanos || !sampled()) {
+            return;
+        }
+
+        String sql = execution.getSql() == null ? "<batch>" : execution.getSql().replaceAll("\\s+", " ").trim();
+        if (logParameters) {
+            log.warn("Slow query ({} ms, success={}): {} | params={}",
+                    execution.getElapsedMillis(), execution.isSuccess(), sql, formatParameters(execution.getParameters()));
+        } else {
+            log.warn("Slow query ({} ms, success={}): {}",
+                    execution.getElapsedMillis(), execution.isSuccess(), sql);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private String formatParameters(List<Object> parameters) {
+        return parameters.stream()
+                .map(this::formatParameter)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String formatParameter(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        String text = value.toString();
+        return text.length() > maxParameterLength ? text.substring(0, maxParameterLength) + "..." : text;
+    }
+}
@@ -0,0 +1,51 @@
+package com.portfolio.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits on the SQL work a single HTTP request or service method may perform.
+ */
+public class SqlBudget {
+
+    private int maxStatements = 25;
+    private long maxRows = 5000;
+    private long maxDbTimeMs = 1000;
+    private int maxRepeatedStatements = 10;
+
+    /**
+     * Describe every limit the scope exceeded; empty when it stayed within budget
+     */
+    public List<String> check(SqlScope scope) {
+        List<String> violations = new ArrayList<>();
+        if (scope.getStatementCount() > maxStatements) {
+            violations.add("statements=" + scope.getStatementCount() + "/" + maxStatements);
+        }
+        if (scope.getRowCount() > maxRows) {
+            violations.add("rows=" + scope.getRowCount() + "/" + maxRows);
+        }
+        if (scope.getDbTimeMillis() > maxDbTimeMs) {
+            violations.add("dbTimeMs=" + scope.getDbTimeMillis() + "/" + maxDbTimeMs);
+        }
+        // No shape can repeat more often than statements ran, so most scopes skip shaping their SQL
+        if (scope.getStatementCount() > maxRepeatedStatements) {
+            SqlScope.StatementShape repeated = scope.getMostRepeatedStatement();
+            if (repeated != null && repeated.count() > maxRepeatedStatements) {
+                violations.add("repeatedStatements=" + repeated.count() + "/" + maxRepeatedStatements);
+            }
+        }
+        return violations;
+    }
+
+    public int getMaxStatements() { return maxStatements; }
+    public void setMaxStatements(int maxStatements) { this.maxStatements = maxStatements; }
+
+    public long getMaxRows() { return maxRows; }
+    public void setMaxRows(long maxRows) { this.maxRows = maxRows; }
+
+    public long getMaxDbTimeMs() { return maxDbTimeMs; }
+    public void setMaxDbTimeMs(long maxDbTimeMs) { this.maxDbTimeMs = maxDbTimeMs; }
+
+    public int getMaxRepeatedStatements() { return maxRepeatedStatements; }
+    public void setMaxRepeatedStatements(int maxRepeatedStatements) { this.maxRepeatedStatements = maxRepeatedStatements; }
+}
@@ -0,0 +1,38 @@
+package com.portfolio.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Opens a SQL budget scope around every public service method, e.g.
+ * {@code PortfolioService.getPortfolioById}. Ordered ahead of the transaction advisor so
+ * statements flushed at commit are charged to the method. A method that throws keeps its
+ * exception; its budget violation is only recorded.
+ */
+@Aspect
+@Order(0)
+public class SqlBudgetAspect {
+
+    private final SqlBudgetTracker tracker;
+
+    public SqlBudgetAspect(SqlBudgetTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Around("execution(public * com.portfolio.service..*(..))")
+    public Object trackServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        SqlScope scope = tracker.begin("service", name);
+        boolean completed = false;
+        try {
+            Object result = joinPoint.proceed();
+            completed = true;
+            return result;
+        } finally {
+            tracker.end(scope, completed);
+        }
+    }
+}
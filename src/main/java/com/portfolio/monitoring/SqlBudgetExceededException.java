@@ -0,0 +1,12 @@
+package com.portfolio.monitoring;
+
+/**
+ * Thrown when a scope exceeds its SQL budget and {@code portfolio.jdbc.budget.fail-on-exceed}
+ * is enabled, which the test profile does so that N+1 regressions fail the build.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.portfolio.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a SQL budget scope around every HTTP request. The scope is named after the
+ * matched route pattern (e.g. {@code GET /api/portfolios/{id}}) to keep metric tags bounded.
+ * A violation fails the request only if the chain completed and the response is not yet
+ * committed; otherwise it is recorded and logged, and any exception from the chain propagates.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetTracker tracker;
+
+    public SqlBudgetFilter(SqlBudgetTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlScope scope = tracker.begin("http", request.getMethod());
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            scope.setName(request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+            tracker.end(scope, completed && !response.isCommitted());
+        }
+    }
+}
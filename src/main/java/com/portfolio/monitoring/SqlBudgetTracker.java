@@ -0,0 +1,180 @@
+package com.portfolio.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Counts JDBC statements, fetched rows and database time per HTTP request and per
+ * service method, publishes them as Micrometer metrics and checks them against a {@link SqlBudget}.
+ *
+ * Scopes nest on the current thread (a request scope usually contains one or more service
+ * method scopes) and every statement is charged to all open scopes. A scope that exceeds
+ * its budget produces a single structured warning naming the most repeated statement shape,
+ * which is how N+1 lazy loading shows up.
+ */
+public class SqlBudgetTracker implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetTracker.class);
+
+    private final ThreadLocal<Deque<SqlScope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final MeterRegistry meterRegistry;
+    private final SqlBudget defaultBudget;
+    private final Map<String, SqlBudget> budgetOverrides;
+    private final boolean failOnExceed;
+
+    public SqlBudgetTracker(MeterRegistry meterRegistry, SqlBudget defaultBudget,
+                            Map<String, SqlBudget> budgetOverrides, boolean failOnExceed) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.budgetOverrides = budgetOverrides;
+        this.failOnExceed = failOnExceed;
+    }
+
+    /**
+     * Open a scope on the current thread; every scope must be closed with {@link #end(SqlScope)}
+     */
+    public SqlScope begin(String type, String name) {
+        return push(new SqlScope(type, name));
+    }
+
+    /**
+     * Open a scope whose statements are not charged to the scopes around it. Batch jobs open
+     * one per batch, so each batch is held to its own budget and the job as a whole, whose work
+     * grows with the data, is not.
+     */
+    public SqlScope beginIsolated(String type, String name) {
+        return push(new SqlScope(type, name, true));
+    }
+
+    /**
+     * Run one batch of a job in an {@linkplain #beginIsolated isolated} scope; the budget is
+     * enforced unless the batch failed
+     */
+    public <T> T inIsolatedScope(String type, String name, Supplier<T> batch) {
+        SqlScope scope = beginIsolated(type, name);
+        boolean completed = false;
+        try {
+            T result = batch.get();
+            completed = true;
+            return result;
+        } finally {
+            end(scope, completed);
+        }
+    }
+
+    private SqlScope push(SqlScope scope) {
+        scopes.get().push(scope);
+        return scope;
+    }
+
+    /**
+     * Close the scope, record its metrics and enforce its budget
+     */
+    public void end(SqlScope scope) {
+        end(scope, true);
+    }
+
+    /**
+     * Close the scope and record its metrics and any budget violation. The violation is only
+     * thrown when {@code enforce} is set: callers clear it when the scope's work already failed,
+     * so the original exception is not replaced, or when the response is already committed.
+     */
+    public void end(SqlScope scope, boolean enforce) {
+        Deque<SqlScope> openScopes = scopes.get();
+        openScopes.remove(scope);
+        if (openScopes.isEmpty()) {
+            scopes.remove();
+        }
+
+        recordMetrics(scope);
+
+        List<String> violations = budgetOverrides.getOrDefault(scope.getName(), defaultBudget).check(scope);
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        SqlScope.StatementShape repeated = scope.getMostRepeatedStatement();
+        String message = String.format(
+                "SQL budget exceeded: scope=%s name=\"%s\" violations=%s statements=%d rows=%d dbTimeMs=%d " +
+                "repeatedCount=%d repeatedStatement=\"%s\"",
+                scope.getType(), scope.getName(), violations, scope.getStatementCount(), scope.getRowCount(),
+                scope.getDbTimeMillis(), repeated != null ? repeated.count() : 0, repeated != null ? repeated.sql() : "");
+
+        Counter.builder("portfolio.sql.budget.exceeded")
+                .description("Scopes that exceeded their SQL budget")
+                .tags("scope", scope.getType(), "name", scope.getName())
+                .register(meterRegistry)
+                .increment();
+
+        log.warn(message);
+        if (failOnExceed && enforce) {
+            throw new SqlBudgetExceededException(message);
+        }
+    }
+
+    @Override
+    public void afterExecution(QueryExecution execution) {
+        Deque<SqlScope> openScopes = scopes.get();
+        if (openScopes.isEmpty()) {
+            scopes.remove();
+            return;
+        }
+        for (SqlScope scope : openScopes) {
+            scope.recordStatement(execution.getSql(), execution.getElapsedNanos());
+            if (scope.isIsolated()) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void afterRowsFetched(String sql, long rowCount) {
+        Deque<SqlScope> openScopes = scopes.get();
+        if (openScopes.isEmpty()) {
+            scopes.remove();
+            return;
+        }
+        for (SqlScope scope : openScopes) {
+            scope.recordRows(rowCount);
+            if (scope.isIsolated()) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean countsRows() {
+        return true;
+    }
+
+    private void recordMetrics(SqlScope scope) {
+        DistributionSummary.builder("portfolio.sql.statements")
+                .description("JDBC statements executed per scope")
+                .tags("scope", scope.getType(), "name", scope.getName())
+                .register(meterRegistry)
+                .record(scope.getStatementCount());
+
+        DistributionSummary.builder("portfolio.sql.rows")
+                .description("Rows fetched per scope")
+                .tags("scope", scope.getType(), "name", scope.getName())
+                .register(meterRegistry)
+                .record(scope.getRowCount());
+
+        Timer.builder("portfolio.sql.time")
+                .description("Time spent executing JDBC statements per scope")
+                .tags("scope", scope.getType(), "name", scope.getName())
+                .register(meterRegistry)
+                .record(scope.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+    }
+}
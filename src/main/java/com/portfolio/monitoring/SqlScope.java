@@ -0,0 +1,117 @@
+package com.portfolio.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL work accumulated by one HTTP request or one service method invocation.
+ * Scopes are confined to the thread that opened them.
+ */
+public class SqlScope {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String type;
+    private final boolean isolated;
+    private String name;
+    private int statementCount;
+    private long rowCount;
+    private long dbTimeNanos;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    // Most repeated shape, computed once until another statement is recorded
+    private StatementShape mostRepeated;
+    private boolean shaped;
+
+    public SqlScope(String type, String name) {
+        this(type, name, false);
+    }
+
+    public SqlScope(String type, String name, boolean isolated) {
+        this.type = type;
+        this.name = name;
+        this.isolated = isolated;
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statementCount++;
+        dbTimeNanos += elapsedNanos;
+        if (sql != null) {
+            statementCounts.merge(sql, 1, Integer::sum);
+            shaped = false;
+        }
+    }
+
+    void recordRows(long rows) {
+        rowCount += rows;
+    }
+
+    /**
+     * The statement shape executed most often in this scope. Raw SQL strings are grouped
+     * by shape (literals and IN lists replaced by placeholders) only when asked, keeping
+     * the per-statement cost to a map update, and the result is kept for later calls.
+     */
+    public StatementShape getMostRepeatedStatement() {
+        if (!shaped) {
+            Map<String, Integer> shapes = new HashMap<>();
+            statementCounts.forEach((sql, count) -> shapes.merge(shapeOf(sql), count, Integer::sum));
+            mostRepeated = shapes.entrySet()
+                    .stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> new StatementShape(entry.getKey(), entry.getValue()))
+                    .orElse(null);
+            shaped = true;
+        }
+        return mostRepeated;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Whether statements run in this scope are kept from the scopes it is nested in
+     */
+    public boolean isIsolated() {
+        return isolated;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    public long getDbTimeMillis() {
+        return dbTimeNanos / 1_000_000;
+    }
+
+    /**
+     * A normalized statement and how many times it ran
+     */
+    public record StatementShape(String sql, int count) {}
+}
@@ -0,0 +1,22 @@
+package com.portfolio.outbox;
+
+import com.portfolio.event.PortfolioChangedEvent;
+
+/**
+ * In-process consumer of committed portfolio changes. Every bean implementing this interface
+ * receives each outbox event once it has committed.
+ *
+ * Delivery is at least once: an event is redelivered to all subscribers when any of them
+ * throws, so handlers must be idempotent. Handlers run inside the dispatcher's transaction
+ * and should stay cheap, handing heavy work (recomputing a read model, say) to their own
+ * scheduled jobs. Work handed off that way must be recorded in that transaction (a row the job
+ * picks up, say): the event is marked dispatched when it commits, so anything kept only in
+ * memory is lost if the node stops first.
+ */
+public interface OutboxSubscriber {
+
+    /** Name used in logs and metric tags */
+    String getSubscriberName();
+
+    void onPortfolioChanged(PortfolioChangedEvent event);
+}
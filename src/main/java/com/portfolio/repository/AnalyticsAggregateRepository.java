@@ -0,0 +1,61 @@
+package com.portfolio.repository;
+
+import com.portfolio.entity.AnalyticsAggregate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for materialized analytics aggregates.
+ */
+@Repository
+public interface AnalyticsAggregateRepository extends JpaRepository<AnalyticsAggregate, AnalyticsAggregate.Key> {
+
+    /**
+     * Find all rows of the given portfolios (use {@link AnalyticsAggregate#ORGANISATION} for the totals)
+     */
+    List<AnalyticsAggregate> findByPortfolioIdIn(Collection<Long> portfolioIds);
+
+    /**
+     * Find one dimension's rows of a portfolio, ordered by the pageable's sort
+     */
+    List<AnalyticsAggregate> findByPortfolioIdAndDimension(Long portfolioId, AnalyticsAggregate.Dimension dimension,
+                                                            Pageable pageable);
+
+    /**
+     * Find the rows of several dimensions of a portfolio
+     */
+    List<AnalyticsAggregate> findByPortfolioIdAndDimensionIn(Long portfolioId,
+                                                              Collection<AnalyticsAggregate.Dimension> dimensions);
+
+    /**
+     * Find when the organisation-wide totals were last written
+     */
+    @Query("SELECT MAX(a.updatedAt) FROM AnalyticsAggregate a WHERE a.portfolioId = :portfolioId")
+    LocalDateTime findLastUpdatedAt(@Param("portfolioId") Long portfolioId);
+
+    /**
+     * Sum the rows of all portfolios per dimension and bucket, which gives the organisation-wide totals.
+     * Each row is {@code [dimension, bucket, label, portfolioCount, itemCount, featuredCount,
+     * scoreSum, valueSum, valueCount]}.
+     */
+    @Query("SELECT a.dimension, a.bucket, MAX(a.label), SUM(a.portfolioCount), SUM(a.itemCount), " +
+           "SUM(a.featuredCount), SUM(a.scoreSum), SUM(a.valueSum), SUM(a.valueCount) " +
+           "FROM AnalyticsAggregate a WHERE a.portfolioId <> 0 GROUP BY a.dimension, a.bucket")
+    List<Object[]> sumPortfolioRows();
+
+    /**
+     * Delete the rows of portfolios that are no longer active or no longer exist
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM AnalyticsAggregate a WHERE a.portfolioId <> 0 AND a.portfolioId NOT IN " +
+           "(SELECT p.id FROM Portfolio p WHERE p.isActive = true)")
+    int deleteRowsOfInactivePortfolios();
+}
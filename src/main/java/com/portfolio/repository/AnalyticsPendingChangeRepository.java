@@ -0,0 +1,62 @@
+package com.portfolio.repository;
+
+import com.portfolio.entity.AnalyticsPendingChange;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for portfolios with analytics changes not yet applied.
+ */
+@Repository
+public interface AnalyticsPendingChangeRepository extends JpaRepository<AnalyticsPendingChange, Long> {
+
+    /**
+     * Count one more change of a pending portfolio; returns 0 when the portfolio is not pending yet
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsPendingChange c SET c.changeCount = c.changeCount + 1 WHERE c.portfolioId = :portfolioId")
+    int countChange(@Param("portfolioId") Long portfolioId);
+
+    /**
+     * Lock the longest pending portfolios, skipping rows another node has locked
+     * (lock timeout -2 is Hibernate's SKIP LOCKED; dialects without it take a plain row lock)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM AnalyticsPendingChange c ORDER BY c.firstChangedAt")
+    List<AnalyticsPendingChange> lockOldest(Pageable pageable);
+
+    /**
+     * Find which of the portfolios are pending
+     */
+    List<AnalyticsPendingChange> findByPortfolioIdIn(Collection<Long> portfolioIds);
+
+    /**
+     * Unmark a portfolio unless it changed again after the row was read; a row written anew
+     * since then has a later first change
+     */
+    @Modifying
+    @Query("DELETE FROM AnalyticsPendingChange c WHERE c.portfolioId = :portfolioId " +
+           "AND c.firstChangedAt = :firstChangedAt AND c.changeCount = :changeCount")
+    int deleteIfUnchanged(@Param("portfolioId") Long portfolioId,
+                          @Param("firstChangedAt") LocalDateTime firstChangedAt,
+                          @Param("changeCount") long changeCount);
+
+    /**
+     * Find when the oldest pending change happened
+     */
+    @Query("SELECT MIN(c.firstChangedAt) FROM AnalyticsPendingChange c")
+    LocalDateTime findOldestChangedAt();
+}
@@ -35,7 +35,7 @@ public interface ExperienceRepository extends JpaRepository<Experience, Long> {
     /**
      * Find experiences by company name (case insensitive)
      */
-    List<Experience> findByCompanyContainingIgnoreCase(String company);
+    List<Experience> findByCompanyNameContainingIgnoreCase(String companyName);
 
     /**
      * Find experiences by job title (case insensitive)
@@ -61,7 +61,7 @@ public interface ExperienceRepository extends JpaRepository<Experience, Long> {
      * Find long-term experiences (more than 1 year)
      */
     @Query("SELECT e FROM Experience e WHERE e.portfolio.id = :portfolioId AND " +
-           "(e.endDate IS NULL OR FUNCTION('DATEDIFF', COALESCE(e.endDate, CURRENT_DATE), e.startDate) >= 365)")
+           "(e.endDate IS NULL OR (e.endDate - e.startDate) BY DAY >= 365)")
     List<Experience> findLongTermExperiencesByPortfolioId(@Param("portfolioId") Long portfolioId);
 
     /**
@@ -73,7 +73,7 @@ public interface ExperienceRepository extends JpaRepository<Experience, Long> {
      * Find experiences with specific technologies
      */
     @Query("SELECT e FROM Experience e WHERE e.portfolio.id = :portfolioId AND " +
-           "LOWER(e.technologies) LIKE LOWER(CONCAT('%', :technology, '%'))")
+           "LOWER(e.technologiesUsed) LIKE LOWER(CONCAT('%', :technology, '%'))")
     List<Experience> findByPortfolioIdAndTechnologiesContaining(@Param("portfolioId") Long portfolioId, 
                                                                @Param("technology") String technology);
 }
@@ -0,0 +1,61 @@
+package com.portfolio.repository;
+
+import com.portfolio.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the change-event outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock the oldest undispatched events, skipping rows another dispatcher has locked
+     * (lock timeout -2 is Hibernate's SKIP LOCKED; dialects without it take a plain row lock)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.dispatchedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> lockUndispatched(Pageable pageable);
+
+    /**
+     * Find the oldest undispatched event of each of the portfolios, as [portfolio id, event id] rows.
+     * Sees events other dispatchers have locked but not yet marked dispatched.
+     */
+    @Query("SELECT e.aggregateId, MIN(e.id) FROM OutboxEvent e " +
+           "WHERE e.dispatchedAt IS NULL AND e.aggregateType = :type AND e.aggregateId IN :ids " +
+           "GROUP BY e.aggregateId")
+    List<Object[]> findOldestUndispatchedIds(@Param("type") String aggregateType,
+                                             @Param("ids") Collection<Long> aggregateIds);
+
+    /**
+     * Count events not yet dispatched
+     */
+    long countByDispatchedAtIsNull();
+
+    /**
+     * Find when the oldest undispatched event was written
+     */
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.dispatchedAt IS NULL")
+    LocalDateTime findOldestUndispatchedCreatedAt();
+
+    /**
+     * Delete events dispatched before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,98 @@
+package com.portfolio.repository;
+
+import com.portfolio.entity.Portfolio;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository moving soft-deleted portfolios and their children between the live tables and the
+ * {@code *_archive} tables (PostgreSQL native queries; see V3__archive_tables.sql).
+ * Each move deletes from one table and inserts the returned rows into the other in one statement.
+ */
+@Repository
+public interface PortfolioArchiveRepository extends org.springframework.data.repository.Repository<Portfolio, Long> {
+
+    /**
+     * Limit how long statements of the current transaction wait for row locks
+     */
+    @Query(value = "SELECT set_config('lock_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalLockTimeout(@Param("timeout") String timeout);
+
+    /**
+     * Lock portfolios inactive since before the cutoff, skipping rows locked by other transactions
+     */
+    @Query(value = "SELECT id FROM portfolios " +
+                   "WHERE is_active = false AND COALESCE(updated_at, created_at) < :cutoff " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Lock an archived portfolio and return its email
+     */
+    @Query(value = "SELECT email FROM portfolios_archive WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> lockArchivedEmail(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM portfolios_archive", nativeQuery = true)
+    long countArchived();
+
+    // Archive: children first, then the portfolios they reference
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM projects WHERE portfolio_id IN (:ids) RETURNING *) " +
+                   "INSERT INTO projects_archive SELECT * FROM moved", nativeQuery = true)
+    int archiveProjects(@Param("ids") Collection<Long> portfolioIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM skills WHERE portfolio_id IN (:ids) RETURNING *) " +
+                   "INSERT INTO skills_archive SELECT * FROM moved", nativeQuery = true)
+    int archiveSkills(@Param("ids") Collection<Long> portfolioIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM experiences WHERE portfolio_id IN (:ids) RETURNING *) " +
+                   "INSERT INTO experiences_archive SELECT * FROM moved", nativeQuery = true)
+    int archiveExperiences(@Param("ids") Collection<Long> portfolioIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM educations WHERE portfolio_id IN (:ids) RETURNING *) " +
+                   "INSERT INTO educations_archive SELECT * FROM moved", nativeQuery = true)
+    int archiveEducations(@Param("ids") Collection<Long> portfolioIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM portfolios WHERE id IN (:ids) AND is_active = false RETURNING *) " +
+                   "INSERT INTO portfolios_archive SELECT * FROM moved", nativeQuery = true)
+    int archivePortfolios(@Param("ids") Collection<Long> portfolioIds);
+
+    // Restore: the portfolio first, then its children
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM portfolios_archive WHERE id = :id RETURNING *) " +
+                   "INSERT INTO portfolios SELECT * FROM moved", nativeQuery = true)
+    int restorePortfolio(@Param("id") Long portfolioId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM projects_archive WHERE portfolio_id = :id RETURNING *) " +
+                   "INSERT INTO projects SELECT * FROM moved", nativeQuery = true)
+    int restoreProjects(@Param("id") Long portfolioId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM skills_archive WHERE portfolio_id = :id RETURNING *) " +
+                   "INSERT INTO skills SELECT * FROM moved", nativeQuery = true)
+    int restoreSkills(@Param("id") Long portfolioId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM experiences_archive WHERE portfolio_id = :id RETURNING *) " +
+                   "INSERT INTO experiences SELECT * FROM moved", nativeQuery = true)
+    int restoreExperiences(@Param("id") Long portfolioId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "WITH moved AS (DELETE FROM educations_archive WHERE portfolio_id = :id RETURNING *) " +
+                   "INSERT INTO educations SELECT * FROM moved", nativeQuery = true)
+    int restoreEducations(@Param("id") Long portfolioId);
+}
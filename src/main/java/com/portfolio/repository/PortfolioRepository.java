@@ -1,12 +1,14 @@
 package com.portfolio.repository;
 
 import com.portfolio.entity.Portfolio;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -154,6 +156,12 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
            "ORDER BY p.updatedAt DESC")
     List<Portfolio> findRecentlyUpdatedPortfolios();
 
+    /**
+     * Find the ids of the most recently updated active portfolios
+     */
+    @Query("SELECT p.id FROM Portfolio p WHERE p.isActive = true ORDER BY p.updatedAt DESC")
+    List<Long> findRecentlyUpdatedIds(Pageable pageable);
+
     /**
      * Custom query to find portfolios with complete profiles
      * (having at least one project, skill, and experience)
@@ -177,5 +185,17 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
            "FROM Portfolio p " +
            "WHERE p.email = :email AND p.id != :portfolioId")
     boolean existsByEmailAndIdNot(@Param("email") String email, @Param("portfolioId") Long portfolioId);
-}
 
+    /**
+     * Find id and years of experience of the given portfolios that are active, for analytics
+     * aggregates and the talent match index
+     */
+    @Query("SELECT p.id, p.yearsOfExperience FROM Portfolio p WHERE p.isActive = true AND p.id IN :ids")
+    List<Object[]> findActivePortfolioExperience(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the ids of active portfolios after the given id, in id order, one page at a time
+     */
+    @Query("SELECT p.id FROM Portfolio p WHERE p.isActive = true AND p.id > :afterId ORDER BY p.id")
+    List<Long> findActivePortfolioIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
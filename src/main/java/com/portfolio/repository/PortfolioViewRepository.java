@@ -0,0 +1,32 @@
+package com.portfolio.repository;
+
+import com.portfolio.entity.PortfolioView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the write-behind view counts (PostgreSQL native queries; see
+ * V4__portfolio_views.sql).
+ */
+@Repository
+public interface PortfolioViewRepository extends JpaRepository<PortfolioView, Long>, PortfolioViewUpserts {
+
+    /**
+     * Active portfolios viewed since {@code since}, highest score first, as
+     * [portfolio id, view count, score decayed to {@code now}] rows
+     */
+    @Query(value = "SELECT v.portfolio_id, v.view_count, " +
+                   "v.score * power(0.5, extract(epoch from (CAST(:now AS timestamp) - v.last_viewed_at)) / :halfLifeSeconds) AS decayed " +
+                   "FROM portfolio_views v JOIN portfolios p ON p.id = v.portfolio_id " +
+                   "WHERE p.is_active = true AND v.last_viewed_at > :since " +
+                   "ORDER BY decayed DESC, v.portfolio_id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findTrending(@Param("now") LocalDateTime now,
+                                @Param("since") LocalDateTime since,
+                                @Param("halfLifeSeconds") double halfLifeSeconds,
+                                @Param("limit") int limit);
+}
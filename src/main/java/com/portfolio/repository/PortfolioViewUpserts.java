@@ -0,0 +1,24 @@
+package com.portfolio.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for adding view counts in one JDBC batch.
+ */
+public interface PortfolioViewUpserts {
+
+    /**
+     * Add the views counted since the last flush, inserting rows for portfolios seen for the
+     * first time. Each row's score is decayed from its {@code last_viewed_at} to {@code now}
+     * before the new views are added, and {@code last_viewed_at} becomes {@code now}.
+     * PostgreSQL only ({@code INSERT ... ON CONFLICT}).
+     *
+     * @param views portfolio id to views since the last flush
+     */
+    @Transactional
+    void addViews(Map<Long, Long> views, LocalDateTime now, Duration halfLife);
+}
@@ -0,0 +1,67 @@
+package com.portfolio.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Adds view counts with one batched upsert per flush:
+ *
+ * <pre>
+ * INSERT INTO portfolio_views AS v (portfolio_id, view_count, score, last_viewed_at)
+ * VALUES (?, ?, ?, ?)
+ * ON CONFLICT (portfolio_id) DO UPDATE SET
+ *     view_count = v.view_count + EXCLUDED.view_count,
+ *     score = v.score * 0.5 ^ (seconds since v.last_viewed_at / half-life seconds) + EXCLUDED.score,
+ *     last_viewed_at = EXCLUDED.last_viewed_at
+ * </pre>
+ *
+ * The new views count fully at {@code now}, so a row only ever holds its score as of its own
+ * {@code last_viewed_at} and needs no periodic decay job.
+ */
+public class PortfolioViewUpsertsImpl implements PortfolioViewUpserts {
+
+    static final String UPSERT =
+            "INSERT INTO portfolio_views AS v (portfolio_id, view_count, score, last_viewed_at) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (portfolio_id) DO UPDATE SET " +
+            "view_count = v.view_count + EXCLUDED.view_count, " +
+            "score = v.score * power(0.5, extract(epoch from (EXCLUDED.last_viewed_at - v.last_viewed_at)) / ?) " +
+            "+ EXCLUDED.score, " +
+            "last_viewed_at = EXCLUDED.last_viewed_at";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public PortfolioViewUpsertsImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void addViews(Map<Long, Long> views, LocalDateTime now, Duration halfLife) {
+        if (views.isEmpty()) {
+            return;
+        }
+        Timestamp at = Timestamp.valueOf(now);
+        double halfLifeSeconds = halfLife.toMillis() / 1000.0;
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (Map.Entry<Long, Long> entry : views.entrySet()) {
+                    statement.setLong(1, entry.getKey());
+                    statement.setLong(2, entry.getValue());
+                    statement.setDouble(3, entry.getValue());
+                    statement.setTimestamp(4, at);
+                    statement.setDouble(5, halfLifeSeconds);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -126,7 +127,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
            "WHERE p.isActive = true " +
            "AND p.startDate IS NOT NULL " +
            "AND (p.endDate IS NULL OR " +
-           "     FUNCTION('DATEDIFF', COALESCE(p.endDate, CURRENT_DATE), p.startDate) >= :minDays)")
+           "     (p.endDate - p.startDate) BY DAY >= :minDays)")
     List<Project> findLongRunningProjects(@Param("minDays") int minDays);
 
     /**
@@ -233,5 +234,20 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
             @Param("portfolioId") Long portfolioId, 
             @Param("name") String name, 
             @Param("projectId") Long projectId);
-}
 
+    /**
+     * Find portfolio id and technologies of the active projects of the given portfolios, for the
+     * talent match index
+     */
+    @Query("SELECT pr.portfolio.id, pr.technologies FROM Project pr " +
+           "WHERE pr.isActive = true AND pr.portfolio.id IN :portfolioIds AND pr.technologies IS NOT NULL")
+    List<Object[]> findActiveProjectTechnologies(@Param("portfolioIds") Collection<Long> portfolioIds);
+
+    /**
+     * Find portfolio id, category, technologies and featured flag of the active projects of the
+     * given portfolios, for analytics aggregates
+     */
+    @Query("SELECT pr.portfolio.id, pr.category, pr.technologies, pr.isFeatured FROM Project pr " +
+           "WHERE pr.isActive = true AND pr.portfolio.id IN :portfolioIds")
+    List<Object[]> findActiveProjectSummaries(@Param("portfolioIds") Collection<Long> portfolioIds);
+}
@@ -0,0 +1,23 @@
+package com.portfolio.repository;
+
+import com.portfolio.dto.SkillMatchRequestDTO.SkillCriterion;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for multi-skill matching.
+ * The query shape depends on the number of criteria, so it is built at runtime.
+ */
+public interface SkillMatchRepository {
+
+    /**
+     * Match active portfolios against skill criteria in a single grouped query over
+     * {@code idx_skills_match}. Each row is {@code [portfolioId, totalProficiency, p0, p1, ...]},
+     * where {@code pN} is the best proficiency meeting criterion N (0 when unmatched),
+     * ordered by total proficiency, highest first.
+     *
+     * @param requireAll true to only return portfolios matching every criterion (AND)
+     * @param limit      maximum number of rows, or null for no limit
+     */
+    List<Object[]> matchPortfoliosBySkills(List<SkillCriterion> criteria, boolean requireAll, Integer limit);
+}
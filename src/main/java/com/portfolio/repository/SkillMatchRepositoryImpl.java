@@ -0,0 +1,86 @@
+package com.portfolio.repository;
+
+import com.portfolio.dto.SkillMatchRequestDTO.SkillCriterion;
+import com.portfolio.entity.Skill;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Builds the skill-matching query. For criteria on Java 7+ and SQL 5+ it produces:
+ *
+ * <pre>
+ * SELECT s.portfolio.id,
+ *        MAX(CASE WHEN (java match) THEN s.proficiencyLevel ELSE 0 END)
+ *      + MAX(CASE WHEN (sql match) THEN s.proficiencyLevel ELSE 0 END) AS total,
+ *        MAX(CASE WHEN (java match) ...), MAX(CASE WHEN (sql match) ...)
+ * FROM Skill s
+ * WHERE s.isActive = true AND s.portfolio.isActive = true AND ((java match) OR (sql match))
+ * GROUP BY s.portfolio.id
+ * HAVING MAX(CASE WHEN (java match) ...) > 0 AND MAX(CASE WHEN (sql match) ...) > 0
+ * ORDER BY total DESC, s.portfolio.id ASC
+ * </pre>
+ *
+ * where a match is {@code s.nameKey = :name AND s.proficiencyLevel >= :min} (or a
+ * {@code LIKE 'name%'} prefix), so the WHERE clause is answered by range scans on the
+ * (name_key, proficiency_level, portfolio_id) index.
+ */
+public class SkillMatchRepositoryImpl implements SkillMatchRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public SkillMatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Object[]> matchPortfoliosBySkills(List<SkillCriterion> criteria, boolean requireAll, Integer limit) {
+        List<String> predicates = new ArrayList<>();
+        List<String> proficiencies = new ArrayList<>();
+        for (int i = 0; i < criteria.size(); i++) {
+            String nameMatch = Boolean.TRUE.equals(criteria.get(i).getPrefix())
+                    ? "s.nameKey LIKE :name" + i + " ESCAPE '\\'"
+                    : "s.nameKey = :name" + i;
+            String predicate = "(" + nameMatch + " AND s.proficiencyLevel >= :min" + i + ")";
+            predicates.add(predicate);
+            proficiencies.add("MAX(CASE WHEN " + predicate + " THEN s.proficiencyLevel ELSE 0 END)");
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT s.portfolio.id, ")
+                .append(String.join(" + ", proficiencies)).append(" AS total, ")
+                .append(String.join(", ", proficiencies))
+                .append(" FROM Skill s")
+                .append(" WHERE s.isActive = true AND s.portfolio.isActive = true AND (")
+                .append(String.join(" OR ", predicates)).append(")")
+                .append(" GROUP BY s.portfolio.id");
+        if (requireAll && criteria.size() > 1) {
+            StringJoiner having = new StringJoiner(" AND ", " HAVING ", "");
+            proficiencies.forEach(proficiency -> having.add(proficiency + " > 0"));
+            jpql.append(having);
+        }
+        jpql.append(" ORDER BY total DESC, s.portfolio.id ASC");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        for (int i = 0; i < criteria.size(); i++) {
+            SkillCriterion criterion = criteria.get(i);
+            String name = Skill.normalizeName(criterion.getName());
+            query.setParameter("name" + i, Boolean.TRUE.equals(criterion.getPrefix())
+                    ? escapeLike(name) + "%"
+                    : name);
+            query.setParameter("min" + i, criterion.getMinProficiency() != null ? criterion.getMinProficiency() : 1);
+        }
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,20 +1,26 @@
 package com.portfolio.repository;
 
 import com.portfolio.entity.Skill;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Skill entity.
  * Demonstrates Spring Data JPA with complex queries and aggregations.
  */
 @Repository
-public interface SkillRepository extends JpaRepository<Skill, Long> {
+public interface SkillRepository extends JpaRepository<Skill, Long>, SkillMatchRepository {
 
     /**
      * Find all active skills
@@ -250,5 +256,44 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
             @Param("portfolioId") Long portfolioId, 
             @Param("name") String name, 
             @Param("skillId") Long skillId);
-}
 
+    /**
+     * Find portfolio id, name key and proficiency of the active skills of the given portfolios,
+     * for the talent match index
+     */
+    @Query("SELECT s.portfolio.id, s.nameKey, s.proficiencyLevel FROM Skill s " +
+           "WHERE s.isActive = true AND s.portfolio.id IN :portfolioIds")
+    List<Object[]> findActiveSkillVectors(@Param("portfolioIds") Collection<Long> portfolioIds);
+
+    /**
+     * Count active skills per portfolio and category with proficiency and years of experience totals,
+     * for analytics aggregates
+     */
+    @Query("SELECT s.portfolio.id, s.category, COUNT(s), SUM(s.proficiencyLevel), " +
+           "SUM(s.yearsOfExperience), COUNT(s.yearsOfExperience) FROM Skill s " +
+           "WHERE s.isActive = true AND s.portfolio.id IN :portfolioIds GROUP BY s.portfolio.id, s.category")
+    List<Object[]> aggregateActiveSkills(@Param("portfolioIds") Collection<Long> portfolioIds);
+
+    /**
+     * Stream skills changed since a point in time, or whose portfolio changed, for the skill matrix.
+     * Each row is [id, portfolioId, category, skillType, proficiencyLevel, yearsOfExperience,
+     * skillActive, portfolioActive, skillUpdatedAt, portfolioUpdatedAt].
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT s.id, p.id, s.category, s.skillType, s.proficiencyLevel, s.yearsOfExperience, " +
+           "s.isActive, p.isActive, s.updatedAt, p.updatedAt " +
+           "FROM Skill s JOIN s.portfolio p " +
+           "WHERE s.updatedAt > :since OR p.updatedAt > :since")
+    Stream<Object[]> streamSkillMatrixChanges(@Param("since") LocalDateTime since);
+
+    /**
+     * Find the active skills of active portfolios after the given skill id, in id order, one page
+     * at a time, for rebuilding the skill matrix. Rows are laid out as in
+     * {@link #streamSkillMatrixChanges}.
+     */
+    @Query("SELECT s.id, p.id, s.category, s.skillType, s.proficiencyLevel, s.yearsOfExperience, " +
+           "s.isActive, p.isActive, s.updatedAt, p.updatedAt " +
+           "FROM Skill s JOIN s.portfolio p " +
+           "WHERE s.isActive = true AND p.isActive = true AND s.id > :afterId ORDER BY s.id")
+    List<Object[]> findSkillMatrixRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
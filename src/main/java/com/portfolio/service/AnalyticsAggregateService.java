@@ -0,0 +1,495 @@
+package com.portfolio.service;
+
+import com.portfolio.analytics.AggregateContributions;
+import com.portfolio.config.AnalyticsAggregateProperties;
+import com.portfolio.datasource.ClusterLock;
+import com.portfolio.dto.AnalyticsBucketDTO;
+import com.portfolio.dto.AnalyticsOverviewDTO;
+import com.portfolio.entity.AnalyticsAggregate;
+import com.portfolio.entity.AnalyticsAggregate.Dimension;
+import com.portfolio.entity.AnalyticsPendingChange;
+import com.portfolio.entity.Project;
+import com.portfolio.entity.Skill;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.monitoring.SqlBudgetTracker;
+import com.portfolio.outbox.OutboxSubscriber;
+import com.portfolio.repository.AnalyticsAggregateRepository;
+import com.portfolio.repository.AnalyticsPendingChangeRepository;
+import com.portfolio.repository.PortfolioRepository;
+import com.portfolio.repository.ProjectRepository;
+import com.portfolio.repository.SkillRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for organisation-wide dashboard analytics.
+ * Reads come from the materialized {@link AnalyticsAggregate} rows. Portfolio changes
+ * delivered from the outbox mark the portfolio as pending in {@link AnalyticsPendingChange} rows,
+ * written in the dispatcher's transaction so a delivered change survives a restart; pending
+ * portfolios are recomputed in batches and applied to the totals as deltas. A full rebuild runs periodically and on demand, on one node
+ * at a time, and also picks up writes made outside the application. At startup it only runs
+ * when the aggregates are empty or stale.
+ *
+ * The rows are a table the application maintains rather than a database materialized view,
+ * although Flyway would now allow one: refreshing a view recomputes everything, while the
+ * table takes one portfolio's delta at a time, which keeps the totals seconds behind the writes.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class AnalyticsAggregateService implements OutboxSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsAggregateService.class);
+
+    static final int BATCH_SIZE = 500;
+    private static final int OVERVIEW_TECHNOLOGIES = 10;
+    private static final List<Long> ORGANISATION = List.of(AnalyticsAggregate.ORGANISATION);
+    private static final AnalyticsAggregate.Key PORTFOLIO_TOTAL = new AnalyticsAggregate.Key(
+            AnalyticsAggregate.ORGANISATION, Dimension.PORTFOLIO, AggregateContributions.ALL);
+    private static final String REBUILD_LOCK = "analytics-aggregates-rebuild";
+
+    private final AnalyticsAggregateRepository aggregateRepository;
+    private final AnalyticsPendingChangeRepository pendingRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final SkillRepository skillRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<SqlBudgetTracker> budgetTracker;
+    private final ClusterLock clusterLock;
+    private final AnalyticsAggregateProperties properties;
+
+    // Pending marks as of the last apply run, for the gauges and the status
+    private final AtomicLong pendingPortfolios = new AtomicLong();
+    private volatile LocalDateTime oldestPendingChange;
+    private volatile Instant lastApplied;
+    private volatile Instant lastRebuild;
+    private volatile Instant rebuildStartedAt;
+
+    @Autowired
+    public AnalyticsAggregateService(AnalyticsAggregateRepository aggregateRepository,
+                                     AnalyticsPendingChangeRepository pendingRepository,
+                                     PortfolioRepository portfolioRepository,
+                                     SkillRepository skillRepository,
+                                     ProjectRepository projectRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectProvider<SqlBudgetTracker> budgetTracker,
+                                     ClusterLock clusterLock,
+                                     AnalyticsAggregateProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.aggregateRepository = aggregateRepository;
+        this.pendingRepository = pendingRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.skillRepository = skillRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.budgetTracker = budgetTracker;
+        this.clusterLock = clusterLock;
+        this.properties = properties;
+
+        Gauge.builder("portfolio.analytics.pending", pendingPortfolios, AtomicLong::get)
+                .description("Portfolios with changes not yet applied to the analytics aggregates")
+                .register(meterRegistry);
+        Gauge.builder("portfolio.analytics.staleness", this, service -> service.getStaleness().toMillis() / 1000.0)
+                .description("Age of the oldest change not yet applied to the analytics aggregates")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Portfolio totals, project and skill category breakdowns and the most common technologies
+     */
+    @Transactional(readOnly = true)
+    public AnalyticsOverviewDTO getOverview() {
+        Map<Dimension, List<AnalyticsAggregate>> totals = aggregateRepository
+                .findByPortfolioIdAndDimensionIn(AnalyticsAggregate.ORGANISATION,
+                        EnumSet.of(Dimension.PORTFOLIO, Dimension.SKILL_CATEGORY, Dimension.PROJECT_CATEGORY))
+                .stream()
+                .collect(Collectors.groupingBy(AnalyticsAggregate::getDimension));
+
+        AnalyticsAggregate portfolios = totals.getOrDefault(Dimension.PORTFOLIO, List.of()).stream()
+                .findFirst()
+                .orElseGet(AnalyticsAggregate::new);
+        List<AnalyticsAggregate> skills = totals.getOrDefault(Dimension.SKILL_CATEGORY, List.of());
+        List<AnalyticsAggregate> projects = totals.getOrDefault(Dimension.PROJECT_CATEGORY, List.of());
+        long totalProjects = sum(projects, AnalyticsAggregate::getItemCount);
+        long featuredProjects = sum(projects, AnalyticsAggregate::getFeaturedCount);
+
+        AnalyticsOverviewDTO dto = new AnalyticsOverviewDTO();
+        dto.setTotalPortfolios(portfolios.getItemCount());
+        dto.setAverageYearsOfExperience(ratio(portfolios.getValueSum(), portfolios.getValueCount()));
+        dto.setPortfoliosWithFeaturedProjects(portfolios.getFeaturedCount());
+        dto.setTotalProjects(totalProjects);
+        dto.setFeaturedProjects(featuredProjects);
+        dto.setFeaturedProjectRatio(ratio(featuredProjects, totalProjects));
+        dto.setTotalSkills(sum(skills, AnalyticsAggregate::getItemCount));
+        dto.setSkillCategories(toBuckets(skills));
+        dto.setProjectCategories(toBuckets(projects));
+        dto.setTopTechnologies(toBuckets(findTopTechnologies(OVERVIEW_TECHNOLOGIES), totalProjects));
+        dto.setAsOf(aggregateRepository.findLastUpdatedAt(AnalyticsAggregate.ORGANISATION));
+        dto.setStalenessSeconds(getStaleness().getSeconds());
+        return dto;
+    }
+
+    /**
+     * Most common technologies by number of active projects using them
+     */
+    @Transactional(readOnly = true)
+    public List<AnalyticsBucketDTO> getTopTechnologies(int limit) {
+        long totalProjects = sum(findTotals(Dimension.PROJECT_CATEGORY), AnalyticsAggregate::getItemCount);
+        return toBuckets(findTopTechnologies(limit), totalProjects);
+    }
+
+    /**
+     * Active skills per category with average proficiency and years of experience
+     */
+    @Transactional(readOnly = true)
+    public List<AnalyticsBucketDTO> getSkillCategories() {
+        return toBuckets(findTotals(Dimension.SKILL_CATEGORY));
+    }
+
+    /**
+     * Active projects per category with featured-project ratios
+     */
+    @Transactional(readOnly = true)
+    public List<AnalyticsBucketDTO> getProjectCategories() {
+        return toBuckets(findTotals(Dimension.PROJECT_CATEGORY));
+    }
+
+    /**
+     * Freshness of the aggregates: pending changes, staleness and rebuild times
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("asOf", aggregateRepository.findLastUpdatedAt(AnalyticsAggregate.ORGANISATION));
+        status.put("pendingPortfolios", pendingPortfolios.get());
+        status.put("oldestPendingChange", oldestPendingChange);
+        status.put("stalenessSeconds", getStaleness().getSeconds());
+        status.put("lastApplied", lastApplied);
+        status.put("lastRebuild", lastRebuild);
+        status.put("rebuildInProgress", isRebuilding());
+        return status;
+    }
+
+    public boolean isRebuilding() {
+        return rebuildStartedAt != null;
+    }
+
+    @Override
+    public String getSubscriberName() {
+        return "analytics-aggregates";
+    }
+
+    /**
+     * Mark a changed portfolio for recomputation by the next {@link #applyPendingChanges} run.
+     * Runs in the dispatcher's transaction, so the event counts as dispatched only once the mark
+     * is stored.
+     */
+    @Override
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        if (pendingRepository.countChange(event.portfolioId()) == 0) {
+            pendingRepository.save(new AnalyticsPendingChange(event.portfolioId(),
+                    LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault())));
+        }
+    }
+
+    /**
+     * Recompute up to {@link #BATCH_SIZE} pending portfolios and apply the difference to the totals
+     */
+    @Scheduled(fixedDelayString = "${portfolio.analytics.aggregates.apply-interval:PT2S}")
+    public synchronized void applyPendingChanges() {
+        Integer applied = transactionTemplate.execute(status -> {
+            // Locked until commit: a change marked meanwhile waits, then finds no mark and writes a new one
+            List<AnalyticsPendingChange> batch = pendingRepository.lockOldest(PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            applyChanges(batch.stream().map(AnalyticsPendingChange::getPortfolioId).toList());
+            pendingRepository.deleteAllInBatch(batch);
+            return batch.size();
+        });
+        refreshPending();
+        if (applied != null && applied > 0) {
+            lastApplied = Instant.now();
+            log.debug("Applied analytics changes for {} portfolios", applied);
+        }
+    }
+
+    /**
+     * Recompute every aggregate from the source tables, unless another node is already doing so
+     */
+    @Scheduled(fixedDelayString = "${portfolio.analytics.aggregates.rebuild-interval:PT24H}",
+               initialDelayString = "${portfolio.analytics.aggregates.rebuild-interval:PT24H}")
+    public void rebuildAggregates() {
+        if (!clusterLock.runExclusively(REBUILD_LOCK, this::rebuild)) {
+            log.info("Skipped analytics rebuild: another node is rebuilding");
+        }
+    }
+
+    /**
+     * Rebuild once after startup, in the background, if the totals are empty or were last written
+     * longer than a rebuild interval ago. Otherwise the outbox changes and the periodic rebuild
+     * keep them current, and a restarting node leaves them alone.
+     */
+    @Scheduled(initialDelayString = "${portfolio.analytics.aggregates.startup-delay:PT30S}")
+    public void rebuildIfStale() {
+        clusterLock.runExclusively(REBUILD_LOCK, () -> {
+            LocalDateTime written = aggregateRepository.findLastUpdatedAt(AnalyticsAggregate.ORGANISATION);
+            if (written == null || written.isBefore(LocalDateTime.now().minus(properties.getRebuildInterval()))) {
+                rebuild();
+            } else {
+                log.info("Analytics aggregates are current (written {}), not rebuilding", written);
+            }
+        });
+    }
+
+    /**
+     * Recompute every portfolio's rows from the source tables, {@link #BATCH_SIZE} portfolios per
+     * transaction, then replace the totals with their sum in one last transaction. Readers, who
+     * only read the totals, keep seeing the previous ones until then.
+     */
+    private synchronized void rebuild() {
+        long start = System.nanoTime();
+        rebuildStartedAt = Instant.now();
+        // Pending marks as read before each batch's portfolios were
+        List<AnalyticsPendingChange> covered = new ArrayList<>();
+        try {
+            long afterId = 0;
+            int portfolios = 0;
+            while (true) {
+                long from = afterId;
+                List<Long> batch = inBatchScope("rebuildBatch",
+                        () -> transactionTemplate.execute(status -> rebuildBatch(from, covered)));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1);
+                portfolios += batch.size();
+            }
+            inBatchScope("rebuildTotals", () -> transactionTemplate.execute(status -> {
+                aggregateRepository.deleteRowsOfInactivePortfolios();
+                Map<AnalyticsAggregate.Key, AnalyticsAggregate> current =
+                        byKey(aggregateRepository.findByPortfolioIdIn(ORGANISATION));
+                AnalyticsAggregate portfolioTotal = current.get(PORTFOLIO_TOTAL);
+                List<AnalyticsAggregate> totals = sumPortfolioRows();
+                replaceRows(current, totals);
+                // Written even when unchanged, so the startup check sees when the totals were last rebuilt
+                if (portfolioTotal != null && !current.containsKey(PORTFOLIO_TOTAL)) {
+                    portfolioTotal.setUpdatedAt(LocalDateTime.now());
+                }
+                aggregateRepository.flush();
+                // Changes marked after a portfolio's batch was read stay pending
+                for (AnalyticsPendingChange change : covered) {
+                    pendingRepository.deleteIfUnchanged(change.getPortfolioId(), change.getFirstChangedAt(),
+                            change.getChangeCount());
+                }
+                return null;
+            }));
+
+            refreshPending();
+            lastRebuild = Instant.now();
+            lastApplied = lastRebuild;
+            log.info("Rebuilt analytics aggregates: {} portfolios in {} ms",
+                    portfolios, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildStartedAt = null;
+        }
+    }
+
+    /**
+     * Replace the rows of the next active portfolios after {@code afterId}, recording in
+     * {@code covered} the changes the read includes. Returns the portfolio ids, empty when none
+     * are left.
+     */
+    private List<Long> rebuildBatch(long afterId, List<AnalyticsPendingChange> covered) {
+        List<Long> batch = portfolioRepository.findActivePortfolioIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        // Marked changes are committed, so the reads below include them
+        covered.addAll(pendingRepository.findByPortfolioIdIn(batch));
+        AggregateContributions contributions = collect(batch);
+        replaceRows(byKey(aggregateRepository.findByPortfolioIdIn(batch)), contributions.rows());
+        aggregateRepository.flush();
+        return batch;
+    }
+
+    private void applyChanges(Collection<Long> portfolioIds) {
+        AggregateContributions contributions = collect(portfolioIds);
+        Map<AnalyticsAggregate.Key, AnalyticsAggregate> current = byKey(aggregateRepository.findByPortfolioIdIn(portfolioIds));
+        Map<AnalyticsAggregate.Key, AnalyticsAggregate> totals = byKey(aggregateRepository.findByPortfolioIdIn(ORGANISATION));
+        List<AnalyticsAggregate> changedTotals =
+                AggregateContributions.applyDelta(totals, current.values(), contributions.rows());
+        replaceRows(current, contributions.rows());
+
+        for (AnalyticsAggregate total : changedTotals) {
+            if (total.getVersion() == null) {
+                if (!total.isEmpty()) {
+                    aggregateRepository.save(total);
+                }
+            } else if (total.isEmpty()) {
+                aggregateRepository.delete(total);
+            }
+        }
+        aggregateRepository.flush();
+    }
+
+    /**
+     * Re-read how many portfolios are pending and since when, including marks written on other nodes
+     */
+    private void refreshPending() {
+        pendingPortfolios.set(pendingRepository.count());
+        oldestPendingChange = pendingRepository.findOldestChangedAt();
+    }
+
+    /**
+     * Organisation-wide totals summed from the stored portfolio rows, leaving out empty ones
+     */
+    private List<AnalyticsAggregate> sumPortfolioRows() {
+        List<AnalyticsAggregate> totals = new ArrayList<>();
+        for (Object[] row : aggregateRepository.sumPortfolioRows()) {
+            AnalyticsAggregate total = new AnalyticsAggregate(AnalyticsAggregate.ORGANISATION,
+                    (Dimension) row[0], (String) row[1], (String) row[2]);
+            total.setPortfolioCount(longValue(row[3]));
+            total.setItemCount(longValue(row[4]));
+            total.setFeaturedCount(longValue(row[5]));
+            total.setScoreSum(longValue(row[6]));
+            total.setValueSum(longValue(row[7]));
+            total.setValueCount(longValue(row[8]));
+            if (!total.isEmpty()) {
+                totals.add(total);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Make the stored rows match {@code rows}, updating rows in place; deleting and re-inserting
+     * a key in one flush would collide. {@code current} is consumed.
+     */
+    private void replaceRows(Map<AnalyticsAggregate.Key, AnalyticsAggregate> current, Collection<AnalyticsAggregate> rows) {
+        List<AnalyticsAggregate> inserted = new ArrayList<>();
+        for (AnalyticsAggregate row : rows) {
+            AnalyticsAggregate existing = current.remove(row.getKey());
+            if (existing == null) {
+                inserted.add(row);
+            } else if (!existing.hasSameCounts(row)) {
+                existing.setCounts(row);
+            }
+        }
+        aggregateRepository.deleteAll(current.values());
+        aggregateRepository.saveAll(inserted);
+    }
+
+    /**
+     * Run one step of the rebuild under its own SQL budget, named e.g.
+     * {@code AnalyticsAggregateService.rebuildBatch}, instead of charging the whole rebuild to
+     * {@code rebuildAggregates}
+     */
+    private <T> T inBatchScope(String name, Supplier<T> step) {
+        SqlBudgetTracker tracker = budgetTracker.getIfAvailable();
+        return tracker != null
+                ? tracker.inIsolatedScope("batch", AnalyticsAggregateService.class.getSimpleName() + "." + name, step)
+                : step.get();
+    }
+
+    private AggregateContributions collect(Collection<Long> portfolioIds) {
+        AggregateContributions contributions = new AggregateContributions();
+        for (Object[] row : portfolioRepository.findActivePortfolioExperience(portfolioIds)) {
+            contributions.addPortfolio((Long) row[0], (Integer) row[1]);
+        }
+        for (Object[] row : skillRepository.aggregateActiveSkills(portfolioIds)) {
+            contributions.addSkills((Long) row[0], (Skill.SkillCategory) row[1],
+                    longValue(row[2]), longValue(row[3]), longValue(row[4]), longValue(row[5]));
+        }
+        for (Object[] row : projectRepository.findActiveProjectSummaries(portfolioIds)) {
+            contributions.addProject((Long) row[0], (Project.ProjectCategory) row[1],
+                    (String) row[2], Boolean.TRUE.equals(row[3]));
+        }
+        return contributions;
+    }
+
+    private List<AnalyticsAggregate> findTotals(Dimension dimension) {
+        return aggregateRepository.findByPortfolioIdAndDimension(AnalyticsAggregate.ORGANISATION, dimension,
+                Pageable.unpaged());
+    }
+
+    private List<AnalyticsAggregate> findTopTechnologies(int limit) {
+        return aggregateRepository.findByPortfolioIdAndDimension(AnalyticsAggregate.ORGANISATION,
+                Dimension.TECHNOLOGY,
+                PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "itemCount").and(Sort.by("bucket"))));
+    }
+
+    private Duration getStaleness() {
+        LocalDateTime oldest = oldestPendingChange;
+        return oldest != null ? Duration.between(oldest, LocalDateTime.now()) : Duration.ZERO;
+    }
+
+    private static List<AnalyticsBucketDTO> toBuckets(List<AnalyticsAggregate> rows) {
+        return toBuckets(rows, sum(rows, AnalyticsAggregate::getItemCount));
+    }
+
+    private static List<AnalyticsBucketDTO> toBuckets(List<AnalyticsAggregate> rows, long total) {
+        return rows.stream()
+                .map(row -> {
+                    AnalyticsBucketDTO dto = new AnalyticsBucketDTO();
+                    dto.setName(row.getLabel() != null ? row.getLabel() : row.getBucket());
+                    dto.setPortfolioCount(row.getPortfolioCount());
+                    dto.setCount(row.getItemCount());
+                    dto.setShare(ratio(row.getItemCount(), total));
+                    if (row.getDimension() == Dimension.SKILL_CATEGORY) {
+                        dto.setAverageProficiency(ratio(row.getScoreSum(), row.getItemCount()));
+                        dto.setAverageYearsOfExperience(ratio(row.getValueSum(), row.getValueCount()));
+                    } else {
+                        dto.setFeaturedCount(row.getFeaturedCount());
+                        dto.setFeaturedRatio(ratio(row.getFeaturedCount(), row.getItemCount()));
+                    }
+                    return dto;
+                })
+                .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<AnalyticsAggregate.Key, AnalyticsAggregate> byKey(List<AnalyticsAggregate> rows) {
+        return rows.stream().collect(Collectors.toMap(AnalyticsAggregate::getKey, Function.identity()));
+    }
+
+    private static long sum(List<AnalyticsAggregate> rows, ToLongFunction<AnalyticsAggregate> field) {
+        return rows.stream().mapToLong(field).sum();
+    }
+
+    private static Double ratio(long numerator, long denominator) {
+        return denominator == 0 ? null : (double) numerator / denominator;
+    }
+
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
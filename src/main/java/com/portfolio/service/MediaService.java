@@ -0,0 +1,282 @@
+package com.portfolio.service;
+
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.config.MediaProperties;
+import com.portfolio.config.UploadProperties;
+import com.portfolio.datasource.Workload;
+import com.portfolio.datasource.WorkloadContext;
+import com.portfolio.dto.ImageDTO;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.exception.GlobalExceptionHandler.MediaBusyException;
+import com.portfolio.media.ImageResizer;
+import com.portfolio.media.MediaStorage;
+import com.portfolio.media.ResponsiveImages;
+import com.portfolio.media.StoredImage;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for uploaded images. Originals are stored under a hash of their content and
+ * linked from the portfolio at once; the resized variants are generated afterwards on a small
+ * bounded pool, and the portfolio is evicted from the caches when they are ready so its pages
+ * pick up the {@code srcset}. An upload takes its place on that pool before anything is stored,
+ * so one turned away when the pool is full leaves nothing behind.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class MediaService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaService.class);
+
+    private final MediaStorage storage;
+    private final ResponsiveImages images;
+    private final PortfolioService portfolioService;
+    private final InvalidatingCache<PortfolioDTO> portfolioCache;
+    private final MediaProperties properties;
+    private final UploadProperties uploadProperties;
+    private final ExecutorService workers;
+    // Places on the pool, running or queued; taken before an original is stored
+    private final Semaphore slots;
+    // Portfolios waiting for the variants of each image being generated
+    private final Map<String, Set<Long>> pending = new ConcurrentHashMap<>();
+    private final Timer variantTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public MediaService(MediaStorage storage, ResponsiveImages images, PortfolioService portfolioService,
+                        InvalidatingCache<PortfolioDTO> portfolioCache, MediaProperties properties,
+                        UploadProperties uploadProperties, MeterRegistry meterRegistry) {
+        this.storage = storage;
+        this.images = images;
+        this.portfolioService = portfolioService;
+        this.portfolioCache = portfolioCache;
+        this.properties = properties;
+        this.uploadProperties = uploadProperties;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("media-variants-"), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        this.slots = new Semaphore(properties.getWorkers() + properties.getQueueCapacity());
+        this.workers = ExecutorServiceMetrics.monitor(meterRegistry, executor, "media-variants");
+        this.variantTimer = Timer.builder("portfolio.media.variants")
+                .description("Time to generate the responsive variants of an uploaded image")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("portfolio.media.rejected")
+                .description("Image uploads turned away because the variant queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Store an image and make it the portfolio's profile image. Empty, with nothing stored, if
+     * there is no such active portfolio.
+     */
+    public Optional<ImageDTO> uploadProfileImage(Long portfolioId, MultipartFile file) {
+        if (!portfolioService.isActivePortfolio(portfolioId)) {
+            return Optional.empty();
+        }
+        StoredImage image = store(file, portfolioId);
+        String url = ResponsiveImages.url(image.hash(), ResponsiveImages.originalFile(image));
+        return portfolioService.updateProfileImage(portfolioId, url) ? Optional.of(toDTO(image)) : Optional.empty();
+    }
+
+    /**
+     * Store an image and make it a project's image. Empty, with nothing stored, if the project
+     * is not one of the active portfolio's.
+     */
+    public Optional<ImageDTO> uploadProjectImage(Long portfolioId, Long projectId, MultipartFile file) {
+        if (!portfolioService.isActivePortfolioProject(portfolioId, projectId)) {
+            return Optional.empty();
+        }
+        StoredImage image = store(file, portfolioId);
+        String url = ResponsiveImages.url(image.hash(), ResponsiveImages.originalFile(image));
+        return portfolioService.updateProjectImage(portfolioId, projectId, url)
+                ? Optional.of(toDTO(image)) : Optional.empty();
+    }
+
+    public Optional<ImageDTO> getImage(String hash) {
+        return images.find(hash).map(this::toDTO);
+    }
+
+    public Optional<Resource> openImage(String hash, String file) {
+        return images.open(hash, file);
+    }
+
+    /**
+     * Where an image file is on local disk, for serving it without reading it into memory
+     */
+    public Optional<Path> imageFile(String hash, String file) {
+        return images.file(hash, file);
+    }
+
+    private StoredImage store(MultipartFile file, Long portfolioId) {
+        String extension = Optional.ofNullable(StringUtils.getFilenameExtension(file.getOriginalFilename()))
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .filter(value -> uploadProperties.getAllowedExtensions().contains(value))
+                .filter(value -> ImageIO.getImageReadersBySuffix(value).hasNext())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Images must be one of " + imageExtensions() + ": " + file.getOriginalFilename()));
+        if (file.isEmpty() || file.getSize() > uploadProperties.getMaxFileSize().toBytes()) {
+            throw new IllegalArgumentException("Images must be between 1 byte and " + uploadProperties.getMaxFileSize());
+        }
+        try {
+            byte[] content = file.getBytes();
+            Dimension size = ImageResizer.probe(content)
+                    .orElseThrow(() -> new IllegalArgumentException("Not a readable image: " + file.getOriginalFilename()));
+            if ((long) size.width * size.height > properties.getMaxPixels()) {
+                throw new IllegalArgumentException("Images may have at most " + properties.getMaxPixels() + " pixels");
+            }
+
+            String hash = hash(content);
+            Optional<StoredImage> existing = images.find(hash);
+            if (existing.isPresent() && existing.get().isReady()) {
+                return existing.get();
+            }
+            StoredImage image = existing.orElseGet(() -> new StoredImage(hash, extension, size.width, size.height,
+                    null, List.of()));
+            boolean scheduling = reserveVariants(hash, portfolioId);
+            try {
+                if (existing.isEmpty()) {
+                    storage.put(ResponsiveImages.key(hash, ResponsiveImages.originalFile(image)), content);
+                    images.save(image);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (scheduling) {
+                    pending.remove(hash);
+                    slots.release();
+                }
+                throw e;
+            }
+            if (scheduling) {
+                scheduleVariants(hash);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wait for the variants of an image on behalf of a portfolio. Returns whether this call has
+     * to schedule them, having taken a place on the pool for it; throws if the pool is full.
+     */
+    private boolean reserveVariants(String hash, Long portfolioId) {
+        Set<Long> waiting = ConcurrentHashMap.newKeySet();
+        waiting.add(portfolioId);
+        Set<Long> existing = pending.putIfAbsent(hash, waiting);
+        if (existing != null) {
+            existing.add(portfolioId);
+            return false;
+        }
+        if (!slots.tryAcquire()) {
+            pending.remove(hash);
+            rejected.increment();
+            throw new MediaBusyException("Too many images are waiting for their variants");
+        }
+        return true;
+    }
+
+    private void scheduleVariants(String hash) {
+        workers.execute(() -> {
+            Workload previous = WorkloadContext.attach(Workload.BACKGROUND);
+            try {
+                generateVariants(hash);
+            } catch (RuntimeException e) {
+                log.error("Failed to generate variants of image {}", hash, e);
+            } finally {
+                pending.remove(hash).forEach(portfolioCache::invalidate);
+                slots.release();
+                WorkloadContext.restore(previous);
+            }
+        });
+    }
+
+    /**
+     * Write a variant of a stored image for every configured width below its own, then record
+     * them. Images with alpha get PNG variants, others progressive JPEG.
+     */
+    public void generateVariants(String hash) {
+        StoredImage image = images.find(hash).orElseThrow(() -> new IllegalArgumentException("No image " + hash));
+        if (image.isReady()) {
+            return;
+        }
+        variantTimer.record(() -> {
+            try (InputStream in = images.open(hash, ResponsiveImages.originalFile(image)).orElseThrow().getInputStream()) {
+                BufferedImage original = ImageResizer.decode(in.readAllBytes());
+                boolean alpha = original.getColorModel().hasAlpha();
+                String format = alpha ? "png" : "jpg";
+                List<Integer> widths = new ArrayList<>();
+                for (int width : properties.getWidths().stream().sorted().distinct().toList()) {
+                    if (width >= original.getWidth()) {
+                        break;
+                    }
+                    byte[] variant = ImageResizer.encode(ImageResizer.resize(original, width, alpha), format,
+                            properties.getQuality());
+                    storage.put(ResponsiveImages.key(hash, ResponsiveImages.variantFile(width, format)), variant);
+                    widths.add(width);
+                }
+                images.save(image.withVariants(format, widths));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private ImageDTO toDTO(StoredImage image) {
+        return new ImageDTO(ResponsiveImages.url(image.hash(), ResponsiveImages.originalFile(image)),
+                image.width(), image.height(), ResponsiveImages.srcset(image));
+    }
+
+    private List<String> imageExtensions() {
+        return uploadProperties.getAllowedExtensions().stream()
+                .filter(value -> ImageIO.getImageReadersBySuffix(value).hasNext())
+                .toList();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
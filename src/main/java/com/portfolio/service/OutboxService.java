@@ -0,0 +1,184 @@
+package com.portfolio.service;
+
+import com.portfolio.config.OutboxProperties;
+import com.portfolio.entity.OutboxEvent;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.outbox.OutboxSubscriber;
+import com.portfolio.repository.OutboxEventRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for the transactional change-event outbox.
+ * Writes append an {@link OutboxEvent} in their own transaction, so an event exists if and only
+ * if its change committed. A scheduled dispatcher locks the oldest undispatched events
+ * (SKIP LOCKED, so several instances can share the work), hands them to every
+ * {@link OutboxSubscriber} bean and marks them dispatched in the same transaction.
+ * A dispatcher only delivers a portfolio's events when its batch starts with that portfolio's
+ * oldest undispatched event. Events whose predecessor another dispatcher holds, or whose
+ * predecessor failed and awaits a retry, are left for a later run, so delivery stays in order per
+ * portfolio across instances.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectProvider<OutboxSubscriber> subscribers;
+    private final OutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer deliveryLag;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private volatile LocalDateTime oldestPendingCreatedAt;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxRepository,
+                         ObjectProvider<OutboxSubscriber> subscribers,
+                         OutboxProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.subscribers = subscribers;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        this.deliveryLag = Timer.builder("portfolio.outbox.delivery.lag")
+                .description("Time from an outbox event being written to its dispatch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("portfolio.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet dispatched")
+                .register(meterRegistry);
+        Gauge.builder("portfolio.outbox.lag", this, service -> service.getLag().toMillis() / 1000.0)
+                .description("Age of the oldest undispatched outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Append a change event; must run inside the transaction that makes the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long portfolioId, PortfolioChangedEvent.ChangeType changeType) {
+        outboxRepository.save(new OutboxEvent(OutboxEvent.PORTFOLIO, portfolioId, changeType));
+    }
+
+    /**
+     * Deliver the oldest undispatched events to all subscribers and mark them dispatched.
+     * A failed event stays undispatched and holds back later events of the same portfolio;
+     * after {@code max-attempts} failures it is abandoned and logged.
+     */
+    @Scheduled(fixedDelayString = "${portfolio.outbox.poll-interval:PT1S}")
+    @Transactional
+    public int dispatchPending() {
+        List<OutboxEvent> batch = outboxRepository.lockUndispatched(PageRequest.of(0, properties.getBatchSize()));
+        List<OutboxSubscriber> targets = subscribers.orderedStream().toList();
+        Set<Long> blocked = notAtHead(batch);
+        int dispatched = 0;
+
+        for (OutboxEvent event : batch) {
+            if (blocked.contains(event.getAggregateId())) {
+                continue;
+            }
+            PortfolioChangedEvent change = event.toChangedEvent();
+            try {
+                for (OutboxSubscriber subscriber : targets) {
+                    deliver(subscriber, change);
+                }
+                LocalDateTime now = LocalDateTime.now();
+                event.setDispatchedAt(now);
+                deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+                dispatched++;
+            } catch (RuntimeException e) {
+                event.recordFailure(e);
+                if (event.getAttempts() >= properties.getMaxAttempts()) {
+                    log.error("Abandoning outbox event {} for portfolio {} after {} attempts",
+                            event.getId(), event.getAggregateId(), event.getAttempts(), e);
+                    event.setDispatchedAt(LocalDateTime.now());
+                    meterRegistry.counter("portfolio.outbox.abandoned").increment();
+                } else {
+                    log.warn("Outbox event {} for portfolio {} failed (attempt {}): {}",
+                            event.getId(), event.getAggregateId(), event.getAttempts(), e.toString());
+                    blocked.add(event.getAggregateId());
+                }
+            }
+        }
+
+        if (!batch.isEmpty() || pendingEvents.get() > 0) {
+            pendingEvents.set(outboxRepository.countByDispatchedAtIsNull());
+            oldestPendingCreatedAt = outboxRepository.findOldestUndispatchedCreatedAt();
+        }
+        return dispatched;
+    }
+
+    /**
+     * Delete dispatched events older than the retention period
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    @Transactional
+    public int purgeDispatched() {
+        int deleted = outboxRepository.deleteDispatchedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Purged {} dispatched outbox events", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Portfolios whose oldest undispatched event is not the first of theirs in the batch
+     */
+    private Set<Long> notAtHead(List<OutboxEvent> batch) {
+        Map<Long, Long> firstInBatch = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            firstInBatch.putIfAbsent(event.getAggregateId(), event.getId());
+        }
+        Set<Long> blocked = new HashSet<>();
+        if (firstInBatch.isEmpty()) {
+            return blocked;
+        }
+        for (Object[] row : outboxRepository.findOldestUndispatchedIds(OutboxEvent.PORTFOLIO, firstInBatch.keySet())) {
+            Long aggregateId = (Long) row[0];
+            if (!firstInBatch.get(aggregateId).equals(row[1])) {
+                blocked.add(aggregateId);
+            }
+        }
+        return blocked;
+    }
+
+    private void deliver(OutboxSubscriber subscriber, PortfolioChangedEvent change) {
+        try {
+            subscriber.onPortfolioChanged(change);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("portfolio.outbox.delivery.failures",
+                    "subscriber", subscriber.getSubscriberName()).increment();
+            throw e;
+        }
+    }
+
+    private Duration getLag() {
+        LocalDateTime oldest = oldestPendingCreatedAt;
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+    }
+}
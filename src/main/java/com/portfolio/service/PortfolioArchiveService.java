@@ -0,0 +1,152 @@
+package com.portfolio.service;
+
+import com.portfolio.config.ArchiveProperties;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.repository.PortfolioArchiveRepository;
+import com.portfolio.repository.PortfolioRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class moving soft-deleted portfolios, with all their children, to the archive tables.
+ * The archiver runs off-peak in small batches, each in its own short transaction with a pause
+ * between them. It locks portfolios with SKIP LOCKED and waits at most {@code lock-timeout}
+ * for child rows, so it gives way to interactive writes instead of queueing them behind it.
+ * Archived portfolios can be restored on demand.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class PortfolioArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioArchiveService.class);
+
+    private final PortfolioArchiveRepository archiveRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final Counter archivedPortfolios;
+    private final Counter restoredPortfolios;
+
+    @Autowired
+    public PortfolioArchiveService(PortfolioArchiveRepository archiveRepository,
+                                   PortfolioRepository portfolioRepository,
+                                   OutboxService outboxService,
+                                   TransactionTemplate transactionTemplate,
+                                   ArchiveProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archivedPortfolios = Counter.builder("portfolio.archive.archived")
+                .description("Portfolios moved to the archive tables")
+                .register(meterRegistry);
+        this.restoredPortfolios = Counter.builder("portfolio.archive.restored")
+                .description("Portfolios restored from the archive tables")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archive portfolios inactive for longer than {@code inactive-for}, batch by batch, until none
+     * are left or {@code max-batches-per-run} is reached. Returns the number archived.
+     */
+    @Scheduled(cron = "${portfolio.archive.cron:0 30 3 * * *}")
+    public int archiveInactivePortfolios() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getInactiveFor());
+        int archived = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer moved;
+            try {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            } catch (PessimisticLockingFailureException e) {
+                log.warn("Archiving stopped after {} portfolios: rows are busy ({})", archived, e.getMessage());
+                break;
+            }
+            archived += moved != null ? moved : 0;
+            if (moved == null || moved < properties.getBatchSize() || !pause()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} portfolios inactive since before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Move an archived portfolio and its children back to the live tables and reactivate it.
+     * Returns false if no archived portfolio has the ID.
+     */
+    @Transactional
+    public boolean restorePortfolio(Long id) {
+        String email = archiveRepository.lockArchivedEmail(id).orElse(null);
+        if (email == null) {
+            return false;
+        }
+        if (portfolioRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Email already exists: " + email);
+        }
+
+        archiveRepository.restorePortfolio(id);
+        archiveRepository.restoreProjects(id);
+        archiveRepository.restoreSkills(id);
+        archiveRepository.restoreExperiences(id);
+        archiveRepository.restoreEducations(id);
+
+        portfolioRepository.findById(id).ifPresent(portfolio -> {
+            portfolio.setIsActive(true);
+            portfolio.setUpdatedAt(LocalDateTime.now());
+            portfolioRepository.save(portfolio);
+        });
+        outboxService.record(id, PortfolioChangedEvent.ChangeType.CREATED);
+        restoredPortfolios.increment();
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public long countArchivedPortfolios() {
+        return archiveRepository.countArchived();
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        archiveRepository.setLocalLockTimeout(properties.getLockTimeout().toMillis() + "ms");
+        List<Long> ids = archiveRepository.lockArchivable(cutoff, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.archiveProjects(ids);
+        archiveRepository.archiveSkills(ids);
+        archiveRepository.archiveExperiences(ids);
+        archiveRepository.archiveEducations(ids);
+        int moved = archiveRepository.archivePortfolios(ids);
+        archivedPortfolios.increment(moved);
+        return ids.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getBatchPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
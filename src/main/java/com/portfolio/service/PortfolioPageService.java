@@ -0,0 +1,144 @@
+package com.portfolio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.portfolio.cache.CompressedJson;
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.config.PortfolioCacheProperties;
+import com.portfolio.dto.EducationDTO;
+import com.portfolio.dto.ExperienceDTO;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.PortfolioPageDTO;
+import com.portfolio.dto.ProjectDTO;
+import com.portfolio.dto.SkillDTO;
+import com.portfolio.view.PageBootstrap;
+import com.portfolio.view.RenderedPage;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Service class for the portfolio page. The server-rendered page and the page's JSON bootstrap
+ * payload are built from the same cached portfolio snapshot, loaded once per portfolio until
+ * the portfolio changes.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class PortfolioPageService {
+
+    private final PortfolioService portfolioService;
+    private final InvalidatingCache<RenderedPage> pageCache;
+    private final ObjectWriter pageWriter;
+    private final PortfolioCacheProperties properties;
+    private final Timer compression;
+
+    @Autowired
+    public PortfolioPageService(PortfolioService portfolioService,
+                                InvalidatingCache<RenderedPage> pageCache,
+                                ObjectMapper objectMapper,
+                                PortfolioCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.portfolioService = portfolioService;
+        this.pageCache = pageCache;
+        this.pageWriter = objectMapper.writerFor(PortfolioPageDTO.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.properties = properties;
+        this.compression = PortfolioResponseService.compressionTimer(meterRegistry, "page");
+    }
+
+    /**
+     * The cached page of an active portfolio, loading the portfolio on a miss
+     */
+    public Optional<RenderedPage> getPage(Long portfolioId) {
+        return Optional.ofNullable(pageCache.get(portfolioId, id -> portfolioService.getPortfolioById(id)
+                .map(RenderedPage::new)
+                .orElse(null)));
+    }
+
+    /**
+     * The page's bootstrap payload and its ETag, built on first use and cached with the page
+     */
+    public Optional<PageBootstrap> getBootstrap(Long portfolioId) {
+        return getPage(portfolioId).map(page -> {
+            PageBootstrap bootstrap = page.getBootstrap();
+            if (bootstrap == null) {
+                bootstrap = bootstrap(toPage(page.getPortfolio()));
+                page.setBootstrap(bootstrap);
+            }
+            return bootstrap;
+        });
+    }
+
+    private PageBootstrap bootstrap(PortfolioPageDTO page) {
+        try {
+            String json = pageWriter.writeValueAsString(page);
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            return new PageBootstrap(json, compression.record(
+                    () -> CompressedJson.of(bytes, properties.isCompressResponses())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize portfolio page " + page.getId(), e);
+        }
+    }
+
+    /**
+     * Keep only what the page shows, with display values resolved the way the template resolves them
+     */
+    static PortfolioPageDTO toPage(PortfolioDTO portfolio) {
+        PortfolioPageDTO page = new PortfolioPageDTO();
+        page.setId(portfolio.getId());
+        page.setFullName(portfolio.getFullName());
+        page.setTitle(portfolio.getTitle());
+        page.setSummary(portfolio.getSummary());
+        page.setEmail(portfolio.getEmail());
+        page.setPhone(portfolio.getPhone());
+        page.setLocation(portfolio.getLocation());
+        page.setGithubUrl(portfolio.getGithubUrl());
+        page.setLinkedinUrl(portfolio.getLinkedinUrl());
+        page.setWebsiteUrl(portfolio.getWebsiteUrl());
+        page.setProfileImageUrl(portfolio.getProfileImageUrl());
+        page.setProfileImageSrcset(portfolio.getProfileImageSrcset());
+        page.setYearsOfExperience(portfolio.getYearsOfExperience());
+        page.setTotalProjects(portfolio.getTotalProjects());
+        page.setTotalSkills(portfolio.getTotalSkills());
+        page.setProjects(map(portfolio.getProjects(), PortfolioPageService::toPageProject));
+        page.setSkills(map(portfolio.getSkills(), PortfolioPageService::toPageSkill));
+        page.setExperiences(map(portfolio.getExperiences(), PortfolioPageService::toPageExperience));
+        page.setEducations(map(portfolio.getEducations(), PortfolioPageService::toPageEducation));
+        return page;
+    }
+
+    private static PortfolioPageDTO.Project toPageProject(ProjectDTO project) {
+        return new PortfolioPageDTO.Project(project.getId(), project.getName(),
+                project.getShortDescription() != null ? project.getShortDescription() : project.getDescription(),
+                project.getTechnologyList(), project.getGithubUrl(), project.getDemoUrl(), project.getImageUrl(),
+                project.getImageSrcset());
+    }
+
+    private static PortfolioPageDTO.Skill toPageSkill(SkillDTO skill) {
+        return new PortfolioPageDTO.Skill(skill.getName(),
+                skill.getCategoryDisplayName() != null ? skill.getCategoryDisplayName() : "Other",
+                skill.getProficiencyLevel());
+    }
+
+    private static PortfolioPageDTO.Experience toPageExperience(ExperienceDTO experience) {
+        return new PortfolioPageDTO.Experience(experience.getJobTitle(), experience.getCompanyName(),
+                experience.getLocation(), experience.getDateRangeString(), experience.getDescription());
+    }
+
+    private static PortfolioPageDTO.Education toPageEducation(EducationDTO education) {
+        return new PortfolioPageDTO.Education(education.getFullDegreeTitle(), education.getInstitution(),
+                education.getDateRangeString());
+    }
+
+    private static <T, R> List<R> map(List<T> items, Function<T, R> mapper) {
+        return items != null ? items.stream().map(mapper).toList() : List.of();
+    }
+}
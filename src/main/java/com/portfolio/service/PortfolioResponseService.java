@@ -0,0 +1,66 @@
+package com.portfolio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.cache.CompressedJson;
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.config.PortfolioCacheProperties;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service class for serialized portfolio responses. The JSON of {@code GET /api/portfolios/{id}}
+ * is written and compressed once per portfolio and kept until the portfolio changes, so hot
+ * portfolios cost neither serialization nor compression per request.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class PortfolioResponseService {
+
+    private final PortfolioService portfolioService;
+    private final InvalidatingCache<CompressedJson> responseCache;
+    private final ObjectMapper objectMapper;
+    private final PortfolioCacheProperties properties;
+    private final Timer compression;
+
+    @Autowired
+    public PortfolioResponseService(PortfolioService portfolioService,
+                                    InvalidatingCache<CompressedJson> responseCache,
+                                    ObjectMapper objectMapper,
+                                    PortfolioCacheProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.portfolioService = portfolioService;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.compression = compressionTimer(meterRegistry, "portfolio");
+    }
+
+    static Timer compressionTimer(MeterRegistry meterRegistry, String response) {
+        return Timer.builder("portfolio.response.compression")
+                .description("Time spent compressing cached JSON responses")
+                .tag("response", response)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The portfolio as the JSON API writes it, with its gzip encoding
+     */
+    public Optional<CompressedJson> getPortfolioJson(Long portfolioId) {
+        return Optional.ofNullable(responseCache.get(portfolioId, id -> portfolioService.getPortfolioById(id)
+                .map(portfolio -> {
+                    try {
+                        byte[] json = objectMapper.writeValueAsBytes(portfolio);
+                        return compression.record(() -> CompressedJson.of(json, properties.isCompressResponses()));
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Failed to serialize portfolio " + id, e);
+                    }
+                })
+                .orElse(null)));
+    }
+}
@@ -1,28 +1,38 @@
 package com.portfolio.service;
 
+import com.portfolio.cache.InvalidatingCache;
 import com.portfolio.dto.PortfolioDTO;
 import com.portfolio.dto.ProjectDTO;
 import com.portfolio.dto.SkillDTO;
 import com.portfolio.dto.ExperienceDTO;
 import com.portfolio.dto.EducationDTO;
+import com.portfolio.dto.SkillMatchRequestDTO;
+import com.portfolio.dto.SkillMatchResultDTO;
 import com.portfolio.entity.Portfolio;
 import com.portfolio.entity.Project;
 import com.portfolio.entity.Skill;
 import com.portfolio.entity.Experience;
 import com.portfolio.entity.Education;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.media.ResponsiveImages;
 import com.portfolio.repository.PortfolioRepository;
 import com.portfolio.repository.ProjectRepository;
 import com.portfolio.repository.SkillRepository;
 import com.portfolio.repository.ExperienceRepository;
 import com.portfolio.repository.EducationRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.function.Function;
 import java.util.Comparator;
 
@@ -33,6 +43,7 @@ import java.util.Comparator;
  */
 @Service
 @Transactional
+@Timed(value = "portfolio.service", description = "PortfolioService method latency", histogram = true)
 public class PortfolioService {
 
     private final PortfolioRepository portfolioRepository;
@@ -40,18 +51,27 @@ public class PortfolioService {
     private final SkillRepository skillRepository;
     private final ExperienceRepository experienceRepository;
     private final EducationRepository educationRepository;
+    private final OutboxService outboxService;
+    private final InvalidatingCache<PortfolioDTO> portfolioCache;
+    private final ResponsiveImages responsiveImages;
 
     @Autowired
     public PortfolioService(PortfolioRepository portfolioRepository,
                            ProjectRepository projectRepository,
                            SkillRepository skillRepository,
                            ExperienceRepository experienceRepository,
-                           EducationRepository educationRepository) {
+                           EducationRepository educationRepository,
+                           OutboxService outboxService,
+                           InvalidatingCache<PortfolioDTO> portfolioCache,
+                           ResponsiveImages responsiveImages) {
         this.portfolioRepository = portfolioRepository;
         this.projectRepository = projectRepository;
         this.skillRepository = skillRepository;
         this.experienceRepository = experienceRepository;
         this.educationRepository = educationRepository;
+        this.outboxService = outboxService;
+        this.portfolioCache = portfolioCache;
+        this.responsiveImages = responsiveImages;
     }
 
     /**
@@ -67,13 +87,14 @@ public class PortfolioService {
     }
 
     /**
-     * Get portfolio by ID with Optional handling
+     * Get portfolio by ID with Optional handling, served from the portfolio cache
      */
     @Transactional(readOnly = true)
     public Optional<PortfolioDTO> getPortfolioById(Long id) {
-        return portfolioRepository.findById(id)
+        return Optional.ofNullable(portfolioCache.get(id, key -> portfolioRepository.findById(key)
                 .filter(Portfolio::getIsActive)
-                .map(this::convertToDetailedDTO);
+                .map(this::convertToDetailedDTO)
+                .orElse(null)));
     }
 
     /**
@@ -118,15 +139,43 @@ public class PortfolioService {
     }
 
     /**
-     * Get portfolios by skill with Stream filtering
+     * Get portfolios with a skill whose name starts with the given name, ranked by proficiency
      */
     @Transactional(readOnly = true)
     public List<PortfolioDTO> getPortfoliosBySkill(String skillName, Integer minProficiency) {
-        return portfolioRepository.findPortfoliosBySkillName(skillName)
+        SkillMatchRequestDTO.SkillCriterion criterion =
+                new SkillMatchRequestDTO.SkillCriterion(skillName, minProficiency, true);
+
+        return matchPortfolios(List.of(criterion), true, null)
+                .stream()
+                .map(SkillMatchResultDTO::getPortfolio)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Match portfolios against several skills with per-skill minimum proficiency,
+     * ranked by match score
+     */
+    @Transactional(readOnly = true)
+    public List<SkillMatchResultDTO> matchPortfoliosBySkills(SkillMatchRequestDTO request) {
+        boolean requireAll = request.getOperator() != SkillMatchRequestDTO.MatchOperator.OR;
+        return matchPortfolios(request.getSkills(), requireAll, request.getLimit());
+    }
+
+    /**
+     * Get active portfolios by ID in the order given, loading them in one batch
+     */
+    @Transactional(readOnly = true)
+    public List<PortfolioDTO> getPortfoliosByIds(List<Long> ids) {
+        Map<Long, Portfolio> portfolios = portfolioRepository.findAllById(ids)
                 .stream()
-                .filter(portfolio -> hasSkillWithMinProficiency(portfolio, skillName, minProficiency))
+                .filter(Portfolio::getIsActive)
+                .collect(Collectors.toMap(Portfolio::getId, Function.identity()));
+
+        return ids.stream()
+                .map(portfolios::get)
+                .filter(java.util.Objects::nonNull)
                 .map(this::convertToDTO)
-                .sorted(Comparator.comparing(this::getMaxSkillProficiency).reversed())
                 .collect(Collectors.toList());
     }
 
@@ -148,6 +197,7 @@ public class PortfolioService {
         
         Portfolio portfolio = convertToEntity(portfolioDTO);
         Portfolio savedPortfolio = portfolioRepository.save(portfolio);
+        outboxService.record(savedPortfolio.getId(), PortfolioChangedEvent.ChangeType.CREATED);
         
         return convertToDetailedDTO(savedPortfolio);
     }
@@ -162,10 +212,66 @@ public class PortfolioService {
                     validatePortfolioForUpdate(portfolioDTO, id);
                     updatePortfolioFields(existingPortfolio, portfolioDTO);
                     Portfolio savedPortfolio = portfolioRepository.save(existingPortfolio);
+                    outboxService.record(id, PortfolioChangedEvent.ChangeType.UPDATED);
+                    portfolioCache.invalidate(id);
                     return convertToDetailedDTO(savedPortfolio);
                 });
     }
 
+    /**
+     * Whether the portfolio exists and is active
+     */
+    @Transactional(readOnly = true)
+    public boolean isActivePortfolio(Long id) {
+        return portfolioRepository.findById(id)
+                .filter(Portfolio::getIsActive)
+                .isPresent();
+    }
+
+    /**
+     * Whether the project is one of the portfolio's and the portfolio is active
+     */
+    @Transactional(readOnly = true)
+    public boolean isActivePortfolioProject(Long portfolioId, Long projectId) {
+        return projectRepository.findById(projectId)
+                .filter(project -> project.getPortfolio().getId().equals(portfolioId))
+                .filter(project -> project.getPortfolio().getIsActive())
+                .isPresent();
+    }
+
+    /**
+     * Point an active portfolio's profile image at an uploaded image
+     */
+    public boolean updateProfileImage(Long id, String imageUrl) {
+        return portfolioRepository.findById(id)
+                .filter(Portfolio::getIsActive)
+                .map(portfolio -> {
+                    portfolio.setProfileImageUrl(imageUrl);
+                    portfolioRepository.save(portfolio);
+                    outboxService.record(id, PortfolioChangedEvent.ChangeType.UPDATED);
+                    portfolioCache.invalidate(id);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Point a project of an active portfolio at an uploaded image
+     */
+    public boolean updateProjectImage(Long portfolioId, Long projectId, String imageUrl) {
+        return projectRepository.findById(projectId)
+                .filter(project -> project.getPortfolio().getId().equals(portfolioId))
+                .filter(project -> project.getPortfolio().getIsActive())
+                .map(project -> {
+                    project.setImageUrl(imageUrl);
+                    projectRepository.save(project);
+                    outboxService.record(portfolioId, PortfolioChangedEvent.ChangeType.UPDATED);
+                    portfolioCache.invalidate(portfolioId);
+                    return true;
+                })
+                .orElse(false);
+    }
+
     /**
      * Soft delete portfolio
      */
@@ -175,6 +281,8 @@ public class PortfolioService {
                     portfolio.setIsActive(false);
                     portfolio.setUpdatedAt(LocalDateTime.now());
                     portfolioRepository.save(portfolio);
+                    outboxService.record(id, PortfolioChangedEvent.ChangeType.DELETED);
+                    portfolioCache.invalidate(id);
                     return true;
                 })
                 .orElse(false);
@@ -207,6 +315,14 @@ public class PortfolioService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the ids of the most recently updated active portfolios, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getRecentlyUpdatedPortfolioIds(int limit) {
+        return portfolioRepository.findRecentlyUpdatedIds(PageRequest.of(0, limit));
+    }
+
     // Private helper methods demonstrating Java 8 features
 
     /**
@@ -225,6 +341,7 @@ public class PortfolioService {
         dto.setGithubUrl(portfolio.getGithubUrl());
         dto.setWebsiteUrl(portfolio.getWebsiteUrl());
         dto.setProfileImageUrl(portfolio.getProfileImageUrl().orElse(null));
+        dto.setProfileImageSrcset(responsiveImages.srcset(dto.getProfileImageUrl()));
         dto.setYearsOfExperience(portfolio.getYearsOfExperience());
         dto.setIsActive(portfolio.getIsActive());
         dto.setCreatedAt(portfolio.getCreatedAt());
@@ -288,6 +405,7 @@ public class PortfolioService {
         dto.setGithubUrl(project.getGithubUrl());
         dto.setDemoUrl(project.getDemoUrl());
         dto.setImageUrl(project.getImageUrl());
+        dto.setImageSrcset(responsiveImages.srcset(project.getImageUrl()));
         dto.setStartDate(project.getStartDate());
         dto.setEndDate(project.getEndDate());
         dto.setIsFeatured(project.getIsFeatured());
@@ -517,28 +635,37 @@ public class PortfolioService {
     }
 
     /**
-     * Check if portfolio has skill with minimum proficiency
+     * Run the skill match query and load the matched portfolios in one batch, keeping the ranking
      */
-    private boolean hasSkillWithMinProficiency(Portfolio portfolio, String skillName, Integer minProficiency) {
-        if (minProficiency == null) return true;
-        
-        return portfolio.getSkills()
-                .stream()
-                .filter(Skill::getIsActive)
-                .filter(skill -> skill.getName().toLowerCase().contains(skillName.toLowerCase()))
-                .anyMatch(skill -> skill.getProficiencyLevel() >= minProficiency);
-    }
+    private List<SkillMatchResultDTO> matchPortfolios(List<SkillMatchRequestDTO.SkillCriterion> criteria,
+                                                      boolean requireAll, Integer limit) {
+        List<Object[]> rows = skillRepository.matchPortfoliosBySkills(criteria, requireAll, limit);
 
-    /**
-     * Get maximum skill proficiency for sorting
-     */
-    private Integer getMaxSkillProficiency(Portfolio portfolio) {
-        return portfolio.getSkills()
+        Map<Long, Portfolio> portfolios = portfolioRepository.findAllById(
+                        rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList()))
                 .stream()
-                .filter(Skill::getIsActive)
-                .mapToInt(Skill::getProficiencyLevel)
-                .max()
-                .orElse(0);
+                .collect(Collectors.toMap(Portfolio::getId, Function.identity()));
+
+        double maxScore = 10.0 * criteria.size();
+        return rows.stream()
+                .filter(row -> portfolios.containsKey((Long) row[0]))
+                .map(row -> {
+                    Map<String, Integer> proficiencies = new LinkedHashMap<>();
+                    int matched = 0;
+                    for (int i = 0; i < criteria.size(); i++) {
+                        int proficiency = ((Number) row[i + 2]).intValue();
+                        proficiencies.merge(criteria.get(i).getName(), proficiency, Math::max);
+                        if (proficiency > 0) {
+                            matched++;
+                        }
+                    }
+                    return new SkillMatchResultDTO(
+                            convertToDTO(portfolios.get((Long) row[0])),
+                            ((Number) row[1]).doubleValue() / maxScore,
+                            matched,
+                            proficiencies);
+                })
+                .collect(Collectors.toList());
     }
 
     /**
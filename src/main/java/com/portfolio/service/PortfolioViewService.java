@@ -0,0 +1,160 @@
+package com.portfolio.service;
+
+import com.portfolio.analytics.ViewCounter;
+import com.portfolio.config.ViewCountProperties;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.TrendingPortfolioDTO;
+import com.portfolio.repository.PortfolioViewRepository;
+import com.portfolio.warmup.Warmup;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for portfolio view counts and the trending list.
+ * Views are counted in memory ({@link ViewCounter}) and written behind: every
+ * {@code flush-interval} the counts since the last flush go to {@code portfolio_views} in one
+ * batched upsert, instead of one write per page view. After each flush the trending list is
+ * re-read from the table, so it covers the views of every node, and requests for it are served
+ * from that in-memory copy. Views not yet flushed are lost if the node dies.
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class PortfolioViewService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioViewService.class);
+
+    private final PortfolioViewRepository viewRepository;
+    private final PortfolioService portfolioService;
+    private final ViewCountProperties properties;
+    private final ViewCounter counter = new ViewCounter();
+    private final Counter flushed;
+    private final Timer flushTimer;
+    private volatile List<TrendingPortfolioDTO> trending;
+
+    @Autowired
+    public PortfolioViewService(PortfolioViewRepository viewRepository,
+                                PortfolioService portfolioService,
+                                ViewCountProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.viewRepository = viewRepository;
+        this.portfolioService = portfolioService;
+        this.properties = properties;
+
+        Gauge.builder("portfolio.views.pending", counter, ViewCounter::pending)
+                .description("Portfolio views counted in memory and not yet written")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("portfolio.views.flushed")
+                .description("Portfolio views written to portfolio_views")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("portfolio.views.flush")
+                .description("Time to write the counted views and reload the trending list")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a view of a portfolio. Requests from the startup warm-up are not views.
+     */
+    public void recordView(Long portfolioId, String userAgent) {
+        if (properties.isEnabled() && portfolioId != null && !Warmup.USER_AGENT.equals(userAgent)) {
+            counter.record(portfolioId);
+        }
+    }
+
+    /**
+     * Write the views counted since the last flush and reload the trending list. Counts that
+     * cannot be written are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${portfolio.views.flush-interval:PT10S}")
+    public void flush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flushTimer.record(() -> {
+            Map<Long, Long> views = counter.drain();
+            try {
+                viewRepository.addViews(views, LocalDateTime.now(), properties.getHalfLife());
+                flushed.increment(views.values().stream().mapToLong(Long::longValue).sum());
+            } catch (RuntimeException e) {
+                counter.add(views);
+                log.warn("Could not write {} portfolio view counts; retrying on the next flush", views.size(), e);
+                return;
+            }
+            try {
+                trending = loadTrending();
+            } catch (RuntimeException e) {
+                log.warn("Could not reload the trending portfolios", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * The most viewed active portfolios by decayed score, as of the last flush
+     */
+    public List<TrendingPortfolioDTO> getTrending(int limit) {
+        return trending().stream().limit(Math.max(0, limit)).collect(Collectors.toList());
+    }
+
+    /**
+     * Ids of the trending portfolios, for warming up and priming caches with the portfolios
+     * people are looking at
+     */
+    public List<Long> getTrendingPortfolioIds(int limit) {
+        return getTrending(limit).stream().map(TrendingPortfolioDTO::getPortfolioId).collect(Collectors.toList());
+    }
+
+    private List<TrendingPortfolioDTO> trending() {
+        List<TrendingPortfolioDTO> current = trending;
+        if (current == null) {
+            current = properties.isEnabled() ? loadTrending() : List.of();
+            trending = current;
+        }
+        return current;
+    }
+
+    private List<TrendingPortfolioDTO> loadTrending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = viewRepository.findTrending(now, now.minus(properties.getTrendingWindow()),
+                properties.getHalfLife().toMillis() / 1000.0, properties.getTrendingSize());
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+        Map<Long, PortfolioDTO> portfolios = portfolioService.getPortfoliosByIds(ids).stream()
+                .collect(Collectors.toMap(PortfolioDTO::getId, Function.identity()));
+
+        return rows.stream()
+                .filter(row -> portfolios.containsKey(((Number) row[0]).longValue()))
+                .map(row -> toDTO(portfolios.get(((Number) row[0]).longValue()),
+                        ((Number) row[1]).longValue(), ((Number) row[2]).doubleValue()))
+                .collect(Collectors.toList());
+    }
+
+    private TrendingPortfolioDTO toDTO(PortfolioDTO portfolio, long views, double score) {
+        TrendingPortfolioDTO dto = new TrendingPortfolioDTO();
+        dto.setPortfolioId(portfolio.getId());
+        dto.setFullName(portfolio.getFullName());
+        dto.setTitle(portfolio.getTitle());
+        dto.setProfileImageUrl(portfolio.getProfileImageUrl());
+        dto.setProfileImageSrcset(portfolio.getProfileImageSrcset());
+        dto.setViews(views);
+        dto.setScore(score);
+        return dto;
+    }
+}
@@ -0,0 +1,253 @@
+package com.portfolio.service;
+
+import com.portfolio.analytics.SkillMatrix;
+import com.portfolio.analytics.SkillMatrix.GroupBy;
+import com.portfolio.dto.SkillDistributionDTO;
+import com.portfolio.dto.SkillPercentileDTO;
+import com.portfolio.entity.Skill;
+import com.portfolio.monitoring.SqlBudgetTracker;
+import com.portfolio.repository.SkillRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Service class for organisation-wide skill analytics.
+ * Aggregates are computed from an in-memory {@link SkillMatrix} instead of per-portfolio
+ * GROUP BY queries. The matrix is rebuilt on startup and periodically, and refreshed in
+ * between from rows whose {@code updated_at} is past the last seen watermark. The rebuild reads
+ * {@link #BATCH_SIZE} skills per read-only transaction, each batch under its own SQL budget
+ * ({@code SkillAnalyticsService.rebuildMatrixBatch}).
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class SkillAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillAnalyticsService.class);
+
+    // Re-read a short window before the watermark to pick up rows committed late with earlier timestamps
+    private static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(5);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final int BATCH_SIZE = 5000;
+
+    private final SkillRepository skillRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<SqlBudgetTracker> budgetTracker;
+
+    private volatile SkillMatrix matrix = newMatrix();
+    private volatile LocalDateTime watermark;
+    private volatile Instant lastRefresh;
+
+    @Autowired
+    public SkillAnalyticsService(SkillRepository skillRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectProvider<SqlBudgetTracker> budgetTracker) {
+        this.skillRepository = skillRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.budgetTracker = budgetTracker;
+    }
+
+    /**
+     * Proficiency distribution per category or skill type across all active skills
+     */
+    public List<SkillDistributionDTO> getDistribution(GroupBy groupBy) {
+        return toDistributions(groupBy, matrix.aggregate(groupBy));
+    }
+
+    /**
+     * Proficiency distribution per category for one portfolio
+     */
+    public List<SkillDistributionDTO> getPortfolioDistribution(Long portfolioId) {
+        return toDistributions(GroupBy.CATEGORY, matrix.aggregate(GroupBy.CATEGORY, portfolioId)).stream()
+                .filter(distribution -> distribution.getCount() > 0)
+                .toList();
+    }
+
+    /**
+     * Percentile rank of a proficiency level among all active skills of a category
+     */
+    public SkillPercentileDTO getPercentileRank(Skill.SkillCategory category, int proficiency) {
+        SkillMatrix.Aggregate aggregate = matrix.aggregate(GroupBy.CATEGORY);
+
+        SkillPercentileDTO dto = new SkillPercentileDTO();
+        dto.setCategory(category.name());
+        dto.setProficiency(proficiency);
+        dto.setPercentileRank(aggregate.percentileRank(category.ordinal(), proficiency));
+        return dto;
+    }
+
+    /**
+     * Average percentile rank of a portfolio's skills, overall and per category, each skill
+     * ranked against all active skills of its category
+     */
+    public SkillPercentileDTO getPortfolioPercentileRank(Long portfolioId) {
+        SkillMatrix snapshot = matrix;
+        SkillMatrix.Aggregate organisation = snapshot.aggregate(GroupBy.CATEGORY);
+        SkillMatrix.Aggregate portfolio = snapshot.aggregate(GroupBy.CATEGORY, portfolioId);
+
+        Map<String, Double> byCategory = new LinkedHashMap<>();
+        double rankSum = 0;
+        long skillCount = 0;
+        for (Skill.SkillCategory category : Skill.SkillCategory.values()) {
+            long[] histogram = portfolio.histograms()[category.ordinal()];
+            double categoryRankSum = 0;
+            long categoryCount = 0;
+            for (int level = 1; level < SkillMatrix.LEVELS; level++) {
+                categoryRankSum += histogram[level] * organisation.percentileRank(category.ordinal(), level);
+                categoryCount += histogram[level];
+            }
+            if (categoryCount > 0) {
+                byCategory.put(category.name(), categoryRankSum / categoryCount);
+                rankSum += categoryRankSum;
+                skillCount += categoryCount;
+            }
+        }
+
+        SkillPercentileDTO dto = new SkillPercentileDTO();
+        dto.setPortfolioId(portfolioId);
+        dto.setPercentileRank(skillCount > 0 ? rankSum / skillCount : null);
+        dto.setPercentileRankByCategory(byCategory);
+        return dto;
+    }
+
+    /**
+     * Size and freshness of the in-memory matrix
+     */
+    public Map<String, Object> getMatrixStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("liveRows", matrix.liveRowCount());
+        status.put("watermark", watermark);
+        status.put("lastRefresh", lastRefresh);
+        return status;
+    }
+
+    /**
+     * Load every skill into a new matrix and swap it in. Also catches hard deletes,
+     * which incremental refreshes cannot see.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${portfolio.analytics.rebuild-interval:PT1H}",
+               initialDelayString = "${portfolio.analytics.rebuild-interval:PT1H}")
+    public synchronized void rebuildMatrix() {
+        long start = System.nanoTime();
+        // Rows changed after their batch was read are newer than this and picked up by the next refresh
+        LocalDateTime startedAt = LocalDateTime.now();
+        SkillMatrix rebuilt = newMatrix();
+        LocalDateTime newWatermark = BEGINNING;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Object[]> rows = inBatchScope(() -> readOnlyTransaction.execute(status ->
+                    skillRepository.findSkillMatrixRowsAfter(from, PageRequest.of(0, BATCH_SIZE))));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                newWatermark = upsert(rebuilt, row, newWatermark);
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        if (newWatermark.isAfter(startedAt)) {
+            newWatermark = startedAt;
+        }
+        matrix = rebuilt;
+        watermark = newWatermark;
+        lastRefresh = Instant.now();
+        log.info("Rebuilt skill matrix: {} skills in {} ms",
+                rebuilt.liveRowCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Apply skills changed since the watermark to the current matrix
+     */
+    @Scheduled(fixedDelayString = "${portfolio.analytics.refresh-interval:PT30S}",
+               initialDelayString = "${portfolio.analytics.refresh-interval:PT30S}")
+    @Transactional(readOnly = true)
+    public synchronized void refreshMatrix() {
+        if (watermark == null) {
+            return;
+        }
+        watermark = apply(matrix, watermark.minus(WATERMARK_OVERLAP));
+        lastRefresh = Instant.now();
+    }
+
+    private LocalDateTime apply(SkillMatrix target, LocalDateTime since) {
+        LocalDateTime newWatermark = watermark != null ? watermark : since;
+        try (Stream<Object[]> rows = skillRepository.streamSkillMatrixChanges(since)) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                newWatermark = upsert(target, row, newWatermark);
+            }
+        }
+        return newWatermark;
+    }
+
+    /**
+     * Apply one skill matrix row to the target and return the watermark advanced past it
+     */
+    private static LocalDateTime upsert(SkillMatrix target, Object[] row, LocalDateTime watermark) {
+        target.upsert(
+                (Long) row[0],
+                (Long) row[1],
+                ((Skill.SkillCategory) row[2]).ordinal(),
+                ((Skill.SkillType) row[3]).ordinal(),
+                (Integer) row[4],
+                (Integer) row[5],
+                Boolean.TRUE.equals(row[6]) && Boolean.TRUE.equals(row[7]));
+        return latest(latest(watermark, (LocalDateTime) row[8]), (LocalDateTime) row[9]);
+    }
+
+    private <T> T inBatchScope(Supplier<T> batch) {
+        SqlBudgetTracker tracker = budgetTracker.getIfAvailable();
+        return tracker != null
+                ? tracker.inIsolatedScope("batch", SkillAnalyticsService.class.getSimpleName() + ".rebuildMatrixBatch", batch)
+                : batch.get();
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static SkillMatrix newMatrix() {
+        return new SkillMatrix(Skill.SkillCategory.values().length, Skill.SkillType.values().length);
+    }
+
+    private static List<SkillDistributionDTO> toDistributions(GroupBy groupBy, SkillMatrix.Aggregate aggregate) {
+        Enum<?>[] groups = groupBy == GroupBy.CATEGORY ? Skill.SkillCategory.values() : Skill.SkillType.values();
+        List<SkillDistributionDTO> distributions = new ArrayList<>(groups.length);
+        for (Enum<?> group : groups) {
+            int g = group.ordinal();
+            SkillDistributionDTO dto = new SkillDistributionDTO();
+            dto.setGroup(group.name());
+            dto.setCount(aggregate.count(g));
+            dto.setAverageProficiency(aggregate.averageProficiency(g));
+            dto.setMedianProficiency(aggregate.quantile(g, 0.5));
+            dto.setP90Proficiency(aggregate.quantile(g, 0.9));
+            dto.setAverageYearsOfExperience(aggregate.averageYears(g));
+            dto.setHistogram(Arrays.copyOfRange(aggregate.histograms()[g], 1, SkillMatrix.LEVELS));
+            distributions.add(dto);
+        }
+        return distributions;
+    }
+}
@@ -0,0 +1,168 @@
+package com.portfolio.service;
+
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.SkillMatchResultDTO;
+import com.portfolio.dto.TalentMatchRequestDTO;
+import com.portfolio.matching.SkillVectorIndex;
+import com.portfolio.monitoring.SqlBudgetTracker;
+import com.portfolio.repository.PortfolioRepository;
+import com.portfolio.repository.ProjectRepository;
+import com.portfolio.repository.SkillRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for talent matching.
+ * Scores portfolios against a weighted requirements profile using an in-memory
+ * {@link SkillVectorIndex}, rebuilt from projection queries on startup and on a fixed delay.
+ * The rebuild reads {@link #BATCH_SIZE} portfolios per read-only transaction, each batch under
+ * its own SQL budget ({@code TalentMatchService.rebuildIndexBatch}).
+ */
+@Service
+@Timed(value = "portfolio.service", description = "Service method latency", histogram = true)
+public class TalentMatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TalentMatchService.class);
+
+    static final int BATCH_SIZE = 1000;
+
+    private final PortfolioRepository portfolioRepository;
+    private final SkillRepository skillRepository;
+    private final ProjectRepository projectRepository;
+    private final PortfolioService portfolioService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectProvider<SqlBudgetTracker> budgetTracker;
+
+    private volatile SkillVectorIndex index;
+
+    @Autowired
+    public TalentMatchService(PortfolioRepository portfolioRepository,
+                              SkillRepository skillRepository,
+                              ProjectRepository projectRepository,
+                              PortfolioService portfolioService,
+                              PlatformTransactionManager transactionManager,
+                              ObjectProvider<SqlBudgetTracker> budgetTracker) {
+        this.portfolioRepository = portfolioRepository;
+        this.skillRepository = skillRepository;
+        this.projectRepository = projectRepository;
+        this.portfolioService = portfolioService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.budgetTracker = budgetTracker;
+    }
+
+    /**
+     * Rank active portfolios against the profile and return the top matches
+     */
+    public List<SkillMatchResultDTO> matchPortfolios(TalentMatchRequestDTO request) {
+        List<SkillVectorIndex.Match> matches = getIndex().topK(request);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        // The index may be slightly stale; portfolios deactivated since the last rebuild are dropped here
+        Map<Long, PortfolioDTO> portfolios = portfolioService.getPortfoliosByIds(
+                        matches.stream().map(SkillVectorIndex.Match::portfolioId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(PortfolioDTO::getId, Function.identity()));
+
+        List<TalentMatchRequestDTO.WeightedSkill> skills =
+                request.getSkills() != null ? request.getSkills() : List.of();
+        return matches.stream()
+                .filter(match -> portfolios.containsKey(match.portfolioId()))
+                .map(match -> {
+                    Map<String, Integer> proficiencies = new LinkedHashMap<>();
+                    int matched = 0;
+                    for (int i = 0; i < skills.size(); i++) {
+                        int level = match.skillLevels()[i];
+                        proficiencies.merge(skills.get(i).getName(), level, Math::max);
+                        Integer minProficiency = skills.get(i).getMinProficiency();
+                        if (level > 0 && level >= (minProficiency != null ? minProficiency : 1)) {
+                            matched++;
+                        }
+                    }
+                    return new SkillMatchResultDTO(portfolios.get(match.portfolioId()), match.score(),
+                            matched, proficiencies);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rebuild the index from the database and swap it in atomically
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${portfolio.matching.refresh-interval:PT5M}",
+               initialDelayString = "${portfolio.matching.refresh-interval:PT5M}")
+    public void rebuildIndex() {
+        long start = System.nanoTime();
+        SkillVectorIndex.Builder builder = SkillVectorIndex.builder();
+
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> batch = inBatchScope(() -> readOnlyTransaction.execute(status -> addBatch(builder, from)));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1);
+        }
+
+        SkillVectorIndex rebuilt = builder.build();
+        index = rebuilt;
+        log.info("Rebuilt talent match index: {} portfolios, {} postings in {} ms",
+                rebuilt.size(), rebuilt.postingCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Add the next active portfolios after {@code afterId}, with their skills and technologies.
+     * Returns the portfolio ids, empty when none are left.
+     */
+    private List<Long> addBatch(SkillVectorIndex.Builder builder, long afterId) {
+        List<Long> batch = portfolioRepository.findActivePortfolioIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        for (Object[] row : portfolioRepository.findActivePortfolioExperience(batch)) {
+            builder.addPortfolio((Long) row[0], (Integer) row[1]);
+        }
+        for (Object[] row : skillRepository.findActiveSkillVectors(batch)) {
+            builder.addSkill((Long) row[0], (String) row[1], (Integer) row[2]);
+        }
+        for (Object[] row : projectRepository.findActiveProjectTechnologies(batch)) {
+            builder.addTechnologies((Long) row[0], (String) row[1]);
+        }
+        return batch;
+    }
+
+    private <T> T inBatchScope(Supplier<T> batch) {
+        SqlBudgetTracker tracker = budgetTracker.getIfAvailable();
+        return tracker != null
+                ? tracker.inIsolatedScope("batch", TalentMatchService.class.getSimpleName() + ".rebuildIndexBatch", batch)
+                : batch.get();
+    }
+
+    /**
+     * The current index; empty until the first rebuild completes
+     */
+    public SkillVectorIndex getIndex() {
+        SkillVectorIndex current = index;
+        return current != null ? current : SkillVectorIndex.empty();
+    }
+}
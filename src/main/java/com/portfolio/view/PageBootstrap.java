@@ -0,0 +1,14 @@
+package com.portfolio.view;
+
+import com.portfolio.cache.CompressedJson;
+
+/**
+ * A portfolio page's bootstrap payload: the serialized {@link com.portfolio.dto.PortfolioPageDTO},
+ * and the same bytes ready to send with their gzip encoding and ETag, built once per cached page.
+ */
+public record PageBootstrap(String json, CompressedJson response) {
+
+    public String etag() {
+        return response.getEtag();
+    }
+}
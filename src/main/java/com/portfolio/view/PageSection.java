@@ -0,0 +1,26 @@
+package com.portfolio.view;
+
+/**
+ * Sections of the server-rendered portfolio page, in page order. Each is a
+ * {@code th:fragment} of the {@code portfolio} template and is cached separately.
+ */
+public enum PageSection {
+
+    HERO("hero"),
+    ABOUT("about"),
+    SKILLS("skills"),
+    PROJECTS("projects"),
+    EXPERIENCE("experience"),
+    EDUCATION("education"),
+    CONTACT("contact");
+
+    private final String fragment;
+
+    PageSection(String fragment) {
+        this.fragment = fragment;
+    }
+
+    public String getFragment() {
+        return fragment;
+    }
+}
@@ -0,0 +1,157 @@
+package com.portfolio.view;
+
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.SkillDTO;
+import com.portfolio.service.PortfolioPageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the server-rendered portfolio page. The page is looked up in the page cache first,
+ * so an unknown or deleted portfolio gets a 404 with a "not found" page. For a found portfolio
+ * the head, with the stylesheet and font links, is flushed before the sections are rendered, so
+ * the browser fetches them while the server works. Each section is then written from the page
+ * cache, which keeps rendered sections per portfolio and is evicted with the portfolio cache on
+ * every node. The page's JSON bootstrap payload is embedded after the sections, so scripts never
+ * fetch it again.
+ */
+@Component
+public class PortfolioPageRenderer {
+
+    static final String TEMPLATE = "portfolio";
+
+    private final ITemplateEngine templateEngine;
+    private final PortfolioPageService pageService;
+    private final JakartaServletWebApplication application;
+    private final Map<PageSection, Counter> sectionHits = new EnumMap<>(PageSection.class);
+    private final Map<PageSection, Counter> sectionMisses = new EnumMap<>(PageSection.class);
+
+    @Autowired
+    public PortfolioPageRenderer(ITemplateEngine templateEngine,
+                                 PortfolioPageService pageService,
+                                 ServletContext servletContext,
+                                 MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.pageService = pageService;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        for (PageSection section : PageSection.values()) {
+            sectionHits.put(section, sectionCounter(meterRegistry, section, "hit"));
+            sectionMisses.put(section, sectionCounter(meterRegistry, section, "miss"));
+        }
+    }
+
+    private static Counter sectionCounter(MeterRegistry meterRegistry, PageSection section, String result) {
+        return Counter.builder("portfolio.page.sections")
+                .description("Page sections served from the page cache (hit) or rendered (miss)")
+                .tag("section", section.getFragment())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stream the page of a portfolio, or the not-found page. Returns whether the portfolio was found.
+     */
+    public boolean render(Long portfolioId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        WebContext context = new WebContext(application.buildExchange(request, response), request.getLocale());
+        response.setContentType("text/html;charset=UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Looked up before the first flush, which commits the status
+        RenderedPage page = pageService.getPage(portfolioId).orElse(null);
+        if (page == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+        PrintWriter out = response.getWriter();
+
+        out.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n");
+        fragment("head-assets", context, out);
+        if (page == null) {
+            fragment("head-not-found", context, out);
+            out.write("</head>\n<body>\n");
+            fragment("not-found", context, out);
+        } else {
+            out.flush();
+            context.setVariable("portfolio", page.getPortfolio());
+            fragment("head-meta", context, out);
+            out.write("</head>\n<body data-portfolio-id=\"" + portfolioId + "\" data-rendered=\"server\">\n");
+            fragment("navigation", context, out);
+            out.write("<main class=\"main-content\">\n");
+            for (PageSection section : PageSection.values()) {
+                out.write(section(page, section, context));
+            }
+            out.write("</main>\n");
+            pageService.getBootstrap(portfolioId).ifPresent(bootstrap -> out.write(
+                    "<script type=\"application/json\" id=\"portfolio-data\">" + inlineJson(bootstrap.json()) + "</script>\n"));
+        }
+        fragment("page-end", context, out);
+        out.write("</body>\n</html>\n");
+        return page != null;
+    }
+
+    private String section(RenderedPage page, PageSection section, WebContext context) {
+        String html = page.getSection(section);
+        if (html != null) {
+            sectionHits.get(section).increment();
+            return html;
+        }
+        sectionMisses.get(section).increment();
+        if (section == PageSection.SKILLS) {
+            context.setVariable("skillsByCategory", groupByCategory(page.getPortfolio()));
+        }
+        html = templateEngine.process(TEMPLATE, Set.of(section.getFragment()), context);
+        page.putSection(section, html);
+        return html;
+    }
+
+    private void fragment(String name, WebContext context, PrintWriter out) {
+        templateEngine.process(TEMPLATE, Set.of(name), context, out);
+    }
+
+    /**
+     * Escape JSON for a script element: no "</script>", "<!--" or HTML entities can appear,
+     * and the line separators JavaScript treats as line ends are written as escapes.
+     */
+    static String inlineJson(String json) {
+        StringBuilder escaped = new StringBuilder(json.length() + 16);
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("\\u003c");
+                case '>' -> escaped.append("\\u003e");
+                case '&' -> escaped.append("\\u0026");
+                case '\u2028' -> escaped.append("\\u2028");
+                case '\u2029' -> escaped.append("\\u2029");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static Map<String, List<SkillDTO>> groupByCategory(PortfolioDTO portfolio) {
+        if (portfolio.getSkills() == null) {
+            return Map.of();
+        }
+        return portfolio.getSkills().stream()
+                .collect(Collectors.groupingBy(
+                        skill -> skill.getCategoryDisplayName() != null ? skill.getCategoryDisplayName() : "Other",
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+    }
+}
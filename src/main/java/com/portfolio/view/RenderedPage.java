@@ -0,0 +1,48 @@
+package com.portfolio.view;
+
+import com.portfolio.dto.PortfolioDTO;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The rendered sections of one portfolio's page, all rendered from the same portfolio snapshot.
+ * Sections, and the JSON bootstrap payload, are added as they are first rendered and kept for as
+ * long as the page stays cached.
+ */
+public class RenderedPage {
+
+    private final PortfolioDTO portfolio;
+    private final Map<PageSection, String> sections = new EnumMap<>(PageSection.class);
+    private PageBootstrap bootstrap;
+
+    public RenderedPage(PortfolioDTO portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    public PortfolioDTO getPortfolio() {
+        return portfolio;
+    }
+
+    /**
+     * The section's HTML, or null if it has not been rendered yet
+     */
+    public synchronized String getSection(PageSection section) {
+        return sections.get(section);
+    }
+
+    public synchronized void putSection(PageSection section, String html) {
+        sections.put(section, html);
+    }
+
+    /**
+     * The bootstrap payload, or null if it has not been built yet
+     */
+    public synchronized PageBootstrap getBootstrap() {
+        return bootstrap;
+    }
+
+    public synchronized void setBootstrap(PageBootstrap bootstrap) {
+        this.bootstrap = bootstrap;
+    }
+}
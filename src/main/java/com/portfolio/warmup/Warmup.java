@@ -0,0 +1,221 @@
+package com.portfolio.warmup;
+
+import com.portfolio.config.WarmupProperties;
+import com.portfolio.service.PortfolioService;
+import com.portfolio.service.PortfolioViewService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays representative requests against this node before it takes traffic, so the first
+ * real requests after a deploy do not pay for JIT compilation, empty caches, new pool
+ * connections and Hibernate's first-query work. It runs on {@link ApplicationReadyEvent},
+ * which Spring Boot publishes before it switches the readiness state to accepting traffic, so
+ * {@code /actuator/health/readiness} stays out of service until the warm-up is done or has
+ * timed out. Requests go through the real HTTP port and are sent with the
+ * {@value #USER_AGENT} user agent.
+ */
+@Component
+public class Warmup {
+
+    public static final String USER_AGENT = "portfolio-warmup";
+
+    private static final Logger log = LoggerFactory.getLogger(Warmup.class);
+
+    public enum State { PENDING, RUNNING, DONE, TIMED_OUT, SKIPPED }
+
+    /**
+     * Outcome of the warm-up so far
+     */
+    public record Report(State state, int requests, int failures, Duration duration) {
+    }
+
+    private final WarmupProperties properties;
+    private final PortfolioService portfolioService;
+    private final PortfolioViewService viewService;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Timer timer;
+    private volatile Report report = new Report(State.PENDING, 0, 0, Duration.ZERO);
+
+    @Autowired
+    public Warmup(WarmupProperties properties, PortfolioService portfolioService,
+                  PortfolioViewService viewService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.portfolioService = portfolioService;
+        this.viewService = viewService;
+        this.succeeded = Counter.builder("portfolio.warmup.requests")
+                .description("Warm-up requests sent at startup")
+                .tag("result", "ok")
+                .register(meterRegistry);
+        this.failed = Counter.builder("portfolio.warmup.requests")
+                .description("Warm-up requests sent at startup")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.timer = Timer.builder("portfolio.warmup")
+                .description("Time spent warming up before reporting ready")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()
+                || !(event.getApplicationContext() instanceof WebServerApplicationContext context)
+                || context.getWebServer().getPort() <= 0) {
+            report = new Report(State.SKIPPED, 0, 0, Duration.ZERO);
+            return;
+        }
+        run(URI.create("http://localhost:" + context.getWebServer().getPort()));
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    /**
+     * Send the warm-up requests to the server at {@code base} and wait for them, at most
+     * {@code timeout}
+     */
+    public Report run(URI base) {
+        long start = System.nanoTime();
+        report = new Report(State.RUNNING, 0, 0, Duration.ZERO);
+        List<String> paths = paths();
+        ExecutorService threads = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()),
+                new CustomizableThreadFactory("warmup-"));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int round = 0; round < properties.getRounds(); round++) {
+            for (String path : paths) {
+                requests.add(() -> send(client, base.resolve(path)));
+            }
+        }
+
+        int sent = 0;
+        int failures = 0;
+        boolean timedOut = false;
+        try {
+            for (Future<Boolean> result : threads.invokeAll(requests, properties.getTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS)) {
+                if (result.isCancelled()) {
+                    timedOut = true;
+                    continue;
+                }
+                sent++;
+                try {
+                    if (!result.get()) {
+                        failures++;
+                    }
+                } catch (ExecutionException e) {
+                    failures++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut = true;
+        } finally {
+            threads.shutdownNow();
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        timer.record(duration);
+        report = new Report(timedOut ? State.TIMED_OUT : State.DONE, sent, failures, duration);
+        if (timedOut) {
+            log.warn("Warm-up timed out after {} ms: sent {} of {} requests, {} failed",
+                    duration.toMillis(), sent, requests.size(), failures);
+        } else {
+            log.info("Warm-up sent {} requests for {} paths in {} ms, {} failed",
+                    sent, paths.size(), duration.toMillis(), failures);
+        }
+        return report;
+    }
+
+    /**
+     * The configured paths, then the portfolio paths for each of the trending portfolios, filled
+     * up with the most recently updated ones. Without the portfolio list, only the configured
+     * paths are warmed up.
+     */
+    List<String> paths() {
+        List<String> paths = new ArrayList<>(properties.getPaths());
+        if (properties.getPortfolios() <= 0 || properties.getPortfolioPaths().isEmpty()) {
+            return paths;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        try {
+            ids.addAll(viewService.getTrendingPortfolioIds(properties.getPortfolios()));
+        } catch (RuntimeException e) {
+            log.warn("Warm-up could not load the trending portfolios", e);
+        }
+        try {
+            for (Long id : portfolioService.getRecentlyUpdatedPortfolioIds(properties.getPortfolios())) {
+                if (ids.size() >= properties.getPortfolios()) {
+                    break;
+                }
+                ids.add(id);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up could not load the portfolios to warm up", e);
+        }
+        for (Long id : ids) {
+            for (String path : properties.getPortfolioPaths()) {
+                paths.add(path.replace("{id}", id.toString()));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Server errors and requests that could not be sent count as failures; a warm-up path that
+     * answers 404 still exercised the stack
+     */
+    private boolean send(HttpClient client, URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(properties.getRequestTimeout())
+                .header("User-Agent", USER_AGENT)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        try {
+            boolean ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+            (ok ? succeeded : failed).increment();
+            return ok;
+        } catch (IOException e) {
+            log.debug("Warm-up request to {} failed", uri, e);
+            failed.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            return false;
+        }
+    }
+}
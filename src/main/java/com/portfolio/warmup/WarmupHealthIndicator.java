@@ -0,0 +1,35 @@
+package com.portfolio.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code warmup} health contributor, part of the readiness group: out of service until
+ * the startup warm-up has finished, timed out or been skipped, with its progress as details.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final Warmup warmup;
+
+    @Autowired
+    public WarmupHealthIndicator(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public Health health() {
+        Warmup.Report report = warmup.getReport();
+        Health.Builder health = switch (report.state()) {
+            case PENDING, RUNNING -> Health.outOfService();
+            case DONE, TIMED_OUT, SKIPPED -> Health.up();
+        };
+        return health.withDetail("state", report.state())
+                .withDetail("requests", report.requests())
+                .withDetail("failures", report.failures())
+                .withDetail("duration", report.duration().toMillis() + "ms")
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+-- Baseline: the schema Hibernate created with ddl-auto=update for the entities as they were
+-- before migrations were introduced. Later schema changes are separate migrations.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table portfolios (
+    id bigserial not null,
+    full_name varchar(100) not null,
+    title varchar(150) not null,
+    summary TEXT,
+    email varchar(255) not null unique,
+    phone varchar(255),
+    location varchar(255),
+    linkedin_url varchar(255),
+    github_url varchar(255),
+    website_url varchar(255),
+    profile_image_url varchar(255),
+    years_of_experience integer,
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table projects (
+    id bigserial not null,
+    portfolio_id bigint not null,
+    name varchar(200) not null,
+    description TEXT,
+    short_description varchar(500),
+    technologies varchar(1000),
+    project_url varchar(255),
+    github_url varchar(255),
+    demo_url varchar(255),
+    image_url varchar(255),
+    start_date date,
+    end_date date,
+    is_featured boolean not null,
+    is_active boolean not null,
+    display_order integer,
+    status varchar(255) not null check (status in ('PLANNING','IN_PROGRESS','COMPLETED','ON_HOLD','CANCELLED')),
+    category varchar(255) not null check (category in ('WEB_APPLICATION','MOBILE_APP','DESKTOP_APP','API','LIBRARY','DATA_ANALYSIS','MACHINE_LEARNING','DEVOPS','OTHER')),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table skills (
+    id bigserial not null,
+    portfolio_id bigint not null,
+    name varchar(100) not null,
+    description varchar(500),
+    proficiency_level integer not null check ((proficiency_level<=10) and (proficiency_level>=1)),
+    category varchar(255) not null check (category in ('TECHNICAL','SOFT_SKILL','LANGUAGE','CERTIFICATION','TOOL','FRAMEWORK')),
+    skill_type varchar(255) not null check (skill_type in ('PROGRAMMING_LANGUAGE','FRAMEWORK','DATABASE','CLOUD_PLATFORM','DEVELOPMENT_TOOL','METHODOLOGY','SOFT_SKILL','CERTIFICATION','OPERATING_SYSTEM','VERSION_CONTROL','TESTING','DESIGN')),
+    years_of_experience integer,
+    is_featured boolean not null,
+    is_active boolean not null,
+    display_order integer,
+    icon_class varchar(255),
+    color_code varchar(255),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id),
+    unique (portfolio_id, name)
+);
+
+create table experiences (
+    id bigserial not null,
+    portfolio_id bigint not null,
+    job_title varchar(150) not null,
+    company_name varchar(150) not null,
+    company_url varchar(255),
+    location varchar(255),
+    description TEXT,
+    responsibilities TEXT,
+    achievements TEXT,
+    technologies_used varchar(1000),
+    start_date date not null,
+    end_date date,
+    is_current boolean not null,
+    employment_type varchar(255) not null check (employment_type in ('FULL_TIME','PART_TIME','CONTRACT','FREELANCE','INTERNSHIP','VOLUNTEER')),
+    is_featured boolean not null,
+    is_active boolean not null,
+    display_order integer,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table educations (
+    id bigserial not null,
+    portfolio_id bigint not null,
+    degree varchar(200) not null,
+    institution varchar(200) not null,
+    field_of_study varchar(150),
+    location varchar(255),
+    description TEXT,
+    gpa float(53),
+    max_gpa float(53),
+    start_date date not null,
+    end_date date,
+    is_current boolean not null,
+    degree_type varchar(255) not null check (degree_type in ('HIGH_SCHOOL','ASSOCIATE','BACHELOR','MASTER','DOCTORATE','CERTIFICATE','DIPLOMA','OTHER')),
+    status varchar(255) not null check (status in ('COMPLETED','IN_PROGRESS','DROPPED_OUT','TRANSFERRED','DEFERRED')),
+    honors varchar(255),
+    relevant_coursework varchar(1000),
+    activities varchar(500),
+    is_featured boolean not null,
+    is_active boolean not null,
+    display_order integer,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+alter table if exists educations add constraint FKgka31c6y9g1ldemumkeb4pjwj foreign key (portfolio_id) references portfolios;
+alter table if exists experiences add constraint FKlubvg8l5ectdmbdr62i0sk4p8 foreign key (portfolio_id) references portfolios;
+alter table if exists projects add constraint FKbcgkgn5opfcu5tt4lf4dih3ft foreign key (portfolio_id) references portfolios;
+alter table if exists skills add constraint FKjwjph2hlecka1mn8g0lbrsixt foreign key (portfolio_id) references portfolios;
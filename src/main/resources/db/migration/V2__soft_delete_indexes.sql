@@ -0,0 +1,27 @@
+-- Indexes for soft-delete aware reads. Reads filter on is_active = true, so the ordered
+-- per-portfolio indexes only cover active rows; soft-deleted rows add no index maintenance
+-- or size. Built CONCURRENTLY so existing tables stay writable (Flyway runs this script
+-- outside a transaction).
+
+-- Foreign keys: cascading deletes and lookups that include inactive rows.
+-- skills is already covered by its unique (portfolio_id, name) constraint.
+create index concurrently if not exists idx_projects_portfolio on projects (portfolio_id);
+create index concurrently if not exists idx_experiences_portfolio on experiences (portfolio_id);
+create index concurrently if not exists idx_educations_portfolio on educations (portfolio_id);
+
+-- Active children of a portfolio in display order
+create index concurrently if not exists idx_projects_active_display
+    on projects (portfolio_id, display_order) where is_active;
+create index concurrently if not exists idx_skills_active_display
+    on skills (portfolio_id, display_order) where is_active;
+create index concurrently if not exists idx_experiences_active_display
+    on experiences (portfolio_id, display_order) where is_active;
+create index concurrently if not exists idx_educations_active_display
+    on educations (portfolio_id, display_order) where is_active;
+
+-- Recently updated active portfolios
+create index concurrently if not exists idx_portfolios_active_updated
+    on portfolios (updated_at desc) where is_active;
+
+-- findByEmailIgnoreCase compares upper(email) = upper(?)
+create index concurrently if not exists idx_portfolios_email_upper on portfolios (upper(email));
@@ -0,0 +1,22 @@
+-- Cold storage for soft-deleted portfolios (PortfolioArchiveService). Each archive table has
+-- exactly the columns of its live table, in the same order, so rows move with SELECT *.
+-- A migration that changes a live table must make the same change to its archive table.
+
+create table portfolios_archive (like portfolios);
+alter table portfolios_archive add primary key (id);
+
+create table projects_archive (like projects);
+alter table projects_archive add primary key (id);
+create index idx_projects_archive_portfolio on projects_archive (portfolio_id);
+
+create table skills_archive (like skills);
+alter table skills_archive add primary key (id);
+create index idx_skills_archive_portfolio on skills_archive (portfolio_id);
+
+create table experiences_archive (like experiences);
+alter table experiences_archive add primary key (id);
+create index idx_experiences_archive_portfolio on experiences_archive (portfolio_id);
+
+create table educations_archive (like educations);
+alter table educations_archive add primary key (id);
+create index idx_educations_archive_portfolio on educations_archive (portfolio_id);
@@ -0,0 +1,14 @@
+-- Write-behind view counts (PortfolioViewService). Each node counts views in memory and adds
+-- them here in one batched upsert per flush. score is the view count decayed with the
+-- portfolio.views.half-life as of last_viewed_at; readers decay it further to the present.
+-- No foreign key: rows of deleted or archived portfolios are skipped when read.
+create table portfolio_views (
+    portfolio_id bigint not null,
+    view_count bigint not null,
+    score float(53) not null,
+    last_viewed_at timestamp(6) not null,
+    primary key (portfolio_id)
+);
+
+-- Trending reads only consider portfolios viewed within portfolio.views.trending-window
+create index idx_portfolio_views_last_viewed on portfolio_views (last_viewed_at);
@@ -0,0 +1,41 @@
+-- Schema for skill matching, the analytics aggregates and the change outbox, which were added
+-- to the entities after the V1 baseline. Databases baselined at V1 get them here as well.
+
+-- Normalized skill name for indexed matching (Skill.normalizeName), filled for existing rows.
+-- skills_archive gets the same column so archived rows still move with SELECT *.
+alter table skills add column name_key varchar(100);
+alter table skills_archive add column name_key varchar(100);
+update skills set name_key = lower(trim(name));
+create index idx_skills_match on skills (name_key, proficiency_level, portfolio_id);
+
+-- Per-portfolio contributions and organisation totals (AnalyticsAggregateService)
+create table analytics_aggregates (
+    portfolio_id bigint not null,
+    dimension varchar(30) not null check (dimension in ('TECHNOLOGY','SKILL_CATEGORY','PROJECT_CATEGORY','PORTFOLIO')),
+    bucket varchar(100) not null,
+    label varchar(100),
+    portfolio_count bigint not null,
+    item_count bigint not null,
+    featured_count bigint not null,
+    score_sum bigint not null,
+    value_sum bigint not null,
+    value_count bigint not null,
+    updated_at timestamp(6),
+    version bigint,
+    primary key (portfolio_id, dimension, bucket)
+);
+
+-- Portfolio change events written with the change itself (OutboxService)
+create table portfolio_outbox (
+    id bigserial not null,
+    aggregate_type varchar(50) not null,
+    aggregate_id bigint not null,
+    event_type varchar(30) not null check (event_type in ('CREATED','UPDATED','DELETED')),
+    created_at timestamp(6) not null,
+    dispatched_at timestamp(6),
+    attempts integer not null,
+    last_error varchar(500),
+    primary key (id)
+);
+
+create index idx_outbox_undispatched on portfolio_outbox (dispatched_at, id);
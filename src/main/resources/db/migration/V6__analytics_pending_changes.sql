@@ -0,0 +1,12 @@
+-- Portfolios whose analytics aggregates are out of date (AnalyticsAggregateService). A row is
+-- written in the outbox dispatcher's transaction, so a change is not lost when the node stops
+-- before applying it. No foreign key: changes of deleted portfolios still need applying.
+create table analytics_pending_changes (
+    portfolio_id bigint not null,
+    first_changed_at timestamp(6) not null,
+    change_count bigint not null,
+    primary key (portfolio_id)
+);
+
+-- Pending portfolios are applied oldest first
+create index idx_analytics_pending_first_changed on analytics_pending_changes (first_changed_at);
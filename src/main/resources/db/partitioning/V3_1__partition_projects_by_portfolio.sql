@@ -0,0 +1,33 @@
+-- Optional: hash-partition projects by portfolio_id into ${partitions} partitions.
+-- Enabled by adding classpath:db/partitioning to spring.flyway.locations (see README).
+-- The table is copied inside this migration's transaction; reads continue, writes to
+-- projects wait until it commits (about a minute per 10M rows, see scripts/benchmark-partitioning.sh).
+
+lock table projects in exclusive mode;
+
+create table projects_partitioned (like projects including defaults including constraints)
+    partition by hash (portfolio_id);
+
+do $$
+begin
+    for i in 0..${partitions} - 1 loop
+        execute format('create table projects_p%s partition of projects_partitioned '
+                       'for values with (modulus %s, remainder %s)', i, ${partitions}, i);
+    end loop;
+end
+$$;
+
+insert into projects_partitioned select * from projects;
+
+-- Keep the id sequence when the old table is dropped
+alter sequence projects_id_seq owned by projects_partitioned.id;
+drop table projects;
+alter table projects_partitioned rename to projects;
+
+-- Unique keys of a partitioned table must contain the partition key; ids stay unique through the sequence
+alter table projects add primary key (id, portfolio_id);
+alter table projects add constraint fk_projects_portfolio foreign key (portfolio_id) references portfolios;
+create index idx_projects_portfolio on projects (portfolio_id);
+create index idx_projects_active_display on projects (portfolio_id, display_order) where is_active;
+
+analyze projects;
@@ -0,0 +1,39 @@
+-- Optional: hash-partition skills by portfolio_id into ${partitions} partitions.
+-- Same procedure as V3_1 for projects.
+
+lock table skills in exclusive mode;
+
+create table skills_partitioned (like skills including defaults including constraints)
+    partition by hash (portfolio_id);
+
+do $$
+begin
+    for i in 0..${partitions} - 1 loop
+        execute format('create table skills_p%s partition of skills_partitioned '
+                       'for values with (modulus %s, remainder %s)', i, ${partitions}, i);
+    end loop;
+end
+$$;
+
+insert into skills_partitioned select * from skills;
+
+alter sequence skills_id_seq owned by skills_partitioned.id;
+drop table skills;
+alter table skills_partitioned rename to skills;
+
+alter table skills add primary key (id, portfolio_id);
+alter table skills add constraint uk_skills_portfolio_name unique (portfolio_id, name);
+alter table skills add constraint fk_skills_portfolio foreign key (portfolio_id) references portfolios;
+create index idx_skills_active_display on skills (portfolio_id, display_order) where is_active;
+
+-- The match key comes with V5; recreate its index when this runs out of order after V5
+do $$
+begin
+    if exists (select 1 from information_schema.columns
+               where table_name = 'skills' and column_name = 'name_key') then
+        create index idx_skills_match on skills (name_key, proficiency_level, portfolio_id);
+    end if;
+end
+$$;
+
+analyze skills;
@@ -5,7 +5,8 @@
 
 // Global configuration
 const CONFIG = {
-    API_BASE_URL: '/api/portfolio',
+    API_BASE_URL: '/api/portfolios',
+    DEFAULT_PORTFOLIO_ID: 1,
     ANIMATION_DURATION: 300,
     DEBOUNCE_DELAY: 500,
     MAX_RETRIES: 3
@@ -85,6 +86,18 @@ const Utils = {
         return emailRegex.test(email);
     },
 
+    // Escape text for use in HTML content and attribute values
+    escapeHtml: (value) => {
+        return String(value ?? '').replace(/[&<>"']/g, c => ({
+            '&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;'
+        })[c]);
+    },
+
+    // Links from portfolio data are only followed when they are http(s)
+    isHttpUrl: (url) => {
+        return typeof url === 'string' && /^https?:\/\//i.test(url);
+    },
+
     // Generate unique ID
     generateId: () => {
         return Date.now().toString(36) + Math.random().toString(36).substr(2);
@@ -105,12 +118,15 @@ const ApiService = {
             });
 
             if (!response.ok) {
-                throw new Error(`HTTP error! status: ${response.status}`);
+                const error = new Error(`HTTP error! status: ${response.status}`);
+                error.status = response.status;
+                throw error;
             }
 
             return await response.json();
         } catch (error) {
-            if (retries > 0) {
+            // Client errors will not go away by asking again
+            if (retries > 0 && !(error.status < 500)) {
                 console.warn(`Request failed, retrying... (${retries} attempts left)`);
                 await new Promise(resolve => setTimeout(resolve, 1000));
                 return this.makeRequest(url, options, retries - 1);
@@ -119,19 +135,9 @@ const ApiService = {
         }
     },
 
-    // Get portfolio data
-    async getPortfolio() {
-        return this.makeRequest('/');
-    },
-
-    // Get all projects
-    async getProjects() {
-        return this.makeRequest('/projects');
-    },
-
-    // Get all skills
-    async getSkills() {
-        return this.makeRequest('/skills');
+    // Get everything the portfolio page shows; revalidated by the browser cache with its ETag
+    async getPortfolioPage(id) {
+        return this.makeRequest(`/${id}/page`);
     },
 
     // Create new project
@@ -184,25 +190,21 @@ const ApiService = {
 // Portfolio data manager
 class PortfolioManager {
     constructor() {
-        this.data = {
-            portfolio: null,
-            projects: [],
-            skills: []
-        };
+        this.page = null;
         this.isLoading = false;
     }
 
-    // Initialize portfolio data
+    // Initialize portfolio data from the JSON embedded in the page, or with a single request
     async init() {
+        // Pages rendered by the server already contain the data; only animate them
+        if (document.body.dataset.rendered === 'server') {
+            this.page = this.readEmbeddedPage();
+            this.addAnimations();
+            return;
+        }
         try {
             this.isLoading = true;
-            const [portfolio, projects, skills] = await Promise.all([
-                ApiService.getPortfolio(),
-                ApiService.getProjects(),
-                ApiService.getSkills()
-            ]);
-
-            this.data = { portfolio, projects, skills };
+            this.page = this.readEmbeddedPage() || await ApiService.getPortfolioPage(this.portfolioId());
             this.render();
         } catch (error) {
             console.error('Failed to load portfolio data:', error);
@@ -212,36 +214,93 @@ class PortfolioManager {
         }
     }
 
+    // Page data embedded by the server, if any
+    readEmbeddedPage() {
+        const script = document.getElementById('portfolio-data');
+        if (!script) return null;
+        try {
+            return JSON.parse(script.textContent);
+        } catch (error) {
+            console.warn('Ignoring unreadable embedded portfolio data:', error);
+            return null;
+        }
+    }
+
+    // Portfolio to show: from the page, the ?id= parameter, or the default
+    portfolioId() {
+        const id = document.body.dataset.portfolioId || new URLSearchParams(window.location.search).get('id');
+        return /^[1-9][0-9]*$/.test(id || '') ? id : CONFIG.DEFAULT_PORTFOLIO_ID;
+    }
+
     // Render all sections
     render() {
+        this.renderProfile();
         this.renderProjects();
         this.renderSkills();
+        this.renderExperience();
+        this.renderEducation();
         this.addAnimations();
     }
 
+    // Render hero, about and contact details
+    renderProfile() {
+        const page = this.page;
+        const setText = (id, value) => {
+            const element = document.getElementById(id);
+            if (element && value !== undefined && value !== null) element.textContent = value;
+        };
+
+        document.title = `${page.fullName} - ${page.title}`;
+        setText('full-name', page.fullName);
+        setText('title', page.title);
+        setText('summary', page.summary);
+        setText('about-description', page.summary);
+        setText('years-experience', page.yearsOfExperience || 0);
+        setText('total-projects', page.totalProjects ?? page.projects.length);
+        setText('total-skills', page.totalSkills ?? page.skills.length);
+        setText('location', page.location);
+        setText('email', page.email);
+        setText('phone', page.phone);
+        setText('contact-email', page.email);
+        setText('contact-phone', page.phone);
+        setText('contact-location', page.location);
+
+        const profileImage = document.getElementById('profile-image');
+        if (profileImage && page.profileImageUrl) {
+            if (page.profileImageSrcset) {
+                profileImage.srcset = page.profileImageSrcset;
+                profileImage.sizes = '300px';
+            }
+            profileImage.src = page.profileImageUrl;
+            profileImage.alt = page.fullName;
+        }
+    }
+
     // Render projects section
     renderProjects() {
-        const projectsContainer = document.getElementById('projects-container');
-        if (!projectsContainer || !this.data.projects.length) return;
-
-        const projectsHTML = this.data.projects.map(project => `
-            <div class="project-card fade-in-up" data-project-id="${project.id}">
-                <div class="project-image">
-                    <i class="fas fa-code"></i>
-                </div>
+        const projectsContainer = document.getElementById('projects-grid');
+        if (!projectsContainer || !this.page.projects.length) return;
+
+        const escape = Utils.escapeHtml;
+        const projectsHTML = this.page.projects.map(project => `
+            <div class="project-card fade-in-up" data-project-id="${escape(project.id)}">
+                ${project.imageUrl ? `<div class="project-image">
+                    <img src="${escape(project.imageUrl)}"${project.imageSrcset ? ` srcset="${escape(project.imageSrcset)}"
+                        sizes="(max-width: 768px) 100vw, 400px"` : ''} alt="${escape(project.name)}" loading="lazy" decoding="async">
+                </div>` : ''}
                 <div class="project-content">
-                    <h3 class="project-title">${project.title}</h3>
-                    <p class="project-description">${project.description}</p>
+                    <h3 class="project-title">${escape(project.name)}</h3>
+                    <p class="project-description">${escape(project.description)}</p>
                     <div class="tech-stack">
-                        ${project.technologies ? project.technologies.split(',').map(tech => 
-                            `<span class="tech-tag">${tech.trim()}</span>`
-                        ).join('') : ''}
+                        ${(project.technologies || []).map(tech =>
+                            `<span class="tech-tag">${escape(tech)}</span>`
+                        ).join('')}
                     </div>
                     <div class="project-links">
-                        ${project.githubUrl ? `<a href="${project.githubUrl}" class="btn btn-outline" target="_blank">
+                        ${Utils.isHttpUrl(project.githubUrl) ? `<a href="${escape(project.githubUrl)}" class="btn btn-outline" target="_blank" rel="noopener">
                             <i class="fab fa-github"></i> View Code
                         </a>` : ''}
-                        ${project.liveUrl ? `<a href="${project.liveUrl}" class="btn btn-primary" target="_blank">
+                        ${Utils.isHttpUrl(project.demoUrl) ? `<a href="${escape(project.demoUrl)}" class="btn btn-primary" target="_blank" rel="noopener">
                             <i class="fas fa-external-link-alt"></i> Live Demo
                         </a>` : ''}
                     </div>
@@ -254,26 +313,27 @@ class PortfolioManager {
 
     // Render skills section
     renderSkills() {
-        const skillsContainer = document.getElementById('skills-container');
-        if (!skillsContainer || !this.data.skills.length) return;
+        const skillsContainer = document.getElementById('skills-grid');
+        if (!skillsContainer || !this.page.skills.length) return;
 
         // Group skills by category
-        const skillsByCategory = this.data.skills.reduce((acc, skill) => {
+        const skillsByCategory = this.page.skills.reduce((acc, skill) => {
             const category = skill.category || 'Other';
             if (!acc[category]) acc[category] = [];
             acc[category].push(skill);
             return acc;
         }, {});
 
+        const escape = Utils.escapeHtml;
         const skillsHTML = Object.entries(skillsByCategory).map(([category, skills]) => `
             <div class="skill-category slide-in-left">
-                <h3>${category}</h3>
+                <h3>${escape(category)}</h3>
                 <ul class="skill-list">
                     ${skills.map(skill => `
                         <li class="skill-item">
-                            <span class="skill-name">${skill.name}</span>
+                            <span class="skill-name">${escape(skill.name)}</span>
                             <div class="skill-level">
-                                ${this.renderSkillDots(skill.level)}
+                                ${this.renderSkillDots(Math.floor((skill.proficiencyLevel || 0) / 2))}
                             </div>
                         </li>
                     `).join('')}
@@ -284,6 +344,44 @@ class PortfolioManager {
         skillsContainer.innerHTML = skillsHTML;
     }
 
+    // Render experience section
+    renderExperience() {
+        const timeline = document.getElementById('experience-timeline');
+        if (!timeline || !this.page.experiences.length) return;
+
+        const escape = Utils.escapeHtml;
+        timeline.innerHTML = this.page.experiences.map(experience => `
+            <div class="card fade-in-up">
+                <div class="card-header">
+                    <h3 class="card-title">${escape(experience.jobTitle)}</h3>
+                    <p class="card-subtitle">${escape(experience.companyName)}</p>
+                    <p class="card-meta">
+                        <span class="date-range">${escape(experience.dateRange)}</span>
+                        ${experience.location ? `<span class="location">${escape(experience.location)}</span>` : ''}
+                    </p>
+                </div>
+                ${experience.description ? `<p>${escape(experience.description)}</p>` : ''}
+            </div>
+        `).join('');
+    }
+
+    // Render education section
+    renderEducation() {
+        const grid = document.getElementById('education-grid');
+        if (!grid || !this.page.educations.length) return;
+
+        const escape = Utils.escapeHtml;
+        grid.innerHTML = this.page.educations.map(education => `
+            <div class="card fade-in-up">
+                <div class="card-header">
+                    <h3 class="card-title">${escape(education.degree)}</h3>
+                    <p class="card-subtitle">${escape(education.institution)}</p>
+                    <p class="card-meta"><span class="date-range">${escape(education.dateRange)}</span></p>
+                </div>
+            </div>
+        `).join('');
+    }
+
     // Render skill level dots
     renderSkillDots(level) {
         const maxDots = 5;
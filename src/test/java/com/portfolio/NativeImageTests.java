@@ -0,0 +1,111 @@
+package com.portfolio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end requests against the whole application on H2. Tagged {@code native}, so
+ * {@code mvn -PnativeTest test} runs these, and only these, compiled into a native image:
+ * each one goes through reflection, proxies or resources that a native image only has when
+ * {@link com.portfolio.config.PortfolioRuntimeHints} or Spring's AOT processing provide them.
+ * {@code mvn test} runs them on the JVM as well.
+ */
+@Tag("native")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NativeImageTests {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    /**
+     * A portfolio is saved through the JPA repositories and read back as JSON and CBOR
+     */
+    @Test
+    void testCreateAndReadPortfolio() throws IOException {
+        long id = createPortfolio("Native Image", "native@example.com");
+
+        ResponseEntity<String> portfolio = rest.getForEntity("/api/portfolios/" + id, String.class);
+        assertEquals(HttpStatus.OK, portfolio.getStatusCode());
+        assertEquals("Native Image", json.readTree(portfolio.getBody()).get("fullName").asText());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.valueOf("application/cbor")));
+        ResponseEntity<byte[]> cbor = rest.exchange("/api/portfolios/" + id, HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+        assertEquals(HttpStatus.OK, cbor.getStatusCode());
+        assertEquals("native@example.com", new CBORMapper().readTree(cbor.getBody()).get("email").asText());
+    }
+
+    /**
+     * The page payload records and the Thymeleaf page are built for a saved portfolio
+     */
+    @Test
+    void testPortfolioPage() throws IOException {
+        long id = createPortfolio("Page Render", "page@example.com");
+
+        ResponseEntity<String> page = rest.getForEntity("/api/portfolios/" + id + "/page", String.class);
+        assertEquals(HttpStatus.OK, page.getStatusCode());
+        assertNotNull(page.getHeaders().getETag());
+        assertEquals("Page Render", json.readTree(page.getBody()).get("fullName").asText());
+
+        ResponseEntity<String> html = rest.getForEntity("/portfolios/" + id, String.class);
+        assertEquals(HttpStatus.OK, html.getStatusCode());
+        assertTrue(html.getBody().contains("Page Render"), html.getBody());
+    }
+
+    /**
+     * Invalid input is answered with the exception handler's error body
+     */
+    @Test
+    void testValidationErrorBody() throws IOException {
+        ResponseEntity<String> response = rest.postForEntity("/api/portfolios",
+                Map.of("fullName", "", "title", "Engineer", "email", "invalid@example.com"), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        JsonNode error = json.readTree(response.getBody());
+        assertEquals(400, error.get("status").asInt());
+        assertTrue(error.get("validationErrors").has("fullName"), response.getBody());
+    }
+
+    /**
+     * The static front end is served from the image's resources
+     */
+    @Test
+    void testStaticPage() {
+        ResponseEntity<String> page = rest.getForEntity("/", String.class);
+
+        assertEquals(HttpStatus.OK, page.getStatusCode());
+        assertTrue(page.getHeaders().getContentType().isCompatibleWith(MediaType.TEXT_HTML));
+    }
+
+    private long createPortfolio(String fullName, String email) throws IOException {
+        ResponseEntity<String> created = rest.postForEntity("/api/portfolios",
+                Map.of("fullName", fullName, "title", "Engineer", "email", email), String.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode(), created.getBody());
+        return json.readTree(created.getBody()).get("id").asLong();
+    }
+}
@@ -2,6 +2,7 @@ package com.portfolio;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.portfolio.controller.PortfolioController;
+import com.portfolio.dto.PortfolioDTO;
 import com.portfolio.entity.Portfolio;
 import com.portfolio.entity.Project;
 import com.portfolio.entity.Skill;
@@ -16,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
@@ -32,11 +34,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Comprehensive test suite for the Portfolio Application
- * Tests all major components including controllers, services, and repositories
+ * Tests all major components including controllers, services, and repositories.
+ * Mock beans are not supported in AOT mode, so native test runs skip this class.
  */
 @SpringBootTest
 @AutoConfigureWebMvc
 @ActiveProfiles("test")
+@DisabledInAotMode
 class PortfolioApplicationTests {
 
     @Autowired
@@ -168,7 +172,7 @@ class PortfolioApplicationTests {
     @Test
     void testCreateSkill() throws Exception {
         // Setup mock data
-        Skill newSkill = createMockSkill("Docker", "TOOL", 4);
+        Skill newSkill = createMockSkill("Docker", Skill.SkillCategory.TOOL, 4);
         when(skillRepository.save(any(Skill.class))).thenReturn(newSkill);
 
         // Setup MockMvc
@@ -207,9 +211,9 @@ class PortfolioApplicationTests {
      */
     @Test
     void testCreateProjectWithInvalidData() throws Exception {
-        // Create project with invalid data (empty title)
+        // Create project with invalid data (empty name)
         Project invalidProject = new Project();
-        invalidProject.setTitle(""); // Invalid: empty title
+        invalidProject.setName(""); // Invalid: empty name
         invalidProject.setDescription("Valid description");
 
         // Setup MockMvc
@@ -259,7 +263,7 @@ class PortfolioApplicationTests {
         project1.setId(1L);
         project1.setTechnologies("Java,Spring Boot,PostgreSQL,HTML,CSS,JavaScript");
         project1.setGithubUrl("https://github.com/johndoe/ecommerce");
-        project1.setLiveUrl("https://ecommerce-demo.com");
+        project1.setDemoUrl("https://ecommerce-demo.com");
 
         Project project2 = createMockProject("Task Management System", 
             "RESTful API for task management with user roles and notifications");
@@ -272,32 +276,32 @@ class PortfolioApplicationTests {
 
     private Project createMockProject(String title, String description) {
         Project project = new Project();
-        project.setTitle(title);
+        project.setName(title);
         project.setDescription(description);
         project.setStartDate(LocalDate.of(2023, 1, 1));
         project.setEndDate(LocalDate.of(2023, 6, 30));
-        project.setCategory("WEB_APPLICATION");
+        project.setCategory(Project.ProjectCategory.WEB_APPLICATION);
         return project;
     }
 
     private List<Skill> createMockSkills() {
-        Skill skill1 = createMockSkill("Java", "TECHNICAL", 5);
+        Skill skill1 = createMockSkill("Java", Skill.SkillCategory.TECHNICAL, 5);
         skill1.setId(1L);
 
-        Skill skill2 = createMockSkill("Spring Boot", "FRAMEWORK", 4);
+        Skill skill2 = createMockSkill("Spring Boot", Skill.SkillCategory.FRAMEWORK, 4);
         skill2.setId(2L);
 
-        Skill skill3 = createMockSkill("PostgreSQL", "DATABASE", 4);
+        Skill skill3 = createMockSkill("PostgreSQL", Skill.SkillCategory.TOOL, 4);
         skill3.setId(3L);
 
         return Arrays.asList(skill1, skill2, skill3);
     }
 
-    private Skill createMockSkill(String name, String category, int level) {
+    private Skill createMockSkill(String name, Skill.SkillCategory category, int level) {
         Skill skill = new Skill();
         skill.setName(name);
         skill.setCategory(category);
-        skill.setLevel(level);
+        skill.setProficiencyLevel(level);
         return skill;
     }
 }
@@ -307,6 +311,7 @@ class PortfolioApplicationTests {
  */
 @SpringBootTest
 @ActiveProfiles("test")
+@DisabledInAotMode
 class PortfolioServiceTests {
 
     @MockBean
@@ -334,7 +339,7 @@ class PortfolioServiceTests {
         when(portfolioRepository.findById(1L)).thenReturn(Optional.of(mockPortfolio));
 
         // Test service method
-        Optional<Portfolio> result = portfolioService.getPortfolio();
+        Optional<PortfolioDTO> result = portfolioService.getPortfolioById(1L);
         
         // Assertions would go here if we had proper service methods
         // For now, this tests that the service can be autowired correctly
@@ -359,9 +364,9 @@ class PortfolioServiceTests {
 
     private Project createTestProject(String title) {
         Project project = new Project();
-        project.setTitle(title);
+        project.setName(title);
         project.setDescription("Test project description");
-        project.setCategory("WEB_APPLICATION");
+        project.setCategory(Project.ProjectCategory.WEB_APPLICATION);
         return project;
     }
 }
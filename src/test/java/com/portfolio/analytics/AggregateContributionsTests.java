@@ -0,0 +1,97 @@
+package com.portfolio.analytics;
+
+import com.portfolio.entity.AnalyticsAggregate;
+import com.portfolio.entity.AnalyticsAggregate.Dimension;
+import com.portfolio.entity.Project;
+import com.portfolio.entity.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for building per-portfolio analytics contributions and applying them to totals as deltas.
+ */
+class AggregateContributionsTests {
+
+    /**
+     * Technologies are counted once per project, case-insensitively, and portfolios once per bucket
+     */
+    @Test
+    void testContributionsPerPortfolio() {
+        AggregateContributions contributions = new AggregateContributions();
+        contributions.addPortfolio(1, 5);
+        contributions.addProject(1, Project.ProjectCategory.API, "Java, Spring,java", true);
+        contributions.addProject(1, Project.ProjectCategory.API, "Java", false);
+        contributions.addSkills(1, Skill.SkillCategory.values()[0], 3, 21, 9, 2);
+        // Rows for portfolios that were not added (inactive) are ignored
+        contributions.addProject(2, Project.ProjectCategory.API, "Java", false);
+
+        Map<AnalyticsAggregate.Key, AnalyticsAggregate> rows = new HashMap<>();
+        contributions.rows().forEach(row -> rows.put(row.getKey(), row));
+
+        AnalyticsAggregate java = rows.get(new AnalyticsAggregate.Key(1L, Dimension.TECHNOLOGY, "java"));
+        assertEquals(1, java.getPortfolioCount());
+        assertEquals(2, java.getItemCount());
+        assertEquals(1, java.getFeaturedCount());
+        assertEquals("Java", java.getLabel());
+
+        AnalyticsAggregate projects = rows.get(new AnalyticsAggregate.Key(1L, Dimension.PROJECT_CATEGORY, "API"));
+        assertEquals(2, projects.getItemCount());
+        assertEquals(1, projects.getFeaturedCount());
+
+        AnalyticsAggregate portfolio = rows.get(new AnalyticsAggregate.Key(1L, Dimension.PORTFOLIO, AggregateContributions.ALL));
+        assertEquals(1, portfolio.getFeaturedCount());
+        assertEquals(5, portfolio.getValueSum());
+        assertEquals(5, rows.size());
+    }
+
+    /**
+     * Applying old and new contributions as a delta matches summing the new contributions from scratch
+     */
+    @Test
+    void testDeltaMatchesRebuild() {
+        AggregateContributions before = new AggregateContributions();
+        before.addPortfolio(1, 4);
+        before.addProject(1, Project.ProjectCategory.API, "Java,Go", true);
+        before.addPortfolio(2, 10);
+        before.addProject(2, Project.ProjectCategory.API, "Java", false);
+
+        Map<AnalyticsAggregate.Key, AnalyticsAggregate> totals = new HashMap<>();
+        AggregateContributions.applyDelta(totals, List.of(), before.rows());
+
+        // Portfolio 1 drops Go and its featured project; portfolio 2 is unchanged
+        AggregateContributions oldPortfolio1 = new AggregateContributions();
+        oldPortfolio1.addPortfolio(1, 4);
+        oldPortfolio1.addProject(1, Project.ProjectCategory.API, "Java,Go", true);
+        AggregateContributions newPortfolio1 = new AggregateContributions();
+        newPortfolio1.addPortfolio(1, 6);
+        newPortfolio1.addProject(1, Project.ProjectCategory.API, "Java", false);
+        List<AnalyticsAggregate> changed =
+                AggregateContributions.applyDelta(totals, oldPortfolio1.rows(), newPortfolio1.rows());
+
+        AggregateContributions after = new AggregateContributions();
+        after.addPortfolio(1, 6);
+        after.addProject(1, Project.ProjectCategory.API, "Java", false);
+        after.addPortfolio(2, 10);
+        after.addProject(2, Project.ProjectCategory.API, "Java", false);
+        Map<AnalyticsAggregate.Key, AnalyticsAggregate> rebuilt = new HashMap<>();
+        AggregateContributions.applyDelta(rebuilt, List.of(), after.rows());
+
+        AnalyticsAggregate go = totals.get(new AnalyticsAggregate.Key(
+                AnalyticsAggregate.ORGANISATION, Dimension.TECHNOLOGY, "go"));
+        assertTrue(go.isEmpty());
+        assertTrue(changed.contains(go));
+        totals.values().removeIf(AnalyticsAggregate::isEmpty);
+
+        assertEquals(rebuilt.keySet(), totals.keySet());
+        rebuilt.forEach((key, expected) -> assertTrue(expected.hasSameCounts(totals.get(key)), key.getBucket()));
+        assertFalse(totals.get(new AnalyticsAggregate.Key(AnalyticsAggregate.ORGANISATION, Dimension.PORTFOLIO,
+                AggregateContributions.ALL)).isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+package com.portfolio.analytics;
+
+import com.portfolio.analytics.SkillMatrix.GroupBy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the columnar skill matrix, plus an aggregation benchmark over one million rows
+ * that only runs with {@code mvn -Pbenchmark test}
+ */
+class SkillMatrixTests {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillMatrixTests.class);
+
+    private static final int CATEGORIES = 3;
+    private static final int TYPES = 2;
+
+    /**
+     * Upserts replace rows in place and inactive rows drop out of every aggregate
+     */
+    @Test
+    void testIncrementalUpsertAndRemove() {
+        SkillMatrix matrix = new SkillMatrix(CATEGORIES, TYPES);
+        matrix.upsert(1, 10, 0, 0, 4, 2, true);
+        matrix.upsert(2, 10, 0, 1, 8, null, true);
+        matrix.upsert(3, 20, 1, 0, 6, 5, true);
+
+        matrix.upsert(1, 10, 0, 0, 6, 4, true);
+        matrix.upsert(3, 20, 1, 0, 6, 5, false);
+        matrix.upsert(4, 20, 0, 0, 10, 1, true);
+
+        SkillMatrix.Aggregate aggregate = matrix.aggregate(GroupBy.CATEGORY);
+        assertEquals(3, matrix.liveRowCount());
+        assertEquals(3, aggregate.count(0));
+        assertEquals(0, aggregate.count(1));
+        assertEquals(8.0, aggregate.averageProficiency(0), 1e-9);
+        // Years are averaged over rows that have them: (4 + 1) / 2
+        assertEquals(2.5, aggregate.averageYears(0), 1e-9);
+        assertEquals(8, aggregate.quantile(0, 0.5));
+
+        SkillMatrix.Aggregate portfolio = matrix.aggregate(GroupBy.SKILL_TYPE, 10);
+        assertEquals(1, portfolio.count(0));
+        assertEquals(1, portfolio.count(1));
+    }
+
+    /**
+     * Percentile ranks use the mid-rank of ties
+     */
+    @Test
+    void testPercentileRank() {
+        SkillMatrix matrix = new SkillMatrix(CATEGORIES, TYPES);
+        int[] levels = {2, 4, 4, 6, 8};
+        for (int i = 0; i < levels.length; i++) {
+            matrix.upsert(i, i, 2, 0, levels[i], null, true);
+        }
+
+        SkillMatrix.Aggregate aggregate = matrix.aggregate(GroupBy.CATEGORY);
+        assertEquals(40.0, aggregate.percentileRank(2, 4), 1e-9);
+        assertEquals(100.0, aggregate.percentileRank(2, 10), 1e-9);
+        assertEquals(0.0, aggregate.percentileRank(2, 1), 1e-9);
+    }
+
+    /**
+     * On generated rows, with some removed and their slots reused, both aggregates match
+     * histograms counted row by row
+     */
+    @Test
+    void testAggregatesMatchRowByRowCounts() {
+        SplittableRandom random = new SplittableRandom(7);
+        SkillMatrix matrix = new SkillMatrix(6, 12);
+        long[][] orgWide = new long[6][SkillMatrix.LEVELS];
+        long[][] portfolio = new long[12][SkillMatrix.LEVELS];
+        long[] portfolioYears = new long[12];
+        int rows = 20_000;
+        int[][] last = new int[rows][];
+        for (int id = 0; id < rows + 1_000; id++) {
+            int skillId = id < rows ? id : random.nextInt(rows);
+            int[] row = {random.nextInt(6), random.nextInt(12), random.nextInt(1, 11), random.nextInt(0, 20)};
+            boolean active = id < rows || skillId % 2 == 0;
+            matrix.upsert(skillId, skillId / 8, row[0], row[1], row[2], row[3], active);
+            last[skillId] = active ? row : null;
+        }
+        for (int skillId = 0; skillId < rows; skillId++) {
+            int[] row = last[skillId];
+            if (row != null) {
+                orgWide[row[0]][row[2]]++;
+                if (skillId / 8 == 42) {
+                    portfolio[row[1]][row[2]]++;
+                    portfolioYears[row[1]] += row[3];
+                }
+            }
+        }
+
+        SkillMatrix.Aggregate orgAggregate = matrix.aggregate(GroupBy.CATEGORY);
+        SkillMatrix.Aggregate portfolioAggregate = matrix.aggregate(GroupBy.SKILL_TYPE, 42);
+        for (int g = 0; g < 6; g++) {
+            assertArrayEquals(orgWide[g], orgAggregate.histograms()[g]);
+        }
+        for (int g = 0; g < 12; g++) {
+            assertArrayEquals(portfolio[g], portfolioAggregate.histograms()[g]);
+        }
+        assertArrayEquals(portfolioYears, portfolioAggregate.yearsSum());
+    }
+
+    /**
+     * Org-wide and single-portfolio aggregation time over one million rows
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkAggregatesOverOneMillionRows() {
+        SplittableRandom random = new SplittableRandom(7);
+        SkillMatrix matrix = new SkillMatrix(6, 12);
+        int rows = 1_000_000;
+        for (int id = 0; id < rows; id++) {
+            matrix.upsert(id, id / 8, random.nextInt(6), random.nextInt(12), random.nextInt(1, 11),
+                    random.nextInt(0, 20), true);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            matrix.aggregate(GroupBy.CATEGORY);
+            matrix.aggregate(GroupBy.CATEGORY, 42);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            matrix.aggregate(GroupBy.CATEGORY);
+        }
+        long orgMicros = (System.nanoTime() - start) / 1_000 / 50;
+        start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            matrix.aggregate(GroupBy.SKILL_TYPE, 42);
+        }
+        long portfolioMicros = (System.nanoTime() - start) / 1_000 / 50;
+
+        log.info("rows={} org-wide={} us single-portfolio={} us", rows, orgMicros, portfolioMicros);
+        assertEquals(rows, matrix.liveRowCount());
+    }
+}
@@ -0,0 +1,75 @@
+package com.portfolio.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the in-memory view counts
+ */
+class ViewCounterTests {
+
+    private final ViewCounter counter = new ViewCounter();
+
+    /**
+     * Views recorded concurrently for the same and different portfolios all add up
+     */
+    @Test
+    void testConcurrentViews() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                workers.add(threads.submit(() -> {
+                    for (int view = 0; view < 10_000; view++) {
+                        counter.record(1L);
+                        counter.record(view % 4 + 2L);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(160_000, counter.pending());
+        assertEquals(Map.of(1L, 80_000L, 2L, 20_000L, 3L, 20_000L, 4L, 20_000L, 5L, 20_000L), counter.drain());
+    }
+
+    /**
+     * Draining resets the counts, and portfolios without views since the last drain are left out
+     */
+    @Test
+    void testDrainResets() {
+        counter.record(1L);
+        counter.record(1L);
+        counter.record(2L);
+
+        assertEquals(Map.of(1L, 2L, 2L, 1L), counter.drain());
+        counter.record(2L);
+        assertEquals(Map.of(2L, 1L), counter.drain());
+        assertTrue(counter.drain().isEmpty());
+        assertEquals(0, counter.pending());
+    }
+
+    /**
+     * Counts added back are drained with the views recorded since
+     */
+    @Test
+    void testAddBack() {
+        counter.record(1L);
+        counter.add(Map.of(1L, 5L, 3L, 2L));
+
+        assertEquals(Map.of(1L, 6L, 3L, 2L), counter.drain());
+    }
+}
@@ -0,0 +1,125 @@
+package com.portfolio.assets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the static asset build step: bundles, fingerprints, page rewriting and minification
+ */
+class AssetPipelineTests {
+
+    @TempDir
+    Path source;
+
+    @TempDir
+    Path output;
+
+    /**
+     * Local stylesheets and scripts become one fingerprinted bundle each; CDN links stay, and
+     * bundles and the page get precompressed variants
+     */
+    @Test
+    void testPageRewrittenToBundles() throws IOException {
+        write("css/a.css", ".a { color: red; }\n".repeat(40));
+        write("css/b.css", "/* b */ .b > p { margin: 0 auto; }");
+        write("js/app.js", "// app\nconst answer = 42;\n");
+        write("index.html", """
+                <head>
+                    <link rel="stylesheet" href="css/a.css">
+                    <link rel="stylesheet" href="/css/b.css">
+                    <link rel="stylesheet" href="https://cdn.example.com/icons.css">
+                </head>
+                <body>
+                    <script src="js/app.js"></script>
+                </body>""");
+
+        Map<String, String> manifest = new AssetPipeline(source, output).build();
+
+        String css = manifest.get("css/a.css");
+        assertTrue(css.matches("assets/app\\.[0-9a-f]{10}\\.css"), css);
+        assertEquals(css, manifest.get("css/b.css"));
+        String page = Files.readString(output.resolve("index.html"));
+        assertTrue(page.contains("<link rel=\"stylesheet\" href=\"" + css + "\">"), page);
+        assertTrue(page.contains("https://cdn.example.com/icons.css"), page);
+        assertTrue(page.contains("<script src=\"" + manifest.get("js/app.js") + "\"></script>"), page);
+        assertFalse(page.contains("css/b.css"), page);
+
+        String bundle = Files.readString(output.resolve(css));
+        assertTrue(bundle.endsWith(".b>p{margin:0 auto}\n"), bundle);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(output.resolve(css + ".gz")))) {
+            assertEquals(bundle, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(Files.exists(output.resolve("index.html.gz")));
+        AssetManifest loaded = AssetManifest.load(new FileSystemResource(output.resolve("assets/manifest.properties")));
+        assertEquals(Optional.of(css), loaded.bundleFor("/css/b.css"));
+    }
+
+    /**
+     * A bundle is renamed when its content changes, and stale bundles are removed
+     */
+    @Test
+    void testFingerprintFollowsContent() throws IOException {
+        write("js/app.js", "let a = 1;");
+        write("index.html", "<script src=\"js/app.js\"></script>");
+        String before = new AssetPipeline(source, output).build().get("js/app.js");
+
+        write("js/app.js", "let a = 2;");
+        String after = new AssetPipeline(source, output).build().get("js/app.js");
+
+        assertNotEquals(before, after);
+        assertFalse(Files.exists(output.resolve(before)));
+        assertTrue(Files.exists(output.resolve(after)));
+    }
+
+    /**
+     * A reference to a missing file fails the build instead of shipping a broken page
+     */
+    @Test
+    void testMissingReferenceFailsBuild() throws IOException {
+        write("index.html", "<link rel=\"stylesheet\" href=\"css/missing.css\">");
+
+        assertThrows(IllegalStateException.class, () -> new AssetPipeline(source, output).build());
+    }
+
+    /**
+     * Strings, template literals and regular expressions survive script minification
+     */
+    @Test
+    void testScriptLiteralsPreserved() {
+        String script = """
+                // comment
+                const url = 'http://example.com'; /* block */
+                const html = `<a href="${ok ? `/x/${id}` : '//y'}">  // not a comment</a>`;
+                const re = /[/]\\/+/g, ratio = total / count;
+                return  a + +b;
+                """;
+
+        assertEquals("""
+                const url='http://example.com';
+                const html=`<a href="${ok?`/x/${id}`:'//y'}">  // not a comment</a>`;
+                const re=/[/]\\/+/g,ratio=total/count;
+                return a+ +b;""", AssetMinifier.minifyJs(script));
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = source.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
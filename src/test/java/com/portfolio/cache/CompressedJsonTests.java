@@ -0,0 +1,67 @@
+package com.portfolio.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for cached JSON responses with their gzip encoding
+ */
+class CompressedJsonTests {
+
+    private static final byte[] JSON = ("{\"projects\":["
+            + "{\"name\":\"Payments API\",\"technologies\":[\"Java\",\"PostgreSQL\"]},".repeat(50)
+            + "{}]}").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The gzip encoding decodes to the JSON, and each encoding has its own ETag
+     */
+    @Test
+    void testGzipEncodingRoundTrips() throws IOException {
+        CompressedJson json = CompressedJson.of(JSON, true);
+
+        assertTrue(json.getGzip().length < JSON.length / 5);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(json.getGzip()))) {
+            assertArrayEquals(JSON, in.readAllBytes());
+        }
+        assertEquals(json.getEtag(), CompressedJson.of(JSON, false).getEtag());
+        assertNotEquals(json.getEtag(), json.getGzipEtag());
+        assertTrue(json.getGzipEtag().endsWith("-gzip\""));
+    }
+
+    /**
+     * Responses are left uncompressed when compression is off or does not make them smaller
+     */
+    @Test
+    void testUncompressedWhenNotSmaller() {
+        assertNull(CompressedJson.of(JSON, false).getGzip());
+        assertNull(CompressedJson.of("{}".getBytes(StandardCharsets.UTF_8), true).getGzip());
+    }
+
+    /**
+     * gzip is used when listed or covered by "*", unless refused with q=0
+     */
+    @Test
+    void testAcceptEncodingNegotiation() {
+        assertTrue(CompressedJson.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CompressedJson.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(CompressedJson.acceptsGzip("*"));
+        assertTrue(CompressedJson.acceptsGzip("*;q=0, gzip"));
+        assertFalse(CompressedJson.acceptsGzip(null));
+        assertFalse(CompressedJson.acceptsGzip("br"));
+        assertFalse(CompressedJson.acceptsGzip("gzip;q=0"));
+        assertFalse(CompressedJson.acceptsGzip("gzip; q=0.0, *"));
+        assertFalse(CompressedJson.acceptsGzip("identity"));
+    }
+}
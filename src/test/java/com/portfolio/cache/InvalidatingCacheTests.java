@@ -0,0 +1,96 @@
+package com.portfolio.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for cross-node cache invalidation, using two caches on one in-JVM broadcaster as two nodes.
+ */
+class InvalidatingCacheTests {
+
+    private final InJvmInvalidationBroadcaster broadcaster = new InJvmInvalidationBroadcaster();
+    private final InvalidatingCache<String> nodeA = cache();
+    private final InvalidatingCache<String> nodeB = cache();
+
+    /**
+     * An invalidation on one node evicts the key on the others
+     */
+    @Test
+    void testInvalidationEvictsOnEveryNode() {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("v1", nodeB.get(1L, key -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", nodeB.get(1L, key -> "v" + loads.incrementAndGet()));
+
+        nodeA.invalidate(1L);
+
+        assertEquals(0, nodeB.size());
+        assertEquals("v2", nodeB.get(1L, key -> "v" + loads.incrementAndGet()));
+    }
+
+    /**
+     * A load that read the old value before a change committed elsewhere is not cached
+     */
+    @Test
+    void testLoadRacingInvalidationIsNotCached() {
+        assertEquals("stale", nodeB.get(1L, key -> {
+            nodeA.invalidate(1L);
+            return "stale";
+        }));
+        assertEquals(0, nodeB.size());
+
+        assertEquals("fresh", nodeB.get(1L, key -> "fresh"));
+        assertEquals("fresh", nodeB.get(1L, key -> "unexpected load"));
+
+        assertEquals("other", nodeB.get(2L, key -> {
+            nodeA.invalidate(1L);
+            return "other";
+        }));
+        assertEquals("other", nodeB.get(2L, key -> "unexpected load"));
+    }
+
+    /**
+     * A cache derived from another is evicted by the other cache's invalidations, and tracks its own
+     */
+    @Test
+    void testDerivedCacheFollowsSourceInvalidations() {
+        InvalidatingCache<String> pages = new InvalidatingCache<String>("pages", broadcaster, Duration.ofHours(1), 100,
+                Duration.ofMinutes(1), new SimpleMeterRegistry()).derivedFrom("portfolios");
+        pages.get(1L, key -> "page");
+        pages.get(2L, key -> "page");
+
+        nodeA.invalidate(1L);
+        assertEquals(1, pages.size());
+        assertEquals("page", pages.get(2L, key -> "unexpected load"));
+        assertEquals("fresh", pages.get(1L, key -> {
+            nodeA.invalidate(1L);
+            return "fresh";
+        }));
+        assertEquals(1, pages.size());
+    }
+
+    /**
+     * Invalidations survive the NOTIFY payload encoding
+     */
+    @Test
+    void testPayloadRoundTrip() {
+        CacheInvalidation single = new CacheInvalidation("portfolios", 42L, "node-1", 1700000000000L);
+        CacheInvalidation all = new CacheInvalidation("portfolios", null, "node-1", 1700000000000L);
+
+        assertEquals(single, CacheInvalidation.decode(single.encode()));
+        assertEquals(all, CacheInvalidation.decode(all.encode()));
+        assertNull(CacheInvalidation.decode(all.encode()).key());
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("portfolios:x"));
+    }
+
+    private InvalidatingCache<String> cache() {
+        return new InvalidatingCache<>("portfolios", broadcaster, Duration.ofHours(1), 100,
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+}
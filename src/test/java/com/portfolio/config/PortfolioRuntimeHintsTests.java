@@ -0,0 +1,70 @@
+package com.portfolio.config;
+
+import com.portfolio.dto.PortfolioPageDTO;
+import com.portfolio.entity.Portfolio;
+import com.portfolio.exception.GlobalExceptionHandler;
+import com.portfolio.repository.PortfolioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the native image hints
+ */
+class PortfolioRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new PortfolioRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    /**
+     * Entities are open to Hibernate, and DTO records, including nested ones, to Jackson
+     */
+    @Test
+    void testEntitiesAndDtosRegistered() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Portfolio.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(PortfolioPageDTO.Project.class.getMethod("name"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(GlobalExceptionHandler.ErrorResponse.class.getMethod("getValidationErrors"))
+                .test(hints));
+    }
+
+    /**
+     * Repositories get the proxy Spring Data creates, and JDBC objects the monitoring proxies
+     */
+    @Test
+    void testProxiesRegistered() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PortfolioRepository.class, Repository.class,
+                TransactionalProxy.class, SpringProxy.class, Advised.class, DecoratingProxy.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(PreparedStatement.class).test(hints));
+    }
+
+    /**
+     * The asset manifest is kept as a resource
+     */
+    @Test
+    void testAssetManifestIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("static/assets/manifest.properties").test(hints));
+    }
+}
@@ -0,0 +1,206 @@
+package com.portfolio.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.portfolio.dto.EducationDTO;
+import com.portfolio.dto.ExperienceDTO;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.ProjectDTO;
+import com.portfolio.dto.SkillDTO;
+import com.portfolio.entity.Education;
+import com.portfolio.entity.Experience;
+import com.portfolio.entity.Project;
+import com.portfolio.entity.Skill;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trip and payload size tests of the binary wire formats against the JSON API, and an
+ * encode/decode timing benchmark that only runs with {@code mvn -Pbenchmark test}
+ */
+class WireFormatBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(WireFormatBenchmarkTests.class);
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    private final ObjectMapper jsonMapper = new Jackson2ObjectMapperBuilder()
+            .indentOutput(true)
+            .build();
+
+    private final ObjectMapper cborMapper = WireFormatConfig.binaryObjectMapper(
+            new Jackson2ObjectMapperBuilder(), new CBORFactory());
+
+    private final ObjectMapper smileMapper = WireFormatConfig.binaryObjectMapper(
+            new Jackson2ObjectMapperBuilder(),
+            SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build());
+
+    /**
+     * Every DTO survives a binary round trip unchanged, as seen through the JSON API
+     */
+    @Test
+    void testBinaryFormatsRoundTripDetailedPortfolio() throws Exception {
+        PortfolioDTO portfolio = createDetailedPortfolio(5);
+        String expectedJson = jsonMapper.writeValueAsString(portfolio);
+
+        for (ObjectMapper binaryMapper : List.of(cborMapper, smileMapper)) {
+            byte[] encoded = binaryMapper.writeValueAsBytes(portfolio);
+            PortfolioDTO decoded = binaryMapper.readValue(encoded, PortfolioDTO.class);
+            assertEquals(jsonMapper.readTree(expectedJson), jsonMapper.readTree(jsonMapper.writeValueAsString(decoded)));
+        }
+    }
+
+    /**
+     * Readers tolerate fields added by newer writers
+     */
+    @Test
+    void testUnknownFieldsAreIgnored() throws Exception {
+        ObjectMapper writer = new ObjectMapper(new CBORFactory());
+        byte[] encoded = writer.writeValueAsBytes(java.util.Map.of(
+                "fullName", "Jane Doe",
+                "fieldAddedInAFutureVersion", 42));
+
+        PortfolioDTO decoded = cborMapper.readValue(encoded, PortfolioDTO.class);
+        assertEquals("Jane Doe", decoded.getFullName());
+    }
+
+    /**
+     * CBOR and Smile payloads of a detailed portfolio are smaller than its JSON
+     */
+    @Test
+    void testBinaryPayloadsSmallerThanJson() throws Exception {
+        PortfolioDTO portfolio = createDetailedPortfolio(20);
+        int jsonSize = jsonMapper.writeValueAsBytes(portfolio).length;
+
+        assertTrue(cborMapper.writeValueAsBytes(portfolio).length < jsonSize, "CBOR payload should be smaller than JSON");
+        assertTrue(smileMapper.writeValueAsBytes(portfolio).length < jsonSize, "Smile payload should be smaller than JSON");
+    }
+
+    /**
+     * Encode/decode time of JSON, CBOR and Smile, logged for comparison between runs
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkSpeedAgainstJson() throws Exception {
+        PortfolioDTO portfolio = createDetailedPortfolio(20);
+
+        for (Result result : List.of(
+                measure("JSON", jsonMapper, portfolio),
+                measure("CBOR", cborMapper, portfolio),
+                measure("Smile", smileMapper, portfolio))) {
+            log.info("format={} bytes={} encode={} ns decode={} ns",
+                    result.format, result.size, result.encodeNanos, result.decodeNanos);
+        }
+    }
+
+    private Result measure(String format, ObjectMapper mapper, PortfolioDTO portfolio) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(portfolio);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(portfolio), PortfolioDTO.class);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            encoded = mapper.writeValueAsBytes(portfolio);
+        }
+        long encodeNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            mapper.readValue(encoded, PortfolioDTO.class);
+        }
+        long decodeNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        return new Result(format, encoded.length, encodeNanos, decodeNanos);
+    }
+
+    private record Result(String format, int size, long encodeNanos, long decodeNanos) {}
+
+    // Helper methods to create test data
+
+    private PortfolioDTO createDetailedPortfolio(int childCount) {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 15, 10, 30, 0);
+
+        PortfolioDTO portfolio = new PortfolioDTO("John Doe", "Senior Java Developer", "john.doe@example.com");
+        portfolio.setId(1L);
+        portfolio.setSummary("Experienced Java developer with expertise in Spring Boot and PostgreSQL");
+        portfolio.setLocation("New York, NY");
+        portfolio.setGithubUrl("https://github.com/johndoe");
+        portfolio.setYearsOfExperience(8);
+        portfolio.setIsActive(true);
+        portfolio.setCreatedAt(timestamp);
+        portfolio.setUpdatedAt(timestamp);
+
+        List<ProjectDTO> projects = new ArrayList<>();
+        List<SkillDTO> skills = new ArrayList<>();
+        List<ExperienceDTO> experiences = new ArrayList<>();
+        List<EducationDTO> educations = new ArrayList<>();
+
+        for (int i = 0; i < childCount; i++) {
+            ProjectDTO project = new ProjectDTO("Project " + i, "Full-stack application number " + i);
+            project.setId((long) i);
+            project.setTechnologies("Java, Spring Boot, PostgreSQL");
+            project.setTechnologyList(List.of("Java", "Spring Boot", "PostgreSQL"));
+            project.setStartDate(LocalDate.of(2023, 1, 1));
+            project.setEndDate(LocalDate.of(2023, 6, 30));
+            project.setStatus(Project.ProjectStatus.COMPLETED);
+            project.setCategory(Project.ProjectCategory.WEB_APPLICATION);
+            project.setIsFeatured(i % 3 == 0);
+            project.setCreatedAt(timestamp);
+            project.setPortfolioId(1L);
+            project.setPortfolioOwnerName("John Doe");
+            projects.add(project);
+
+            SkillDTO skill = new SkillDTO("Skill " + i, 1 + i % 10, Skill.SkillCategory.TECHNICAL);
+            skill.setId((long) i);
+            skill.setSkillType(Skill.SkillType.PROGRAMMING_LANGUAGE);
+            skill.setYearsOfExperience(i % 12);
+            skill.setProficiencyPercentage((1 + i % 10) * 10.0);
+            skill.setCreatedAt(timestamp);
+            skill.setPortfolioId(1L);
+            skill.setPortfolioOwnerName("John Doe");
+            skills.add(skill);
+
+            ExperienceDTO experience = new ExperienceDTO("Engineer " + i, "Company " + i, LocalDate.of(2015 + i % 8, 1, 1));
+            experience.setId((long) i);
+            experience.setEmploymentType(Experience.EmploymentType.FULL_TIME);
+            experience.setTotalMonths(24L);
+            experience.setCreatedAt(timestamp);
+            experience.setPortfolioId(1L);
+            experience.setPortfolioOwnerName("John Doe");
+            experiences.add(experience);
+
+            EducationDTO education = new EducationDTO("Degree " + i, "University " + i, LocalDate.of(2010, 9, 1));
+            education.setId((long) i);
+            education.setDegreeType(Education.DegreeType.BACHELOR);
+            education.setGpa(3.7);
+            education.setMaxGpa(4.0);
+            education.setCreatedAt(timestamp);
+            education.setPortfolioId(1L);
+            education.setPortfolioOwnerName("John Doe");
+            educations.add(education);
+        }
+
+        portfolio.setProjects(projects);
+        portfolio.setSkills(skills);
+        portfolio.setExperiences(experiences);
+        portfolio.setEducations(educations);
+        portfolio.setTotalProjects((long) childCount);
+        portfolio.setAverageSkillProficiency(5.5);
+        return portfolio;
+    }
+}
@@ -0,0 +1,129 @@
+package com.portfolio.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for workload routing and the pool sizing decisions
+ */
+class WorkloadPoolsTests {
+
+    private final PoolSizingPolicy policy = new PoolSizingPolicy(10, 100, 30);
+    private WorkloadPools pools;
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.restore(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (pools != null) {
+            pools.close();
+        }
+    }
+
+    /**
+     * Read-only transactions use the read pool, background work its own pool, the rest the write pool
+     */
+    @Test
+    void testConnectionsRoutedByWorkload() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<WorkloadPool> created = new ArrayList<>();
+        for (Workload workload : Workload.values()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:workloads;DB_CLOSE_DELAY=-1");
+            dataSource.setPoolName(workload.getPoolName());
+            dataSource.setMaximumPoolSize(2);
+            created.add(new WorkloadPool(workload, dataSource, 1, 4, registry));
+        }
+        pools = new WorkloadPools(created);
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(pools);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection ignored = dataSource.getConnection()) {
+            assertEquals(1, pools.get(Workload.READ).snapshot().active());
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        try (Connection ignored = dataSource.getConnection()) {
+            assertEquals(1, pools.get(Workload.WRITE).snapshot().active());
+        }
+        WorkloadContext.attach(Workload.BACKGROUND);
+        try (Connection ignored = dataSource.getConnection()) {
+            assertEquals(1, pools.get(Workload.BACKGROUND).snapshot().active());
+            assertEquals(0, pools.get(Workload.READ).snapshot().active());
+            assertEquals(0, pools.get(Workload.WRITE).snapshot().active());
+        }
+    }
+
+    /**
+     * A waiting read pool grows by a quarter, taking the connections it lacks from the background pool
+     */
+    @Test
+    void testStarvedReadPoolGrowsAtExpenseOfBackground() {
+        Map<Workload, Integer> sizes = policy.resize(List.of(
+                snapshot(Workload.READ, 16, 4, 24, 16, 5, 40),
+                snapshot(Workload.WRITE, 8, 2, 10, 6, 0, 1),
+                snapshot(Workload.BACKGROUND, 6, 1, 8, 6, 3, 500)), 5);
+
+        assertEquals(20, sizes.get(Workload.READ));
+        assertEquals(8, sizes.get(Workload.WRITE));
+        assertEquals(2, sizes.get(Workload.BACKGROUND));
+    }
+
+    /**
+     * The background pool does not grow while an interactive pool is short of connections
+     */
+    @Test
+    void testBackgroundWaitsForInteractivePools() {
+        Map<Workload, Integer> sizes = policy.resize(List.of(
+                snapshot(Workload.READ, 10, 4, 10, 10, 2, 50),
+                snapshot(Workload.WRITE, 6, 2, 10, 3, 0, 0),
+                snapshot(Workload.BACKGROUND, 2, 1, 4, 2, 4, 900)), 5);
+
+        assertEquals(10, sizes.get(Workload.READ));
+        assertEquals(2, sizes.get(Workload.BACKGROUND));
+    }
+
+    /**
+     * When statements slow down, no pool grows and the background pool backs off
+     */
+    @Test
+    void testSlowDatabaseStopsGrowth() {
+        Map<Workload, Integer> sizes = policy.resize(List.of(
+                snapshot(Workload.READ, 10, 4, 20, 10, 3, 80),
+                snapshot(Workload.WRITE, 6, 2, 10, 6, 1, 30),
+                snapshot(Workload.BACKGROUND, 4, 1, 4, 4, 0, 0)), 250);
+
+        assertEquals(10, sizes.get(Workload.READ));
+        assertEquals(6, sizes.get(Workload.WRITE));
+        assertEquals(3, sizes.get(Workload.BACKGROUND));
+    }
+
+    /**
+     * Mostly idle pools shrink one connection per tick, never below min-size
+     */
+    @Test
+    void testIdlePoolsShrinkToMinSize() {
+        Map<Workload, Integer> sizes = policy.resize(List.of(
+                snapshot(Workload.READ, 10, 4, 20, 1, 0, 0),
+                snapshot(Workload.WRITE, 2, 2, 10, 0, 0, 0),
+                snapshot(Workload.BACKGROUND, 2, 1, 4, 2, 0, 0)), 5);
+
+        assertEquals(9, sizes.get(Workload.READ));
+        assertEquals(2, sizes.get(Workload.WRITE));
+        assertEquals(2, sizes.get(Workload.BACKGROUND));
+    }
+
+    private static PoolSnapshot snapshot(Workload workload, int size, int minSize, int maxSize,
+                                         int active, int pending, double averageWaitMillis) {
+        return new PoolSnapshot(workload, size, minSize, maxSize, active, pending, 100, averageWaitMillis);
+    }
+}
@@ -0,0 +1,154 @@
+package com.portfolio.deadline;
+
+import com.portfolio.exception.GlobalExceptionHandler;
+import com.portfolio.monitoring.InstrumentedDataSource;
+import com.portfolio.monitoring.QueryExecutionListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests a request whose deadline passes before its next transaction opens, end to end: filter,
+ * controller, {@code @Transactional} service on a {@link JpaTransactionManager}, and the
+ * exception handler
+ */
+class DeadlineTransactionTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AnnotationConfigApplicationContext context;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TransactionConfig.class);
+        DeadlineFilter filter = new DeadlineFilter(meterRegistry, "X-Request-Timeout",
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Map.of());
+        mockMvc = MockMvcBuilders.standaloneSetup(new SlowController(context.getBean(CountingService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The transaction manager wraps the checkout failure; the response is still 503 with Retry-After
+     */
+    @Test
+    void testExpiredDeadlineAtTransactionBeginIsServiceUnavailable() throws Exception {
+        mockMvc.perform(get("/work").header("X-Request-Timeout", "20ms"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Deadline exceeded"));
+
+        assertEquals(1, meterRegistry.get("portfolio.request.deadline.exceeded")
+                .tag("stage", "connection").counter().count());
+    }
+
+    /**
+     * Within its deadline the same request succeeds
+     */
+    @Test
+    void testWithinDeadline() throws Exception {
+        mockMvc.perform(get("/work").header("X-Request-Timeout", "5s"))
+                .andExpect(status().isOk());
+    }
+
+    @RestController
+    static class SlowController {
+
+        private final CountingService service;
+
+        SlowController(CountingService service) {
+            this.service = service;
+        }
+
+        /**
+         * Spends 50 ms before opening the transaction
+         */
+        @GetMapping("/work")
+        Long work() throws InterruptedException {
+            Thread.sleep(50);
+            return service.count();
+        }
+    }
+
+    static class CountingService {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public Long count() {
+            return ((Number) entityManager.createNativeQuery("SELECT 1").getSingleResult()).longValue();
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TransactionConfig {
+
+        @Bean
+        DataSource dataSource(ObjectProvider<QueryExecutionListener> listeners) {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:deadline-transactions;DB_CLOSE_DELAY=-1");
+            return new InstrumentedDataSource(h2, listeners);
+        }
+
+        @Bean
+        DeadlineQueryListener deadlineQueryListener() {
+            return new DeadlineQueryListener();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setPackagesToScan(DeadlineTransactionTests.class.getPackageName());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        CountingService countingService() {
+            return new CountingService();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.portfolio.deadline;
+
+import com.portfolio.exception.GlobalExceptionHandler.DeadlineExceededException;
+import com.portfolio.monitoring.InstrumentedDataSource;
+import com.portfolio.monitoring.QueryExecutionListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for request deadline resolution and propagation into JDBC and worker threads
+ */
+class RequestDeadlineTests {
+
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+                Map.of("deadlineQueryListener", new DeadlineQueryListener()));
+        dataSource = new InstrumentedDataSource(h2, beanFactory.getBeanProvider(QueryExecutionListener.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.restore(null);
+    }
+
+    /**
+     * Statements get a query timeout no longer than the time left, rounded up to whole seconds
+     */
+    @Test
+    void testQueryTimeoutFollowsDeadline() throws Exception {
+        RequestDeadline.attach(RequestDeadline.after(Duration.ofMillis(2500)));
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    /**
+     * Connection checkout fails fast once the deadline has passed
+     */
+    @Test
+    void testExpiredDeadlineFailsBeforeCheckout() {
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofNanos(1));
+        RequestDeadline.attach(deadline);
+
+        assertThrows(DeadlineExceededException.class, () -> dataSource.getConnection());
+        assertEquals("connection", deadline.getExceededStage());
+    }
+
+    /**
+     * The header overrides the endpoint setting but is capped at the maximum
+     */
+    @Test
+    void testTimeoutResolution() {
+        DeadlineFilter filter = new DeadlineFilter(new SimpleMeterRegistry(), "X-Request-Timeout",
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Map.of("/api/portfolios/search", Duration.ofSeconds(2)));
+
+        MockHttpServletRequest search = new MockHttpServletRequest("GET", "/api/portfolios/search");
+        assertEquals(Duration.ofSeconds(2), filter.resolveTimeout(search));
+
+        search.addHeader("X-Request-Timeout", "1500");
+        assertEquals(Duration.ofMillis(1500), filter.resolveTimeout(search));
+
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/portfolios");
+        other.addHeader("X-Request-Timeout", "5m");
+        assertEquals(Duration.ofSeconds(30), filter.resolveTimeout(other));
+    }
+
+    /**
+     * The filter binds the deadline for the duration of the request only
+     */
+    @Test
+    void testFilterBindsDeadline() throws Exception {
+        DeadlineFilter filter = new DeadlineFilter(new SimpleMeterRegistry(), "X-Request-Timeout",
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Map.of());
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/portfolios"), new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                        seen.set(RequestDeadline.current());
+                    }
+                });
+
+        assertEquals(Duration.ofSeconds(10), seen.get().getTimeout());
+        assertNull(RequestDeadline.current());
+    }
+
+    /**
+     * Decorated tasks run under the submitting thread's deadline
+     */
+    @Test
+    void testTaskDecoratorPropagatesDeadline() throws Exception {
+        RequestDeadline deadline = RequestDeadline.after(Duration.ofSeconds(5));
+        RequestDeadline.attach(deadline);
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+
+        Thread worker = new Thread(new DeadlineTaskDecorator().decorate(() -> seen.set(RequestDeadline.current())));
+        worker.start();
+        worker.join();
+
+        assertSame(deadline, seen.get());
+    }
+}
@@ -0,0 +1,172 @@
+package com.portfolio.matching;
+
+import com.portfolio.dto.TalentMatchRequestDTO;
+import com.portfolio.dto.TalentMatchRequestDTO.WeightedSkill;
+import com.portfolio.dto.TalentMatchRequestDTO.WeightedTechnology;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for talent match scoring, plus a top-K latency benchmark over one million portfolios
+ * that only runs with {@code mvn -Pbenchmark test}
+ */
+class SkillVectorIndexTests {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillVectorIndexTests.class);
+
+    private static final int BENCHMARK_PORTFOLIOS = 1_000_000;
+    private static final int BENCHMARK_QUERIES = 50;
+
+    private final SkillVectorIndex index = SkillVectorIndex.builder()
+            .addPortfolio(1, 5)
+            .addPortfolio(2, 2)
+            .addPortfolio(3, 10)
+            .addPortfolio(4, 4)
+            .addSkill(1, "Java", 8).addSkill(1, "PostgreSQL", 6)
+            .addSkill(2, "Java", 9).addSkill(2, "PostgreSQL", 7)
+            .addSkill(3, "Java", 6).addSkill(3, "PostgreSQL", 9)
+            .addSkill(4, " java ", 7).addSkill(4, "JAVA", 10).addSkill(4, "PostgreSQL", 5)
+            .addTechnologies(1, "Docker, Kubernetes")
+            .addTechnologies(4, "docker")
+            .addSkill(99, "Java", 10)
+            .build();
+
+    /**
+     * Required skills and experience filter; the remaining portfolios are ranked by weighted score
+     */
+    @Test
+    void testRequiredCriteriaFilterAndRank() {
+        TalentMatchRequestDTO request = request(
+                List.of(new WeightedSkill("Java", 7, 1.0, true), new WeightedSkill("postgresql", 5, 1.0, true)),
+                List.of(new WeightedTechnology("Docker", 1.0, false)),
+                3);
+
+        List<SkillVectorIndex.Match> matches = index.topK(request);
+
+        // Portfolio 2 lacks experience and portfolio 3 has Java below 7
+        assertEquals(List.of(4L, 1L), matches.stream().map(SkillVectorIndex.Match::portfolioId).toList());
+        assertArrayEquals(new int[]{10, 5}, matches.get(0).skillLevels());
+        // (1.0 + 0.5 + 1 + 1) / 4
+        assertEquals(0.875, matches.get(0).score(), 1e-6);
+    }
+
+    /**
+     * Optional criteria only add to the score, and the limit bounds the result
+     */
+    @Test
+    void testOptionalCriteriaAndLimit() {
+        TalentMatchRequestDTO request = request(
+                List.of(new WeightedSkill("Java", 1, 2.0, false), new WeightedSkill("Rust", 1, 1.0, false)),
+                List.of(),
+                null);
+        request.setLimit(2);
+
+        List<SkillVectorIndex.Match> matches = index.topK(request);
+
+        assertEquals(List.of(4L, 2L), matches.stream().map(SkillVectorIndex.Match::portfolioId).toList());
+    }
+
+    /**
+     * A required skill nobody has matches nothing; an empty profile is rejected
+     */
+    @Test
+    void testUnknownRequiredSkillAndEmptyProfile() {
+        assertTrue(index.topK(request(List.of(new WeightedSkill("Cobol", 1, 1.0, true)), List.of(), null)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.topK(request(List.of(), List.of(), null)));
+    }
+
+    /**
+     * On generated portfolios the top 20 are the best 20 of the full ranking, and all meet the
+     * required skill
+     */
+    @Test
+    void testTopKOverGeneratedPortfolios() {
+        SkillVectorIndex generated = generatedIndex(5_000);
+        TalentMatchRequestDTO request = generatedRequest();
+
+        List<SkillVectorIndex.Match> matches = generated.topK(request);
+        request.setLimit(200);
+        List<SkillVectorIndex.Match> ranking = generated.topK(request);
+
+        assertEquals(20, matches.size());
+        assertTrue(ranking.size() > 20 && ranking.size() < 200);
+        for (int i = 0; i < matches.size(); i++) {
+            assertEquals(ranking.get(i).score(), matches.get(i).score(), 1e-6);
+            assertTrue(matches.get(i).skillLevels()[0] >= 7);
+        }
+        for (int i = 1; i < ranking.size(); i++) {
+            assertTrue(ranking.get(i - 1).score() >= ranking.get(i).score());
+        }
+    }
+
+    /**
+     * Build and top-20 query time over one million portfolios with eight skills each
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkTopKOverOneMillionPortfolios() {
+        long buildStart = System.nanoTime();
+        SkillVectorIndex large = generatedIndex(BENCHMARK_PORTFOLIOS);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        TalentMatchRequestDTO request = generatedRequest();
+
+        for (int i = 0; i < BENCHMARK_QUERIES; i++) {
+            large.topK(request);
+        }
+        long start = System.nanoTime();
+        List<SkillVectorIndex.Match> matches = List.of();
+        for (int i = 0; i < BENCHMARK_QUERIES; i++) {
+            matches = large.topK(request);
+        }
+        double queryMillis = (System.nanoTime() - start) / 1_000_000.0 / BENCHMARK_QUERIES;
+
+        log.info("portfolios={} postings={} build={} ms top-{} query={} ms",
+                large.size(), large.postingCount(), buildMillis, matches.size(), String.format("%.2f", queryMillis));
+        assertEquals(20, matches.size());
+    }
+
+    private static SkillVectorIndex generatedIndex(int portfolios) {
+        SplittableRandom random = new SplittableRandom(42);
+        SkillVectorIndex.Builder builder = SkillVectorIndex.builder();
+        for (int id = 1; id <= portfolios; id++) {
+            builder.addPortfolio(id, random.nextInt(0, 25));
+        }
+        for (int id = 1; id <= portfolios; id++) {
+            for (int skill = 0; skill < 8; skill++) {
+                builder.addSkill(id, "skill-" + random.nextInt(0, 200), random.nextInt(1, 11));
+            }
+            if (random.nextInt(0, 4) == 0) {
+                builder.addTechnologies(id, "tech-" + random.nextInt(0, 50) + ", tech-" + random.nextInt(0, 50));
+            }
+        }
+        return builder.build();
+    }
+
+    private static TalentMatchRequestDTO generatedRequest() {
+        return request(
+                List.of(new WeightedSkill("skill-1", 7, 2.0, true),
+                        new WeightedSkill("skill-2", 5, 1.0, false),
+                        new WeightedSkill("skill-3", 1, 1.0, false)),
+                List.of(new WeightedTechnology("tech-7", 0.5, false)),
+                3);
+    }
+
+    private static TalentMatchRequestDTO request(List<WeightedSkill> skills, List<WeightedTechnology> technologies,
+                                                 Integer minYears) {
+        TalentMatchRequestDTO request = new TalentMatchRequestDTO();
+        request.setSkills(skills);
+        request.setTechnologies(technologies);
+        request.setMinYearsExperience(minYears);
+        return request;
+    }
+}
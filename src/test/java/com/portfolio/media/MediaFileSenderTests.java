@@ -0,0 +1,168 @@
+package com.portfolio.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for serving media files from disk: ranges, conditional requests, the fallback to
+ * resource handling and the open file handle cache
+ */
+class MediaFileSenderTests {
+
+    private static final String ETAG = "\"abc-original.jpg\"";
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FileHandleCache handles;
+
+    @AfterEach
+    void close() throws IOException {
+        if (handles != null) {
+            handles.close();
+        }
+    }
+
+    /**
+     * Ranges go to sendfile with 206, unsatisfiable ones get 416, and a matching ETag 304
+     */
+    @Test
+    void testRangeAndConditionalRequests() throws IOException {
+        write("large.jpg", 100_000);
+        MediaFileSender sender = sender();
+
+        MockHttpServletRequest fullRequest = request();
+        MockHttpServletResponse full = send(sender, "large.jpg", fullRequest);
+        assertEquals(200, full.getStatus());
+        assertEquals(directory.resolve("large.jpg").toAbsolutePath().toString(),
+                fullRequest.getAttribute(MediaFileSender.SENDFILE_FILENAME));
+        assertEquals(0L, fullRequest.getAttribute(MediaFileSender.SENDFILE_START));
+        assertEquals(100_000L, fullRequest.getAttribute(MediaFileSender.SENDFILE_END));
+        assertEquals(100_000, full.getContentLengthLong());
+        assertEquals(0, full.getContentAsByteArray().length);
+        assertEquals("max-age=31536000, public, immutable", full.getHeader("Cache-Control"));
+        assertEquals(ETAG, full.getHeader("ETag"));
+        assertEquals("bytes", full.getHeader("Accept-Ranges"));
+
+        MockHttpServletRequest range = request();
+        range.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse partial = send(sender, "large.jpg", range);
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 10-19/100000", partial.getHeader("Content-Range"));
+        assertEquals(10L, range.getAttribute(MediaFileSender.SENDFILE_START));
+        assertEquals(20L, range.getAttribute(MediaFileSender.SENDFILE_END));
+
+        MockHttpServletRequest staleRange = request();
+        staleRange.addHeader("Range", "bytes=10-19");
+        staleRange.addHeader("If-Range", "\"other\"");
+        assertEquals(200, send(sender, "large.jpg", staleRange).getStatus());
+
+        MockHttpServletRequest beyond = request();
+        beyond.addHeader("Range", "bytes=200000-");
+        MockHttpServletResponse unsatisfiable = send(sender, "large.jpg", beyond);
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */100000", unsatisfiable.getHeader("Content-Range"));
+
+        MockHttpServletRequest conditional = request();
+        conditional.addHeader("If-None-Match", ETAG);
+        MockHttpServletResponse notModified = send(sender, "large.jpg", conditional);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+
+        assertEquals(3.0, meterRegistry.get("portfolio.media.transfers").tag("mode", "sendfile").counter().count());
+        assertFalse(sender.send(directory.resolve("missing.jpg"), MediaType.IMAGE_JPEG, CACHE_CONTROL, ETAG,
+                request(), new MockHttpServletResponse()));
+    }
+
+    /**
+     * Small files, and any file without sendfile support, are left to resource handling untouched
+     */
+    @Test
+    void testFallsBackWithoutSendfile() throws IOException {
+        write("large.jpg", 100_000);
+        write("small.jpg", 1_000);
+        MediaFileSender sender = sender();
+
+        MockHttpServletRequest unsupported = new MockHttpServletRequest("GET", "/media/images/abc/original.jpg");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(sender.send(directory.resolve("large.jpg"), MediaType.IMAGE_JPEG, CACHE_CONTROL, ETAG,
+                unsupported, response));
+        assertFalse(sender.send(directory.resolve("small.jpg"), MediaType.IMAGE_JPEG, CACHE_CONTROL, ETAG,
+                request(), response));
+
+        assertTrue(response.getHeaderNames().isEmpty());
+        assertEquals(2.0, meterRegistry.get("portfolio.media.transfers").tag("mode", "resource").counter().count());
+    }
+
+    /**
+     * The least recently used handle is closed when the cache is full, but not while it is in use
+     */
+    @Test
+    void testHandlesEvictedLeastRecentlyUsed() throws IOException {
+        write("a.jpg", 10);
+        write("b.jpg", 10);
+        write("c.jpg", 10);
+        handles = new FileHandleCache(2, meterRegistry);
+
+        FileHandleCache.Handle a = handles.acquire(directory.resolve("a.jpg"));
+        a.close();
+        FileHandleCache.Handle b = handles.acquire(directory.resolve("b.jpg"));
+        b.close();
+        handles.acquire(directory.resolve("a.jpg")).close();
+        FileHandleCache.Handle inUse = handles.acquire(directory.resolve("c.jpg"));
+
+        assertFalse(b.channel().isOpen());
+        assertTrue(a.channel().isOpen());
+        assertEquals(2, handles.size());
+
+        handles.acquire(directory.resolve("b.jpg")).close();
+        handles.acquire(directory.resolve("a.jpg")).close();
+        assertTrue(inUse.channel().isOpen());
+        inUse.close();
+        assertFalse(inUse.channel().isOpen());
+        assertEquals(1.0, meterRegistry.get("portfolio.media.file.handle.requests").tag("result", "hit").counter().count());
+    }
+
+    private MediaFileSender sender() {
+        handles = new FileHandleCache(16, meterRegistry);
+        return new MediaFileSender(handles, 48 * 1024, meterRegistry);
+    }
+
+    private MockHttpServletResponse send(MediaFileSender sender, String file, MockHttpServletRequest request)
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(sender.send(directory.resolve(file), MediaType.IMAGE_JPEG, CACHE_CONTROL, ETAG, request, response));
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media/images/abc/original.jpg");
+        request.setAttribute(MediaFileSender.SENDFILE_SUPPORT, Boolean.TRUE);
+        return request;
+    }
+
+    private byte[] write(String name, int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Files.write(directory.resolve(name), content);
+        return content;
+    }
+}
@@ -0,0 +1,98 @@
+package com.portfolio.monitoring;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the JDBC statement instrumentation, run against an in-memory H2 database
+ */
+class InstrumentedDataSourceTests {
+
+    private final List<QueryExecution> executions = new ArrayList<>();
+
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1");
+
+        QueryExecutionListener listener = executions::add;
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("listener", listener));
+        dataSource = new InstrumentedDataSource(h2, beanFactory.getBeanProvider(QueryExecutionListener.class));
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS skills (id INT, name VARCHAR(100), proficiency_level INT)");
+            statement.execute("DELETE FROM skills");
+        }
+        executions.clear();
+    }
+
+    /**
+     * Prepared statements report their SQL and bind values in index order
+     */
+    @Test
+    void testPreparedStatementReportsSqlAndParameters() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO skills (id, name, proficiency_level) VALUES (?, ?, ?)")) {
+            statement.setInt(1, 1);
+            statement.setString(2, "Java");
+            statement.setNull(3, java.sql.Types.INTEGER);
+            statement.executeUpdate();
+        }
+
+        assertEquals(1, executions.size());
+        QueryExecution execution = executions.get(0);
+        assertTrue(execution.getSql().startsWith("INSERT INTO skills"));
+        assertEquals(Arrays.asList(1, "Java", null), execution.getParameters());
+        assertTrue(execution.isSuccess());
+    }
+
+    /**
+     * Plain statements report the SQL passed to execute
+     */
+    @Test
+    void testPlainStatementReportsExecutedSql() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM skills")) {
+            assertTrue(resultSet.next());
+        }
+
+        assertEquals(1, executions.size());
+        assertEquals("SELECT COUNT(*) FROM skills", executions.get(0).getSql());
+        assertTrue(executions.get(0).getParameters().isEmpty());
+    }
+
+    /**
+     * Failed statements are reported and the original exception is propagated
+     */
+    @Test
+    void testFailedStatementIsReported() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThrows(java.sql.SQLException.class, () -> statement.executeQuery("SELECT * FROM missing_table"));
+        }
+
+        assertEquals(1, executions.size());
+        assertFalse(executions.get(0).isSuccess());
+    }
+}
@@ -0,0 +1,199 @@
+package com.portfolio.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for SQL budget tracking, using an N+1 style loop against an in-memory H2 database
+ */
+class SqlBudgetTrackerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SqlBudgetTracker tracker;
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SqlBudget budget = new SqlBudget();
+        budget.setMaxRepeatedStatements(3);
+        tracker = new SqlBudgetTracker(meterRegistry, budget, Map.of(), true);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:budget;DB_CLOSE_DELAY=-1");
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("tracker", tracker));
+        dataSource = new InstrumentedDataSource(h2, beanFactory.getBeanProvider(QueryExecutionListener.class));
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS skills (id INT, portfolio_id INT, name VARCHAR(100))");
+            statement.execute("DELETE FROM skills");
+            statement.execute("INSERT INTO skills VALUES (1, 1, 'Java'), (2, 1, 'SQL'), (3, 2, 'Go')");
+        }
+    }
+
+    /**
+     * Statements and fetched rows are charged to the open scope and published as metrics
+     */
+    @Test
+    void testScopeCountsStatementsAndRows() throws Exception {
+        SqlScope scope = tracker.begin("service", "PortfolioService.getAllPortfolios");
+        loadSkills(1);
+        loadSkills(2);
+        tracker.end(scope);
+
+        assertEquals(2, scope.getStatementCount());
+        assertEquals(3, scope.getRowCount());
+        assertEquals(3.0, meterRegistry.get("portfolio.sql.rows")
+                .tag("name", "PortfolioService.getAllPortfolios").summary().totalAmount());
+    }
+
+    /**
+     * The same statement shape repeated past the budget fails the scope and names the statement
+     */
+    @Test
+    void testRepeatedStatementExceedsBudget() throws Exception {
+        SqlScope scope = tracker.begin("http", "GET /api/portfolios");
+        for (int portfolioId = 1; portfolioId <= 5; portfolioId++) {
+            loadSkillsInline(portfolioId);
+        }
+
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class, () -> tracker.end(scope));
+        assertTrue(exception.getMessage().contains("repeatedStatements=5/3"));
+        assertTrue(exception.getMessage().contains("SELECT name FROM skills WHERE portfolio_id = ?"));
+        assertEquals(1.0, meterRegistry.get("portfolio.sql.budget.exceeded").counter().count());
+    }
+
+    /**
+     * Statements are only grouped by shape when there are enough of them to break the repeat limit
+     */
+    @Test
+    void testShapesComputedOnlyWhenNeeded() {
+        SqlScope small = spy(new SqlScope("service", "small"));
+        small.recordStatement("SELECT * FROM skills WHERE portfolio_id = 1", 0);
+        tracker.end(small);
+        verify(small, never()).getMostRepeatedStatement();
+
+        SqlScope large = new SqlScope("service", "large");
+        for (int portfolioId = 0; portfolioId < 4; portfolioId++) {
+            large.recordStatement("SELECT * FROM skills WHERE portfolio_id = " + portfolioId, 0);
+        }
+        assertSame(large.getMostRepeatedStatement(), large.getMostRepeatedStatement());
+        assertEquals(4, large.getMostRepeatedStatement().count());
+    }
+
+    /**
+     * Over budget, a request fails only if the chain completed and nothing has been sent yet;
+     * otherwise the violation is recorded and the chain's own exception comes through
+     */
+    @Test
+    void testFilterFailsOnlyBeforeResponseIsCommitted() throws Exception {
+        SqlBudgetFilter filter = new SqlBudgetFilter(tracker);
+
+        assertThrows(SqlBudgetExceededException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/a"),
+                new MockHttpServletResponse(), (request, response) -> loadSkillsInline(1, 5)));
+
+        MockHttpServletResponse committed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/b"), committed, (request, response) -> {
+            loadSkillsInline(1, 5);
+            response.flushBuffer();
+        });
+        assertTrue(committed.isCommitted());
+
+        IllegalStateException failure = new IllegalStateException("handler failed");
+        assertEquals(failure, assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/c"), new MockHttpServletResponse(), (request, response) -> {
+                    loadSkillsInline(1, 5);
+                    throw failure;
+                })));
+
+        assertEquals(3.0, meterRegistry.get("portfolio.sql.budget.exceeded").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    /**
+     * Nested scopes are each charged for the statements run while they are open
+     */
+    @Test
+    void testNestedScopes() throws Exception {
+        SqlScope request = tracker.begin("http", "GET /api/portfolios/{id}");
+        loadSkills(1);
+        SqlScope service = tracker.begin("service", "PortfolioService.getPortfolioById");
+        loadSkills(2);
+        tracker.end(service);
+        tracker.end(request);
+
+        assertEquals(1, service.getStatementCount());
+        assertEquals(2, request.getStatementCount());
+    }
+
+    /**
+     * Statements in an isolated scope count against its own budget only, not the scopes around it
+     */
+    @Test
+    void testIsolatedScopesKeepBatchesApart() throws Exception {
+        SqlScope job = tracker.begin("service", "AnalyticsAggregateService.rebuildAggregates");
+        for (int batch = 1; batch <= 3; batch++) {
+            SqlScope scope = tracker.beginIsolated("batch", "AnalyticsAggregateService.rebuildBatch");
+            loadSkillsInline(1, 3);
+            tracker.end(scope);
+            assertEquals(3, scope.getStatementCount());
+        }
+        loadSkills(1);
+        tracker.end(job);
+
+        assertEquals(1, job.getStatementCount());
+        assertEquals(2, job.getRowCount());
+    }
+
+    private void loadSkills(int portfolioId) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM skills WHERE portfolio_id = ?")) {
+            statement.setInt(1, portfolioId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getString(1);
+                }
+            }
+        }
+    }
+
+    private void loadSkillsInline(int firstPortfolioId, int lastPortfolioId) {
+        try {
+            for (int portfolioId = firstPortfolioId; portfolioId <= lastPortfolioId; portfolioId++) {
+                loadSkillsInline(portfolioId);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void loadSkillsInline(int portfolioId) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM skills WHERE portfolio_id = " + portfolioId)) {
+            while (resultSet.next()) {
+                resultSet.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.portfolio.repository;
+
+import com.portfolio.entity.AnalyticsAggregate;
+import com.portfolio.entity.Education;
+import com.portfolio.entity.Experience;
+import com.portfolio.entity.OutboxEvent;
+import com.portfolio.entity.Portfolio;
+import com.portfolio.entity.PortfolioView;
+import com.portfolio.entity.Project;
+import com.portfolio.entity.Skill;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL and checks with EXPLAIN that repository queries
+ * use the indexes they add. Needs a database the user may create schemas in:
+ * PORTFOLIO_TEST_POSTGRES_URL (plus optional _USER and _PASSWORD); skipped otherwise.
+ */
+@EnabledIfEnvironmentVariable(named = "PORTFOLIO_TEST_POSTGRES_URL", matches = ".+")
+class MigrationIndexPlanTests {
+
+    private static final String URL = System.getenv("PORTFOLIO_TEST_POSTGRES_URL");
+    private static final String USER = Objects.requireNonNullElse(System.getenv("PORTFOLIO_TEST_POSTGRES_USER"), "postgres");
+    private static final String PASSWORD = Objects.requireNonNullElse(System.getenv("PORTFOLIO_TEST_POSTGRES_PASSWORD"), "");
+    private static final String SCHEMA = "migration_test_" + System.currentTimeMillis();
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        // 20,000 portfolios, 90% soft-deleted, each with 5 rows in every child table
+        execute("""
+                insert into portfolios (full_name, title, email, is_active, created_at, updated_at)
+                select 'Person ' || i, 'Engineer', 'Person' || i || '@Example.com', i % 10 = 0,
+                       now(), now() - i * interval '1 minute'
+                from generate_series(1, 20000) i""");
+        for (String table : new String[] {"projects", "skills", "experiences", "educations"}) {
+            execute(childInsert(table));
+        }
+        execute("analyze");
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+    }
+
+    /**
+     * The migrated schema matches the entity mappings, so production can run ddl-auto=validate
+     */
+    @Test
+    void testMigratedSchemaValidatesAgainstEntities() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("jakarta.persistence.jdbc.url", URL)
+                .applySetting("jakarta.persistence.jdbc.user", USER)
+                .applySetting("jakarta.persistence.jdbc.password", PASSWORD)
+                .applySetting("hibernate.default_schema", SCHEMA)
+                .applySetting("hibernate.hbm2ddl.auto", "validate")
+                .applySetting("hibernate.physical_naming_strategy",
+                        "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl")
+                .applySetting("hibernate.implicit_naming_strategy",
+                        "org.hibernate.boot.model.naming.ImplicitNamingStrategyLegacyJpaImpl")
+                .build();
+        try {
+            new MetadataSources(registry)
+                    .addAnnotatedClasses(Portfolio.class, Project.class, Skill.class, Experience.class,
+                            Education.class, AnalyticsAggregate.class, OutboxEvent.class,
+                            PortfolioView.class)
+                    .buildMetadata()
+                    .buildSessionFactory()
+                    .close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    /**
+     * Active children of one portfolio in display order come from the partial index, without a sort
+     */
+    @Test
+    void testActiveChildrenInDisplayOrderUsePartialIndex() throws SQLException {
+        for (String table : new String[] {"projects", "skills", "experiences", "educations"}) {
+            String plan = explain("select * from " + table
+                    + " where portfolio_id = 12340 and is_active = true order by display_order asc");
+            assertTrue(plan.contains("idx_" + table + "_active_display"), plan);
+            assertFalse(plan.contains("Sort"), plan);
+        }
+    }
+
+    /**
+     * Child lookups that include inactive rows use the foreign key index
+     */
+    @Test
+    void testChildLookupsUseForeignKeyIndex() throws SQLException {
+        for (String table : new String[] {"projects", "experiences", "educations"}) {
+            String plan = explain("select * from " + table + " where portfolio_id = 12345");
+            assertTrue(plan.contains("idx_" + table + "_portfolio"), plan);
+        }
+    }
+
+    /**
+     * findRecentlyUpdatedPortfolios reads active portfolios newest first from the partial index
+     */
+    @Test
+    void testRecentlyUpdatedUsesPartialIndex() throws SQLException {
+        String plan = explain("select * from portfolios where is_active = true order by updated_at desc limit 20");
+        assertTrue(plan.contains("idx_portfolios_active_updated"), plan);
+    }
+
+    /**
+     * findByEmailIgnoreCase, as generated by Spring Data (upper on both sides), uses the expression index
+     */
+    @Test
+    void testEmailIgnoreCaseUsesExpressionIndex() throws SQLException {
+        String plan = explain("select * from portfolios where upper(email) = upper('person12340@example.COM')");
+        assertTrue(plan.contains("idx_portfolios_email_upper"), plan);
+    }
+
+    /**
+     * The view upsert inserts a first flush, and on later flushes adds the views on top of the
+     * score decayed by the time since the previous flush
+     */
+    @Test
+    void testViewUpsertDecaysScore() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("set search_path to " + SCHEMA);
+            LocalDateTime first = LocalDateTime.of(2024, 1, 1, 12, 0);
+            for (LocalDateTime at : new LocalDateTime[] {first, first.plusHours(6)}) {
+                try (PreparedStatement upsert = connection.prepareStatement(PortfolioViewUpsertsImpl.UPSERT)) {
+                    upsert.setLong(1, 12340);
+                    upsert.setLong(2, 4);
+                    upsert.setDouble(3, 4);
+                    upsert.setTimestamp(4, Timestamp.valueOf(at));
+                    upsert.setDouble(5, Duration.ofHours(6).toSeconds());
+                    upsert.executeUpdate();
+                }
+            }
+            try (ResultSet row = statement.executeQuery(
+                    "select view_count, score from portfolio_views where portfolio_id = 12340")) {
+                assertTrue(row.next());
+                assertEquals(8, row.getLong("view_count"));
+                assertEquals(6.0, row.getDouble("score"), 1e-9);
+            }
+        }
+    }
+
+    private static String childInsert(String table) {
+        String columns = switch (table) {
+            case "projects" -> "name, is_featured, status, category";
+            case "skills" -> "name, proficiency_level, category, skill_type, is_featured";
+            case "experiences" -> "job_title, company_name, start_date, is_current, employment_type, is_featured";
+            default -> "degree, institution, start_date, is_current, degree_type, status, is_featured";
+        };
+        String values = switch (table) {
+            case "projects" -> "'Project ' || n, false, 'COMPLETED', 'WEB_APPLICATION'";
+            case "skills" -> "'Skill ' || n, 5, 'TECHNICAL', 'PROGRAMMING_LANGUAGE', false";
+            case "experiences" -> "'Engineer', 'Company ' || n, current_date, false, 'FULL_TIME', false";
+            default -> "'BSc', 'University ' || n, current_date, false, 'BACHELOR', 'COMPLETED', false";
+        };
+        return "insert into " + table + " (portfolio_id, " + columns + ", is_active, display_order, created_at) "
+                + "select p.id, " + values + ", p.is_active, n, now() "
+                + "from portfolios p cross join generate_series(1, 5) n";
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("set search_path to " + SCHEMA);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery("explain " + sql)) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("set search_path to " + SCHEMA);
+            statement.execute(sql);
+        }
+    }
+}
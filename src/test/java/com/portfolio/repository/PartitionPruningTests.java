@@ -0,0 +1,148 @@
+package com.portfolio.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the optional partitioning migrations (db/partitioning) on top of the regular ones and
+ * checks that per-portfolio queries only touch one partition, both with literal values and with
+ * the generic plans of prepared statements. Same PostgreSQL settings as {@link MigrationIndexPlanTests}.
+ */
+@EnabledIfEnvironmentVariable(named = "PORTFOLIO_TEST_POSTGRES_URL", matches = ".+")
+class PartitionPruningTests {
+
+    private static final String URL = System.getenv("PORTFOLIO_TEST_POSTGRES_URL");
+    private static final String USER = Objects.requireNonNullElse(System.getenv("PORTFOLIO_TEST_POSTGRES_USER"), "postgres");
+    private static final String PASSWORD = Objects.requireNonNullElse(System.getenv("PORTFOLIO_TEST_POSTGRES_PASSWORD"), "");
+    private static final String SCHEMA = "partition_test_" + System.currentTimeMillis();
+    private static final int PARTITIONS = 8;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration", "classpath:db/partitioning")
+                .placeholders(Map.of("partitions", String.valueOf(PARTITIONS)))
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        execute("""
+                insert into portfolios (full_name, title, email, is_active, created_at)
+                select 'Person ' || i, 'Engineer', 'person' || i || '@example.com', true, now()
+                from generate_series(1, 1000) i""");
+        execute("""
+                insert into projects (portfolio_id, name, is_featured, is_active, display_order, status, category, created_at)
+                select p.id, 'Project ' || n, false, true, n, 'COMPLETED', 'API', now()
+                from portfolios p cross join generate_series(1, 10) n""");
+        execute("analyze");
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        execute("drop schema if exists " + SCHEMA + " cascade");
+    }
+
+    /**
+     * Both child tables are partitioned and accept inserts through their original id sequences
+     */
+    @Test
+    void testTablesArePartitioned() throws SQLException {
+        assertEquals("10000", query("select count(*) from projects"));
+        assertEquals(String.valueOf(PARTITIONS),
+                query("select count(*) from pg_inherits where inhparent = 'projects'::regclass"));
+        assertEquals(String.valueOf(PARTITIONS),
+                query("select count(*) from pg_inherits where inhparent = 'skills'::regclass"));
+    }
+
+    /**
+     * A per-portfolio lookup with a literal portfolio id is pruned to one partition at planning time
+     */
+    @Test
+    void testLookupPrunedAtPlanning() throws SQLException {
+        String plan = explain("explain (costs off) select * from projects "
+                + "where portfolio_id = 42 and is_active = true order by display_order");
+        assertEquals(1, countPartitions(plan), plan);
+    }
+
+    /**
+     * Prepared statements with a generic plan are pruned when they execute
+     */
+    @Test
+    void testPreparedLookupPrunedAtExecution() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("set plan_cache_mode = force_generic_plan");
+            statement.execute("prepare lookup(bigint) as select * from projects "
+                    + "where portfolio_id = $1 and is_active = true order by display_order");
+            String plan = explain(statement, "explain (analyze, costs off, timing off) execute lookup(42)");
+            assertTrue(plan.contains("Subplans Removed: " + (PARTITIONS - 1)), plan);
+        }
+    }
+
+    private static int countPartitions(String plan) {
+        Matcher matcher = Pattern.compile("projects_p\\d+\\b").matcher(plan);
+        Set<String> partitions = new HashSet<>();
+        while (matcher.find()) {
+            partitions.add(matcher.group());
+        }
+        return partitions.size();
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            return explain(statement, sql);
+        }
+    }
+
+    private static String explain(Statement statement, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static String query(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set search_path to " + SCHEMA);
+        }
+        return connection;
+    }
+}
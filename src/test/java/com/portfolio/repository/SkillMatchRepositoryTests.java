@@ -0,0 +1,176 @@
+package com.portfolio.repository;
+
+import com.portfolio.dto.SkillMatchRequestDTO.SkillCriterion;
+import com.portfolio.entity.Education;
+import com.portfolio.entity.Experience;
+import com.portfolio.entity.Portfolio;
+import com.portfolio.entity.Project;
+import com.portfolio.entity.Skill;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the generated skill-matching query, run by Hibernate against an H2 schema
+ */
+class SkillMatchRepositoryTests {
+
+    private static StandardServiceRegistry registry;
+    private static SessionFactory sessionFactory;
+    private static final Map<String, Long> ids = new HashMap<>();
+
+    private EntityManager entityManager;
+    private SkillMatchRepositoryImpl repository;
+
+    @BeforeAll
+    static void createSchema() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.driver_class", "org.h2.Driver")
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:skill-match;DB_CLOSE_DELAY=-1")
+                .applySetting("hibernate.connection.username", "sa")
+                .applySetting("hibernate.hbm2ddl.auto", "create-drop")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Portfolio.class, Project.class, Skill.class, Experience.class, Education.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        EntityManager setup = sessionFactory.createEntityManager();
+        setup.getTransaction().begin();
+        portfolio(setup, "ada", true, "Java", 8, "PostgreSQL", 6);
+        portfolio(setup, "bob", true, "Java", 5, "JavaScript", 9);
+        portfolio(setup, "cy", false, "Java", 10, "PostgreSQL", 10);
+        portfolio(setup, "dee", true, "C_Sharp", 7, "50%Off", 4);
+        portfolio(setup, "eve", true, "CxSharp", 7, "50xOff", 4);
+        setup.getTransaction().commit();
+        setup.close();
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @BeforeEach
+    void openEntityManager() {
+        entityManager = sessionFactory.createEntityManager();
+        repository = new SkillMatchRepositoryImpl(entityManager);
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        entityManager.close();
+    }
+
+    /**
+     * An exact criterion matches the whole normalized name; a prefix criterion also matches longer names
+     */
+    @Test
+    void testExactVersusPrefix() {
+        assertEquals(Map.of("ada", 8, "bob", 5),
+                proficiencies(repository.matchPortfoliosBySkills(List.of(exact(" JAVA ", 1)), true, null)));
+        assertEquals(Map.of("ada", 8, "bob", 9),
+                proficiencies(repository.matchPortfoliosBySkills(List.of(prefix("java", 1)), true, null)));
+    }
+
+    /**
+     * % and _ in a prefix match themselves, not any characters
+     */
+    @Test
+    void testPrefixEscapesWildcards() {
+        assertEquals(Map.of("dee", 7),
+                proficiencies(repository.matchPortfoliosBySkills(List.of(prefix("c_", 1)), true, null)));
+        assertEquals(Map.of("dee", 4),
+                proficiencies(repository.matchPortfoliosBySkills(List.of(prefix("50%", 1)), true, null)));
+    }
+
+    /**
+     * With one criterion, require-all keeps every portfolio meeting its minimum proficiency
+     */
+    @Test
+    void testRequireAllWithOneCriterion() {
+        assertEquals(Map.of("ada", 8),
+                proficiencies(repository.matchPortfoliosBySkills(List.of(exact("java", 6)), true, null)));
+    }
+
+    /**
+     * With several criteria, require-all drops portfolios missing one; any-match keeps them with 0
+     * for the missing skill. Inactive portfolios never match.
+     */
+    @Test
+    void testRequireAllWithSeveralCriteria() {
+        List<SkillCriterion> criteria = List.of(exact("java", 5), exact("postgresql", 5));
+
+        List<Object[]> all = repository.matchPortfoliosBySkills(criteria, true, null);
+        assertEquals(List.of("ada"), names(all));
+        assertEquals(List.of(14, 8, 6), numbers(all.get(0)));
+
+        List<Object[]> any = repository.matchPortfoliosBySkills(criteria, false, null);
+        assertEquals(List.of("ada", "bob"), names(any));
+        assertEquals(List.of(5, 5, 0), numbers(any.get(1)));
+    }
+
+    /**
+     * Rows come highest total first, ties by portfolio id, cut at the limit
+     */
+    @Test
+    void testOrderingAndLimit() {
+        List<SkillCriterion> criteria = List.of(prefix("c", 1), prefix("java", 1));
+
+        assertEquals(List.of("bob", "ada", "dee", "eve"),
+                names(repository.matchPortfoliosBySkills(criteria, false, null)));
+        assertEquals(List.of("bob", "ada"),
+                names(repository.matchPortfoliosBySkills(criteria, false, 2)));
+    }
+
+    private static void portfolio(EntityManager entityManager, String name, boolean active,
+                                  String skill1, int level1, String skill2, int level2) {
+        Portfolio portfolio = new Portfolio(name, "Engineer", name + "@example.com");
+        portfolio.setIsActive(active);
+        entityManager.persist(portfolio);
+        entityManager.persist(new Skill(skill1, level1, Skill.SkillCategory.TECHNICAL, portfolio));
+        entityManager.persist(new Skill(skill2, level2, Skill.SkillCategory.TECHNICAL, portfolio));
+        ids.put(name, portfolio.getId());
+    }
+
+    private static SkillCriterion exact(String name, int minProficiency) {
+        return new SkillCriterion(name, minProficiency, false);
+    }
+
+    private static SkillCriterion prefix(String name, int minProficiency) {
+        return new SkillCriterion(name, minProficiency, true);
+    }
+
+    private static String name(Object id) {
+        return ids.entrySet().stream().filter(entry -> entry.getValue().equals(id)).findFirst().orElseThrow().getKey();
+    }
+
+    private static List<String> names(List<Object[]> rows) {
+        return rows.stream().map(row -> name(row[0])).collect(Collectors.toList());
+    }
+
+    private static Map<String, Integer> proficiencies(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.toMap(row -> name(row[0]), row -> ((Number) row[2]).intValue()));
+    }
+
+    private static List<Integer> numbers(Object[] row) {
+        return List.of(row).subList(1, row.length).stream()
+                .map(value -> ((Number) value).intValue())
+                .collect(Collectors.toList());
+    }
+}
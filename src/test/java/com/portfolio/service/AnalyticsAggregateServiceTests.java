@@ -0,0 +1,174 @@
+package com.portfolio.service;
+
+import com.portfolio.config.AnalyticsAggregateProperties;
+import com.portfolio.datasource.ClusterLock;
+import com.portfolio.entity.AnalyticsPendingChange;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.monitoring.SqlBudgetTracker;
+import com.portfolio.repository.AnalyticsAggregateRepository;
+import com.portfolio.repository.AnalyticsPendingChangeRepository;
+import com.portfolio.repository.PortfolioRepository;
+import com.portfolio.repository.ProjectRepository;
+import com.portfolio.repository.SkillRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the analytics rebuild: which pending changes it covers and when it runs at startup.
+ * The pending marks are kept in a map standing in for their table.
+ */
+class AnalyticsAggregateServiceTests {
+
+    private final AnalyticsAggregateRepository aggregateRepository = mock(AnalyticsAggregateRepository.class);
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final AnalyticsPendingChangeRepository pendingRepository = mock(AnalyticsPendingChangeRepository.class);
+    // Stored pending marks by portfolio
+    private final Map<Long, AnalyticsPendingChange> marks = new HashMap<>();
+    private AnalyticsAggregateService service;
+    private long eventId;
+
+    @BeforeEach
+    void setUp() {
+        service = newService();
+        when(portfolioRepository.findActivePortfolioIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(portfolioRepository.findActivePortfolioIdsAfter(eq(2L), any())).thenReturn(List.of());
+        storeMarksInMemory();
+    }
+
+    /**
+     * A change marked after the rebuild read its portfolio stays pending; earlier ones are covered
+     */
+    @Test
+    void testChangeDuringRebuildStaysPending() {
+        service.onPortfolioChanged(changed(1L));
+        service.onPortfolioChanged(changed(2L));
+        when(portfolioRepository.findActivePortfolioExperience(anyCollection())).thenAnswer(invocation -> {
+            service.onPortfolioChanged(changed(2L));
+            return List.of();
+        });
+
+        service.rebuildAggregates();
+
+        assertEquals(1L, service.getStatus().get("pendingPortfolios"));
+        when(portfolioRepository.findActivePortfolioExperience(anyCollection())).thenReturn(List.of());
+        service.applyPendingChanges();
+        assertEquals(0L, service.getStatus().get("pendingPortfolios"));
+    }
+
+    /**
+     * A marked change is applied by the next node to run, not lost with the one that received it
+     */
+    @Test
+    void testPendingChangeSurvivesRestart() {
+        service.onPortfolioChanged(changed(1L));
+        service.onPortfolioChanged(changed(1L));
+        when(portfolioRepository.findActivePortfolioExperience(anyCollection())).thenReturn(List.of());
+
+        newService().applyPendingChanges();
+
+        verify(portfolioRepository).findActivePortfolioExperience(List.of(1L));
+        assertEquals(0, marks.size());
+    }
+
+    /**
+     * At startup the rebuild runs when the totals are missing and is skipped while they are current
+     */
+    @Test
+    void testStartupRebuildOnlyWhenStale() {
+        when(aggregateRepository.findLastUpdatedAt(0L)).thenReturn(LocalDateTime.now().minusHours(1));
+        service.rebuildIfStale();
+        verify(portfolioRepository, never()).findActivePortfolioIdsAfter(any(), any());
+
+        when(aggregateRepository.findLastUpdatedAt(0L)).thenReturn(null);
+        service.rebuildIfStale();
+        verify(portfolioRepository).findActivePortfolioIdsAfter(eq(2L), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private AnalyticsAggregateService newService() {
+        DataSourceProperties dataSource = new DataSourceProperties();
+        dataSource.setUrl("jdbc:h2:mem:analytics");
+        ObjectProvider<SqlBudgetTracker> budgetTracker = mock(ObjectProvider.class);
+        return new AnalyticsAggregateService(aggregateRepository, pendingRepository, portfolioRepository,
+                mock(SkillRepository.class), mock(ProjectRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), budgetTracker,
+                new ClusterLock(dataSource), new AnalyticsAggregateProperties(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Back the pending repository with {@link #marks}, handing out copies as a database would
+     */
+    @SuppressWarnings("unchecked")
+    private void storeMarksInMemory() {
+        when(pendingRepository.countChange(anyLong())).thenAnswer(invocation -> {
+            AnalyticsPendingChange mark = marks.get(invocation.<Long>getArgument(0));
+            if (mark == null) {
+                return 0;
+            }
+            mark.setChangeCount(mark.getChangeCount() + 1);
+            return 1;
+        });
+        when(pendingRepository.save(any(AnalyticsPendingChange.class))).thenAnswer(invocation -> {
+            AnalyticsPendingChange mark = invocation.getArgument(0);
+            marks.put(mark.getPortfolioId(), copy(mark));
+            return mark;
+        });
+        when(pendingRepository.lockOldest(any())).thenAnswer(invocation ->
+                marks.values().stream().map(this::copy).toList());
+        when(pendingRepository.findByPortfolioIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(marks::containsKey)
+                        .map(portfolioId -> copy(marks.get(portfolioId)))
+                        .toList());
+        when(pendingRepository.deleteIfUnchanged(anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            AnalyticsPendingChange mark = marks.get(invocation.<Long>getArgument(0));
+            if (mark == null || !mark.getFirstChangedAt().equals(invocation.getArgument(1))
+                    || mark.getChangeCount() != invocation.<Long>getArgument(2)) {
+                return 0;
+            }
+            marks.remove(mark.getPortfolioId());
+            return 1;
+        });
+        doAnswer(invocation -> {
+            for (AnalyticsPendingChange mark : invocation.<Iterable<AnalyticsPendingChange>>getArgument(0)) {
+                marks.remove(mark.getPortfolioId());
+            }
+            return null;
+        }).when(pendingRepository).deleteAllInBatch(any(Iterable.class));
+        when(pendingRepository.count()).thenAnswer(invocation -> (long) marks.size());
+    }
+
+    private AnalyticsPendingChange copy(AnalyticsPendingChange mark) {
+        AnalyticsPendingChange copy = new AnalyticsPendingChange(mark.getPortfolioId(), mark.getFirstChangedAt());
+        copy.setChangeCount(mark.getChangeCount());
+        return copy;
+    }
+
+    private PortfolioChangedEvent changed(long portfolioId) {
+        return new PortfolioChangedEvent(++eventId, portfolioId, PortfolioChangedEvent.ChangeType.UPDATED,
+                Instant.now());
+    }
+}
@@ -0,0 +1,216 @@
+package com.portfolio.service;
+
+import com.portfolio.cache.InJvmInvalidationBroadcaster;
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.config.MediaProperties;
+import com.portfolio.config.UploadProperties;
+import com.portfolio.dto.ImageDTO;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.exception.GlobalExceptionHandler.MediaBusyException;
+import com.portfolio.media.InMemoryMediaStorage;
+import com.portfolio.media.ResponsiveImages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for image uploads and their responsive variants
+ */
+class MediaServiceTests {
+
+    private final InMemoryMediaStorage storage = spy(new InMemoryMediaStorage());
+    private final ResponsiveImages images = new ResponsiveImages(storage);
+    private final PortfolioService portfolioService = mock(PortfolioService.class);
+    private final MediaProperties properties = new MediaProperties();
+    private final MediaService mediaService = newService();
+
+    @BeforeEach
+    void activePortfolio() {
+        when(portfolioService.isActivePortfolio(1L)).thenReturn(true);
+        when(portfolioService.isActivePortfolioProject(1L, 2L)).thenReturn(true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        mediaService.shutdown();
+    }
+
+    /**
+     * An upload is linked at once, and its variants below the original's width follow in the background
+     */
+    @Test
+    void testUploadGeneratesVariants() throws Exception {
+        when(portfolioService.updateProfileImage(eq(1L), anyString())).thenReturn(true);
+
+        ImageDTO uploaded = mediaService.uploadProfileImage(1L, upload("photo.png", image(1000, 600, false), "png"))
+                .orElseThrow();
+
+        assertTrue(uploaded.getUrl().matches("/media/images/[0-9a-f]{16}/original\\.png"), uploaded.getUrl());
+        assertEquals(1000, uploaded.getWidth());
+        verify(portfolioService).updateProfileImage(1L, uploaded.getUrl());
+
+        String hash = uploaded.getUrl().split("/")[3];
+        String srcset = awaitSrcset(hash);
+        String base = "/media/images/" + hash + "/";
+        assertEquals(base + "320w.jpg 320w, " + base + "640w.jpg 640w, " + base + "960w.jpg 960w, "
+                + base + "original.png 1000w", srcset);
+        assertEquals(srcset, images.srcset(uploaded.getUrl()));
+        try (InputStream in = mediaService.openImage(hash, "320w.jpg").orElseThrow().getInputStream()) {
+            BufferedImage variant = ImageIO.read(in);
+            assertEquals(320, variant.getWidth());
+            assertEquals(192, variant.getHeight());
+        }
+        assertTrue(mediaService.openImage(hash, "1280w.jpg").isEmpty());
+        assertTrue(mediaService.openImage(hash, "../" + hash + "/original.png").isEmpty());
+    }
+
+    /**
+     * Transparent images keep their alpha channel in PNG variants; small images get none
+     */
+    @Test
+    void testVariantFormatFollowsImage() throws Exception {
+        properties.setWidths(List.of(64, 400));
+        when(portfolioService.updateProjectImage(eq(1L), eq(2L), anyString())).thenReturn(true);
+
+        String url = mediaService.uploadProjectImage(1L, 2L, upload("logo.png", image(200, 100, true), "png"))
+                .orElseThrow().getUrl();
+        String hash = url.split("/")[3];
+        String srcset = awaitSrcset(hash);
+
+        assertTrue(srcset.startsWith("/media/images/" + hash + "/64w.png 64w, "), srcset);
+        try (InputStream in = mediaService.openImage(hash, "64w.png").orElseThrow().getInputStream()) {
+            assertTrue(ImageIO.read(in).getColorModel().hasAlpha());
+        }
+
+        properties.setWidths(List.of(640));
+        String small = mediaService.uploadProjectImage(1L, 2L, upload("icon.jpg", image(100, 100, false), "jpg"))
+                .orElseThrow().getUrl();
+        mediaService.generateVariants(small.split("/")[3]);
+        assertNull(images.srcset(small));
+    }
+
+    /**
+     * Files that are not allowed images, or that are too large to decode, are refused
+     */
+    @Test
+    void testInvalidUploadsRejected() throws IOException {
+        properties.setMaxPixels(10_000);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                mediaService.uploadProfileImage(1L, new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[10])));
+        assertThrows(IllegalArgumentException.class, () ->
+                mediaService.uploadProfileImage(1L, new MockMultipartFile("file", "photo.png", "image/png", "not an image".getBytes())));
+        MockMultipartFile large = upload("large.png", image(200, 200, false), "png");
+        assertThrows(IllegalArgumentException.class, () -> mediaService.uploadProfileImage(1L, large));
+    }
+
+    /**
+     * Uploads for a missing portfolio or another portfolio's project are refused before anything
+     * is stored or resized
+     */
+    @Test
+    void testUnknownPortfolioStoresNothing() throws IOException {
+        MockMultipartFile photo = upload("photo.png", image(400, 300, false), "png");
+
+        assertEquals(Optional.empty(), mediaService.uploadProfileImage(9L, photo));
+        assertEquals(Optional.empty(), mediaService.uploadProjectImage(1L, 5L, photo));
+
+        verify(storage, never()).put(anyString(), any());
+        verify(portfolioService, never()).updateProfileImage(anyLong(), anyString());
+        verify(portfolioService, never()).updateProjectImage(anyLong(), anyLong(), anyString());
+    }
+
+    /**
+     * An upload turned away because the variant pool is full stores nothing and links nothing
+     */
+    @Test
+    void testFullPoolStoresNothing() throws Exception {
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        CountDownLatch variantsBlocked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            variantsBlocked.await();
+            return invocation.callRealMethod();
+        }).when(storage).put(matches(".*/\\d+w\\.jpg"), any());
+        when(portfolioService.updateProfileImage(eq(1L), anyString())).thenReturn(true);
+        MediaService busy = newService();
+        try {
+            busy.uploadProfileImage(1L, upload("first.png", image(1000, 600, false), "png"));
+            busy.uploadProfileImage(1L, upload("second.png", image(1000, 601, false), "png"));
+            MockMultipartFile third = upload("third.png", image(1000, 602, false), "png");
+
+            assertThrows(MediaBusyException.class, () -> busy.uploadProfileImage(1L, third));
+
+            verify(storage, times(2)).put(matches(".*/original\\.png"), any());
+            verify(storage, times(2)).put(matches(".*/image\\.properties"), any());
+            verify(portfolioService, times(2)).updateProfileImage(eq(1L), anyString());
+        } finally {
+            variantsBlocked.countDown();
+            busy.shutdown();
+        }
+    }
+
+    private MediaService newService() {
+        return new MediaService(storage, images, portfolioService,
+                new InvalidatingCache<PortfolioDTO>("portfolios", new InJvmInvalidationBroadcaster(), Duration.ofHours(1),
+                        100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                properties, new UploadProperties(), new SimpleMeterRegistry());
+    }
+
+    private String awaitSrcset(String hash) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            String srcset = mediaService.getImage(hash).orElseThrow().getSrcset();
+            if (srcset != null) {
+                return srcset;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Variants of " + hash + " were not generated");
+    }
+
+    private static BufferedImage image(int width, int height, boolean alpha) {
+        BufferedImage image = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(alpha ? new Color(200, 40, 40, 120) : Color.ORANGE);
+        graphics.fillOval(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static MockMultipartFile upload(String name, BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, format.equals("jpg") ? "jpeg" : format, bytes);
+        return new MockMultipartFile("file", name, "image/" + format, bytes.toByteArray());
+    }
+}
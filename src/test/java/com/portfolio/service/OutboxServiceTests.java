@@ -0,0 +1,250 @@
+package com.portfolio.service;
+
+import com.portfolio.config.OutboxProperties;
+import com.portfolio.entity.OutboxEvent;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.outbox.OutboxSubscriber;
+import com.portfolio.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for outbox dispatch: ordering per portfolio, retries and abandoning failed events.
+ */
+class OutboxServiceTests {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+    private final OutboxProperties properties = new OutboxProperties();
+
+    /**
+     * A failed event is retried on the next run and holds back later events of its portfolio only
+     */
+    @Test
+    void testFailedEventHoldsBackItsPortfolio() {
+        List<OutboxEvent> events = List.of(event(1, 10), event(2, 20), event(3, 10));
+        when(repository.lockUndispatched(any())).thenAnswer(invocation -> undispatched(events));
+        when(repository.findOldestUndispatchedIds(anyString(), anyCollection()))
+                .thenAnswer(invocation -> oldest(undispatched(events)));
+        subscriber.failOnce.add(1L);
+
+        OutboxService service = newService();
+        assertEquals(1, service.dispatchPending());
+        assertEquals(List.of(2L), subscriber.delivered);
+        assertEquals(1, events.get(0).getAttempts());
+        assertNull(events.get(2).getDispatchedAt());
+
+        assertEquals(2, service.dispatchPending());
+        assertEquals(List.of(2L, 1L, 3L), subscriber.delivered);
+    }
+
+    /**
+     * An event that keeps failing is abandoned after the maximum number of attempts
+     */
+    @Test
+    void testEventAbandonedAfterMaxAttempts() {
+        properties.setMaxAttempts(2);
+        List<OutboxEvent> events = List.of(event(1, 10), event(2, 10));
+        when(repository.lockUndispatched(any())).thenAnswer(invocation -> undispatched(events));
+        when(repository.findOldestUndispatchedIds(anyString(), anyCollection()))
+                .thenAnswer(invocation -> oldest(undispatched(events)));
+        subscriber.alwaysFail.add(1L);
+
+        OutboxService service = newService();
+        service.dispatchPending();
+        assertNull(events.get(0).getDispatchedAt());
+        service.dispatchPending();
+        assertNotNull(events.get(0).getDispatchedAt());
+        assertEquals(2, events.get(0).getAttempts());
+
+        service.dispatchPending();
+        assertEquals(List.of(2L), subscriber.delivered);
+    }
+
+    /**
+     * With two dispatchers, one holding a portfolio's oldest event locked, the other skips that
+     * portfolio's later events instead of delivering them first, and still delivers other portfolios
+     */
+    @Test
+    void testConcurrentDispatchersKeepPortfolioOrder() throws Exception {
+        SharedOutbox outbox = new SharedOutbox(List.of(event(1, 10), event(2, 10), event(3, 20)));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+        OutboxSubscriber stalling = new RecordingSubscriber() {
+            @Override
+            public void onPortfolioChanged(PortfolioChangedEvent event) {
+                holding.countDown();
+                try {
+                    otherDone.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+        };
+        OutboxProperties small = new OutboxProperties();
+        small.setBatchSize(1);
+        OutboxService first = newService(outbox.repository(), stalling, small);
+        OutboxService second = newService(outbox.repository(), subscriber, properties);
+
+        ExecutorService thread = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> stalled = thread.submit(() -> outbox.inTransaction(first::dispatchPending));
+            holding.await(5, TimeUnit.SECONDS);
+
+            assertEquals(1, outbox.inTransaction(second::dispatchPending));
+            assertEquals(List.of(3L), subscriber.delivered);
+
+            otherDone.countDown();
+            assertEquals(0, stalled.get(5, TimeUnit.SECONDS));
+        } finally {
+            thread.shutdownNow();
+        }
+
+        assertEquals(2, outbox.inTransaction(second::dispatchPending));
+        assertEquals(List.of(3L, 1L, 2L), subscriber.delivered);
+    }
+
+    private OutboxService newService() {
+        return newService(repository, subscriber, properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OutboxService newService(OutboxEventRepository repository, OutboxSubscriber subscriber,
+                                            OutboxProperties properties) {
+        ObjectProvider<OutboxSubscriber> subscribers = mock(ObjectProvider.class);
+        when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(subscriber));
+        return new OutboxService(repository, subscribers, properties, new SimpleMeterRegistry());
+    }
+
+    private static List<OutboxEvent> undispatched(List<OutboxEvent> events) {
+        return events.stream().filter(event -> event.getDispatchedAt() == null).collect(Collectors.toList());
+    }
+
+    private static List<Object[]> oldest(Collection<OutboxEvent> events) {
+        Map<Long, Long> oldest = new HashMap<>();
+        for (OutboxEvent event : events) {
+            oldest.merge(event.getAggregateId(), event.getId(), Math::min);
+        }
+        return oldest.entrySet().stream().map(entry -> new Object[] {entry.getKey(), entry.getValue()})
+                .collect(Collectors.toList());
+    }
+
+    private static OutboxEvent event(long id, long portfolioId) {
+        OutboxEvent event = new OutboxEvent(OutboxEvent.PORTFOLIO, portfolioId, PortfolioChangedEvent.ChangeType.UPDATED);
+        event.setId(id);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    /**
+     * Outbox table shared by several dispatchers, each running its transaction on its own thread:
+     * locked rows are skipped by other transactions, and a dispatch is only visible once committed
+     */
+    private static class SharedOutbox {
+
+        private final List<OutboxEvent> events;
+        private final Map<Long, Thread> locks = new HashMap<>();
+        private final Set<Long> committed = new HashSet<>();
+
+        SharedOutbox(List<OutboxEvent> events) {
+            this.events = events;
+        }
+
+        OutboxEventRepository repository() {
+            OutboxEventRepository repository = mock(OutboxEventRepository.class);
+            when(repository.lockUndispatched(any())).thenAnswer(invocation ->
+                    lock(invocation.<Pageable>getArgument(0).getPageSize()));
+            when(repository.findOldestUndispatchedIds(anyString(), anyCollection())).thenAnswer(invocation ->
+                    oldestCommitted(invocation.getArgument(1)));
+            return repository;
+        }
+
+        int inTransaction(Callable<Integer> work) throws Exception {
+            try {
+                return work.call();
+            } finally {
+                commit();
+            }
+        }
+
+        private synchronized List<OutboxEvent> lock(int limit) {
+            List<OutboxEvent> batch = new ArrayList<>();
+            for (OutboxEvent event : events) {
+                Thread holder = locks.get(event.getId());
+                if (batch.size() < limit && !committed.contains(event.getId())
+                        && (holder == null || holder == Thread.currentThread())) {
+                    locks.put(event.getId(), Thread.currentThread());
+                    batch.add(event);
+                }
+            }
+            return batch;
+        }
+
+        private synchronized List<Object[]> oldestCommitted(Collection<Long> aggregateIds) {
+            return oldest(events.stream()
+                    .filter(event -> !committed.contains(event.getId()) && aggregateIds.contains(event.getAggregateId()))
+                    .collect(Collectors.toList()));
+        }
+
+        private synchronized void commit() {
+            for (OutboxEvent event : events) {
+                if (locks.get(event.getId()) == Thread.currentThread()) {
+                    locks.remove(event.getId());
+                    if (event.getDispatchedAt() != null) {
+                        committed.add(event.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    private static class RecordingSubscriber implements OutboxSubscriber {
+
+        final List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        final Set<Long> failOnce = new HashSet<>();
+        final Set<Long> alwaysFail = new HashSet<>();
+
+        @Override
+        public String getSubscriberName() {
+            return "recording";
+        }
+
+        @Override
+        public void onPortfolioChanged(PortfolioChangedEvent event) {
+            if (failOnce.remove(event.eventId()) || alwaysFail.contains(event.eventId())) {
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            delivered.add(event.eventId());
+        }
+    }
+}
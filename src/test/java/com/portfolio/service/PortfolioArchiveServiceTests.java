@@ -0,0 +1,102 @@
+package com.portfolio.service;
+
+import com.portfolio.config.ArchiveProperties;
+import com.portfolio.event.PortfolioChangedEvent;
+import com.portfolio.repository.PortfolioArchiveRepository;
+import com.portfolio.repository.PortfolioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the portfolio archiver: batching, rate limiting and restore.
+ */
+class PortfolioArchiveServiceTests {
+
+    private final PortfolioArchiveRepository archiveRepository = mock(PortfolioArchiveRepository.class);
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final ArchiveProperties properties = new ArchiveProperties();
+
+    /**
+     * Full batches are followed by another; a short batch ends the run
+     */
+    @Test
+    void testArchivesInBatchesUntilShortBatch() {
+        properties.setBatchSize(3);
+        properties.setBatchPause(Duration.ZERO);
+        when(archiveRepository.lockArchivable(any(), anyInt())).thenReturn(ids(1, 3), ids(4, 6), ids(7, 7));
+        when(archiveRepository.archivePortfolios(any())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        assertEquals(7, newService().archiveInactivePortfolios());
+        verify(archiveRepository, times(3)).archivePortfolios(any());
+        verify(archiveRepository, times(3)).setLocalLockTimeout("2000ms");
+    }
+
+    /**
+     * A run stops at the batch limit, and gives up when child rows stay locked
+     */
+    @Test
+    void testRunIsBoundedAndYieldsToLockedRows() {
+        properties.setBatchSize(2);
+        properties.setBatchPause(Duration.ZERO);
+        properties.setMaxBatchesPerRun(2);
+        when(archiveRepository.lockArchivable(any(), anyInt())).thenReturn(ids(1, 2));
+        when(archiveRepository.archivePortfolios(any())).thenReturn(2);
+        assertEquals(4, newService().archiveInactivePortfolios());
+
+        when(archiveRepository.archiveProjects(any())).thenThrow(new CannotAcquireLockException("lock timeout"));
+        assertEquals(0, newService().archiveInactivePortfolios());
+    }
+
+    /**
+     * Restore refuses to create a second portfolio with the same email
+     */
+    @Test
+    void testRestore() {
+        PortfolioArchiveService service = newService();
+        when(archiveRepository.lockArchivedEmail(1L)).thenReturn(Optional.empty());
+        assertFalse(service.restorePortfolio(1L));
+
+        when(archiveRepository.lockArchivedEmail(2L)).thenReturn(Optional.of("taken@example.com"));
+        when(portfolioRepository.existsByEmail("taken@example.com")).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> service.restorePortfolio(2L));
+        verify(archiveRepository, never()).restorePortfolio(anyLong());
+
+        when(archiveRepository.lockArchivedEmail(3L)).thenReturn(Optional.of("free@example.com"));
+        when(portfolioRepository.findById(3L)).thenReturn(Optional.empty());
+        service.restorePortfolio(3L);
+        verify(archiveRepository).restoreSkills(3L);
+        verify(outboxService).record(3L, PortfolioChangedEvent.ChangeType.CREATED);
+    }
+
+    private PortfolioArchiveService newService() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new PortfolioArchiveService(archiveRepository, portfolioRepository, outboxService,
+                transactionTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,95 @@
+package com.portfolio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.cache.InJvmInvalidationBroadcaster;
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.config.PortfolioCacheProperties;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.SkillDTO;
+import com.portfolio.view.PageBootstrap;
+import com.portfolio.view.RenderedPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the portfolio page bootstrap payload and its ETag
+ */
+class PortfolioPageServiceTests {
+
+    private final InJvmInvalidationBroadcaster broadcaster = new InJvmInvalidationBroadcaster();
+    private final PortfolioService portfolioService = mock(PortfolioService.class);
+    private final PortfolioPageService pageService = new PortfolioPageService(portfolioService,
+            new InvalidatingCache<RenderedPage>("portfolio-pages", broadcaster, Duration.ofHours(1), 100,
+                    Duration.ofMinutes(1), new SimpleMeterRegistry()).derivedFrom("portfolios"),
+            new ObjectMapper(), new PortfolioCacheProperties(), new SimpleMeterRegistry());
+
+    /**
+     * The payload is built once per cached page and its ETag only changes with the portfolio
+     */
+    @Test
+    void testETagChangesOnlyWithPortfolio() {
+        when(portfolioService.getPortfolioById(1L))
+                .thenReturn(Optional.of(portfolio("Ada")), Optional.of(portfolio("Ada")), Optional.of(portfolio("Grace")));
+
+        PageBootstrap first = pageService.getBootstrap(1L).orElseThrow();
+        assertSame(first, pageService.getBootstrap(1L).orElseThrow());
+        assertTrue(first.etag().matches("\"[0-9a-f]{32}\""), first.etag());
+
+        invalidate(1L);
+        assertEquals(first.etag(), pageService.getBootstrap(1L).orElseThrow().etag());
+
+        invalidate(1L);
+        PageBootstrap changed = pageService.getBootstrap(1L).orElseThrow();
+        assertNotEquals(first.etag(), changed.etag());
+        assertTrue(changed.json().contains("\"fullName\":\"Grace\""));
+        verify(portfolioService, times(3)).getPortfolioById(1L);
+    }
+
+    /**
+     * Only the fields the page shows are sent, without nulls or indentation
+     */
+    @Test
+    void testPayloadHoldsOnlyPageFields() {
+        when(portfolioService.getPortfolioById(1L)).thenReturn(Optional.of(portfolio("Ada")));
+
+        String json = pageService.getBootstrap(1L).orElseThrow().json();
+
+        assertTrue(json.contains("\"skills\":[{\"name\":\"Kotlin\",\"category\":\"Other\",\"proficiencyLevel\":8}]"), json);
+        assertFalse(json.contains("createdAt"), json);
+        assertFalse(json.contains("null"), json);
+        assertFalse(json.contains("\n"), json);
+        assertTrue(pageService.getBootstrap(2L).isEmpty());
+    }
+
+    private void invalidate(Long id) {
+        new InvalidatingCache<PortfolioDTO>("portfolios", broadcaster, Duration.ofHours(1), 100,
+                Duration.ofMinutes(1), new SimpleMeterRegistry()).invalidate(id);
+    }
+
+    private static PortfolioDTO portfolio(String name) {
+        PortfolioDTO portfolio = new PortfolioDTO();
+        portfolio.setId(1L);
+        portfolio.setFullName(name);
+        portfolio.setTitle("Engineer");
+        portfolio.setEmail("ada@example.com");
+        SkillDTO skill = new SkillDTO();
+        skill.setName("Kotlin");
+        skill.setProficiencyLevel(8);
+        portfolio.setSkills(List.of(skill));
+        return portfolio;
+    }
+}
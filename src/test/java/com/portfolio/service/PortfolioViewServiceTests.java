@@ -0,0 +1,96 @@
+package com.portfolio.service;
+
+import com.portfolio.config.ViewCountProperties;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.TrendingPortfolioDTO;
+import com.portfolio.repository.PortfolioViewRepository;
+import com.portfolio.warmup.Warmup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for write-behind view counting and the trending list
+ */
+class PortfolioViewServiceTests {
+
+    private final PortfolioViewRepository viewRepository = mock(PortfolioViewRepository.class);
+    private final PortfolioService portfolioService = mock(PortfolioService.class);
+    private final ViewCountProperties properties = new ViewCountProperties();
+    private final PortfolioViewService viewService = new PortfolioViewService(viewRepository, portfolioService,
+            properties, new SimpleMeterRegistry());
+
+    /**
+     * Views since the last flush are written in one call; warm-up requests are not counted
+     */
+    @Test
+    void testFlushWritesCountedViews() {
+        viewService.recordView(1L, "Mozilla/5.0");
+        viewService.recordView(1L, null);
+        viewService.recordView(2L, "Mozilla/5.0");
+        viewService.recordView(3L, Warmup.USER_AGENT);
+
+        viewService.flush();
+
+        verify(viewRepository).addViews(eq(Map.of(1L, 2L, 2L, 1L)), any(), eq(Duration.ofHours(6)));
+    }
+
+    /**
+     * Counts that could not be written are kept for the next flush
+     */
+    @Test
+    void testFailedFlushKeepsViews() {
+        doThrow(new IllegalStateException("down")).doNothing().when(viewRepository).addViews(anyMap(), any(), any());
+        viewService.recordView(1L, null);
+        viewService.flush();
+        viewService.recordView(1L, null);
+        viewService.flush();
+
+        verify(viewRepository).addViews(eq(Map.of(1L, 1L)), any(), any());
+        verify(viewRepository).addViews(eq(Map.of(1L, 2L)), any(), any());
+    }
+
+    /**
+     * The trending list is loaded at the flush and served from memory until the next one
+     */
+    @Test
+    void testTrendingServedFromMemory() {
+        when(viewRepository.findTrending(any(), any(), anyDouble(), anyInt()))
+                .thenReturn(List.of(new Object[] {7L, 40L, 12.5}, new Object[] {3L, 90L, 8.0}, new Object[] {4L, 5L, 1.0}));
+        when(portfolioService.getPortfoliosByIds(List.of(7L, 3L, 4L)))
+                .thenReturn(List.of(portfolio(3L, "Grace"), portfolio(7L, "Ada")));
+
+        viewService.flush();
+        List<TrendingPortfolioDTO> trending = viewService.getTrending(10);
+        viewService.getTrending(1);
+
+        assertEquals(2, trending.size());
+        assertEquals("Ada", trending.get(0).getFullName());
+        assertEquals(40L, trending.get(0).getViews());
+        assertEquals(12.5, trending.get(0).getScore());
+        assertEquals(List.of(7L), viewService.getTrendingPortfolioIds(1));
+        verify(viewRepository, times(1)).findTrending(any(), any(), anyDouble(), anyInt());
+    }
+
+    private static PortfolioDTO portfolio(Long id, String fullName) {
+        PortfolioDTO dto = new PortfolioDTO();
+        dto.setId(id);
+        dto.setFullName(fullName);
+        return dto;
+    }
+}
@@ -0,0 +1,177 @@
+package com.portfolio.view;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.cache.InJvmInvalidationBroadcaster;
+import com.portfolio.cache.InvalidatingCache;
+import com.portfolio.config.PortfolioCacheProperties;
+import com.portfolio.dto.PortfolioDTO;
+import com.portfolio.dto.ProjectDTO;
+import com.portfolio.dto.SkillDTO;
+import com.portfolio.service.PortfolioPageService;
+import com.portfolio.service.PortfolioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the streamed, section-cached portfolio page
+ */
+class PortfolioPageRendererTests {
+
+    private final InJvmInvalidationBroadcaster broadcaster = new InJvmInvalidationBroadcaster();
+    private final PortfolioService portfolioService = mock(PortfolioService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockServletContext servletContext = new MockServletContext();
+    private PortfolioPageRenderer renderer;
+    private MockHttpServletResponse response;
+    private String firstFlush;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        InvalidatingCache<RenderedPage> pageCache = new InvalidatingCache<RenderedPage>("portfolio-pages",
+                broadcaster, Duration.ofHours(1), 100, Duration.ofMinutes(1), meterRegistry).derivedFrom("portfolios");
+        PortfolioPageService pageService = new PortfolioPageService(portfolioService, pageCache, new ObjectMapper(),
+                new PortfolioCacheProperties(), meterRegistry);
+        renderer = new PortfolioPageRenderer(templateEngine, pageService, servletContext, meterRegistry);
+    }
+
+    /**
+     * The head is on the wire before the sections are rendered, and user data is escaped
+     */
+    @Test
+    void testHeadFlushedBeforeSections() throws Exception {
+        when(portfolioService.getPortfolioById(1L)).thenReturn(Optional.of(portfolio("Ada <script>")));
+
+        String html = render(1L);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(firstFlush.contains("main.css"), firstFlush);
+        assertFalse(firstFlush.contains("id=\"home\""), firstFlush);
+
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertTrue(html.contains("<title>Ada &lt;script&gt; - Engineer</title>"), html);
+        assertTrue(html.contains("Payments API"));
+        assertTrue(html.contains("Kotlin"));
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.indexOf("id=\"home\"") < html.indexOf("id=\"contact\""));
+        assertTrue(html.trim().endsWith("</html>"));
+    }
+
+    /**
+     * Sections come from the page cache until the portfolio is invalidated
+     */
+    @Test
+    void testSectionsCachedUntilPortfolioChanges() throws Exception {
+        when(portfolioService.getPortfolioById(1L))
+                .thenReturn(Optional.of(portfolio("Ada")), Optional.of(portfolio("Grace")));
+
+        assertTrue(render(1L).contains("Ada"));
+        assertTrue(render(1L).contains("Ada"));
+        assertEquals(PageSection.values().length,
+                meterRegistry.get("portfolio.page.sections").tag("result", "hit").counters().stream()
+                        .mapToDouble(counter -> counter.count()).sum());
+
+        new InvalidatingCache<PortfolioDTO>("portfolios", broadcaster, Duration.ofHours(1), 100,
+                Duration.ofMinutes(1), new SimpleMeterRegistry()).invalidate(1L);
+
+        assertTrue(render(1L).contains("Grace"));
+        verify(portfolioService, times(2)).getPortfolioById(1L);
+    }
+
+    /**
+     * The page's JSON is embedded for scripts, and user data cannot close the script element
+     */
+    @Test
+    void testBootstrapJsonEmbedded() throws Exception {
+        when(portfolioService.getPortfolioById(1L)).thenReturn(Optional.of(portfolio("Ada </script><b>")));
+
+        String html = render(1L);
+
+        int start = html.indexOf("<script type=\"application/json\" id=\"portfolio-data\">");
+        assertTrue(start > html.indexOf("</main>"), html);
+        String json = html.substring(start, html.indexOf("</script>", start));
+        assertTrue(json.contains("\"fullName\":\"Ada \\u003c/script\\u003e\\u003cb\\u003e\""), json);
+        assertTrue(json.contains("\"technologies\":[\"Java\",\"PostgreSQL\"]"), json);
+    }
+
+    /**
+     * Unknown portfolios are looked up before anything is sent and get a 404 with a not-found
+     * page that search engines skip
+     */
+    @Test
+    void testUnknownPortfolio() throws Exception {
+        when(portfolioService.getPortfolioById(9L)).thenAnswer(invocation -> {
+            assertFalse(response.isCommitted());
+            return Optional.empty();
+        });
+
+        String html = render(9L);
+
+        assertEquals(404, response.getStatus());
+        assertTrue(html.contains("<meta name=\"robots\" content=\"noindex\">"));
+        assertTrue(html.contains("Portfolio not found"));
+        assertFalse(html.contains("id=\"home\""));
+    }
+
+    private String render(Long id) throws Exception {
+        firstFlush = null;
+        response = new MockHttpServletResponse() {
+            @Override
+            public void setCommitted(boolean committed) {
+                if (committed && firstFlush == null) {
+                    firstFlush = new String(getContentAsByteArray(), StandardCharsets.UTF_8);
+                }
+                super.setCommitted(committed);
+            }
+        };
+        renderer.render(id, new MockHttpServletRequest(servletContext, "GET", "/portfolios/" + id), response);
+        return response.getContentAsString();
+    }
+
+    private static PortfolioDTO portfolio(String name) {
+        PortfolioDTO portfolio = new PortfolioDTO();
+        portfolio.setId(1L);
+        portfolio.setFullName(name);
+        portfolio.setTitle("Engineer");
+        portfolio.setEmail("ada@example.com");
+        ProjectDTO project = new ProjectDTO();
+        project.setId(5L);
+        project.setName("Payments API");
+        project.setTechnologies("Java, PostgreSQL");
+        project.setTechnologyList(List.of("Java", "PostgreSQL"));
+        SkillDTO skill = new SkillDTO();
+        skill.setName("Kotlin");
+        skill.setProficiencyLevel(8);
+        portfolio.setProjects(List.of(project));
+        portfolio.setSkills(List.of(skill));
+        portfolio.setExperiences(List.of());
+        portfolio.setEducations(List.of());
+        return portfolio;
+    }
+}
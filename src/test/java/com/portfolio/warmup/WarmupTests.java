@@ -0,0 +1,142 @@
+package com.portfolio.warmup;
+
+import com.portfolio.config.WarmupProperties;
+import com.portfolio.service.PortfolioService;
+import com.portfolio.service.PortfolioViewService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the startup warm-up and its readiness contribution
+ */
+class WarmupTests {
+
+    private final PortfolioService portfolioService = mock(PortfolioService.class);
+    private final PortfolioViewService viewService = mock(PortfolioViewService.class);
+    private final WarmupProperties properties = new WarmupProperties();
+    private final Warmup warmup = new Warmup(properties, portfolioService, viewService, new SimpleMeterRegistry());
+    private final WarmupHealthIndicator health = new WarmupHealthIndicator(warmup);
+    private final Map<String, AtomicInteger> received = new ConcurrentHashMap<>();
+    private final Map<String, String> userAgents = new ConcurrentHashMap<>();
+    private volatile long delayMillis;
+    private final ExecutorService serverThreads = Executors.newFixedThreadPool(4);
+    private HttpServer server;
+    private URI base;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            received.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            userAgents.put(path, exchange.getRequestHeaders().getFirst("User-Agent"));
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(path.startsWith("/broken") ? 500 : 200, -1);
+            exchange.close();
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+        base = URI.create("http://localhost:" + server.getAddress().getPort());
+        properties.setPaths(List.of("/api/portfolios", "/broken"));
+        properties.setPortfolioPaths(List.of("/api/portfolios/{id}", "/portfolios/{id}"));
+        properties.setRounds(3);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    /**
+     * Every path, and every portfolio path per portfolio, is requested once per round; readiness
+     * is held back until then
+     */
+    @Test
+    void testRoundsOfRequests() {
+        when(portfolioService.getRecentlyUpdatedPortfolioIds(20)).thenReturn(List.of(7L, 9L));
+        assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+
+        Warmup.Report report = warmup.run(base);
+
+        assertEquals(Warmup.State.DONE, report.state());
+        assertEquals(18, report.requests());
+        assertEquals(3, report.failures());
+        for (String path : List.of("/api/portfolios", "/broken", "/api/portfolios/7", "/portfolios/7",
+                "/api/portfolios/9", "/portfolios/9")) {
+            assertEquals(3, received.get(path).get(), path);
+        }
+        assertEquals(Warmup.USER_AGENT, userAgents.get("/portfolios/9"));
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(Warmup.State.DONE, health.health().getDetails().get("state"));
+    }
+
+    /**
+     * Trending portfolios are warmed up first, and the most recently updated ones fill up the rest
+     */
+    @Test
+    void testTrendingPortfoliosFirst() {
+        properties.setPortfolios(3);
+        when(viewService.getTrendingPortfolioIds(3)).thenReturn(List.of(5L, 7L));
+        when(portfolioService.getRecentlyUpdatedPortfolioIds(3)).thenReturn(List.of(7L, 9L, 11L));
+
+        assertEquals(List.of("/api/portfolios", "/broken", "/api/portfolios/5", "/portfolios/5",
+                "/api/portfolios/7", "/portfolios/7", "/api/portfolios/9", "/portfolios/9"), warmup.paths());
+    }
+
+    /**
+     * A warm-up that takes too long is cut off, and the node reports ready anyway
+     */
+    @Test
+    void testTimeoutReportsReady() {
+        when(portfolioService.getRecentlyUpdatedPortfolioIds(20)).thenReturn(List.of());
+        properties.setConcurrency(1);
+        properties.setRounds(50);
+        properties.setTimeout(Duration.ofMillis(300));
+        delayMillis = 50;
+
+        Warmup.Report report = warmup.run(base);
+
+        assertEquals(Warmup.State.TIMED_OUT, report.state());
+        assertTrue(report.requests() < 100, String.valueOf(report.requests()));
+        assertEquals(Status.UP, health.health().getStatus());
+    }
+
+    /**
+     * When the portfolios cannot be loaded, the configured paths are still warmed up
+     */
+    @Test
+    void testPortfolioLookupFailure() {
+        when(portfolioService.getRecentlyUpdatedPortfolioIds(20)).thenThrow(new IllegalStateException("down"));
+
+        Warmup.Report report = warmup.run(base);
+
+        assertEquals(Warmup.State.DONE, report.state());
+        assertEquals(6, report.requests());
+        assertEquals(3, received.get("/api/portfolios").get());
+    }
+}